@@ -8,20 +8,30 @@ import org.slf4j.LoggerFactory;
 import com.codahale.metrics.MetricRegistry;
 import com.jms.socialmedia.cache.AbstractCachingService;
 import com.jms.socialmedia.cache.CachingServiceFactory;
+import com.jms.socialmedia.cache.invalidation.CacheInvalidationBus;
+import com.jms.socialmedia.cache.invalidation.CacheInvalidationBusFactory;
 import com.jms.socialmedia.configuration.Configurations;
 import com.jms.socialmedia.configuration.ConfigurationsFromFile;
 import com.jms.socialmedia.configuration.CoreSettings;
 import com.jms.socialmedia.dataservice.DataService;
 import com.jms.socialmedia.dataservice.DataServiceFactory;
+import com.jms.socialmedia.events.InProcessPostCreatedBus;
+import com.jms.socialmedia.events.PostCreatedBus;
 import com.jms.socialmedia.metrics.MetricRegistryFactory;
-import com.jms.socialmedia.password.BcryptPasswordService;
-import com.jms.socialmedia.password.NonEncryptionPasswordService;
 import com.jms.socialmedia.password.PasswordService;
+import com.jms.socialmedia.password.PasswordServiceFactory;
+import com.jms.socialmedia.routes.GzipJettyServerFactory;
 import com.jms.socialmedia.routes.LogRouteAdapter;
+import com.jms.socialmedia.routes.NewPostsStream;
 import com.jms.socialmedia.routes.RouteMappings;
+import com.jms.socialmedia.timeline.TimelineService;
+import com.jms.socialmedia.timeline.TimelineServiceFactory;
 import com.jms.socialmedia.token.JWTService;
+import com.jms.socialmedia.token.TokenService;
 
 import spark.Spark;
+import spark.embeddedserver.EmbeddedServers;
+import spark.embeddedserver.jetty.EmbeddedJettyFactory;
 
 public class App {
 
@@ -39,13 +49,30 @@ public class App {
 		setupWebapp(configurations);
 
 		MetricRegistry metricRegistry = MetricRegistryFactory.createMetricRegistry(configurations);
+		setupGzip(configurations, metricRegistry);
 		AbstractCachingService cachingService = CachingServiceFactory.createCachingService(configurations, metricRegistry);
-		DataService dataService = DataServiceFactory.createDataService(configurations, cachingService, metricRegistry);
-		PasswordService passwordService = createPasswordService(configurations);
+		CacheInvalidationBus cacheInvalidationBus = CacheInvalidationBusFactory.createCacheInvalidationBus(configurations,
+				metricRegistry);
+		TimelineService timelineService = TimelineServiceFactory.createTimelineService(configurations);
+		PostCreatedBus postCreatedBus = Boolean.TRUE.equals(configurations.get(CoreSettings.POSTS_STREAM))
+				? new InProcessPostCreatedBus() : null;
+		DataService dataService = DataServiceFactory.createDataService(configurations, cachingService, cacheInvalidationBus,
+				timelineService, postCreatedBus, metricRegistry);
+		PasswordService passwordService = PasswordServiceFactory.createPasswordService(configurations, metricRegistry);
 
-		RouteMappings routes = new RouteMappings(dataService, passwordService, new JWTService(), metricRegistry,
+		TokenService tokenService = new JWTService(configurations.get(CoreSettings.TOKEN_CACHE_MAX_NUMBER_OF_TOKENS),
+				configurations.get(CoreSettings.TOKEN_CACHE_EXPIRE_TIME_SECONDS));
+
+		RouteMappings routes = new RouteMappings(dataService, passwordService, tokenService, metricRegistry,
 				configurations.get(CoreSettings.ADMIN_USER_IDS));
 
+		if (postCreatedBus != null) {
+			routes.setNewPostsStream(new NewPostsStream(dataService, postCreatedBus,
+					configurations.get(CoreSettings.POSTS_STREAM_MAX_CONNECTIONS),
+					configurations.get(CoreSettings.POSTS_STREAM_TIMEOUT_SECONDS),
+					configurations.get(CoreSettings.POSTS_STREAM_HEARTBEAT_SECONDS), metricRegistry));
+		}
+
 		if (Boolean.TRUE.equals(configurations.get(CoreSettings.LOG_REQUESTS_AND_RESPONSES))) {
 			routes.addRouteListener(new LogRouteAdapter());
 		}
@@ -54,6 +81,14 @@ public class App {
 		LOGGER.info("Starting up at port:{}", Spark.port());
 	}
 
+	private static void setupGzip(Configurations configurations, MetricRegistry metricRegistry) {
+		if (Boolean.TRUE.equals(configurations.get(CoreSettings.GZIP))) {
+			EmbeddedServers.add(EmbeddedServers.Identifiers.JETTY, new EmbeddedJettyFactory(new GzipJettyServerFactory(
+					configurations.get(CoreSettings.GZIP_COMPRESSION_LEVEL),
+					configurations.get(CoreSettings.GZIP_MIN_SIZE_BYTES), metricRegistry)));
+		}
+	}
+
 	private static void setupWebapp(Configurations configurations) {
 		if (Boolean.TRUE.equals(configurations.get(CoreSettings.WEBAPP))) {
 			String webappLocation = configurations.get(CoreSettings.WEBAPP_LOCATION);
@@ -64,12 +99,4 @@ public class App {
 			}
 		}
 	}
-
-	private static PasswordService createPasswordService(Configurations configurations) {
-		if (Boolean.TRUE.equals(configurations.get(CoreSettings.MOCK_DATA_SERVICE))) {
-			return new NonEncryptionPasswordService();
-		} else {
-			return new BcryptPasswordService();
-		}
-	}
 }
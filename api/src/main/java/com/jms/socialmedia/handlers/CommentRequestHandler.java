@@ -20,7 +20,10 @@ public class CommentRequestHandler extends RequestHandler {
 	private static final String NOT_FOUND_MESSAGE = "Comment Not Found";
 	private static final String POST_ID_PARAM = "postId";
 	private static final String COMMENT_ID_PARAM = "commentId";
+	private static final String IDS_PARAM = "ids";
 	private static final String USER_ID_PARAM = "userId";
+	private static final String SINCE_COMMENT_ID_PARAM = "sinceCommentId";
+	private static final String BEFORE_COMMENT_ID_PARAM = "beforeCommentId";
 
 	public CommentRequestHandler(DataService dataService, TokenService tokenService, Gson gson) {
 		super(dataService, tokenService, gson);
@@ -29,18 +32,39 @@ public class CommentRequestHandler extends RequestHandler {
 	public Collection<Comment> handleGetComments(Request request, Response response) {
 
 		int postId = Integer.parseInt(request.params(POST_ID_PARAM));
-		return dataService.getComments(postId);
+		Integer sinceCommentId = getPageStartId(request, SINCE_COMMENT_ID_PARAM);
+		int limit = getPageLimit(request);
+		checkNotModified(request, response, dataService.getCommentsVersion(postId));
+		return setNextCursor(response, dataService.getComments(postId, sinceCommentId, limit), limit,
+				Comment::getCommentId);
 	}
 
 	public Collection<Comment> handleGetCommentsByUserId(Request request, Response response) {
 
 		int userId = Integer.parseInt(request.params(USER_ID_PARAM));
-		return dataService.getCommentsByUserId(userId);
+		Integer beforeCommentId = getPageStartId(request, BEFORE_COMMENT_ID_PARAM);
+		int limit = getPageLimit(request);
+		return setNextCursor(response, dataService.getCommentsByUserId(userId, beforeCommentId, limit), limit,
+				Comment::getCommentId);
+	}
+
+	public Collection<Comment> handleGetCommentsMentioningUser(Request request, Response response) {
+
+		int userId = Integer.parseInt(request.params(USER_ID_PARAM));
+		Integer beforeCommentId = getPageStartId(request, BEFORE_COMMENT_ID_PARAM);
+		int limit = getPageLimit(request);
+		return setNextCursor(response, dataService.getCommentsMentioningUserId(userId, beforeCommentId, limit), limit,
+				Comment::getCommentId);
+	}
+
+	public Collection<Comment> handleGetCommentsByIds(Request request, Response response) {
+		return dataService.getCommentsByIds(getBatchIds(request, IDS_PARAM));
 	}
 
 	public Comment handleGetComment(Request request, Response response) {
 
 		int commentId = Integer.parseInt(request.params(COMMENT_ID_PARAM));
+		checkNotModified(request, response, dataService.getCommentVersion(commentId));
 		Comment comment = dataService.getComment(commentId);
 		if (comment != null) {
 			return comment;
@@ -17,6 +17,7 @@ public class LikeRequestHandler extends RequestHandler {
 	private static final String USER_ID_PARAM = "userId";
 	private static final String POST_ID_PARAM = "postId";
 	private static final String COMMENT_ID_PARAM = "commentId";
+	private static final String BEFORE_POST_ID_PARAM = "beforePostId";
 
 	public LikeRequestHandler(DataService dataService, TokenService tokenService, Gson gson) {
 		super(dataService, tokenService, gson);
@@ -25,7 +26,10 @@ public class LikeRequestHandler extends RequestHandler {
 	public Collection<Post> handleGetLikedPosts(Request request, Response response) {
 
 		int userId = Integer.parseInt(request.params(USER_ID_PARAM));
-		return dataService.getLikedPostsByUserId(userId);
+		Integer beforePostId = getPageStartId(request, BEFORE_POST_ID_PARAM);
+		int limit = getPageLimit(request);
+		return setNextCursor(response, dataService.getLikedPostsByUserId(userId, beforePostId, limit), limit,
+				Post::getPostId);
 	}
 
 	public Collection<String> handleGetPostLikes(Request request, Response response) {
@@ -1,11 +1,11 @@
 package com.jms.socialmedia.handlers;
 
+import static java.util.Collections.singleton;
 import static java.util.stream.Collectors.toSet;
 
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashSet;
 import java.util.Optional;
 
 import org.eclipse.jetty.util.StringUtil;
@@ -28,7 +28,9 @@ public class PostRequestHandler extends RequestHandler {
 	private static final String USER_ID_PARAM = "userId";
 	private static final String USERNAME_PARAM = "username";
 	private static final String POST_ID_PARAM = "postId";
+	private static final String IDS_PARAM = "ids";
 	private static final String SINCE_POST_ID_PARAM = "sincePostId";
+	private static final String BEFORE_POST_ID_PARAM = "beforePostId";
 
 	public PostRequestHandler(DataService dataService, TokenService tokenService, Gson gson) {
 		super(dataService, tokenService, gson);
@@ -47,6 +49,9 @@ public class PostRequestHandler extends RequestHandler {
 	 * 	<li> sortBy - Field to Sort by </li>
 	 * 	<li> order - asc or desc </li>
 	 * 	<li> sincePostId - return posts after this Post ID </li>
+	 * 	<li> beforePostId - return posts before this Post ID </li>
+	 * 	<li> limit - maximum number of Posts returned </li>
+	 * 	<li> cursor - X-Next-Cursor header of the previous page, when sorted by descending postId </li>
 	 * </ul>
 	 * 
 	 * @param request		Spark Request
@@ -68,8 +73,15 @@ public class PostRequestHandler extends RequestHandler {
 		String sortBy = Optional.ofNullable(request.queryParams("sortBy")).orElse(POST_ID_PARAM);
 		String order = request.queryParams("order");
 		boolean sortOrderAsc = StringUtil.isNotBlank(order) && order.equalsIgnoreCase("asc");
+		Integer beforePostId = getPageStartId(request, BEFORE_POST_ID_PARAM);
+		int limit = getPageLimit(request);
 
-		return dataService.getPosts(userIds, usernames, tag, onDate, beforeDate, afterDate, sincePostId, sortBy, sortOrderAsc);
+		Collection<Post> posts = dataService.getPosts(userIds, usernames, tag, onDate, beforeDate, afterDate, sincePostId,
+				beforePostId, limit, sortBy, sortOrderAsc);
+		if (POST_ID_PARAM.equals(sortBy) && !sortOrderAsc) {
+			setNextCursor(response, posts, limit, Post::getPostId);
+		}
+		return posts;
 	}
 
 	/**
@@ -77,8 +89,15 @@ public class PostRequestHandler extends RequestHandler {
 	 * 
 	 * <ul>
 	 * 	<li> username - Name of User </li>
+	 * 	<li> sincePostId - return posts after this Post ID </li>
+	 * 	<li> beforePostId - return posts before this Post ID </li>
+	 * 	<li> limit - maximum number of Posts returned </li>
+	 * 	<li> cursor - X-Next-Cursor header of the previous page </li>
 	 * </ul>
 	 * 
+	 * With only a sincePostId, the oldest Posts after it are returned, newest first and without an X-Next-Cursor.
+	 * Polling again since the newest Post returned reaches every new Post, however far behind the client is.
+	 * 
 	 * @param request		Spark Request
 	 * @param response		Spark Response
 	 * @return 				Collection of {@link Post}s
@@ -88,16 +107,24 @@ public class PostRequestHandler extends RequestHandler {
 		String username = request.params(USERNAME_PARAM);
 		String sincePostIdParam = request.queryParams(SINCE_POST_ID_PARAM);
 		Integer sincePostId = sincePostIdParam == null ? null : Integer.parseInt(sincePostIdParam);
-		
-		Collection<String> usernames = new HashSet<>(dataService.getFollowingUsernames(username));
-		usernames.add(username);
-		return dataService.getPosts(null, usernames, null, null, null, null, sincePostId, POST_ID_PARAM, false);
+		Integer beforePostId = getPageStartId(request, BEFORE_POST_ID_PARAM);
+		int limit = getPageLimit(request);
+		Collection<Post> posts = dataService.getFeedPosts(username, sincePostId, beforePostId, limit);
+		if (sincePostId != null && beforePostId == null) {
+			return posts;
+		}
+		return setNextCursor(response, posts, limit, Post::getPostId);
 	}
 
 	/**
 	 * <h1> GET /api/user/:userId/posts </h1>
 	 * 
 	 * :userId - ID of User who made the Posts
+	 * <ul>
+	 * 	<li> beforePostId - return posts before this Post ID </li>
+	 * 	<li> limit - maximum number of Posts returned </li>
+	 * 	<li> cursor - X-Next-Cursor header of the previous page </li>
+	 * </ul>
 	 * 
 	 * @param request		Spark Request
 	 * @param response		Spark Response
@@ -108,7 +135,29 @@ public class PostRequestHandler extends RequestHandler {
 	public Collection<Post> handleGetPostsByUserId(Request request, Response response) {
 
 		int userId = Integer.parseInt(request.params(USER_ID_PARAM));
-		return dataService.getPosts(userId);
+		Integer beforePostId = getPageStartId(request, BEFORE_POST_ID_PARAM);
+		int limit = getPageLimit(request);
+		Collection<Post> posts = dataService.getPosts(singleton(userId), null, null, null, null, null, null, beforePostId,
+				limit, POST_ID_PARAM, false);
+		return setNextCursor(response, posts, limit, Post::getPostId);
+	}
+
+	/**
+	 * <h1> GET /api/posts/batch </h1>
+	 * Query Parameters
+	 * <ul>
+	 * 	<li> ids - comma separated IDs of the Posts </li>
+	 * </ul>
+	 * 
+	 * @param request				Spark Request
+	 * @param response				Spark Response
+	 * @return 						the {@link Post}s found, in the order of the given IDs
+	 * 
+	 * @throws BadRequestException		if no IDs or too many are given
+	 * @throws NumberFormatException	if an ID is not a number
+	 */
+	public Collection<Post> handleGetPostsByIds(Request request, Response response) {
+		return dataService.getPostsByIds(getBatchIds(request, IDS_PARAM));
 	}
 
 	/**
@@ -126,6 +175,7 @@ public class PostRequestHandler extends RequestHandler {
 	public Post handleGetPost(Request request, Response response) {
 		
 		int postId = Integer.parseInt(request.params(POST_ID_PARAM));
+		checkNotModified(request, response, dataService.getPostVersion(postId));
 		Post post = dataService.getPost(postId);
 
 		if(post != null) {
@@ -217,6 +267,11 @@ public class PostRequestHandler extends RequestHandler {
 	 * <h1> GET /api/user/:userId/commentedposts </h1>
 	 * 
 	 * :userId - ID of the User who commented on these Posts
+	 * <ul>
+	 * 	<li> beforePostId - return posts before this Post ID </li>
+	 * 	<li> limit - maximum number of Posts returned </li>
+	 * 	<li> cursor - X-Next-Cursor header of the previous page </li>
+	 * </ul>
 	 * 
 	 * @param request		Spark Request
 	 * @param response		Spark Response
@@ -226,7 +281,19 @@ public class PostRequestHandler extends RequestHandler {
 	public Collection<Post> handleGetCommentedPosts(Request request, Response response) {
 
 		int userId = Integer.parseInt(request.params(USER_ID_PARAM));
-		return dataService.getCommentedPostsByUserId(userId);
+		Integer beforePostId = getPageStartId(request, BEFORE_POST_ID_PARAM);
+		int limit = getPageLimit(request);
+		return setNextCursor(response, dataService.getCommentedPostsByUserId(userId, beforePostId, limit), limit,
+				Post::getPostId);
+	}
+
+	public Collection<Post> handleGetPostsMentioningUser(Request request, Response response) {
+
+		int userId = Integer.parseInt(request.params(USER_ID_PARAM));
+		Integer beforePostId = getPageStartId(request, BEFORE_POST_ID_PARAM);
+		int limit = getPageLimit(request);
+		return setNextCursor(response, dataService.getPostsMentioningUserId(userId, beforePostId, limit), limit,
+				Post::getPostId);
 	}
 	
 	/**
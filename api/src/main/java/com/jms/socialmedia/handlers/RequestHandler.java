@@ -1,11 +1,20 @@
 package com.jms.socialmedia.handlers;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+import com.google.common.collect.Iterables;
 import com.google.gson.Gson;
 import com.jms.socialmedia.dataservice.DataService;
 import com.jms.socialmedia.exception.BadRequestException;
 import com.jms.socialmedia.exception.ForbiddenException;
 import com.jms.socialmedia.exception.NoBearerTokenException;
+import com.jms.socialmedia.exception.NotModifiedException;
 import com.jms.socialmedia.exception.UnsupportedContentTypeException;
 import com.jms.socialmedia.token.Permission;
 import com.jms.socialmedia.token.Token;
@@ -23,6 +32,15 @@ public abstract class RequestHandler {
 
 	private static final String AUTHORIZATION = "Authorization";
 	private static final String BEARER = "Bearer ";
+	private static final String LIMIT_PARAM = "limit";
+	private static final String CURSOR_PARAM = "cursor";
+	private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+	private static final String ETAG_HEADER = "ETag";
+	private static final String IF_NONE_MATCH_HEADER = "If-None-Match";
+	private static final String WEAK_ETAG_PREFIX = "W/";
+	private static final int DEFAULT_PAGE_SIZE = 100;
+	private static final int MAX_PAGE_SIZE = 1000;
+	private static final int MAX_BATCH_SIZE = 100;
 
 	protected final DataService dataService;
 	protected final TokenService tokenService;
@@ -129,6 +147,143 @@ public abstract class RequestHandler {
 		
 	}
 
+	/**
+	 * @param request
+	 * @return the 'limit' query parameter, or the default page size if it is not given
+	 * @throws BadRequestException		if the limit is not positive
+	 * @throws NumberFormatException	if the limit is not a number
+	 */
+	protected int getPageLimit(Request request) {
+		String limitParam = request.queryParams(LIMIT_PARAM);
+		if (limitParam == null) {
+			return DEFAULT_PAGE_SIZE;
+		}
+		int limit = Integer.parseInt(limitParam);
+		throwBadRequestExceptionIf(limit < 1, "'" + LIMIT_PARAM + "' must be greater than 0");
+		return Math.min(limit, MAX_PAGE_SIZE);
+	}
+
+	/**
+	 * The opaque 'cursor' query parameter takes precedence over the ID query parameter
+	 * 
+	 * @param request
+	 * @param idParam		name of the query parameter holding the ID the page starts from
+	 * @return the ID the page starts from, or {@code null} for the first page
+	 * @throws BadRequestException		if the cursor is not valid
+	 * @throws NumberFormatException	if the ID is not a number
+	 */
+	protected Integer getPageStartId(Request request, String idParam) {
+		String cursor = request.queryParams(CURSOR_PARAM);
+		if (cursor != null) {
+			try {
+				return Integer.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+			} catch (IllegalArgumentException e) {
+				throw new BadRequestException("Invalid '" + CURSOR_PARAM + "'");
+			}
+		}
+		String id = request.queryParams(idParam);
+		return id == null ? null : Integer.valueOf(id);
+	}
+
+	/**
+	 * The IDs can be comma separated, the query parameter repeated, or both
+	 * 
+	 * @param request
+	 * @param idsParam		name of the query parameter holding the IDs
+	 * @return the IDs, in the order given
+	 * @throws BadRequestException		if no IDs or more than {@value #MAX_BATCH_SIZE} are given
+	 * @throws NumberFormatException	if an ID is not a number
+	 */
+	protected List<Integer> getBatchIds(Request request, String idsParam) {
+		List<Integer> ids = new ArrayList<>();
+		for (String id : getBatchValues(request, idsParam)) {
+			ids.add(Integer.valueOf(id));
+		}
+		return ids;
+	}
+
+	/**
+	 * The values can be comma separated, the query parameter repeated, or both
+	 * 
+	 * @param request
+	 * @param param			name of the query parameter holding the values
+	 * @return the values, in the order given
+	 * @throws BadRequestException		if no values or more than {@value #MAX_BATCH_SIZE} are given
+	 */
+	protected List<String> getBatchValues(Request request, String param) {
+		List<String> values = new ArrayList<>();
+		String[] params = request.queryParamsValues(param);
+		if (params != null) {
+			for (String commaSeparatedValues : params) {
+				for (String value : commaSeparatedValues.split(",")) {
+					if (!value.isBlank()) {
+						values.add(value.trim());
+					}
+				}
+			}
+		}
+		throwBadRequestExceptionIf(values.isEmpty(), "'" + param + "' is required");
+		throwBadRequestExceptionIf(values.size() > MAX_BATCH_SIZE,
+				"At most " + MAX_BATCH_SIZE + " '" + param + "' can be requested at once");
+		return values;
+	}
+
+	/**
+	 * Sets the cursor of the next page in the {@value #NEXT_CURSOR_HEADER} header when the page is full
+	 * 
+	 * @param response
+	 * @param entries		the page being returned
+	 * @param limit			size of the page
+	 * @param entryId		ID of an entry, the next page starts after the ID of the last entry
+	 * @return the given entries
+	 */
+	protected <T> Collection<T> setNextCursor(Response response, Collection<T> entries, int limit,
+			Function<T, Integer> entryId) {
+		if (entries.size() >= limit) {
+			String lastId = entryId.apply(Iterables.getLast(entries)).toString();
+			response.header(NEXT_CURSOR_HEADER, 
+					Base64.getUrlEncoder().withoutPadding().encodeToString(lastId.getBytes(StandardCharsets.UTF_8)));
+		}
+		return entries;
+	}
+
+	/**
+	 * Sets the {@value #ETAG_HEADER} of the response from the version of what is requested, and ends the request
+	 * if the client already has that version in its {@value #IF_NONE_MATCH_HEADER} header.
+	 * Called before getting what is requested, so it isn't loaded or written when it hasn't changed.
+	 * 
+	 * The ETag is weak, as the JSON and XML of the same version are equivalent, and it varies by Accept.
+	 * Clients are asked to revalidate every time, as the version can change at any time.
+	 * Versions are kept by each replica, so a client revalidating against another replica gets the full response
+	 * 
+	 * @param request
+	 * @param response
+	 * @param version	version of what is requested, or {@code null} if it isn't versioned
+	 * @throws NotModifiedException	if the client has the same version
+	 */
+	protected void checkNotModified(Request request, Response response, String version) {
+		if (version == null) {
+			return;
+		}
+		String eTag = WEAK_ETAG_PREFIX + '"' + version + '"';
+		response.header(ETAG_HEADER, eTag);
+		response.header("Cache-Control", "no-cache");
+		response.header("Vary", "Accept");
+
+		String ifNoneMatch = request.headers(IF_NONE_MATCH_HEADER);
+		if (ifNoneMatch != null) {
+			for (String clientETag : ifNoneMatch.split(",")) {
+				clientETag = clientETag.trim();
+				if (clientETag.startsWith(WEAK_ETAG_PREFIX)) {
+					clientETag = clientETag.substring(WEAK_ETAG_PREFIX.length());
+				}
+				if (clientETag.equals("*") || clientETag.equals(eTag.substring(WEAK_ETAG_PREFIX.length()))) {
+					throw new NotModifiedException();
+				}
+			}
+		}
+	}
+
 	protected <T> T extractBodyContent(Request request, Class<T> aClass) {
 
 		if (StringUtils.isBlank(request.contentType())
@@ -43,6 +43,7 @@ public class UserRequestHandler extends RequestHandler {
 
 	public UserPage handleGetUserPage(Request request, Response response) {
 		String username = request.params("username");
+		checkNotModified(request, response, dataService.getUserPageVersion(username));
 		UserPage userPage = dataService.getUserPageInfoByName(username);
 		if (userPage != null) {
 			userPage.addFollowersUsernames(dataService.getFollowerUsernames(username));
@@ -53,6 +54,10 @@ public class UserRequestHandler extends RequestHandler {
 		}
 	}
 
+	public Collection<UserPage> handleGetUserPagesByNames(Request request, Response response) {
+		return dataService.getUserPagesByNames(getBatchValues(request, "usernames"));
+	}
+
 	public Boolean handleIsUsernameTaken(Request request, Response response) {
 		String username = request.params("username");
 		if (!username.matches("^[\\w\\d_]+$")) {
@@ -9,7 +9,9 @@ import com.jms.socialmedia.exception.FailedLoginAttemptException;
 import com.jms.socialmedia.exception.ForbiddenException;
 import com.jms.socialmedia.exception.InvalidUserLoginStateException;
 import com.jms.socialmedia.exception.NotFoundException;
+import com.jms.socialmedia.exception.NotModifiedException;
 import com.jms.socialmedia.exception.NoBearerTokenException;
+import com.jms.socialmedia.exception.ServiceUnavailableException;
 import com.jms.socialmedia.exception.UnsupportedContentTypeException;
 
 import spark.Request;
@@ -21,6 +23,12 @@ public class ExceptionHandler {
 
 	public void handleException(Exception exception, Request request, Response response) {
 
+		if (exception instanceof NotModifiedException) {
+			response.body("");
+			response.status(304);
+			return;
+		}
+
 		LOGGER.error(exception.getMessage());
 
 		response.type("text/plain");
@@ -58,6 +66,11 @@ public class ExceptionHandler {
 			response.body("Database Error: " + exception.getMessage());
 			response.status(500);
 
+		} else if (exception instanceof ServiceUnavailableException) {
+			response.header("Retry-After", "1");
+			response.body(exception.getMessage());
+			response.status(503);
+
 		} else {
 			LOGGER.error(exception.getClass().getCanonicalName(), exception);
 			response.body(exception.getClass().getCanonicalName());
@@ -0,0 +1,49 @@
+package com.jms.socialmedia.routes;
+
+import java.util.zip.Deflater;
+
+import org.eclipse.jetty.server.handler.gzip.GzipHandler;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+
+/**
+ * Counts the bytes of the responses compressed by the {@link GzipHandler}, before and after compression.
+ *
+ * Each compressed response has its own Deflater, which is given back once the response is complete,
+ * so its totals are those of the whole response
+ */
+public class GzipHandlerWithMetrics extends GzipHandler {
+
+	// Header and trailer added by GZIP around the compressed bytes
+	private static final int GZIP_HEADER_AND_TRAILER_SIZE = 18;
+
+	private final Counter compressedResponsesCounter;
+	private final Counter uncompressedBytesCounter;
+	private final Counter compressedBytesCounter;
+	private final Counter bytesSavedCounter;
+
+	public GzipHandlerWithMetrics(MetricRegistry metricRegistry) {
+		this(metricRegistry, GzipHandler.class.getSimpleName());
+	}
+
+	public GzipHandlerWithMetrics(MetricRegistry metricRegistry, String metricsName) {
+		this.compressedResponsesCounter = metricRegistry.counter(metricsName + ".compressedResponses");
+		this.uncompressedBytesCounter = metricRegistry.counter(metricsName + ".uncompressedBytes");
+		this.compressedBytesCounter = metricRegistry.counter(metricsName + ".compressedBytes");
+		this.bytesSavedCounter = metricRegistry.counter(metricsName + ".bytesSaved");
+	}
+
+	@Override
+	public void recycle(Deflater deflater) {
+		if (deflater.finished()) {
+			long uncompressedBytes = deflater.getBytesRead();
+			long compressedBytes = deflater.getBytesWritten() + GZIP_HEADER_AND_TRAILER_SIZE;
+			compressedResponsesCounter.inc();
+			uncompressedBytesCounter.inc(uncompressedBytes);
+			compressedBytesCounter.inc(compressedBytes);
+			bytesSavedCounter.inc(uncompressedBytes - compressedBytes);
+		}
+		super.recycle(deflater);
+	}
+}
@@ -0,0 +1,82 @@
+package com.jms.socialmedia.routes;
+
+import org.eclipse.jetty.server.Handler;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.handler.gzip.GzipHandler;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.eclipse.jetty.util.thread.ThreadPool;
+
+import com.codahale.metrics.MetricRegistry;
+
+import spark.embeddedserver.jetty.JettyServerFactory;
+
+/**
+ * Creates the Jetty Servers of Spark the way Spark does, except the Handler Spark sets on them is wrapped
+ * in a {@link GzipHandler}.
+ *
+ * Responses of the API and Metrics are compressed when the client accepts GZIP and they are at least
+ * {@code minGzipSize} bytes, including the JSON written straight to the response. Server-Sent Events are not
+ * compressed
+ */
+public class GzipJettyServerFactory implements JettyServerFactory {
+
+	private static final String[] GZIP_PATHS = { "/api/*", "/metrics/*" };
+	private static final String TEXT_EVENT_STREAM = "text/event-stream";
+	private static final int DEFAULT_MIN_THREADS = 8;
+	private static final int DEFAULT_THREAD_IDLE_TIMEOUT_MILLIS = 60000;
+
+	private final int compressionLevel;
+	private final int minGzipSize;
+	private final MetricRegistry metricRegistry;
+
+	/**
+	 * @param compressionLevel	level of compression, from 1 (fastest) to 9 (smallest)
+	 * @param minGzipSize		minimum size in bytes of the responses compressed
+	 * @param metricRegistry	registers the counters of bytes compressed and saved, can be {@code null}
+	 */
+	public GzipJettyServerFactory(int compressionLevel, int minGzipSize, MetricRegistry metricRegistry) {
+		this.compressionLevel = compressionLevel;
+		this.minGzipSize = minGzipSize;
+		this.metricRegistry = metricRegistry;
+	}
+
+	@Override
+	public Server create(int maxThreads, int minThreads, int threadTimeoutMillis) {
+		if (maxThreads > 0) {
+			return create(new QueuedThreadPool(maxThreads, minThreads > 0 ? minThreads : DEFAULT_MIN_THREADS,
+					threadTimeoutMillis > 0 ? threadTimeoutMillis : DEFAULT_THREAD_IDLE_TIMEOUT_MILLIS));
+		}
+		return create(null);
+	}
+
+	@Override
+	public Server create(ThreadPool threadPool) {
+		return new GzipServer(threadPool);
+	}
+
+	GzipHandler createGzipHandler() {
+		GzipHandler gzipHandler = metricRegistry == null ? new GzipHandler() : new GzipHandlerWithMetrics(metricRegistry);
+		gzipHandler.setIncludedPaths(GZIP_PATHS);
+		gzipHandler.setCompressionLevel(compressionLevel);
+		gzipHandler.setMinGzipSize(minGzipSize);
+		// Server-Sent Events are flushed one at a time, and their headers before any of them
+		gzipHandler.addExcludedMimeTypes(TEXT_EVENT_STREAM);
+		// No longer excluding old Internet Explorers, so responses only vary by Accept-Encoding
+		gzipHandler.setExcludedAgentPatterns();
+		return gzipHandler;
+	}
+
+	private class GzipServer extends Server {
+
+		private GzipServer(ThreadPool threadPool) {
+			super(threadPool);
+		}
+
+		@Override
+		public void setHandler(Handler handler) {
+			GzipHandler gzipHandler = createGzipHandler();
+			gzipHandler.setHandler(handler);
+			super.setHandler(gzipHandler);
+		}
+	}
+}
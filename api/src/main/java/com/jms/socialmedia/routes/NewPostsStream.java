@@ -0,0 +1,196 @@
+package com.jms.socialmedia.routes;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.http.HttpServletResponse;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.jms.socialmedia.dataservice.DataService;
+import com.jms.socialmedia.events.PostCreatedBus;
+import com.jms.socialmedia.exception.NotFoundException;
+import com.jms.socialmedia.exception.ServiceUnavailableException;
+import com.jms.socialmedia.model.Post;
+
+import spark.Request;
+import spark.Response;
+
+/**
+ * Pushes the IDs of new Posts to clients as Server-Sent Events, instead of clients polling with sincePostId.
+ *
+ * Each connection is indexed under the usernames whose Posts it gets, so a new Post is only sent to the
+ * connections of its creator's followers. Connections don't hold a thread while they are idle, and events are
+ * written to them without blocking, so a slow client only holds itself back.
+ *
+ * The Users followed are read when connecting, and follows made since are picked up when the client reconnects,
+ * which EventSources do by themselves once the connection times out. The ID and data of each event is the Post ID,
+ * so clients can get the Posts they missed while reconnecting with sincePostId.
+ * Comments are sent as heartbeats, to keep idle connections open and find the clients that went away
+ */
+public class NewPostsStream {
+
+	private static final String USERNAME_PARAM = "username";
+	private static final String TEXT_EVENT_STREAM = "text/event-stream";
+	private static final String ALL_POSTS = "*";
+	private static final String HEARTBEAT = ":\n\n";
+	private static final int MAX_QUEUED_EVENTS = 100;
+
+	private final DataService dataService;
+	private final int maxConnections;
+	private final long timeoutMillis;
+	private final Set<ServerSentEventsConnection> connections = ConcurrentHashMap.newKeySet();
+	private final Map<String, Set<ServerSentEventsConnection>> connectionsByCreator = new ConcurrentHashMap<>();
+
+	/**
+	 * @param dataService		finds the Users followed, and the creators of Posts published without their username
+	 * @param postCreatedBus	publishes the Posts to push
+	 * @param maxConnections	number of connections open at once, above which new ones are turned away
+	 * @param timeoutSeconds	time after which a connection is closed, for the client to reconnect
+	 * @param heartbeatSeconds	time between heartbeats, none are sent if not positive
+	 * @param metricRegistry	registers the gauge of connections open, can be {@code null}
+	 */
+	public NewPostsStream(DataService dataService, PostCreatedBus postCreatedBus, int maxConnections,
+			int timeoutSeconds, int heartbeatSeconds, MetricRegistry metricRegistry) {
+		this.dataService = dataService;
+		this.maxConnections = maxConnections;
+		this.timeoutMillis = TimeUnit.SECONDS.toMillis(timeoutSeconds);
+		postCreatedBus.subscribe(this::postCreated);
+
+		if (heartbeatSeconds > 0) {
+			ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(
+					new ThreadFactoryBuilder().setNameFormat("posts-stream-heartbeat-%d").setDaemon(true).build());
+			heartbeats.scheduleWithFixedDelay(this::sendHeartbeats, heartbeatSeconds, heartbeatSeconds,
+					TimeUnit.SECONDS);
+		}
+		if (metricRegistry != null) {
+			metricRegistry.register(MetricRegistry.name(NewPostsStream.class, "connections"),
+					(Gauge<Integer>) connections::size);
+		}
+	}
+
+	/**
+	 * <h1> GET /api/posts/stream </h1>
+	 *
+	 * @param request		Spark Request
+	 * @param response		Spark Response
+	 * @return				an empty body, the events are written as Posts are added
+	 *
+	 * @throws ServiceUnavailableException	if there are too many connections open
+	 */
+	public Object handleStreamNewPosts(Request request, Response response) throws IOException {
+		return stream(request, response, Collections.singleton(ALL_POSTS));
+	}
+
+	/**
+	 * <h1> GET /api/user/:username/feed/stream </h1>
+	 *
+	 * :username - login name of the User whose Feed it is
+	 *
+	 * @param request		Spark Request
+	 * @param response		Spark Response
+	 * @return				an empty body, the events are written as Posts of the User and those they follow are added
+	 *
+	 * @throws NotFoundException			if the User does not exist
+	 * @throws ServiceUnavailableException	if there are too many connections open
+	 */
+	public Object handleStreamNewFeedPosts(Request request, Response response) throws IOException {
+		String username = request.params(USERNAME_PARAM);
+		if (dataService.getUserIdByUsername(username) == null) {
+			throw new NotFoundException("User not found");
+		}
+		Set<String> creators = new HashSet<>();
+		creators.add(toKey(username));
+		dataService.getFollowingUsernames(username).forEach(following -> creators.add(toKey(following)));
+		return stream(request, response, creators);
+	}
+
+	int getNumberOfConnections() {
+		return connections.size();
+	}
+
+	void postCreated(Post post) {
+		if (connections.isEmpty()) {
+			return;
+		}
+		String username = post.getUsername();
+		if (username == null) {
+			Post addedPost = dataService.getPost(post.getPostId());
+			username = addedPost == null ? null : addedPost.getUsername();
+		}
+		String event = "id: " + post.getPostId() + "\ndata: " + post.getPostId() + "\n\n";
+		send(ALL_POSTS, event);
+		if (username != null) {
+			send(toKey(username), event);
+		}
+	}
+
+	void sendHeartbeats() {
+		connections.forEach(connection -> connection.send(HEARTBEAT));
+	}
+
+	/**
+	 * The headers are sent right away, so the client knows the stream is open, and Spark doesn't write
+	 * the returned body to the committed response
+	 */
+	private Object stream(Request request, Response response, Collection<String> creators) throws IOException {
+		if (connections.size() >= maxConnections) {
+			throw new ServiceUnavailableException("Too many streams open");
+		}
+		HttpServletResponse rawResponse = response.raw();
+		rawResponse.setContentType(TEXT_EVENT_STREAM);
+		rawResponse.setCharacterEncoding("UTF-8");
+		rawResponse.setHeader("Cache-Control", "no-cache");
+		rawResponse.flushBuffer();
+
+		AsyncContext asyncContext = request.raw().startAsync();
+		asyncContext.setTimeout(timeoutMillis);
+		ServerSentEventsConnection connection = new ServerSentEventsConnection(asyncContext, MAX_QUEUED_EVENTS,
+				closedConnection -> removeConnection(closedConnection, creators));
+		rawResponse.getOutputStream().setWriteListener(connection);
+		addConnection(connection, creators);
+		return "";
+	}
+
+	private void send(String creator, String event) {
+		connectionsByCreator.getOrDefault(creator, Collections.emptySet())
+				.forEach(connection -> connection.send(event));
+	}
+
+	private void addConnection(ServerSentEventsConnection connection, Collection<String> creators) {
+		connections.add(connection);
+		for (String creator : creators) {
+			connectionsByCreator.compute(creator, (key, creatorConnections) -> {
+				Set<ServerSentEventsConnection> updatedConnections = creatorConnections == null
+						? ConcurrentHashMap.newKeySet() : creatorConnections;
+				updatedConnections.add(connection);
+				return updatedConnections;
+			});
+		}
+	}
+
+	private void removeConnection(ServerSentEventsConnection connection, Collection<String> creators) {
+		connections.remove(connection);
+		for (String creator : creators) {
+			connectionsByCreator.computeIfPresent(creator, (key, creatorConnections) -> {
+				creatorConnections.remove(connection);
+				return creatorConnections.isEmpty() ? null : creatorConnections;
+			});
+		}
+	}
+
+	private static String toKey(String username) {
+		return username.toLowerCase(Locale.US);
+	}
+}
@@ -12,6 +12,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.dataformat.xml.XmlMapper;
 import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+import com.google.common.base.Utf8;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.jms.socialmedia.dataservice.DataService;
@@ -27,6 +28,7 @@ import com.jms.socialmedia.token.TokenService;
 import spark.Request;
 import spark.Response;
 import spark.ResponseTransformer;
+import spark.Route;
 
 import static spark.Spark.path;
 import static spark.Spark.before;
@@ -44,6 +46,7 @@ public class RouteMappings {
 	private static final String APPLICATION_JSON = "application/json";
 	private static final String APPLICATION_XML = "application/xml";
 	private static final String TEXT_XML = "text/xml";
+	private static final String ANY_CONTENT_TYPE = "*/*";
 
 	private final DataService dataService;
 	private final PasswordService passwordService;
@@ -51,6 +54,8 @@ public class RouteMappings {
 	private final MetricRegistry metricRegistry;
 	private final Set<Integer> adminUserIds;
 	private Set<RouteListener> routeListeners;
+	private StreamingJsonWriter streamingJsonWriter;
+	private NewPostsStream newPostsStream;
 
 	public RouteMappings(DataService dataService, PasswordService passwordService, TokenService tokenService,
 			MetricRegistry metricRegistry, Set<Integer> adminUserIds) {
@@ -72,9 +77,10 @@ public class RouteMappings {
 		LikeRequestHandler likeRequestHandler = new LikeRequestHandler(dataService, tokenService, gson);
 		FollowRequestHandler followRequestHandler = new FollowRequestHandler(dataService, tokenService, gson);
 		ExceptionHandler exceptionHandler = new ExceptionHandler();
+		streamingJsonWriter = new StreamingJsonWriter(gson);
 
 		ObjectWriter xmlWriter = new XmlMapper().registerModule(new AfterburnerModule()).writer();
-		Map<String, ResponseTransformer> contentWriters = Map.of("*/*", gson::toJson, 
+		Map<String, ResponseTransformer> contentWriters = Map.of(ANY_CONTENT_TYPE, gson::toJson, 
 				"*/xml", xmlWriter::writeValueAsString);
 
 		before("/*", this::informAllListenersOnRequest);
@@ -85,7 +91,9 @@ public class RouteMappings {
 
 			/** Post Request Mappings **/
 
-			get("/posts", contentType, postRequestHandler::handleGetPosts, contentWriter);
+			getCollection("/posts", contentType, postRequestHandler::handleGetPosts, contentWriter);
+
+			getCollection("/posts/batch", contentType, postRequestHandler::handleGetPostsByIds, contentWriter);
 
 			get(POST_ID_MAPPING, contentType, postRequestHandler::handleGetPost, contentWriter);
 
@@ -95,19 +103,27 @@ public class RouteMappings {
 
 			delete(POST_ID_MAPPING, contentType, postRequestHandler::handleDeletePost, contentWriter);
 
-			get("/user/:userId/posts", contentType, postRequestHandler::handleGetPostsByUserId, contentWriter);
+			getCollection("/user/:userId/posts", contentType, postRequestHandler::handleGetPostsByUserId,
+					contentWriter);
 
-			get("/user/:userId/commentedposts", contentType, postRequestHandler::handleGetCommentedPosts,
+			getCollection("/user/:userId/commentedposts", contentType, postRequestHandler::handleGetCommentedPosts,
 					contentWriter);
 
-			get("/user/:username/feed", contentType, postRequestHandler::handleGetFeedPosts, contentWriter);
+			getCollection("/user/:username/feed", contentType, postRequestHandler::handleGetFeedPosts, contentWriter);
+
+			getCollection("/user/:userId/mentioningposts", contentType,
+					postRequestHandler::handleGetPostsMentioningUser, contentWriter);
 
 			/** Comments Request Mappings **/
 
-			get("/post/:postId/comments", contentType, commentRequestHandler::handleGetComments, contentWriter);
+			getCollection("/post/:postId/comments", contentType, commentRequestHandler::handleGetComments,
+					contentWriter);
 
 			get(COMMENT_ID_MAPPING, contentType, commentRequestHandler::handleGetComment, contentWriter);
 
+			getCollection("/comments/batch", contentType, commentRequestHandler::handleGetCommentsByIds,
+					contentWriter);
+
 			post("/comment/add", contentType, commentRequestHandler::handleAddComment, contentWriter);
 			post("/post/:postId/comment/add", contentType, commentRequestHandler::handleAddComment, contentWriter);
 
@@ -117,28 +133,35 @@ public class RouteMappings {
 
 			/** Like Request Mappings **/
 
-			get("/post/:postId/likes", contentType, likeRequestHandler::handleGetPostLikes, contentWriter);
+			getCollection("/post/:postId/likes", contentType, likeRequestHandler::handleGetPostLikes, contentWriter);
 
 			post("/post/:postId/like/:userId", contentType, likeRequestHandler::handleLikePost, contentWriter);
 
 			delete("/post/:postId/unlike/:userId", contentType, likeRequestHandler::handleUnlikePost, contentWriter);
 
-			get("/user/:userId/likedposts", contentType, likeRequestHandler::handleGetLikedPosts, contentWriter);
+			getCollection("/user/:userId/likedposts", contentType, likeRequestHandler::handleGetLikedPosts,
+					contentWriter);
 
-			get("/comment/:commentId/likes", contentType, likeRequestHandler::handleGetCommentLikes, contentWriter);
+			getCollection("/comment/:commentId/likes", contentType, likeRequestHandler::handleGetCommentLikes,
+					contentWriter);
 
 			post("/comment/:commentId/like/:userId", contentType, likeRequestHandler::handleLikeComment, contentWriter);
 
 			delete("/comment/:commentId/unlike/:userId", contentType, likeRequestHandler::handleUnlikeComment,
 					contentWriter);
 
-			get("/user/:userId/comments", contentType, commentRequestHandler::handleGetCommentsByUserId, contentWriter);
+			getCollection("/user/:userId/comments", contentType, commentRequestHandler::handleGetCommentsByUserId,
+					contentWriter);
+
+			getCollection("/user/:userId/mentioningcomments", contentType,
+					commentRequestHandler::handleGetCommentsMentioningUser, contentWriter);
 
 			/** Follow Request Mappings **/
 
-			get("/user/:username/following", contentType, followRequestHandler::handleGetFollowingUsernames, contentWriter);
+			getCollection("/user/:username/following", contentType, followRequestHandler::handleGetFollowingUsernames,
+					contentWriter);
 
-			get("/user/:username/userstofollow", contentType, followRequestHandler::handleGetUsersToFollow,
+			getCollection("/user/:username/userstofollow", contentType, followRequestHandler::handleGetUsersToFollow,
 					contentWriter);
 
 			post("/user/follow", contentType, followRequestHandler::handleFollowUser, contentWriter);
@@ -149,6 +172,9 @@ public class RouteMappings {
 
 			get("/user/:username/pageinfo", contentType, userRequestHandler::handleGetUserPage, contentWriter);
 
+			getCollection("/users/pageinfo/batch", contentType, userRequestHandler::handleGetUserPagesByNames,
+					contentWriter);
+
 			get("/users/isUsernameTaken/:username", contentType, userRequestHandler::handleIsUsernameTaken,
 					contentWriter);
 
@@ -165,15 +191,32 @@ public class RouteMappings {
 			post("/logout", contentType, userRequestHandler::handleLogout);
 		}));
 
+		if (newPostsStream != null) {
+			startNewPostsStreamEndpoints();
+		}
+
 		if (metricRegistry != null) {
 			startMetricsEndpoints();
 		}
 
 		after("/*", this::setContentType);
+		after("/*", this::setContentLength);
 		after("/*", this::informAllListenersOnResponse);
 		exception(Exception.class, exceptionHandler::handleException);
 	}
 
+	/**
+	 * Mapped for any Accept header, as the Server-Sent Events they write are neither JSON nor XML
+	 */
+	private void startNewPostsStreamEndpoints() {
+		path("/api", () -> {
+
+			get("/posts/stream", newPostsStream::handleStreamNewPosts);
+
+			get("/user/:username/feed/stream", newPostsStream::handleStreamNewFeedPosts);
+		});
+	}
+
 	private void startMetricsEndpoints() {
 		MetricsRequestHandler metricsRequestHandler = new MetricsRequestHandler(dataService, tokenService,
 				metricRegistry);
@@ -213,6 +256,24 @@ public class RouteMappings {
 		});
 	}
 
+	/**
+	 * Maps a GET Route returning a Collection, which is streamed to the response when written as JSON
+	 */
+	private void getCollection(String path, String contentType, Route route, ResponseTransformer contentWriter) {
+		if (ANY_CONTENT_TYPE.equals(contentType)) {
+			get(path, contentType, streamingJsonWriter.streaming(route));
+		} else {
+			get(path, contentType, route, contentWriter);
+		}
+	}
+
+	/**
+	 * @param newPostsStream	streams new Posts to clients, which is only mapped if it is set before starting
+	 */
+	public void setNewPostsStream(NewPostsStream newPostsStream) {
+		this.newPostsStream = newPostsStream;
+	}
+
 	public boolean addRouteListener(RouteListener routeListener) {
 		return routeListeners.add(routeListener);
 	}
@@ -234,6 +295,17 @@ public class RouteMappings {
 		}
 	}
 
+	/**
+	 * Spark writes bodies without a length, so it's set from the body here, for the responses too small to be
+	 * worth compressing to be sent as they are. Bodies streamed by the Route were already written
+	 */
+	private void setContentLength(Request request, Response response) {
+		String body = response.body();
+		if (body != null && !body.isEmpty() && !response.raw().isCommitted()) {
+			response.raw().setContentLength(Utf8.encodedLength(body));
+		}
+	}
+
 	private Gson createGson() {
 		return new GsonBuilder().registerTypeAdapter(LocalDate.class, new LocalDateTypeAdapter()).create();
 	}
@@ -0,0 +1,125 @@
+package com.jms.socialmedia.routes;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.function.Consumer;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+
+/**
+ * An open response of Server-Sent Events, written to without ever blocking a thread.
+ *
+ * Events are queued, and written whenever the response can take them. A client that doesn't read its events
+ * falls {@code maxQueuedEvents} behind and is disconnected, so it can't hold on to memory. Once the connection
+ * is closed, by either side or by timing out, {@code onClose} is called with it and further events are ignored
+ */
+public class ServerSentEventsConnection implements WriteListener, AsyncListener {
+
+	private final AsyncContext asyncContext;
+	private final int maxQueuedEvents;
+	private final Consumer<ServerSentEventsConnection> onClose;
+	private final Queue<byte[]> queuedEvents = new ArrayDeque<>();
+	private boolean flushNeeded;
+	private boolean closed;
+
+	/**
+	 * Listens to the response of the {@link AsyncContext}, which is written to once it is given this as its
+	 * {@link WriteListener}
+	 */
+	public ServerSentEventsConnection(AsyncContext asyncContext, int maxQueuedEvents,
+			Consumer<ServerSentEventsConnection> onClose) {
+		this.asyncContext = asyncContext;
+		this.maxQueuedEvents = maxQueuedEvents;
+		this.onClose = onClose;
+		asyncContext.addListener(this);
+	}
+
+	/**
+	 * @param event		a whole event, ending with a blank line
+	 */
+	public synchronized void send(String event) {
+		if (closed) {
+			return;
+		}
+		if (queuedEvents.size() >= maxQueuedEvents) {
+			close();
+			return;
+		}
+		queuedEvents.add(event.getBytes(StandardCharsets.UTF_8));
+		write();
+	}
+
+	public synchronized void close() {
+		if (!closed) {
+			closed = true;
+			queuedEvents.clear();
+			asyncContext.complete();
+		}
+	}
+
+	@Override
+	public synchronized void onWritePossible() {
+		if (!closed) {
+			write();
+		}
+	}
+
+	@Override
+	public void onError(Throwable t) {
+		close();
+	}
+
+	@Override
+	public void onComplete(AsyncEvent event) {
+		synchronized (this) {
+			closed = true;
+			queuedEvents.clear();
+		}
+		onClose.accept(this);
+	}
+
+	@Override
+	public void onTimeout(AsyncEvent event) {
+		close();
+	}
+
+	@Override
+	public void onError(AsyncEvent event) {
+		close();
+	}
+
+	@Override
+	public void onStartAsync(AsyncEvent event) {
+		// Only started once
+	}
+
+	/**
+	 * Writes the queued events until the response can't take more without blocking, in which case
+	 * {@link #onWritePossible()} is called once it can. The events written are flushed at the end
+	 */
+	private void write() {
+		try {
+			ServletOutputStream outputStream = asyncContext.getResponse().getOutputStream();
+			while (outputStream.isReady()) {
+				byte[] event = queuedEvents.poll();
+				if (event != null) {
+					outputStream.write(event);
+					flushNeeded = true;
+				} else if (flushNeeded) {
+					flushNeeded = false;
+					outputStream.flush();
+				} else {
+					return;
+				}
+			}
+		} catch (IOException | IllegalStateException e) {
+			close();
+		}
+	}
+}
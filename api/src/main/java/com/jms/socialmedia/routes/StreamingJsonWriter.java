@@ -0,0 +1,67 @@
+package com.jms.socialmedia.routes;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+
+import spark.Route;
+
+/**
+ * Writes the Collections returned by Routes as JSON straight to the output stream of the response, one element
+ * at a time, instead of building the whole JSON array as a String first.
+ *
+ * The characters go through the buffer of the response, which Jetty reuses between requests, and are sent
+ * whenever it fills up. So the memory used to write a response doesn't grow with the number of elements.
+ * Anything else returned by a Route is written as one String, like {@code gson::toJson} does
+ */
+public class StreamingJsonWriter {
+
+	private static final String APPLICATION_JSON = "application/json";
+
+	private final Gson gson;
+
+	public StreamingJsonWriter(Gson gson) {
+		this.gson = gson;
+	}
+
+	/**
+	 * @param route	Route returning the Collection to write
+	 * @return		Route writing the Collection to the response, and returning an empty body for Spark to write
+	 */
+	public Route streaming(Route route) {
+		return (request, response) -> {
+			Object model = route.handle(request, response);
+			if (!(model instanceof Collection)) {
+				return gson.toJson(model);
+			}
+			// The response is sent before the after-filters, once the buffer fills up
+			response.type(APPLICATION_JSON);
+			write((Collection<?>) model, response.raw().getOutputStream());
+			return "";
+		};
+	}
+
+	/**
+	 * Writes the same JSON as {@code gson.toJson(collection)}, without closing the stream
+	 */
+	public void write(Collection<?> collection, OutputStream outputStream) throws IOException {
+		Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+		JsonWriter jsonWriter = gson.newJsonWriter(writer);
+		jsonWriter.beginArray();
+		for (Object element : collection) {
+			if (element == null) {
+				jsonWriter.nullValue();
+			} else {
+				gson.toJson(element, element.getClass(), jsonWriter);
+			}
+		}
+		jsonWriter.endArray();
+		jsonWriter.flush();
+	}
+}
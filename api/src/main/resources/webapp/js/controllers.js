@@ -1,5 +1,23 @@
 (function() {
 
+	/**
+	 * Sets $scope[loadMore] to a function that loads the page after the given one and appends its entries,
+	 * for as long as the X-Next-Cursor of the last page loaded says there are more
+	 */
+	let followNextCursor = function ($scope, loadMore, page, loadPage, append, alertService) {
+		$scope[loadMore] = page.nextCursor ? function () {
+			$scope[loadMore] = undefined;
+			loadPage(page.nextCursor)
+				.then(function (nextPage) {
+					append(nextPage.entries);
+					followNextCursor($scope, loadMore, nextPage, loadPage, append, alertService);
+				}, function (error) {
+					alertService.error(error.data);
+					followNextCursor($scope, loadMore, page, loadPage, append, alertService);
+				});
+		} : undefined;
+	};
+
 	var MainController = function($scope, $location, $route, alertService, loginService, usersService) {
 		$scope.$on('$routeChangeStart', function(scope, next, current){
 			alertService.clearAlerts();
@@ -74,33 +92,34 @@
 
 	var HomeController = function ($scope, postsService, alertService) {
 
-		let noPostsMessage = function (data, text) {
-			if (!data || !data.length) {
-				$scope.noPostsMessage = text;
-			}
-		};
-
-		$scope.getFeedPosts = function() {
+		let showPosts = function (loadPage, noPostsText) {
 			$scope.noPostsMessage = undefined;
-			postsService.getFeedPosts($scope.username)
-				.then(function (data) {
-					$scope.posts = data;
-					noPostsMessage(data, "Start following people to see Posts here!");
+			loadPage()
+				.then(function (page) {
+					$scope.posts = page.entries;
+					if (!page.entries || !page.entries.length) {
+						$scope.noPostsMessage = noPostsText;
+					}
+					followNextCursor($scope, "loadMorePosts", page, loadPage, function (entries) {
+						$scope.posts = $scope.posts.concat(entries);
+					}, alertService);
 			  	}, function (error) {
 			  		alertService.error(error.data);
 			  	});
 		};
 
+		$scope.getFeedPosts = function() {
+			showPosts(function (cursor) {
+				return postsService.getFeedPosts($scope.username, cursor);
+			}, "Start following people to see Posts here!");
+		};
+
 		if ($scope.userId) {
 			$scope.getFeedPosts();
 		} else {
-			postsService.getPosts()
-				.then(function (data) {
-					$scope.posts = data;
-					noPostsMessage(data, "No Posts were found!");
-			  	}, function (error) {
-			  		alertService.error(error.data);
-			  	});
+			showPosts(function (cursor) {
+				return postsService.getPosts(null, cursor);
+			}, "No Posts were found!");
 		}
 
 		$scope.deletePost = function (postId) {
@@ -129,13 +148,19 @@
 		  	}, function (error) {
 		  		alertService.error(error.data);
 		  	});
-		postsService.getComments(postId)
-			.then(function (data) {
+		let loadComments = function (cursor) {
+			return postsService.getComments(postId, cursor);
+		};
+		loadComments()
+			.then(function (page) {
 				if ($scope.entry) {
-					$scope.entry.comments = data;
+					$scope.entry.comments = page.entries;
 				} else {
-					comments = data;
+					comments = page.entries;
 				}
+				followNextCursor($scope, "loadMoreComments", page, loadComments, function (entries) {
+					$scope.entry.comments = $scope.entry.comments.concat(entries);
+				}, alertService);
 		  	}, function (error) {
 		  		alertService.error(error.data);
 		  	});
@@ -165,12 +190,18 @@
 		$location.search({});
 		$location.search(params);
 
-		postsService.getPosts(params)
-			.then(function (data) {
-				$scope.posts = data;
-				if (!data || !data.length) {
+		let loadPosts = function (cursor) {
+			return postsService.getPosts(params, cursor);
+		};
+		loadPosts()
+			.then(function (page) {
+				$scope.posts = page.entries;
+				if (!page.entries || !page.entries.length) {
 					$scope.noPostsMessage = "No Posts were found!";
 				}
+				followNextCursor($scope, "loadMorePosts", page, loadPosts, function (entries) {
+					$scope.posts = $scope.posts.concat(entries);
+				}, alertService);
 		  	}, function (error) {
 		  		alertService.error(error.data);
 		  	});
@@ -347,41 +378,45 @@
 
 		var username = $routeParams.username;
 
+		/**
+		 * Shows the first page of a tab in $scope[name], and the next ones with $scope[loadMore]
+		 */
+		let showTab = function (name, loadMore, getPage) {
+			let loadPage = function (cursor) {
+				return getPage($scope.user.userId, cursor);
+			};
+			loadPage()
+				.then(function (page) {
+					$scope[name] = page.entries;
+					followNextCursor($scope, loadMore, page, loadPage, function (entries) {
+						$scope[name] = $scope[name].concat(entries);
+					}, alertService);
+				});
+		};
+
 		usersService.getUserPageInfo(username)
 			.then(function (data) {
 				$scope.user = data;
-				postsService.getPostsByUserId(data.userId)
-				.then(function (postData) {
-					$scope.posts = postData;
-				});
+				showTab("posts", "loadMorePosts", postsService.getPostsByUserId);
 			}, function (error) {
 				alertService.error(error.data);
 			});
 
 		$scope.getLikedPosts = function () {
 			if (!$scope.likedPosts) {
-				postsService.getLikedPostsByUserId($scope.user.userId)
-				.then(function (data) {
-					$scope.likedPosts = data;
-				});
+				showTab("likedPosts", "loadMoreLikedPosts", postsService.getLikedPostsByUserId);
 			}
 		};
 
 		$scope.getCommentedPosts = function () {
 			if (!$scope.commentedPosts) {
-				postsService.getCommentedPostsByUserId($scope.user.userId)
-				.then(function (data) {
-					$scope.commentedPosts = data;
-				});
+				showTab("commentedPosts", "loadMoreCommentedPosts", postsService.getCommentedPostsByUserId);
 			}
 		};
 
 		$scope.getComments = function () {
 			if (!$scope.comments) {
-				postsService.getCommentsByUserId($scope.user.userId)
-				.then(function (data) {
-					$scope.comments = data;
-				});
+				showTab("comments", "loadMoreComments", postsService.getCommentsByUserId);
 			}
 		};
 
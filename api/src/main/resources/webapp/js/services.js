@@ -8,6 +8,23 @@
 	        });
 	}
 	
+	/**
+	 * Gets a page of a listing, starting at the cursor if given.
+	 * The nextCursor of the page is the X-Next-Cursor header, there are more entries only if it is set
+	 */
+	let getPage = function($http, url, cursor) {
+		if (cursor) {
+			url = url + (url.indexOf("?") > -1 ? "&" : "?") + "cursor=" + encodeURIComponent(cursor);
+		}
+		return $http.get(url)
+			.then(function (response) {
+				return {
+					entries: response.data,
+					nextCursor: response.headers("X-Next-Cursor")
+				};
+			});
+	};
+
 	var postsService = function($http, $location) {
 
 	    var getPost = function (postId) {
@@ -17,14 +34,11 @@
 	              });
 	    };
 
-	    var getComments = function (postId) {
-	    	return $http.get($http.apiPath + "/post/" + postId + "/comments")
-	              .then(function (response) {
-	            	  return response.data;
-	              });
+	    var getComments = function (postId, cursor) {
+	    	return getPage($http, $http.apiPath + "/post/" + postId + "/comments", cursor);
 	    };
 
-	    var getPosts = function (queryParams) {
+	    var getPosts = function (queryParams, cursor) {
 	    	let queryParamString = "?sortBy=postId&order=desc";
 	    	if (queryParams) {
 	    		if (queryParams.username) {
@@ -37,17 +51,11 @@
 	    			queryParamString = queryParamString + "&on=" + queryParams.on;
 	    		}
 	    	}
-	    	return $http.get($http.apiPath + "/posts" + queryParamString)
-	              .then(function (response) {
-	            	  return response.data;
-	              });
+	    	return getPage($http, $http.apiPath + "/posts" + queryParamString, cursor);
 	    };
 
-	    var getFeedPosts = function (username) {
-	    	return $http.get($http.apiPath + "/user/" + username + "/feed")
-	              .then(function (response) {
-	            	  return response.data;
-	              });
+	    var getFeedPosts = function (username, cursor) {
+	    	return getPage($http, $http.apiPath + "/user/" + username + "/feed", cursor);
 	    };
 
 	    var addPost = function (userId, text) {
@@ -85,32 +93,20 @@
 	        });
 	    };
 
-	    var getPostsByUserId = function (userId) {
-	    	return $http.get($http.apiPath + "/user/" + userId + "/posts")
-	              .then(function (response) {
-	            	  return response.data;
-	              });
+	    var getPostsByUserId = function (userId, cursor) {
+	    	return getPage($http, $http.apiPath + "/user/" + userId + "/posts", cursor);
 	    };
 
-	    var getLikedPostsByUserId = function (userId) {
-	    	return $http.get($http.apiPath + "/user/" + userId + "/likedposts")
-	              .then(function (response) {
-	            	  return response.data;
-	              });
+	    var getLikedPostsByUserId = function (userId, cursor) {
+	    	return getPage($http, $http.apiPath + "/user/" + userId + "/likedposts", cursor);
 	    };
 
-	    var getCommentedPostsByUserId = function (userId) {
-	    	return $http.get($http.apiPath + "/user/" + userId + "/commentedposts")
-	              .then(function (response) {
-	            	  return response.data;
-	              });
+	    var getCommentedPostsByUserId = function (userId, cursor) {
+	    	return getPage($http, $http.apiPath + "/user/" + userId + "/commentedposts", cursor);
 	    };
 
-	    var getCommentsByUserId = function (userId) {
-	    	return $http.get($http.apiPath + "/user/" + userId + "/comments")
-	              .then(function (response) {
-	            	  return response.data;
-	              });
+	    var getCommentsByUserId = function (userId, cursor) {
+	    	return getPage($http, $http.apiPath + "/user/" + userId + "/comments", cursor);
 	    };
 
 	    var addComment = function (userId, postId, text) {
@@ -4,6 +4,7 @@ import java.io.IOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 
 import org.junit.Before;
@@ -44,6 +45,10 @@ public class CommentRequestHandlerTest {
 	private static final String POST_ID_PARAM = "postId";
 	private static final String COMMENT_ID_PARAM = "commentId";
 	private static final String USER_ID_PARAM = "userId";
+	private static final String SINCE_COMMENT_ID_PARAM = "sinceCommentId";
+	private static final String BEFORE_COMMENT_ID_PARAM = "beforeCommentId";
+	private static final String LIMIT_PARAM = "limit";
+	private static final String CURSOR_PARAM = "cursor";
 	private static final String ADD_COMMENT_REQUEST = "{\"userId\":1, \"postId\":10, \"text\":\"A Cool Comment!\"}";
 	private static final String ADD_COMMENT_REQUEST_WITHOUT_POST_ID = "{\"userId\":1, \"text\":\"A Cool Comment!\"}";
 	private static final String EDIT_COMMENT_REQUEST = "{\"text\":\"Editing this Comment!\"}";
@@ -74,13 +79,17 @@ public class CommentRequestHandlerTest {
 				new Comment(2, 10, "Another Cool Comment", LocalDateTime.now()));
 
 		when(request.params(POST_ID_PARAM)).thenReturn("10");
-		when(dataService.getComments(10)).thenReturn(comments);
+		when(dataService.getComments(10, null, 100)).thenReturn(comments);
 
 		Collection<Comment> retrievedComments = commentRequestHandler.handleGetComments(request, response);
 		assertThat(retrievedComments, is(comments));
 		verify(request, times(1)).params(POST_ID_PARAM);
+		verify(request, times(1)).queryParams(CURSOR_PARAM);
+		verify(request, times(1)).queryParams(SINCE_COMMENT_ID_PARAM);
+		verify(request, times(1)).queryParams(LIMIT_PARAM);
 		verifyNoMoreInteractions(request);
-		verify(dataService, times(1)).getComments(10);
+		verify(dataService, times(1)).getCommentsVersion(10);
+		verify(dataService, times(1)).getComments(10, null, 100);
 		verifyNoMoreInteractions(dataService);
 		verifyZeroInteractions(tokenService);
 	}
@@ -92,13 +101,52 @@ public class CommentRequestHandlerTest {
 				new Comment(2, 10, 12, "Jason", "Jason Sarwar", "Another Cool Comment", LocalDateTime.now()));
 
 		when(request.params(USER_ID_PARAM)).thenReturn("12");
-		when(dataService.getCommentsByUserId(12)).thenReturn(comments);
+		when(dataService.getCommentsByUserId(12, null, 100)).thenReturn(comments);
 
 		Collection<Comment> retrievedComments = commentRequestHandler.handleGetCommentsByUserId(request, response);
 		assertThat(retrievedComments, is(comments));
 		verify(request, times(1)).params(USER_ID_PARAM);
+		verify(request, times(1)).queryParams(CURSOR_PARAM);
+		verify(request, times(1)).queryParams(BEFORE_COMMENT_ID_PARAM);
+		verify(request, times(1)).queryParams(LIMIT_PARAM);
 		verifyNoMoreInteractions(request);
-		verify(dataService, times(1)).getCommentsByUserId(12);
+		verify(dataService, times(1)).getCommentsByUserId(12, null, 100);
+		verifyNoMoreInteractions(dataService);
+		verifyZeroInteractions(tokenService);
+	}
+
+	@Test
+	public void testHandleGetCommentsMentioningUser() {
+		Collection<Comment> comments = Set.of(
+				new Comment(1, 10, 11, "Jason", "Jason Sarwar", "A Cool Comment @user", LocalDateTime.now()),
+				new Comment(2, 10, 11, "Jason", "Jason Sarwar", "Another Cool Comment @user", LocalDateTime.now()));
+
+		when(request.params(USER_ID_PARAM)).thenReturn("12");
+		when(dataService.getCommentsMentioningUserId(12, null, 100)).thenReturn(comments);
+
+		Collection<Comment> retrievedComments = commentRequestHandler.handleGetCommentsMentioningUser(request, response);
+		assertThat(retrievedComments, is(comments));
+		verify(request, times(1)).params(USER_ID_PARAM);
+		verify(request, times(1)).queryParams(CURSOR_PARAM);
+		verify(request, times(1)).queryParams(BEFORE_COMMENT_ID_PARAM);
+		verify(request, times(1)).queryParams(LIMIT_PARAM);
+		verifyNoMoreInteractions(request);
+		verify(dataService, times(1)).getCommentsMentioningUserId(12, null, 100);
+		verifyNoMoreInteractions(dataService);
+		verifyZeroInteractions(tokenService);
+	}
+
+	@Test
+	public void testHandleGetCommentsByIds() {
+		Collection<Comment> comments = List.of(new Comment(3), new Comment(8));
+
+		when(request.queryParamsValues("ids")).thenReturn(new String[] { "3", "8" });
+		when(dataService.getCommentsByIds(List.of(3, 8))).thenReturn(comments);
+
+		assertThat(commentRequestHandler.handleGetCommentsByIds(request, response), is(comments));
+		verify(request, times(1)).queryParamsValues("ids");
+		verifyNoMoreInteractions(request);
+		verify(dataService, times(1)).getCommentsByIds(List.of(3, 8));
 		verifyNoMoreInteractions(dataService);
 		verifyZeroInteractions(tokenService);
 	}
@@ -114,6 +162,7 @@ public class CommentRequestHandlerTest {
 		assertThat(retrievedComment, is(comment));
 		verify(request, times(1)).params(COMMENT_ID_PARAM);
 		verifyNoMoreInteractions(request);
+		verify(dataService, times(1)).getCommentVersion(3);
 		verify(dataService, times(1)).getComment(3);
 		verifyNoMoreInteractions(dataService);
 		verifyZeroInteractions(tokenService);
@@ -131,6 +180,7 @@ public class CommentRequestHandlerTest {
 			assertThat(e.getMessage(), is(NOT_FOUND_MESSAGE));
 			verify(request, times(1)).params(COMMENT_ID_PARAM);
 			verifyNoMoreInteractions(request);
+			verify(dataService, times(1)).getCommentVersion(3);
 			verify(dataService, times(1)).getComment(3);
 			verifyNoMoreInteractions(dataService);
 			verifyZeroInteractions(tokenService);
@@ -36,6 +36,9 @@ public class LikeRequestHandlerTest {
 	private static final String USER_ID_PARAM = "userId";
 	private static final String POST_ID_PARAM = "postId";
 	private static final String COMMENT_ID_PARAM = "commentId";
+	private static final String BEFORE_POST_ID_PARAM = "beforePostId";
+	private static final String LIMIT_PARAM = "limit";
+	private static final String CURSOR_PARAM = "cursor";
 	private static final String AUTHORIZATION = "Authorization";
 
 	@Mock
@@ -66,13 +69,16 @@ public class LikeRequestHandlerTest {
 		Collection<Post> posts = Set.of(post1, post2);
 
 		when(request.params(USER_ID_PARAM)).thenReturn("3"); // Jack is userId 3
-		when(dataService.getLikedPostsByUserId(3)).thenReturn(posts);
+		when(dataService.getLikedPostsByUserId(3, null, 100)).thenReturn(posts);
 
 		Collection<Post> retrievedPosts = likeRequestHandler.handleGetLikedPosts(request, response);
 		assertThat(retrievedPosts, is(posts));
 		verify(request, times(1)).params(USER_ID_PARAM);
+		verify(request, times(1)).queryParams(CURSOR_PARAM);
+		verify(request, times(1)).queryParams(BEFORE_POST_ID_PARAM);
+		verify(request, times(1)).queryParams(LIMIT_PARAM);
 		verifyNoMoreInteractions(request);
-		verify(dataService, times(1)).getLikedPostsByUserId(3);
+		verify(dataService, times(1)).getLikedPostsByUserId(3, null, 100);
 		verifyNoMoreInteractions(dataService);
 		verifyZeroInteractions(tokenService);
 	}
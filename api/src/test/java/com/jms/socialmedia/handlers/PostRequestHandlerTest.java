@@ -38,6 +38,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 
 public class PostRequestHandlerTest {
@@ -53,6 +54,10 @@ public class PostRequestHandlerTest {
 	private static final String SINCE_POST_ID_PARAM = "sincePostId";
 	private static final String SORT_BY_PARAM = "sortBy";
 	private static final String ORDER_PARAM = "order";
+	private static final String BEFORE_POST_ID_PARAM = "beforePostId";
+	private static final String LIMIT_PARAM = "limit";
+	private static final String CURSOR_PARAM = "cursor";
+	private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
 	private static final String ADD_POST_REQUEST = "{\"userId\":1, \"text\":\"A Cool Post!\"}";
 	private static final String EDIT_POST_REQUEST = "{\"text\":\"Editing this Post!\"}";
 
@@ -84,7 +89,7 @@ public class PostRequestHandlerTest {
 
 		when(request.queryParams(USER_ID_PARAM)).thenReturn("34");
 		when(dataService.getPosts(anyCollection(), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null),
-				eq(POST_ID_PARAM), eq(false))).thenReturn(posts);
+				eq(null), eq(100), eq(POST_ID_PARAM), eq(false))).thenReturn(posts);
 
 		Collection<Post> retrievedPosts = postRequestHandler.handleGetPosts(request, response);
 		assertThat(retrievedPosts, is(posts));
@@ -97,9 +102,12 @@ public class PostRequestHandlerTest {
 		verify(request, times(1)).queryParams(SINCE_POST_ID_PARAM);
 		verify(request, times(1)).queryParams(SORT_BY_PARAM);
 		verify(request, times(1)).queryParams(ORDER_PARAM);
+		verify(request, times(1)).queryParams(CURSOR_PARAM);
+		verify(request, times(1)).queryParams(BEFORE_POST_ID_PARAM);
+		verify(request, times(1)).queryParams(LIMIT_PARAM);
 		verifyNoMoreInteractions(request);
 		verify(dataService, times(1)).getPosts(eq(Collections.singleton(34)), eq(null), eq(null), eq(null), eq(null),
-				eq(null), eq(null), eq(POST_ID_PARAM), eq(false));
+				eq(null), eq(null), eq(null), eq(100), eq(POST_ID_PARAM), eq(false));
 
 	}
 
@@ -113,7 +121,7 @@ public class PostRequestHandlerTest {
 
 		when(request.queryParams(USER_ID_PARAM)).thenReturn("34,40,56");
 		when(dataService.getPosts(anyCollection(), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null),
-				eq(POST_ID_PARAM), eq(false))).thenReturn(posts);
+				eq(null), eq(100), eq(POST_ID_PARAM), eq(false))).thenReturn(posts);
 
 		Collection<Post> retrievedPosts = postRequestHandler.handleGetPosts(request, response);
 		assertThat(retrievedPosts, is(posts));
@@ -126,9 +134,12 @@ public class PostRequestHandlerTest {
 		verify(request, times(1)).queryParams(SINCE_POST_ID_PARAM);
 		verify(request, times(1)).queryParams(SORT_BY_PARAM);
 		verify(request, times(1)).queryParams(ORDER_PARAM);
+		verify(request, times(1)).queryParams(CURSOR_PARAM);
+		verify(request, times(1)).queryParams(BEFORE_POST_ID_PARAM);
+		verify(request, times(1)).queryParams(LIMIT_PARAM);
 		verifyNoMoreInteractions(request);
 		verify(dataService, times(1)).getPosts(eq(Set.of(34, 40, 56)), eq(null), eq(null), eq(null), eq(null),
-				eq(null), eq(null), eq(POST_ID_PARAM), eq(false));
+				eq(null), eq(null), eq(null), eq(100), eq(POST_ID_PARAM), eq(false));
 
 	}
 
@@ -140,7 +151,7 @@ public class PostRequestHandlerTest {
 				new Post(3, 34, "Jason", "Jason Sarwar", "One Last Cool Post", LocalDateTime.of(2019, 2, 15, 6, 12)));
 
 		when(request.queryParams(USERNAME_PARAM)).thenReturn("Jason");
-		when(dataService.getPosts(eq(null), eq(Collections.singleton("Jason")), eq(null), eq(null), eq(null), eq(null), eq(null),
+		when(dataService.getPosts(eq(null), eq(Collections.singleton("Jason")), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(100),
 				eq(POST_ID_PARAM), eq(false))).thenReturn(posts);
 
 		Collection<Post> retrievedPosts = postRequestHandler.handleGetPosts(request, response);
@@ -154,8 +165,11 @@ public class PostRequestHandlerTest {
 		verify(request, times(1)).queryParams(SINCE_POST_ID_PARAM);
 		verify(request, times(1)).queryParams(SORT_BY_PARAM);
 		verify(request, times(1)).queryParams(ORDER_PARAM);
+		verify(request, times(1)).queryParams(CURSOR_PARAM);
+		verify(request, times(1)).queryParams(BEFORE_POST_ID_PARAM);
+		verify(request, times(1)).queryParams(LIMIT_PARAM);
 		verifyNoMoreInteractions(request);
-		verify(dataService, times(1)).getPosts(eq(null), eq(Collections.singleton("Jason")), eq(null), eq(null), eq(null), eq(null), eq(null),
+		verify(dataService, times(1)).getPosts(eq(null), eq(Collections.singleton("Jason")), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(100),
 				eq(POST_ID_PARAM), eq(false));
 	}
 
@@ -169,7 +183,7 @@ public class PostRequestHandlerTest {
 		Collection<String> usernames = Set.of("Jason", "Jim", "Ron");
 		
 		when(request.queryParams(USERNAME_PARAM)).thenReturn("Jason,Jim,Ron");
-		when(dataService.getPosts(eq(null), eq(usernames), eq(null), eq(null), eq(null), eq(null), eq(null),
+		when(dataService.getPosts(eq(null), eq(usernames), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(100),
 				eq(POST_ID_PARAM), eq(false))).thenReturn(posts);
 
 		Collection<Post> retrievedPosts = postRequestHandler.handleGetPosts(request, response);
@@ -183,8 +197,11 @@ public class PostRequestHandlerTest {
 		verify(request, times(1)).queryParams(SINCE_POST_ID_PARAM);
 		verify(request, times(1)).queryParams(SORT_BY_PARAM);
 		verify(request, times(1)).queryParams(ORDER_PARAM);
+		verify(request, times(1)).queryParams(CURSOR_PARAM);
+		verify(request, times(1)).queryParams(BEFORE_POST_ID_PARAM);
+		verify(request, times(1)).queryParams(LIMIT_PARAM);
 		verifyNoMoreInteractions(request);
-		verify(dataService, times(1)).getPosts(eq(null), eq(usernames), eq(null), eq(null), eq(null), eq(null), eq(null),
+		verify(dataService, times(1)).getPosts(eq(null), eq(usernames), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(100),
 				eq(POST_ID_PARAM), eq(false));
 	}
 
@@ -196,7 +213,7 @@ public class PostRequestHandlerTest {
 				new Post(3, 34, "Jason", "Jason Sarwar", "One Last Cool #Post", LocalDateTime.of(2019, 2, 15, 6, 12)));
 
 		when(request.queryParams(TAG_PARAM)).thenReturn("Post");
-		when(dataService.getPosts(eq(null), eq(null), eq("Post"), eq(null), eq(null), eq(null), eq(null),
+		when(dataService.getPosts(eq(null), eq(null), eq("Post"), eq(null), eq(null), eq(null), eq(null), eq(null), eq(100),
 				eq(POST_ID_PARAM), eq(false))).thenReturn(posts);
 
 		Collection<Post> retrievedPosts = postRequestHandler.handleGetPosts(request, response);
@@ -210,8 +227,11 @@ public class PostRequestHandlerTest {
 		verify(request, times(1)).queryParams(SINCE_POST_ID_PARAM);
 		verify(request, times(1)).queryParams(SORT_BY_PARAM);
 		verify(request, times(1)).queryParams(ORDER_PARAM);
+		verify(request, times(1)).queryParams(CURSOR_PARAM);
+		verify(request, times(1)).queryParams(BEFORE_POST_ID_PARAM);
+		verify(request, times(1)).queryParams(LIMIT_PARAM);
 		verifyNoMoreInteractions(request);
-		verify(dataService, times(1)).getPosts(eq(null), eq(null), eq("Post"), eq(null), eq(null), eq(null), eq(null),
+		verify(dataService, times(1)).getPosts(eq(null), eq(null), eq("Post"), eq(null), eq(null), eq(null), eq(null), eq(null), eq(100),
 				eq(POST_ID_PARAM), eq(false));
 	}
 
@@ -223,7 +243,7 @@ public class PostRequestHandlerTest {
 				new Post(3, 34, "Jason", "Jason Sarwar", "One Last Cool Post", LocalDateTime.of(2019, 6, 15, 6, 23)));
 
 		when(request.queryParams(ON_PARAM)).thenReturn("06-15-2019");
-		when(dataService.getPosts(eq(null), eq(null), eq(null), eq("06-15-2019"), eq(null), eq(null), eq(null),
+		when(dataService.getPosts(eq(null), eq(null), eq(null), eq("06-15-2019"), eq(null), eq(null), eq(null), eq(null), eq(100),
 				eq(POST_ID_PARAM), eq(false))).thenReturn(posts);
 
 		Collection<Post> retrievedPosts = postRequestHandler.handleGetPosts(request, response);
@@ -237,9 +257,12 @@ public class PostRequestHandlerTest {
 		verify(request, times(1)).queryParams(SINCE_POST_ID_PARAM);
 		verify(request, times(1)).queryParams(SORT_BY_PARAM);
 		verify(request, times(1)).queryParams(ORDER_PARAM);
+		verify(request, times(1)).queryParams(CURSOR_PARAM);
+		verify(request, times(1)).queryParams(BEFORE_POST_ID_PARAM);
+		verify(request, times(1)).queryParams(LIMIT_PARAM);
 		verifyNoMoreInteractions(request);
 		verify(dataService, times(1)).getPosts(eq(null), eq(null), eq(null), eq("06-15-2019"), eq(null), eq(null),
-				eq(null), eq(POST_ID_PARAM), eq(false));
+				eq(null), eq(null), eq(100), eq(POST_ID_PARAM), eq(false));
 	}
 
 	@Test
@@ -250,7 +273,7 @@ public class PostRequestHandlerTest {
 				new Post(3, 34, "Jason", "Jason Sarwar", "One Last Cool Post", LocalDateTime.of(2019, 6, 15, 6, 23)));
 
 		when(request.queryParams(SORT_BY_PARAM)).thenReturn(USER_ID_PARAM);
-		when(dataService.getPosts(eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null),
+		when(dataService.getPosts(eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(100),
 				eq(USER_ID_PARAM), eq(false))).thenReturn(posts);
 
 		Collection<Post> retrievedPosts = postRequestHandler.handleGetPosts(request, response);
@@ -264,8 +287,11 @@ public class PostRequestHandlerTest {
 		verify(request, times(1)).queryParams(SINCE_POST_ID_PARAM);
 		verify(request, times(1)).queryParams(SORT_BY_PARAM);
 		verify(request, times(1)).queryParams(ORDER_PARAM);
+		verify(request, times(1)).queryParams(CURSOR_PARAM);
+		verify(request, times(1)).queryParams(BEFORE_POST_ID_PARAM);
+		verify(request, times(1)).queryParams(LIMIT_PARAM);
 		verifyNoMoreInteractions(request);
-		verify(dataService, times(1)).getPosts(eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null),
+		verify(dataService, times(1)).getPosts(eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(100),
 				eq(USER_ID_PARAM), eq(false));
 	}
 
@@ -277,7 +303,7 @@ public class PostRequestHandlerTest {
 				new Post(5, 34, "Jason", "Jason Sarwar", "One Last Cool Post", LocalDateTime.of(2019, 6, 15, 6, 23)));
 
 		when(request.queryParams(ORDER_PARAM)).thenReturn("asc");
-		when(dataService.getPosts(eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null),
+		when(dataService.getPosts(eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(100),
 				eq(POST_ID_PARAM), eq(true))).thenReturn(posts);
 
 		Collection<Post> retrievedPosts = postRequestHandler.handleGetPosts(request, response);
@@ -291,8 +317,11 @@ public class PostRequestHandlerTest {
 		verify(request, times(1)).queryParams(SINCE_POST_ID_PARAM);
 		verify(request, times(1)).queryParams(SORT_BY_PARAM);
 		verify(request, times(1)).queryParams(ORDER_PARAM);
+		verify(request, times(1)).queryParams(CURSOR_PARAM);
+		verify(request, times(1)).queryParams(BEFORE_POST_ID_PARAM);
+		verify(request, times(1)).queryParams(LIMIT_PARAM);
 		verifyNoMoreInteractions(request);
-		verify(dataService, times(1)).getPosts(eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null),
+		verify(dataService, times(1)).getPosts(eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(100),
 				eq(POST_ID_PARAM), eq(true));
 	}
 
@@ -304,7 +333,7 @@ public class PostRequestHandlerTest {
 				new Post(3, 34, "Jason", "Jason Sarwar", "One Last Cool Post", LocalDateTime.of(2019, 6, 15, 6, 23)));
 
 		when(request.queryParams(ORDER_PARAM)).thenReturn("desc");
-		when(dataService.getPosts(eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null),
+		when(dataService.getPosts(eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(100),
 				eq(POST_ID_PARAM), eq(false))).thenReturn(posts);
 
 		Collection<Post> retrievedPosts = postRequestHandler.handleGetPosts(request, response);
@@ -318,8 +347,11 @@ public class PostRequestHandlerTest {
 		verify(request, times(1)).queryParams(SINCE_POST_ID_PARAM);
 		verify(request, times(1)).queryParams(SORT_BY_PARAM);
 		verify(request, times(1)).queryParams(ORDER_PARAM);
+		verify(request, times(1)).queryParams(CURSOR_PARAM);
+		verify(request, times(1)).queryParams(BEFORE_POST_ID_PARAM);
+		verify(request, times(1)).queryParams(LIMIT_PARAM);
 		verifyNoMoreInteractions(request);
-		verify(dataService, times(1)).getPosts(eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null),
+		verify(dataService, times(1)).getPosts(eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(100),
 				eq(POST_ID_PARAM), eq(false));
 	}
 
@@ -341,7 +373,7 @@ public class PostRequestHandlerTest {
 		when(request.queryParams(ORDER_PARAM)).thenReturn("asc");
 
 		when(dataService.getPosts(eq(Set.of(33, 34, 35)), eq(Set.of("Jason1", "Jason2", "Jason3")), eq("Post"), eq("06-15-2019"), eq("06-16-2019"),
-				eq("06-14-2019"), eq(2), eq(USER_ID_PARAM), eq(true))).thenReturn(posts);
+				eq("06-14-2019"), eq(2), eq(null), eq(100), eq(USER_ID_PARAM), eq(true))).thenReturn(posts);
 
 		Collection<Post> retrievedPosts = postRequestHandler.handleGetPosts(request, response);
 		assertThat(retrievedPosts, is(posts));
@@ -354,9 +386,12 @@ public class PostRequestHandlerTest {
 		verify(request, times(1)).queryParams(SINCE_POST_ID_PARAM);
 		verify(request, times(1)).queryParams(SORT_BY_PARAM);
 		verify(request, times(1)).queryParams(ORDER_PARAM);
+		verify(request, times(1)).queryParams(CURSOR_PARAM);
+		verify(request, times(1)).queryParams(BEFORE_POST_ID_PARAM);
+		verify(request, times(1)).queryParams(LIMIT_PARAM);
 		verifyNoMoreInteractions(request);
 		verify(dataService, times(1)).getPosts(eq(Set.of(33, 34, 35)), eq(Set.of("Jason1", "Jason2", "Jason3")), eq("Post"), eq("06-15-2019"),
-				eq("06-16-2019"), eq("06-14-2019"), eq(2), eq(USER_ID_PARAM), eq(true));
+				eq("06-16-2019"), eq("06-14-2019"), eq(2), eq(null), eq(100), eq(USER_ID_PARAM), eq(true));
 
 	}
 
@@ -372,18 +407,17 @@ public class PostRequestHandlerTest {
 						LocalDateTime.of(2019, 6, 15, 6, 23)));
 
 		when(request.params(USERNAME_PARAM)).thenReturn(username);
-		when(dataService.getFollowingUsernames(username)).thenReturn(Set.of("Jason2", "Jason3"));
-		when(dataService.getPosts(eq(null), anyCollection(), eq(null), eq(null), eq(null), eq(null), eq(null),
-				eq(POST_ID_PARAM), eq(false))).thenReturn(posts);
+		when(dataService.getFeedPosts(username, null, null, 100)).thenReturn(posts);
 
 		Collection<Post> retrievedPosts = postRequestHandler.handleGetFeedPosts(request, response);
 		assertThat(retrievedPosts, is(posts));
 		verify(request, times(1)).params(USERNAME_PARAM);
 		verify(request, times(1)).queryParams(SINCE_POST_ID_PARAM);
+		verify(request, times(1)).queryParams(CURSOR_PARAM);
+		verify(request, times(1)).queryParams(BEFORE_POST_ID_PARAM);
+		verify(request, times(1)).queryParams(LIMIT_PARAM);
 		verifyNoMoreInteractions(request);
-		verify(dataService, times(1)).getFollowingUsernames(username);
-		verify(dataService, times(1)).getPosts(null, Set.of(username, "Jason2", "Jason3"), null, null, null,
-				null, null, POST_ID_PARAM, false);
+		verify(dataService, times(1)).getFeedPosts(username, null, null, 100);
 		verifyNoMoreInteractions(dataService);
 	}
 
@@ -400,22 +434,75 @@ public class PostRequestHandlerTest {
 
 		when(request.params(USERNAME_PARAM)).thenReturn(username);
 		when(request.queryParams(SINCE_POST_ID_PARAM)).thenReturn("5");
-		when(dataService.getFollowingUsernames(username)).thenReturn(Set.of("Jason2", "Jason3"));
-		when(dataService.getPosts(eq(null), anyCollection(), eq(null), eq(null), eq(null), eq(null), eq(5),
-				eq(POST_ID_PARAM), eq(false))).thenReturn(posts);
+		when(dataService.getFeedPosts(username, 5, null, 100)).thenReturn(posts);
 
 		Collection<Post> retrievedPosts = postRequestHandler.handleGetFeedPosts(request, response);
 		assertThat(retrievedPosts, is(posts));
 		verify(request, times(1)).params(USERNAME_PARAM);
 		verify(request, times(1)).queryParams(SINCE_POST_ID_PARAM);
+		verify(request, times(1)).queryParams(CURSOR_PARAM);
+		verify(request, times(1)).queryParams(BEFORE_POST_ID_PARAM);
+		verify(request, times(1)).queryParams(LIMIT_PARAM);
 		verifyNoMoreInteractions(request);
-		verify(dataService, times(1)).getFollowingUsernames(username);
-		verify(dataService, times(1)).getPosts(null, Set.of(username, "Jason2", "Jason3"), null, null, null,
-				null, 5, POST_ID_PARAM, false);
+		verify(dataService, times(1)).getFeedPosts(username, 5, null, 100);
 		verifyNoMoreInteractions(dataService);
 
 	}
 
+	@Test
+	public void testHandleGetFeedPostsWithSincePostIdAndFullPage() {
+
+		String username = "Jason1";
+
+		Collection<Post> posts = List.of(
+				new Post(7, 12, "Jason2", "Jason Sarwar 2", "Another Cool #Post", LocalDateTime.of(2019, 6, 15, 6, 23)),
+				new Post(6, 78, "Jason3", "Jason Sarwar 3", "One Last Cool #Post",
+						LocalDateTime.of(2019, 6, 15, 6, 23)));
+
+		when(request.params(USERNAME_PARAM)).thenReturn(username);
+		when(request.queryParams(SINCE_POST_ID_PARAM)).thenReturn("5");
+		when(request.queryParams(LIMIT_PARAM)).thenReturn("2");
+		when(dataService.getFeedPosts(username, 5, null, 2)).thenReturn(posts);
+
+		Collection<Post> retrievedPosts = postRequestHandler.handleGetFeedPosts(request, response);
+		assertThat(retrievedPosts, is(posts));
+		verify(request, times(1)).params(USERNAME_PARAM);
+		verify(request, times(1)).queryParams(SINCE_POST_ID_PARAM);
+		verify(request, times(1)).queryParams(CURSOR_PARAM);
+		verify(request, times(1)).queryParams(BEFORE_POST_ID_PARAM);
+		verify(request, times(1)).queryParams(LIMIT_PARAM);
+		verifyNoMoreInteractions(request);
+		verifyNoMoreInteractions(response);
+		verify(dataService, times(1)).getFeedPosts(username, 5, null, 2);
+		verifyNoMoreInteractions(dataService);
+	}
+
+	@Test
+	public void testHandleGetFeedPostsWithCursor() {
+
+		String username = "Jason1";
+
+		Collection<Post> posts = List.of(
+				new Post(8, 45, "Jason1", "Jason Sarwar", "A Cool #Post", LocalDateTime.of(2019, 6, 15, 6, 23)),
+				new Post(7, 12, "Jason2", "Jason Sarwar 2", "Another Cool #Post", LocalDateTime.of(2019, 6, 15, 6, 23)));
+
+		when(request.params(USERNAME_PARAM)).thenReturn(username);
+		when(request.queryParams(CURSOR_PARAM)).thenReturn("OQ");
+		when(request.queryParams(LIMIT_PARAM)).thenReturn("2");
+		when(dataService.getFeedPosts(username, null, 9, 2)).thenReturn(posts);
+
+		Collection<Post> retrievedPosts = postRequestHandler.handleGetFeedPosts(request, response);
+		assertThat(retrievedPosts, is(posts));
+		verify(request, times(1)).params(USERNAME_PARAM);
+		verify(request, times(1)).queryParams(SINCE_POST_ID_PARAM);
+		verify(request, times(1)).queryParams(CURSOR_PARAM);
+		verify(request, times(1)).queryParams(LIMIT_PARAM);
+		verifyNoMoreInteractions(request);
+		verify(response, times(1)).header(NEXT_CURSOR_HEADER, "Nw");
+		verify(dataService, times(1)).getFeedPosts(username, null, 9, 2);
+		verifyNoMoreInteractions(dataService);
+	}
+
 	@Test
 	public void testHandleGetPostsByUserId() {
 
@@ -425,12 +512,47 @@ public class PostRequestHandlerTest {
 				new Post(3, 34, "Jason", "Jason Sarwar", "One Last Cool Post", LocalDateTime.of(2019, 2, 15, 6, 12)));
 
 		when(request.params(USER_ID_PARAM)).thenReturn("5");
-		when(dataService.getPosts(5)).thenReturn(posts);
+		when(dataService.getPosts(Collections.singleton(5), null, null, null, null, null, null, null, 100, POST_ID_PARAM,
+				false)).thenReturn(posts);
 
 		Collection<Post> retrievedPosts = postRequestHandler.handleGetPostsByUserId(request, response);
 		assertThat(retrievedPosts, is(posts));
 		verify(request, times(1)).params(USER_ID_PARAM);
-		verify(dataService, times(1)).getPosts(5);
+		verify(request, times(1)).queryParams(CURSOR_PARAM);
+		verify(request, times(1)).queryParams(BEFORE_POST_ID_PARAM);
+		verify(request, times(1)).queryParams(LIMIT_PARAM);
+		verifyNoMoreInteractions(request);
+		verify(dataService, times(1)).getPosts(Collections.singleton(5), null, null, null, null, null, null, null, 100,
+				POST_ID_PARAM, false);
+		verifyNoMoreInteractions(dataService);
+	}
+
+	@Test
+	public void testHandleGetPostsByIds() {
+		Collection<Post> posts = List.of(new Post(5), new Post(3));
+
+		when(request.queryParamsValues("ids")).thenReturn(new String[] { "5,4,3" });
+		when(dataService.getPostsByIds(List.of(5, 4, 3))).thenReturn(posts);
+
+		assertThat(postRequestHandler.handleGetPostsByIds(request, response), is(posts));
+		verify(request, times(1)).queryParamsValues("ids");
+		verifyNoMoreInteractions(request);
+		verify(dataService, times(1)).getPostsByIds(List.of(5, 4, 3));
+		verifyNoMoreInteractions(dataService);
+		verifyZeroInteractions(tokenService);
+	}
+
+	@Test
+	public void testHandleGetPostsByIdsWithNoIds() {
+		try {
+			postRequestHandler.handleGetPostsByIds(request, response);
+			fail("Did not throw exception");
+		} catch (Exception e) {
+			assertThat(e, instanceOf(BadRequestException.class));
+			assertThat(e.getMessage(), is("'ids' is required"));
+			verifyZeroInteractions(dataService);
+			verifyZeroInteractions(tokenService);
+		}
 	}
 
 	@Test
@@ -444,6 +566,7 @@ public class PostRequestHandlerTest {
 		assertThat(retrievedPost, is(post));
 		verify(request, times(1)).params(POST_ID_PARAM);
 		verifyNoMoreInteractions(request);
+		verify(dataService, times(1)).getPostVersion(5);
 		verify(dataService, times(1)).getPost(5);
 		verifyNoMoreInteractions(dataService);
 		verifyZeroInteractions(tokenService);
@@ -491,6 +614,7 @@ public class PostRequestHandlerTest {
 			assertThat(e, instanceOf(NotFoundException.class));
 			assertThat(e.getMessage(), is("Post Not Found"));
 			verify(request, times(1)).params(POST_ID_PARAM);
+			verify(dataService, times(1)).getPostVersion(5);
 			verify(dataService, times(1)).getPost(5);
 			verifyNoMoreInteractions(dataService);
 			verifyZeroInteractions(tokenService);
@@ -1043,13 +1167,36 @@ public class PostRequestHandlerTest {
 				new Post(3, 34, "Jason", "Jason Sarwar", "One Last Cool Post", LocalDateTime.of(2019, 2, 15, 6, 12)));
 
 		when(request.params(USER_ID_PARAM)).thenReturn("8");
-		when(dataService.getCommentedPostsByUserId(8)).thenReturn(posts);
+		when(dataService.getCommentedPostsByUserId(8, null, 100)).thenReturn(posts);
 
 		Collection<Post> retrievedPosts = postRequestHandler.handleGetCommentedPosts(request, response);
 		assertThat(retrievedPosts, is(posts));
 		verify(request, times(1)).params(USER_ID_PARAM);
+		verify(request, times(1)).queryParams(CURSOR_PARAM);
+		verify(request, times(1)).queryParams(BEFORE_POST_ID_PARAM);
+		verify(request, times(1)).queryParams(LIMIT_PARAM);
+		verifyNoMoreInteractions(request);
+		verify(dataService, times(1)).getCommentedPostsByUserId(8, null, 100);
+		verifyNoMoreInteractions(dataService);
+	}
+
+	@Test
+	public void testHandleGetPostsMentioningUser() {
+		Collection<Post> posts = Set.of(
+				new Post(5, 34, "Jason", "Jason Sarwar", "A Cool Post @user", LocalDateTime.of(2019, 6, 15, 6, 23)),
+				new Post(4, 34, "Jason", "Jason Sarwar", "Another Cool Post @user", LocalDateTime.of(2019, 4, 17, 7, 34)));
+
+		when(request.params(USER_ID_PARAM)).thenReturn("8");
+		when(dataService.getPostsMentioningUserId(8, null, 100)).thenReturn(posts);
+
+		Collection<Post> retrievedPosts = postRequestHandler.handleGetPostsMentioningUser(request, response);
+		assertThat(retrievedPosts, is(posts));
+		verify(request, times(1)).params(USER_ID_PARAM);
+		verify(request, times(1)).queryParams(CURSOR_PARAM);
+		verify(request, times(1)).queryParams(BEFORE_POST_ID_PARAM);
+		verify(request, times(1)).queryParams(LIMIT_PARAM);
 		verifyNoMoreInteractions(request);
-		verify(dataService, times(1)).getCommentedPostsByUserId(8);
+		verify(dataService, times(1)).getPostsMentioningUserId(8, null, 100);
 		verifyNoMoreInteractions(dataService);
 	}
 
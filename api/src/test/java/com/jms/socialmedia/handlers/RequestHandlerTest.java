@@ -2,6 +2,7 @@ package com.jms.socialmedia.handlers;
 
 import java.io.IOException;
 import java.time.LocalDate;
+import java.util.List;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -9,10 +10,13 @@ import org.mockito.Mock;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.jms.socialmedia.exception.BadRequestException;
 import com.jms.socialmedia.exception.ForbiddenException;
 import com.jms.socialmedia.exception.NoBearerTokenException;
+import com.jms.socialmedia.exception.NotModifiedException;
 import com.jms.socialmedia.exception.UnsupportedContentTypeException;
 import com.jms.socialmedia.model.NewUser;
+import com.jms.socialmedia.model.Post;
 import com.jms.socialmedia.routes.LocalDateTypeAdapter;
 import com.jms.socialmedia.token.Permission;
 import com.jms.socialmedia.token.Token;
@@ -264,6 +268,136 @@ public class RequestHandlerTest {
 		}
 	}
 
+	@Test
+	public void testGetPageLimit() {
+		assertThat(requestHandler.getPageLimit(request), is(100));
+
+		when(request.queryParams("limit")).thenReturn("20");
+		assertThat(requestHandler.getPageLimit(request), is(20));
+
+		when(request.queryParams("limit")).thenReturn("5000");
+		assertThat(requestHandler.getPageLimit(request), is(1000));
+	}
+
+	@Test
+	public void testGetPageLimitNotPositive() {
+		when(request.queryParams("limit")).thenReturn("0");
+		try {
+			requestHandler.getPageLimit(request);
+			fail("Did not throw Exception");
+		} catch (Exception e) {
+			assertThat(e, instanceOf(BadRequestException.class));
+			assertThat(e.getMessage(), is("'limit' must be greater than 0"));
+		}
+	}
+
+	@Test
+	public void testGetPageStartId() {
+		assertThat(requestHandler.getPageStartId(request, "beforePostId"), is(nullValue()));
+
+		when(request.queryParams("beforePostId")).thenReturn("12");
+		assertThat(requestHandler.getPageStartId(request, "beforePostId"), is(12));
+
+		when(request.queryParams("cursor")).thenReturn("NDI");
+		assertThat(requestHandler.getPageStartId(request, "beforePostId"), is(42));
+	}
+
+	@Test
+	public void testGetPageStartIdInvalidCursor() {
+		when(request.queryParams("cursor")).thenReturn("not a cursor");
+		try {
+			requestHandler.getPageStartId(request, "beforePostId");
+			fail("Did not throw Exception");
+		} catch (Exception e) {
+			assertThat(e, instanceOf(BadRequestException.class));
+			assertThat(e.getMessage(), is("Invalid 'cursor'"));
+		}
+	}
+
+	@Test
+	public void testGetBatchIds() {
+		when(request.queryParamsValues("ids")).thenReturn(new String[] { "3, 1,,", "2" });
+		assertThat(requestHandler.getBatchIds(request, "ids"), is(List.of(3, 1, 2)));
+	}
+
+	@Test
+	public void testGetBatchIdsNotGiven() {
+		when(request.queryParamsValues("ids")).thenReturn(new String[] { "," });
+		try {
+			requestHandler.getBatchIds(request, "ids");
+			fail("Did not throw Exception");
+		} catch (Exception e) {
+			assertThat(e, instanceOf(BadRequestException.class));
+			assertThat(e.getMessage(), is("'ids' is required"));
+		}
+	}
+
+	@Test
+	public void testGetBatchIdsInvalidId() {
+		when(request.queryParamsValues("ids")).thenReturn(new String[] { "3,a" });
+		try {
+			requestHandler.getBatchIds(request, "ids");
+			fail("Did not throw Exception");
+		} catch (Exception e) {
+			assertThat(e, instanceOf(NumberFormatException.class));
+		}
+	}
+
+	@Test
+	public void testGetBatchValuesTooMany() {
+		when(request.queryParamsValues("usernames")).thenReturn(new String[] { "user,".repeat(101) });
+		try {
+			requestHandler.getBatchValues(request, "usernames");
+			fail("Did not throw Exception");
+		} catch (Exception e) {
+			assertThat(e, instanceOf(BadRequestException.class));
+			assertThat(e.getMessage(), is("At most 100 'usernames' can be requested at once"));
+		}
+	}
+
+	@Test
+	public void testSetNextCursor() {
+		List<Post> posts = List.of(new Post(50), new Post(42));
+
+		assertThat(requestHandler.setNextCursor(response, posts, 2, Post::getPostId), is(posts));
+		verify(response, times(1)).header("X-Next-Cursor", "NDI");
+
+		assertThat(requestHandler.setNextCursor(response, posts, 3, Post::getPostId), is(posts));
+		verifyNoMoreInteractions(response);
+	}
+
+	@Test
+	public void testCheckNotModifiedSetsETag() {
+		when(request.headers("If-None-Match")).thenReturn("W/\"k1-4\"");
+
+		requestHandler.checkNotModified(request, response, "k1-5");
+
+		verify(response, times(1)).header("ETag", "W/\"k1-5\"");
+		verify(response, times(1)).header("Cache-Control", "no-cache");
+		verify(response, times(1)).header("Vary", "Accept");
+		verifyNoMoreInteractions(response);
+	}
+
+	@Test
+	public void testCheckNotModified() {
+		for (String ifNoneMatch : List.of("W/\"k1-5\"", "\"k1-5\"", "\"k1-4\", W/\"k1-5\"", "*")) {
+			when(request.headers("If-None-Match")).thenReturn(ifNoneMatch);
+			try {
+				requestHandler.checkNotModified(request, response, "k1-5");
+				fail("Did not throw Exception");
+			} catch (Exception e) {
+				assertThat(e, instanceOf(NotModifiedException.class));
+			}
+		}
+		verify(response, times(4)).header("ETag", "W/\"k1-5\"");
+	}
+
+	@Test
+	public void testCheckNotModifiedWithoutVersion() {
+		requestHandler.checkNotModified(request, response, null);
+		verifyNoMoreInteractions(request, response);
+	}
+
 	private class MyRequestHandler extends RequestHandler {
 
 		public MyRequestHandler(TokenService tokenService, Gson gson) {
@@ -4,6 +4,7 @@ import java.io.IOException;
 import java.time.LocalDate;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 
 import org.junit.Before;
@@ -104,6 +105,7 @@ public class UserRequestHandlerTest {
 
 		verify(request, times(1)).params("username");
 		verifyNoMoreInteractions(request);
+		verify(dataService, times(1)).getUserPageVersion(username);
 		verify(dataService, times(1)).getUserPageInfoByName(username);
 		verify(dataService, times(1)).getFollowerUsernames(username);
 		verify(dataService, times(1)).getFollowingUsernames(username);
@@ -112,6 +114,22 @@ public class UserRequestHandlerTest {
 		verifyZeroInteractions(passwordService);
 	}
 
+	@Test
+	public void testHandleGetUserPagesByNames() {
+		UserPage userPage = new UserPage();
+		userPage.setUsername("Jason");
+		Collection<UserPage> userPages = List.of(userPage);
+
+		when(request.queryParamsValues("usernames")).thenReturn(new String[] { "Jason,Nobody" });
+		when(dataService.getUserPagesByNames(List.of("Jason", "Nobody"))).thenReturn(userPages);
+
+		assertThat(userRequestHandler.handleGetUserPagesByNames(request, response), is(userPages));
+		verify(request, times(1)).queryParamsValues("usernames");
+		verifyNoMoreInteractions(request);
+		verify(dataService, times(1)).getUserPagesByNames(List.of("Jason", "Nobody"));
+		verifyNoMoreInteractions(dataService);
+	}
+
 	@Test
 	public void testHandleGetUserPageNotFound() {
 
@@ -124,6 +142,7 @@ public class UserRequestHandlerTest {
 			assertThat(e.getMessage(), is("User not found"));
 			verify(request, times(1)).params("username");
 			verifyNoMoreInteractions(request);
+			verify(dataService, times(1)).getUserPageVersion("Jason");
 			verify(dataService, times(1)).getUserPageInfoByName("Jason");
 			verifyNoMoreInteractions(dataService);
 			verifyZeroInteractions(tokenService);
@@ -0,0 +1,58 @@
+package com.jms.socialmedia.routes;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.codahale.metrics.MetricRegistry;
+
+public class GzipHandlerWithMetricsTest {
+
+	private MetricRegistry metricRegistry;
+	private GzipHandlerWithMetrics gzipHandler;
+
+	@Before
+	public void setUp() throws Exception {
+		metricRegistry = new MetricRegistry();
+		gzipHandler = new GzipHandlerWithMetrics(metricRegistry);
+		gzipHandler.start();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		gzipHandler.stop();
+	}
+
+	@Test
+	public void testRecycleCountsBytesSaved() {
+		byte[] response = "{\"username\":\"Jason\",\"fullName\":\"Jason Sarwar\"}".repeat(100)
+				.getBytes(StandardCharsets.UTF_8);
+		Deflater deflater = new Deflater(6, true);
+		deflater.setInput(response);
+		deflater.finish();
+		byte[] compressed = new byte[response.length];
+		int compressedLength = deflater.deflate(compressed);
+
+		gzipHandler.recycle(deflater);
+
+		assertThat(metricRegistry.counter("GzipHandler.compressedResponses").getCount(), is(1L));
+		assertThat(metricRegistry.counter("GzipHandler.uncompressedBytes").getCount(), is((long) response.length));
+		assertThat(metricRegistry.counter("GzipHandler.compressedBytes").getCount(), is(compressedLength + 18L));
+		assertThat(metricRegistry.counter("GzipHandler.bytesSaved").getCount(),
+				is(response.length - compressedLength - 18L));
+	}
+
+	@Test
+	public void testRecycleUnfinishedDeflaterIsNotCounted() {
+		gzipHandler.recycle(new Deflater(6, true));
+
+		assertThat(metricRegistry.counter("GzipHandler.compressedResponses").getCount(), is(0L));
+		assertThat(metricRegistry.counter("GzipHandler.bytesSaved").getCount(), is(0L));
+	}
+}
@@ -0,0 +1,193 @@
+package com.jms.socialmedia.routes;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+
+import com.jms.socialmedia.dataservice.DataService;
+import com.jms.socialmedia.events.PostCreatedBus;
+import com.jms.socialmedia.exception.NotFoundException;
+import com.jms.socialmedia.exception.ServiceUnavailableException;
+import com.jms.socialmedia.model.Post;
+
+import spark.Request;
+import spark.Response;
+
+public class NewPostsStreamTest {
+
+	private static final int MAX_CONNECTIONS = 2;
+
+	@Mock
+	private DataService dataService;
+	@Mock
+	private PostCreatedBus postCreatedBus;
+	@Mock
+	private Request request;
+	@Mock
+	private Response response;
+	@Mock
+	private HttpServletRequest rawRequest;
+	@Mock
+	private HttpServletResponse rawResponse;
+	@Mock
+	private AsyncContext asyncContext;
+	@Mock
+	private ServletOutputStream outputStream;
+
+	private NewPostsStream newPostsStream;
+
+	@Before
+	public void setUp() throws Exception {
+		initMocks(this);
+		when(request.raw()).thenReturn(rawRequest);
+		when(response.raw()).thenReturn(rawResponse);
+		when(rawRequest.startAsync()).thenReturn(asyncContext);
+		when(asyncContext.getResponse()).thenReturn(rawResponse);
+		when(rawResponse.getOutputStream()).thenReturn(outputStream);
+		when(outputStream.isReady()).thenReturn(true);
+		newPostsStream = new NewPostsStream(dataService, postCreatedBus, MAX_CONNECTIONS, 300, 0, null);
+	}
+
+	@Test
+	public void testHandleStreamNewPosts() throws Exception {
+		assertThat(newPostsStream.handleStreamNewPosts(request, response), is(""));
+
+		verify(postCreatedBus, times(1)).subscribe(any());
+		verify(rawResponse, times(1)).setContentType("text/event-stream");
+		verify(rawResponse, times(1)).setHeader("Cache-Control", "no-cache");
+		verify(rawResponse, times(1)).flushBuffer();
+		verify(asyncContext, times(1)).setTimeout(300000);
+		verify(outputStream, times(1)).setWriteListener(any());
+		assertThat(newPostsStream.getNumberOfConnections(), is(1));
+
+		newPostsStream.postCreated(new Post(7, 1, "Jason", null, "Text", null));
+
+		verify(outputStream, times(1)).write("id: 7\ndata: 7\n\n".getBytes(StandardCharsets.UTF_8));
+		verify(outputStream, times(1)).flush();
+	}
+
+	@Test
+	public void testHandleStreamNewFeedPosts() throws Exception {
+		when(request.params("username")).thenReturn("Jason");
+		when(dataService.getUserIdByUsername("Jason")).thenReturn(1);
+		when(dataService.getFollowingUsernames("Jason")).thenReturn(List.of("Pete"));
+
+		assertThat(newPostsStream.handleStreamNewFeedPosts(request, response), is(""));
+
+		newPostsStream.postCreated(new Post(7, 2, "pete", null, "Text", null));
+		newPostsStream.postCreated(new Post(8, 3, "Joe", null, "Text", null));
+		newPostsStream.postCreated(new Post(9, 1, "Jason", null, "Text", null));
+
+		verify(outputStream, times(1)).write("id: 7\ndata: 7\n\n".getBytes(StandardCharsets.UTF_8));
+		verify(outputStream, never()).write("id: 8\ndata: 8\n\n".getBytes(StandardCharsets.UTF_8));
+		verify(outputStream, times(1)).write("id: 9\ndata: 9\n\n".getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void testHandleStreamNewFeedPostsOfUnknownUser() throws Exception {
+		when(request.params("username")).thenReturn("Nobody");
+		when(dataService.getUserIdByUsername("Nobody")).thenReturn(null);
+
+		try {
+			newPostsStream.handleStreamNewFeedPosts(request, response);
+			fail("Did not throw NotFoundException");
+		} catch (NotFoundException e) {
+			assertThat(e.getMessage(), is("User not found"));
+		}
+
+		verify(rawRequest, never()).startAsync();
+	}
+
+	@Test
+	public void testHandleStreamWithTooManyConnections() throws Exception {
+		newPostsStream.handleStreamNewPosts(request, response);
+		newPostsStream.handleStreamNewPosts(request, response);
+
+		try {
+			newPostsStream.handleStreamNewPosts(request, response);
+			fail("Did not throw ServiceUnavailableException");
+		} catch (ServiceUnavailableException e) {
+			assertThat(e.getMessage(), is("Too many streams open"));
+		}
+
+		verify(rawRequest, times(2)).startAsync();
+	}
+
+	@Test
+	public void testPostCreatedWithoutUsername() throws Exception {
+		when(request.params("username")).thenReturn("Jason");
+		when(dataService.getUserIdByUsername("Jason")).thenReturn(1);
+		when(dataService.getFollowingUsernames("Jason")).thenReturn(List.of());
+		when(dataService.getPost(7)).thenReturn(new Post(7, 1, "Jason", null, "Text", null));
+
+		newPostsStream.handleStreamNewFeedPosts(request, response);
+		newPostsStream.postCreated(new Post(7));
+
+		verify(dataService, times(1)).getPost(7);
+		verify(outputStream, times(1)).write("id: 7\ndata: 7\n\n".getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void testPostCreatedWithoutConnections() {
+		newPostsStream.postCreated(new Post(7));
+
+		verify(dataService, never()).getPost(7);
+	}
+
+	@Test
+	public void testClosedConnectionIsRemoved() throws Exception {
+		ArgumentCaptor<AsyncListener> listenerCaptor = ArgumentCaptor.forClass(AsyncListener.class);
+		newPostsStream.handleStreamNewPosts(request, response);
+		verify(asyncContext, times(1)).addListener(listenerCaptor.capture());
+
+		listenerCaptor.getValue().onComplete(new AsyncEvent(asyncContext));
+		newPostsStream.postCreated(new Post(7, 1, "Jason", null, "Text", null));
+
+		assertThat(newPostsStream.getNumberOfConnections(), is(0));
+		verify(outputStream, never()).write(any(byte[].class));
+	}
+
+	@Test
+	public void testSlowConnectionIsClosed() throws Exception {
+		when(outputStream.isReady()).thenReturn(false);
+		newPostsStream.handleStreamNewPosts(request, response);
+
+		for (int postId = 1; postId <= 100; postId++) {
+			newPostsStream.postCreated(new Post(postId, 1, "Jason", null, "Text", null));
+		}
+		verify(asyncContext, never()).complete();
+
+		newPostsStream.postCreated(new Post(101, 1, "Jason", null, "Text", null));
+		verify(asyncContext, times(1)).complete();
+	}
+
+	@Test
+	public void testSendHeartbeats() throws Exception {
+		newPostsStream.handleStreamNewPosts(request, response);
+
+		newPostsStream.sendHeartbeats();
+
+		verify(outputStream, times(1)).write(":\n\n".getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,67 @@
+package com.jms.socialmedia.routes;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.google.gson.Gson;
+import com.jms.socialmedia.model.Comment;
+import com.jms.socialmedia.model.Post;
+
+public class StreamingJsonWriterTest {
+
+	private final Gson gson = new Gson();
+	private final StreamingJsonWriter streamingJsonWriter = new StreamingJsonWriter(gson);
+
+	@Test
+	public void testWritePosts() throws IOException {
+		Post post1 = new Post(1, 2, "Pete", "Peter", "A <Post> with \"quotes\" and é", LocalDateTime.now());
+		post1.setLikes(List.of("Joe"));
+		Post post2 = new Post(2);
+		assertWritesLikeGson(Arrays.asList(post1, null, post2));
+	}
+
+	@Test
+	public void testWriteComments() throws IOException {
+		Comment comment = new Comment(1, 2, 3, "Pete", "Peter", "A Comment", LocalDateTime.now());
+		assertWritesLikeGson(List.of(comment));
+	}
+
+	@Test
+	public void testWriteStrings() throws IOException {
+		assertWritesLikeGson(List.of("Pete", "Joe"));
+	}
+
+	@Test
+	public void testWriteEmptyCollection() throws IOException {
+		assertWritesLikeGson(Collections.emptyList());
+	}
+
+	@Test
+	public void testWriteLargeCollection() throws IOException {
+		Collection<Post> posts = new ArrayList<>();
+		for (int i = 0; i < 10000; i++) {
+			Post post = new Post(i);
+			post.setText("Post #" + i);
+			posts.add(post);
+		}
+		assertWritesLikeGson(posts);
+	}
+
+	private void assertWritesLikeGson(Collection<?> collection) throws IOException {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		streamingJsonWriter.write(collection, outputStream);
+		assertThat(new String(outputStream.toByteArray(), StandardCharsets.UTF_8), is(gson.toJson(collection)));
+	}
+}
@@ -0,0 +1,106 @@
+package com.jms.socialmedia.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.gson.GsonBuilder;
+import com.jms.socialmedia.cache.codec.BinaryCachingCodec;
+import com.jms.socialmedia.cache.codec.GsonCachingCodec;
+import com.jms.socialmedia.model.Comment;
+import com.jms.socialmedia.model.Post;
+
+/**
+ * Encoding and decoding of the Posts and Comments kept in Redis, with the Gson and Binary codecs
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CachingCodecBenchmark {
+
+	@Param({ "0", "100" })
+	public int numberOfLikes;
+
+	private GsonCachingCodec gsonCachingCodec;
+	private BinaryCachingCodec binaryCachingCodec;
+	private Post post;
+	private Comment comment;
+	private String gsonEncodedPost;
+	private String gsonEncodedComment;
+	private byte[] binaryEncodedPost;
+	private byte[] binaryEncodedComment;
+
+	@Setup
+	public void setUp() {
+		gsonCachingCodec = new GsonCachingCodec(new GsonBuilder().create());
+		binaryCachingCodec = new BinaryCachingCodec();
+
+		post = new Post(1234, 56, "username", "Full Name", "Some #Text of a Post, with a #Tag or two",
+				LocalDateTime.of(2019, 1, 1, 12, 30, 15));
+		comment = new Comment(5678, 1234, 56, "username", "Full Name", "Some Text of a Comment",
+				LocalDateTime.of(2019, 1, 1, 12, 45, 30));
+		for (int i = 0; i < numberOfLikes; i++) {
+			post.addLike("user" + i);
+			comment.addLike("user" + i);
+		}
+
+		gsonEncodedPost = gsonCachingCodec.encodePost(post);
+		gsonEncodedComment = gsonCachingCodec.encodeComment(comment);
+		binaryEncodedPost = binaryCachingCodec.encodePost(post);
+		binaryEncodedComment = binaryCachingCodec.encodeComment(comment);
+	}
+
+	@Benchmark
+	public String gsonEncodePost() {
+		return gsonCachingCodec.encodePost(post);
+	}
+
+	@Benchmark
+	public Post gsonDecodePost() {
+		return gsonCachingCodec.decodePost(gsonEncodedPost);
+	}
+
+	@Benchmark
+	public String gsonEncodeComment() {
+		return gsonCachingCodec.encodeComment(comment);
+	}
+
+	@Benchmark
+	public Comment gsonDecodeComment() {
+		return gsonCachingCodec.decodeComment(gsonEncodedComment);
+	}
+
+	@Benchmark
+	public byte[] binaryEncodePost() {
+		return binaryCachingCodec.encodePost(post);
+	}
+
+	@Benchmark
+	public Post binaryDecodePost() {
+		return binaryCachingCodec.decodePost(binaryEncodedPost);
+	}
+
+	@Benchmark
+	public byte[] binaryEncodeComment() {
+		return binaryCachingCodec.encodeComment(comment);
+	}
+
+	@Benchmark
+	public Comment binaryDecodeComment() {
+		return binaryCachingCodec.decodeComment(binaryEncodedComment);
+	}
+}
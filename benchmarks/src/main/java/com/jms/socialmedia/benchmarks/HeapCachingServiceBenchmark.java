@@ -0,0 +1,116 @@
+package com.jms.socialmedia.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.jms.socialmedia.cache.AbstractHeapCachingService;
+import com.jms.socialmedia.cache.GuavaCachingService;
+import com.jms.socialmedia.cache.JavaMapCachingService;
+import com.jms.socialmedia.model.Post;
+
+/**
+ * Mixes of reads and writes on the heap caches, run by concurrent threads sharing one cache.
+ *
+ * Posts are read through the cache, and put into it on a miss. Post IDs are drawn from twice as many Posts
+ * as the cache holds, so lookups miss and entries get evicted
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HeapCachingServiceBenchmark {
+
+	private static final int MAX_NUMBER_OF_USER_SESSIONS = 100;
+
+	@Param({ "guava", "javamap" })
+	public String implementation;
+
+	@Param({ "1000" })
+	public int maxNumberOfPosts;
+
+	private AbstractHeapCachingService cachingService;
+
+	@Setup
+	public void setUp() {
+		if ("guava".equals(implementation)) {
+			cachingService = new GuavaCachingService(maxNumberOfPosts, MAX_NUMBER_OF_USER_SESSIONS);
+		} else {
+			cachingService = new JavaMapCachingService(maxNumberOfPosts, MAX_NUMBER_OF_USER_SESSIONS);
+		}
+		for (int postId = 1; postId <= maxNumberOfPosts; postId++) {
+			cachingService.putPostIntoCache(newPost(postId));
+		}
+	}
+
+	@Benchmark
+	@Group("readMostly")
+	@GroupThreads(7)
+	public Post readMostlyRead() {
+		return readPost();
+	}
+
+	@Benchmark
+	@Group("readMostly")
+	@GroupThreads(1)
+	public void readMostlyWrite() {
+		writePost();
+	}
+
+	@Benchmark
+	@Group("readWrite")
+	@GroupThreads(4)
+	public Post readWriteRead() {
+		return readPost();
+	}
+
+	@Benchmark
+	@Group("readWrite")
+	@GroupThreads(4)
+	public void readWriteWrite() {
+		writePost();
+	}
+
+	private Post readPost() {
+		int postId = randomPostId();
+		Post post = cachingService.getPostFromCache(postId);
+		if (post == null) {
+			post = newPost(postId);
+			cachingService.putPostIntoCache(post);
+		}
+		return post;
+	}
+
+	private void writePost() {
+		int postId = randomPostId();
+		if (ThreadLocalRandom.current().nextBoolean()) {
+			cachingService.likePostInCache(postId, "user" + postId);
+		} else {
+			cachingService.putPostIntoCache(newPost(postId));
+		}
+	}
+
+	private int randomPostId() {
+		return ThreadLocalRandom.current().nextInt(1, 2 * maxNumberOfPosts + 1);
+	}
+
+	private static Post newPost(int postId) {
+		return new Post(postId, 1, "username", "Full Name", "Text of Post " + postId, LocalDateTime.of(2019, 1, 1, 0, 0));
+	}
+}
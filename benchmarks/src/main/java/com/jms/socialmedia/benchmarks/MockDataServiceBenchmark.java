@@ -0,0 +1,83 @@
+package com.jms.socialmedia.benchmarks;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.jms.socialmedia.dataservice.MockDataService;
+import com.jms.socialmedia.model.Post;
+
+/**
+ * Pages of Posts read from the in-memory DataService, as it grows.
+ * The Posts are written by the two Users of the MockDataService, and one in ten of them is tagged
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class MockDataServiceBenchmark {
+
+	private static final int PAGE_SIZE = 20;
+
+	@Param({ "10000", "100000", "1000000" })
+	public int numberOfPosts;
+
+	private MockDataService mockDataService;
+
+	@Setup
+	public void setUp() {
+		mockDataService = new MockDataService();
+		for (int i = 0; i < numberOfPosts; i++) {
+			Post post = new Post();
+			post.setUserId(i % 2 + 1);
+			post.setText(i % 10 == 0 ? "A #Benchmark Post" : "A Benchmark Post");
+			mockDataService.addPost(post);
+		}
+	}
+
+	@Benchmark
+	public Collection<Post> getNewestPosts() {
+		return mockDataService.getPosts(null, null, null, null, null, null, null, null, PAGE_SIZE, "postId", false);
+	}
+
+	@Benchmark
+	public Collection<Post> getPageOfPosts() {
+		int beforePostId = ThreadLocalRandom.current().nextInt(PAGE_SIZE, numberOfPosts);
+		return mockDataService.getPosts(null, null, null, null, null, null, null, beforePostId, PAGE_SIZE, "postId", false);
+	}
+
+	@Benchmark
+	public Collection<Post> getPostsOfUser() {
+		return mockDataService.getPosts(List.of(1), null, null, null, null, null, null, null, PAGE_SIZE, "postId", false);
+	}
+
+	@Benchmark
+	public Collection<Post> getFeedPosts() {
+		return mockDataService.getFeedPosts("Jason", null, null, PAGE_SIZE);
+	}
+
+	@Benchmark
+	public Collection<Post> getPostsWithTag() {
+		return mockDataService.getPosts(null, null, "benchmark", null, null, null, null, null, PAGE_SIZE, "postId", false);
+	}
+
+	@Benchmark
+	public Post getPost() {
+		return mockDataService.getPost(ThreadLocalRandom.current().nextInt(1, numberOfPosts));
+	}
+}
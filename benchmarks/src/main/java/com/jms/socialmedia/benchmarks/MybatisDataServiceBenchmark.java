@@ -0,0 +1,100 @@
+package com.jms.socialmedia.benchmarks;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.jms.socialmedia.configuration.Configurations;
+import com.jms.socialmedia.configuration.ConfigurationsFromFile;
+import com.jms.socialmedia.dataservice.MybatisDataService;
+import com.jms.socialmedia.model.Comment;
+import com.jms.socialmedia.model.NewUser;
+import com.jms.socialmedia.model.Post;
+
+/**
+ * Reads through Mybatis from an embedded, in-memory H2 Database.
+ * Each trial gets its own Database, filled with two Users, their Posts and a Comment on every Post
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MybatisDataServiceBenchmark {
+
+	private static final String CONFIGURATIONS_FILE = "benchmarks-h2.properties";
+	private static final int PAGE_SIZE = 20;
+
+	@Param({ "1000", "10000" })
+	public int numberOfPosts;
+
+	private MybatisDataService mybatisDataService;
+
+	@Setup
+	public void setUp() throws IOException {
+		Configurations configurations = new ConfigurationsFromFile(CONFIGURATIONS_FILE);
+		configurations.getProperties().setProperty("db.url",
+				"jdbc:h2:mem:benchmarks" + numberOfPosts + ";DB_CLOSE_DELAY=-1");
+		mybatisDataService = new MybatisDataService(configurations);
+
+		for (String username : List.of("user1", "user2")) {
+			NewUser newUser = new NewUser(null, username, "Full Name", username + "@jms.com", null, null, null, null);
+			newUser.setHashedPassword("hashedPassword");
+			mybatisDataService.addUser(newUser);
+		}
+		for (int i = 0; i < numberOfPosts; i++) {
+			Post post = new Post();
+			post.setUserId(i % 2 + 1);
+			post.setText(i % 10 == 0 ? "A #Benchmark Post" : "A Benchmark Post");
+			mybatisDataService.addPost(post);
+			mybatisDataService.addComment(new Comment(post.getPostId(), 2 - i % 2, "A Benchmark Comment"));
+		}
+	}
+
+	@Benchmark
+	public Post getPost() {
+		return mybatisDataService.getPost(randomPostId());
+	}
+
+	@Benchmark
+	public Collection<Post> getNewestPosts() {
+		return mybatisDataService.getPosts(null, null, null, null, null, null, null, null, PAGE_SIZE, "postId", false);
+	}
+
+	@Benchmark
+	public Collection<Post> getPostsWithTag() {
+		return mybatisDataService.getPosts(null, null, "benchmark", null, null, null, null, null, PAGE_SIZE, "postId", false);
+	}
+
+	@Benchmark
+	public Collection<Post> getPostsByIds() {
+		return mybatisDataService.getPostsByIds(IntStream.range(0, PAGE_SIZE).mapToObj(i -> randomPostId())
+				.collect(Collectors.toList()));
+	}
+
+	@Benchmark
+	public Collection<Comment> getComments() {
+		return mybatisDataService.getComments(randomPostId());
+	}
+
+	private int randomPostId() {
+		return ThreadLocalRandom.current().nextInt(1, numberOfPosts + 1);
+	}
+}
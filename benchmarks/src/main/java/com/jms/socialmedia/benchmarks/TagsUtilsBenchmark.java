@@ -0,0 +1,86 @@
+package com.jms.socialmedia.benchmarks;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.jms.socialmedia.utils.TagsUtils;
+import com.jms.socialmedia.utils.TagsUtils.TagsAndMentions;
+
+/**
+ * Extraction of the Tags of the text of a Post, done on every Post added or edited.
+ * The regular expression TagsUtils used before its scanner is kept as a baseline, compiled on every call as it was,
+ * and compiled once
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TagsUtilsBenchmark {
+
+	private static final String TEXT_WITHOUT_TAGS = "Just some text of a Post, written without a single tag in it. ";
+	private static final String TEXT_WITH_TAGS = "Some #Text of a #Post with a few #tags, #some_repeated #Tags @user. ";
+	private static final String TAGS_REGEX = "(?<=\\s|^)#([\\w_-]*)(?=\\s|$)";
+	private static final Pattern TAGS_PATTERN = Pattern.compile(TAGS_REGEX);
+
+	@Param({ "withoutTags", "withTags" })
+	public String textKind;
+
+	/**
+	 * Number of times the sentence is repeated in the text
+	 */
+	@Param({ "1", "20" })
+	public int repetitions;
+
+	private String text;
+
+	@Setup
+	public void setUp() {
+		text = ("withTags".equals(textKind) ? TEXT_WITH_TAGS : TEXT_WITHOUT_TAGS).repeat(repetitions);
+	}
+
+	@Benchmark
+	public Collection<String> extractTags() {
+		return TagsUtils.extractTags(text);
+	}
+
+	@Benchmark
+	public TagsAndMentions extractTagsAndMentions() {
+		return TagsUtils.extractTagsAndMentions(text);
+	}
+
+	@Benchmark
+	public Collection<String> extractTagsWithRegex() {
+		return extractTags(Pattern.compile(TAGS_REGEX), text);
+	}
+
+	@Benchmark
+	public Collection<String> extractTagsWithPrecompiledRegex() {
+		return extractTags(TAGS_PATTERN, text);
+	}
+
+	private static Collection<String> extractTags(Pattern pattern, String text) {
+		Collection<String> tags = new HashSet<>();
+		Matcher matcher = pattern.matcher(text);
+		while (matcher.find()) {
+			tags.add(matcher.group(1).toLowerCase());
+		}
+		return tags;
+	}
+}
@@ -1,6 +1,8 @@
 package com.jms.socialmedia.cache;
 
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.function.Supplier;
 
 import org.slf4j.Logger;
@@ -14,6 +16,21 @@ public abstract class AbstractCachingService {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(AbstractCachingService.class);
 
+	/**
+	 * How long a lookup that found nothing in the DataService is remembered, 
+	 * so that looking up a deleted Post, a bogus ID or an expired Session again doesn't reach the DataService
+	 */
+	protected static final int TOMBSTONE_EXPIRE_TIME_IN_SECONDS = 30;
+
+	/**
+	 * Where the suppliers given to the public *OrSupplier methods load from, as logged
+	 */
+	protected static final String DATA_SERVICE = "DataService";
+
+	private final SingleFlight<Integer, Post> postLoads = new SingleFlight<>();
+	private final SingleFlight<Integer, Collection<Comment>> commentsLoads = new SingleFlight<>();
+	private final SingleFlight<String, User> userSessionLoads = new SingleFlight<>();
+
 	/**
 	 * Retrieves a {@link Post} from cache if present
 	 * @param postId	ID of Post
@@ -21,6 +38,23 @@ public abstract class AbstractCachingService {
 	 */
 	public abstract Post getPostFromCache(int postId);
 
+	/**
+	 * Retrieves the {@link Post}s present in cache, looking them up one by one unless overridden
+	 * with a lookup of all of them at once
+	 * @param postIds	IDs of Posts
+	 * @return			Posts found, by ID
+	 */
+	public Map<Integer, Post> getPostsByIdsFromCache(Collection<Integer> postIds) {
+		Map<Integer, Post> postsById = new HashMap<>();
+		for (Integer postId : postIds) {
+			Post post = getPostFromCache(postId);
+			if (post != null) {
+				postsById.put(postId, post);
+			}
+		}
+		return postsById;
+	}
+
 	/**
 	 * Either edits the text of the Post in the Cache, or invalidates the Post
 	 * @param postId	ID of the Post being edited
@@ -54,6 +88,22 @@ public abstract class AbstractCachingService {
 
 	public abstract Comment getCommentFromCache(int commentId);
 
+	/**
+	 * Retrieves the {@link Comment}s present in cache, like {@link #getPostsByIdsFromCache(Collection)}
+	 * @param commentIds	IDs of Comments
+	 * @return				Comments found, by ID
+	 */
+	public Map<Integer, Comment> getCommentsByIdsFromCache(Collection<Integer> commentIds) {
+		Map<Integer, Comment> commentsById = new HashMap<>();
+		for (Integer commentId : commentIds) {
+			Comment comment = getCommentFromCache(commentId);
+			if (comment != null) {
+				commentsById.put(commentId, comment);
+			}
+		}
+		return commentsById;
+	}
+
 	/**
 	 * Either edits the text of the Comment in the Cache, or invalidates the Comment
 	 * @param commentId		ID of the Comment being edited
@@ -67,6 +117,12 @@ public abstract class AbstractCachingService {
 
 	public abstract void removeCommentFromCache(int commentId);
 
+	/**
+	 * Removes all the {@link Comment}s of a {@link Post} from cache, but not the Post itself
+	 * @param postId
+	 */
+	public abstract void invalidateCommentsByPostId(int postId);
+
 	/**
 	 * Either adds a Like to the Comment in the Cache, or invalidates the Comment
 	 * @param commentId	ID of the Comment being liked
@@ -101,15 +157,98 @@ public abstract class AbstractCachingService {
 
 	public abstract void removeUserSessionFromCache(String sessionKey);
 
-	public Post getPostFromCacheOrSupplier(int postId, Supplier<Post> supplier) {
+	/**
+	 * Remembers, for {@value #TOMBSTONE_EXPIRE_TIME_IN_SECONDS} seconds, that nothing exists for this key
+	 * @param key	one of the *TombstoneKey's below
+	 */
+	protected abstract void putTombstoneIntoCache(String key);
+
+	protected abstract boolean isTombstoneInCache(String key);
+
+	protected abstract void removeTombstoneFromCache(String key);
+
+	/**
+	 * Looks up the Post and, if it is not in the cache, its tombstone.
+	 * Caches that can look up both at once override this, so that a miss doesn't cost a second lookup
+	 */
+	protected CacheLookup<Post> lookUpPostInCache(int postId) {
 		Post post = getPostFromCache(postId);
+		if (post == null && isTombstoneInCache(getPostTombstoneKey(postId))) {
+			return CacheLookup.tombstone();
+		}
+		return CacheLookup.of(post);
+	}
+
+	/**
+	 * Looks up the Session and, if it is not in the cache, its tombstone, like {@link #lookUpPostInCache(int)}
+	 */
+	protected CacheLookup<User> lookUpUserSessionInCache(String sessionKey) {
+		User user = getUserSessionFromCache(sessionKey);
+		if (user == null && isTombstoneInCache(getUserSessionTombstoneKey(sessionKey))) {
+			return CacheLookup.tombstone();
+		}
+		return CacheLookup.of(user);
+	}
+
+	/**
+	 * Forgets that the Post didn't exist, i.e. once it was just created.
+	 * {@link #putPostIntoCache(Post)} does this as well
+	 * @param postId
+	 */
+	public void removePostTombstoneFromCache(int postId) {
+		removeTombstoneFromCache(getPostTombstoneKey(postId));
+	}
+
+	/**
+	 * Forgets that the Session didn't exist, i.e. once it was just created.
+	 * {@link #putUserSessionIntoCache(String, User)} does this as well
+	 * @param sessionKey
+	 */
+	public void removeUserSessionTombstoneFromCache(String sessionKey) {
+		removeTombstoneFromCache(getUserSessionTombstoneKey(sessionKey));
+	}
+
+	/**
+	 * @return	whether the other replicas read and write the same cache, rather than each keeping its own
+	 */
+	public boolean isSharedBetweenReplicas() {
+		return false;
+	}
+
+	/**
+	 * On a cache miss, only one caller per Post runs the supplier. 
+	 * Other callers missing the same Post in the meantime wait for its result, rather than all loading the same Post.
+	 * If the supplier finds no Post, a tombstone answers the next lookups of that Post without calling the supplier
+	 */
+	public Post getPostFromCacheOrSupplier(int postId, Supplier<Post> supplier) {
+		return getPostFromCacheOrSupplier(postId, supplier, true, DATA_SERVICE);
+	}
+
+	/**
+	 * @param useTombstones	false when this cache is a tier of another one, which keeps the tombstones itself
+	 * @param supplierName	where the supplier loads from, as logged
+	 */
+	protected Post getPostFromCacheOrSupplier(int postId, Supplier<Post> supplier, boolean useTombstones,
+			String supplierName) {
+		CacheLookup<Post> lookup = useTombstones ? lookUpPostInCache(postId) : CacheLookup.of(getPostFromCache(postId));
+		Post post = lookup.getValue();
 		if (post == null) {
-			post = supplier.get();
-			postCacheMiss();
-			if (post != null) {
-				putPostIntoCache(post);
-				LOGGER.info("Retrieved Post #{} from DataService", postId);
+			if (lookup.isTombstone()) {
+				postCacheTombstoneHit();
+				LOGGER.info("Post #{} does not exist according to CachingService", postId);
+				return null;
 			}
+			postCacheMiss();
+			post = postLoads.load(postId, () -> {
+				Post loadedPost = supplier.get();
+				if (loadedPost != null) {
+					putPostIntoCache(loadedPost);
+					LOGGER.info("Retrieved Post #{} from {}", postId, supplierName);
+				} else if (useTombstones) {
+					putTombstoneIntoCache(getPostTombstoneKey(postId));
+				}
+				return loadedPost;
+			});
 		} else {
 			postCacheHit();
 			LOGGER.info("Retrieved Post #{} from CachingService", postId);
@@ -117,15 +256,30 @@ public abstract class AbstractCachingService {
 		return post;
 	}
 
+	/**
+	 * On a cache miss, only one caller per Post runs the supplier, like {@link #getPostFromCacheOrSupplier(int, Supplier)}.
+	 * There are no tombstones for Comments: the Comments of a Post are never missing, only empty
+	 */
 	public Collection<Comment> getCommentsFromCacheOrSupplier(int postId, Supplier<Collection<Comment>> supplier) {
+		return getCommentsFromCacheOrSupplier(postId, supplier, DATA_SERVICE);
+	}
+
+	/**
+	 * @param supplierName	where the supplier loads from, as logged
+	 */
+	protected Collection<Comment> getCommentsFromCacheOrSupplier(int postId, Supplier<Collection<Comment>> supplier,
+			String supplierName) {
 		Collection<Comment> comments = getCommentsFromCache(postId);
 		if (comments == null) {
-			comments = supplier.get();
 			commentsCacheMiss();
-			if (comments != null) {
-				putCommentsFromPostIntoCache(postId, comments);
-				LOGGER.info("Retrieved {} Comments for Post #{} from DataService", comments.size(), postId);
-			}
+			comments = commentsLoads.load(postId, () -> {
+				Collection<Comment> loadedComments = supplier.get();
+				if (loadedComments != null) {
+					putCommentsFromPostIntoCache(postId, loadedComments);
+					LOGGER.info("Retrieved {} Comments for Post #{} from {}", loadedComments.size(), postId, supplierName);
+				}
+				return loadedComments;
+			});
 		} else {
 			commentsCacheHit();
 			LOGGER.info("Retrieved {} Comments for Post #{} from CachingService", comments.size(), postId);
@@ -133,15 +287,39 @@ public abstract class AbstractCachingService {
 		return comments;
 	}
 
+	/**
+	 * On a cache miss, only one caller per Session runs the supplier, like {@link #getPostFromCacheOrSupplier(int, Supplier)}
+	 */
 	public User getUserSessionCacheOrSupplier(String sessionKey, Supplier<User> supplier) {
-		User user = getUserSessionFromCache(sessionKey);
+		return getUserSessionCacheOrSupplier(sessionKey, supplier, true, DATA_SERVICE);
+	}
+
+	/**
+	 * @param useTombstones	false when this cache is a tier of another one, which keeps the tombstones itself
+	 * @param supplierName	where the supplier loads from, as logged
+	 */
+	protected User getUserSessionCacheOrSupplier(String sessionKey, Supplier<User> supplier, boolean useTombstones,
+			String supplierName) {
+		CacheLookup<User> lookup = useTombstones ? lookUpUserSessionInCache(sessionKey)
+				: CacheLookup.of(getUserSessionFromCache(sessionKey));
+		User user = lookup.getValue();
 		if (user == null) {
-			user = supplier.get();
-			userSessionCacheMiss();
-			if (user != null) {
-				putUserSessionIntoCache(sessionKey, user);
-				LOGGER.info("Retrieved User Session for {} from DataService", user.getUsername());
+			if (lookup.isTombstone()) {
+				userSessionCacheTombstoneHit();
+				LOGGER.info("User Session does not exist according to CachingService");
+				return null;
 			}
+			userSessionCacheMiss();
+			user = userSessionLoads.load(sessionKey, () -> {
+				User loadedUser = supplier.get();
+				if (loadedUser != null) {
+					putUserSessionIntoCache(sessionKey, loadedUser);
+					LOGGER.info("Retrieved User Session for {} from {}", loadedUser.getUsername(), supplierName);
+				} else if (useTombstones) {
+					putTombstoneIntoCache(getUserSessionTombstoneKey(sessionKey));
+				}
+				return loadedUser;
+			});
 		} else {
 			userSessionCacheHit();
 			LOGGER.info("Retrieved User Session for {} from CachingService", user.getUsername());
@@ -155,6 +333,9 @@ public abstract class AbstractCachingService {
 	protected void postCacheMiss() {
 	}
 
+	protected void postCacheTombstoneHit() {
+	}
+
 	protected void commentsCacheHit() {
 	}
 
@@ -166,4 +347,15 @@ public abstract class AbstractCachingService {
 
 	protected void userSessionCacheMiss() {
 	}
+
+	protected void userSessionCacheTombstoneHit() {
+	}
+
+	protected static String getPostTombstoneKey(int postId) {
+		return "post/" + postId;
+	}
+
+	protected static String getUserSessionTombstoneKey(String sessionKey) {
+		return "user/session/" + sessionKey;
+	}
 }
@@ -1,59 +1,89 @@
 package com.jms.socialmedia.cache;
 
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
 import java.util.stream.Collectors;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import com.jms.socialmedia.cache.codec.CachingCodec;
 import com.jms.socialmedia.model.Comment;
+import com.jms.socialmedia.model.Entry;
 import com.jms.socialmedia.model.Post;
 import com.jms.socialmedia.model.User;
 
+/**
+ * Caches encoded Posts, Comments and Users.
+ *
+ * The Likes of a Post or Comment are kept apart from its encoded value, so that liking and unliking
+ * change them in place instead of invalidating the whole Post or Comment.
+ * They are left out of the encoded value, where they would be stored twice and never updated;
+ * on read, the Likes kept apart are set on the decoded value.
+ *
+ * A value that fails to decode is treated as a cache miss, and evicted so that the next read loads and caches it again
+ */
 public abstract class AbstractCodecCachingService<T> extends AbstractCachingService {
 
+	private static final Logger LOGGER = LoggerFactory.getLogger(AbstractCodecCachingService.class);
+
 	private final CachingCodec<T> cachingServiceCodec;
 
 	public AbstractCodecCachingService(CachingCodec<T> cachingServiceCodec) {
 		this.cachingServiceCodec = cachingServiceCodec;
 	}
 
-	protected abstract T getEncodedPostFromCache(int postId);
+	/**
+	 * @return	the encoded Post with its Likes, or {@code null} if either of them is not in the cache
+	 */
+	protected abstract EncodedEntry<T> getEncodedPostFromCache(int postId);
 
-	protected abstract void putEncodedPostIntoCache(int postId, T encodedPost);
+	/**
+	 * @return	the encoded Posts with their Likes found in the cache, by ID
+	 */
+	protected abstract Map<Integer, EncodedEntry<T>> getEncodedPostsFromCache(Collection<Integer> postIds);
 
-	@Override
-	public Post getPostFromCache(int postId) {
-		return cachingServiceCodec.decodePost(getEncodedPostFromCache(postId));
-	}
+	protected abstract void putEncodedPostIntoCache(int postId, EncodedEntry<T> encodedPost);
 
 	@Override
-	public void editPostInCache(int postId, String text) {
-		invalidatePost(postId);
+	public Post getPostFromCache(int postId) {
+		return decodePost(postId, getEncodedPostFromCache(postId));
 	}
 
 	@Override
-	public void putPostIntoCache(Post post) {
-		putEncodedPostIntoCache(post.getPostId(), cachingServiceCodec.encodePost(post));
+	public Map<Integer, Post> getPostsByIdsFromCache(Collection<Integer> postIds) {
+		return decode(getEncodedPostsFromCache(postIds), cachingServiceCodec::decodePost, "Post", this::invalidatePost);
 	}
 
-
 	@Override
-	public void likePostInCache(int postId, String username) {
+	public void editPostInCache(int postId, String text) {
 		invalidatePost(postId);
 	}
 
 	@Override
-	public void unlikePostInCache(int postId, String username) {
-		invalidatePost(postId);
+	public void putPostIntoCache(Post post) {
+		putEncodedPostIntoCache(post.getPostId(), encode(post));
 	}
 
-	protected abstract Collection<T> getEncodedCommentsFromCache(int postId);
+	/**
+	 * @return	the encoded Comments of the Post with their Likes, or {@code null} if any of them is not in the cache
+	 */
+	protected abstract Collection<EncodedEntry<T>> getEncodedCommentsFromCache(int postId);
+
+	protected abstract EncodedEntry<T> getEncodedCommentFromCache(int commentId);
 
-	protected abstract T getEncodedCommentFromCache(int commentId);
+	/**
+	 * @return	the encoded Comments with their Likes found in the cache, by ID
+	 */
+	protected abstract Map<Integer, EncodedEntry<T>> getEncodedCommentsByIdsFromCache(Collection<Integer> commentIds);
 
-	protected abstract void putEncodedCommentsFromPostIntoCache(int postId, Map<T, Double> encodedCommentsWithId);
+	protected abstract void putEncodedCommentsFromPostIntoCache(int postId, Map<Integer, EncodedEntry<T>> encodedCommentsById);
 
-	protected abstract void putEncodedCommentIntoCache(int commentId, int postId, T encodedComment);
+	protected abstract void putEncodedCommentIntoCache(int commentId, int postId, EncodedEntry<T> encodedComment);
 
 	/**
 	 * Slightly different from {@link #removePostFromCache(int)}
@@ -64,18 +94,34 @@ public abstract class AbstractCodecCachingService<T> extends AbstractCachingServ
 
 	@Override
 	public Collection<Comment> getCommentsFromCache(int postId) {
-		Collection<T> encodedComments = getEncodedCommentsFromCache(postId);
+		Collection<EncodedEntry<T>> encodedComments = getEncodedCommentsFromCache(postId);
 		if (encodedComments != null) {
-			return encodedComments.stream().map(cachingServiceCodec::decodeComment)
-				.collect(Collectors.toList());
-		} else {
-			return null;
+			try {
+				return encodedComments.stream().map(e -> decode(e, cachingServiceCodec::decodeComment))
+					.collect(Collectors.toList());
+			} catch (RuntimeException e) {
+				LOGGER.warn("Could not decode the Comments of Post #{}, evicting them", postId, e);
+				invalidateCommentsByPostId(postId);
+			}
 		}
+		return null;
 	}
 
 	@Override
 	public Comment getCommentFromCache(int commentId) {
-		return cachingServiceCodec.decodeComment(getEncodedCommentFromCache(commentId));
+		try {
+			return decode(getEncodedCommentFromCache(commentId), cachingServiceCodec::decodeComment);
+		} catch (RuntimeException e) {
+			LOGGER.warn("Could not decode Comment #{}, evicting it", commentId, e);
+			invalidateComment(commentId);
+			return null;
+		}
+	}
+
+	@Override
+	public Map<Integer, Comment> getCommentsByIdsFromCache(Collection<Integer> commentIds) {
+		return decode(getEncodedCommentsByIdsFromCache(commentIds), cachingServiceCodec::decodeComment, "Comment",
+				this::invalidateComment);
 	}
 
 	@Override
@@ -87,35 +133,32 @@ public abstract class AbstractCodecCachingService<T> extends AbstractCachingServ
 	public void putCommentsFromPostIntoCache(int postId, Collection<Comment> comments) {
 		if (!comments.isEmpty()) {
 			putEncodedCommentsFromPostIntoCache(postId, comments.stream()
-					.collect(Collectors.toMap(cachingServiceCodec::encodeComment, e -> e.getCommentId().doubleValue())));
+					.collect(Collectors.toMap(Comment::getCommentId, this::encode)));
 		}
 	}
 
 	@Override
 	public void putCommentIntoCache(Comment comment) {
-		putEncodedCommentIntoCache(comment.getCommentId(), comment.getPostId(), cachingServiceCodec.encodeComment(comment));
+		putEncodedCommentIntoCache(comment.getCommentId(), comment.getPostId(),
+				encode(comment));
 	}
 
+	/**
+	 * Only the ID of the User is known here, not the username that is kept in the Likes
+	 */
 	@Override
 	public void likeCommentInCache(int commentId, int userId) {
 		invalidateComment(commentId);
 	}
 
-	@Override
-	public void likeCommentInCache(int commentId, String username) {
-		invalidateComment(commentId);
-	}
-
+	/**
+	 * Only the ID of the User is known here, not the username that is kept in the Likes
+	 */
 	@Override
 	public void unlikeCommentInCache(int commentId, int userId) {
 		invalidateComment(commentId);
 	}
 
-	@Override
-	public void unlikeCommentInCache(int commentId, String username) {
-		invalidateComment(commentId);
-	}
-
 	protected abstract void invalidateComment(int commentId);
 
 	protected abstract T getEncodedUserSessionFromCache(String sessionKey);
@@ -124,11 +167,106 @@ public abstract class AbstractCodecCachingService<T> extends AbstractCachingServ
 
 	@Override
 	public User getUserSessionFromCache(String sessionKey) {
-		return cachingServiceCodec.decodeUser(getEncodedUserSessionFromCache(sessionKey));
+		return decodeUserSession(sessionKey, getEncodedUserSessionFromCache(sessionKey));
 	}
 
 	@Override
 	public void putUserSessionIntoCache(String sessionKey, User user) {
 		putEncodedUserSessionIntoCache(sessionKey, cachingServiceCodec.encodeUser(user));
 	}
+
+	/**
+	 * @return	the decoded Post, or {@code null} if it is not in the cache or fails to decode, in which case it is evicted
+	 */
+	protected Post decodePost(int postId, EncodedEntry<T> encodedPost) {
+		try {
+			return decode(encodedPost, cachingServiceCodec::decodePost);
+		} catch (RuntimeException e) {
+			LOGGER.warn("Could not decode Post #{}, evicting it", postId, e);
+			invalidatePost(postId);
+			return null;
+		}
+	}
+
+	/**
+	 * @return	the decoded User, or {@code null} if the Session is not in the cache or fails to decode, in which case it is evicted
+	 */
+	protected User decodeUserSession(String sessionKey, T encodedUserSession) {
+		try {
+			return cachingServiceCodec.decodeUser(encodedUserSession);
+		} catch (RuntimeException e) {
+			LOGGER.warn("Could not decode User Session, evicting it", e);
+			removeUserSessionFromCache(sessionKey);
+			return null;
+		}
+	}
+
+	private EncodedEntry<T> encode(Post post) {
+		Post postWithoutLikes = new Post(post.getPostId(), post.getUserId(), post.getUsername(), post.getFullName(),
+				post.getText(), post.getTimestamp());
+		postWithoutLikes.setProfilePictureLink(post.getProfilePictureLink());
+		return new EncodedEntry<>(cachingServiceCodec.encodePost(postWithoutLikes), post.getLikes());
+	}
+
+	private EncodedEntry<T> encode(Comment comment) {
+		Comment commentWithoutLikes = new Comment(comment.getCommentId(), comment.getPostId(), comment.getUserId(),
+				comment.getUsername(), comment.getFullName(), comment.getText(), comment.getTimestamp());
+		commentWithoutLikes.setProfilePictureLink(comment.getProfilePictureLink());
+		return new EncodedEntry<>(cachingServiceCodec.encodeComment(commentWithoutLikes), comment.getLikes());
+	}
+
+	private static <T, E extends Entry> E decode(EncodedEntry<T> encodedEntry, Function<T, E> decoder) {
+		if (encodedEntry == null) {
+			return null;
+		}
+		E entry = decoder.apply(encodedEntry.getEncodedValue());
+		if (entry != null) {
+			entry.setLikes(new HashSet<>(encodedEntry.getLikes()));
+		}
+		return entry;
+	}
+
+	/**
+	 * Entries that fail to decode are left out, as misses, and evicted
+	 */
+	private static <T, E extends Entry> Map<Integer, E> decode(Map<Integer, EncodedEntry<T>> encodedEntriesById,
+			Function<T, E> decoder, String entryType, IntConsumer evictor) {
+		Map<Integer, E> entriesById = new HashMap<>();
+		encodedEntriesById.forEach((id, encodedEntry) -> {
+			E entry;
+			try {
+				entry = decode(encodedEntry, decoder);
+			} catch (RuntimeException e) {
+				LOGGER.warn("Could not decode {} #{}, evicting it", entryType, id, e);
+				evictor.accept(id);
+				return;
+			}
+			if (entry != null) {
+				entriesById.put(id, entry);
+			}
+		});
+		return entriesById;
+	}
+
+	/**
+	 * An encoded Post or Comment, and its Likes
+	 */
+	protected static final class EncodedEntry<T> {
+
+		private final T encodedValue;
+		private final Collection<String> likes;
+
+		public EncodedEntry(T encodedValue, Collection<String> likes) {
+			this.encodedValue = encodedValue;
+			this.likes = likes;
+		}
+
+		public T getEncodedValue() {
+			return encodedValue;
+		}
+
+		public Collection<String> getLikes() {
+			return likes;
+		}
+	}
 }
@@ -1,10 +1,42 @@
 package com.jms.socialmedia.cache;
 
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+
 import com.jms.socialmedia.model.Comment;
+import com.jms.socialmedia.model.Entry;
 import com.jms.socialmedia.model.Post;
 
+/**
+ * Caches Posts, Comments and Users on the heap.
+ *
+ * The cached objects are shared by all request threads and changed in place,
+ * so their Likes are kept in a concurrent Set, safe to iterate (i.e. serialize) while other threads like and unlike.
+ * Posts and Comments are copied when put into the cache, leaving the caller's own objects as they are
+ */
 public abstract class AbstractHeapCachingService extends AbstractCachingService {
 
+	protected static Post copyWithConcurrentLikes(Post post) {
+		return copyWithConcurrentLikes(post, new Post(post.getPostId(), post.getUserId(), post.getUsername(),
+				post.getFullName(), post.getText(), post.getTimestamp()));
+	}
+
+	protected static Comment copyWithConcurrentLikes(Comment comment) {
+		return copyWithConcurrentLikes(comment, new Comment(comment.getCommentId(), comment.getPostId(),
+				comment.getUserId(), comment.getUsername(), comment.getFullName(), comment.getText(),
+				comment.getTimestamp()));
+	}
+
+	private static <E extends Entry> E copyWithConcurrentLikes(Entry entry, E copy) {
+		copy.setProfilePictureLink(entry.getProfilePictureLink());
+		Collection<String> likes = ConcurrentHashMap.newKeySet();
+		if (entry.getLikes() != null) {
+			likes.addAll(entry.getLikes());
+		}
+		copy.setLikes(likes);
+		return copy;
+	}
+
 	@Override
 	public void editPostInCache(int postId, String text) {
 		Post post = getPostFromCache(postId);
@@ -68,6 +100,4 @@ public abstract class AbstractHeapCachingService extends AbstractCachingService
 			comment.removeLike(username);
 		}
 	}
-	
-	protected abstract void invalidateCommentsByPostId(int postId);
 }
@@ -0,0 +1,528 @@
+package com.jms.socialmedia.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.jms.socialmedia.cache.codec.CachingCodec;
+import com.jms.socialmedia.model.Post;
+import com.jms.socialmedia.model.User;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.Tuple;
+import redis.clients.jedis.util.SafeEncoder;
+
+/**
+ * Independent commands are pipelined, so that most cache operations cost a single round trip to Redis.
+ * Every key a command touches is known before it is sent, even inside Lua scripts, which get all of theirs in KEYS:
+ * the Comments of a Post found by the ID of one of its Comments, or the Likes of the Comments of a Post,
+ * are sent in a second round trip, once the reply to the first one names their keys.
+ *
+ * This targets a single Redis server, not Redis Cluster: the keys of a Post, its Likes, its Comments
+ * and theirs have no hash tags, so the commands and scripts reading or writing several of them at once
+ * (MGET, MSET, DEL of several keys, and the script putting a Comment) would span slots and fail with CROSSSLOT.
+ *
+ * The Likes of a Post or Comment are a Set next to it, changed with SADD and SREM.
+ * Besides the usernames, the Set holds {@link #LIKES_SENTINEL}, written along with the Post or Comment:
+ * a Set without it was evicted, or created by a Like after that, so its Post or Comment is read as a cache miss.
+ *
+ * Keys, arguments and values are sent to Redis as bytes; subclasses only convert the encoded values of their codec
+ * @param <T>	type of the encoded values of the codec
+ */
+public abstract class AbstractRedisCachingService<T> extends AbstractCodecCachingService<T> {
+
+	/**
+	 * Adds the Comment with ID ARGV[1] and value ARGV[2] to the Comments of a Post in KEYS[1] only if they are cached,
+	 * refreshing their expiration to ARGV[3] seconds, storing the Post ID ARGV[4] of the Comment in KEYS[2]
+	 * and replacing its Likes Set in KEYS[3] with ARGV[5] onwards
+	 */
+	static final String PUT_COMMENT_SCRIPT =
+			"if redis.call('EXISTS', KEYS[1]) == 1 then\n"
+			+ "  redis.call('ZADD', KEYS[1], ARGV[1], ARGV[2])\n"
+			+ "  redis.call('EXPIRE', KEYS[1], ARGV[3])\n"
+			+ "  redis.call('SET', KEYS[2], ARGV[4])\n"
+			+ "  redis.call('DEL', KEYS[3])\n"
+			+ "  redis.call('SADD', KEYS[3], unpack(ARGV, 5))\n"
+			+ "  redis.call('EXPIRE', KEYS[3], ARGV[3])\n"
+			+ "end\n"
+			+ "return 0";
+
+	/**
+	 * Value of a tombstone key, only its existence matters
+	 */
+	static final String TOMBSTONE = "1";
+
+	/**
+	 * Member of every complete Likes Set. No username is empty
+	 */
+	static final String LIKES_SENTINEL = "";
+
+	private static final byte[] PUT_COMMENT_SCRIPT_BYTES = SafeEncoder.encode(PUT_COMMENT_SCRIPT);
+	private static final byte[] TOMBSTONE_BYTES = SafeEncoder.encode(TOMBSTONE);
+
+	private final JedisPool jedisPool;
+	private final int expireTimeInSeconds;
+
+	protected AbstractRedisCachingService(CachingCodec<T> cachingServiceCodec, JedisPool jedisPool,
+			int expireTimeInSeconds) {
+		super(cachingServiceCodec);
+		this.jedisPool = jedisPool;
+		this.expireTimeInSeconds = expireTimeInSeconds;
+	}
+
+	/**
+	 * @return	the bytes sent to Redis for an encoded value of the codec
+	 */
+	protected abstract byte[] toBytes(T encodedValue);
+
+	/**
+	 * @return	the encoded value of the codec read from Redis, or {@code null} for {@code null}
+	 */
+	protected abstract T fromBytes(byte[] bytes);
+
+	@Override
+	public boolean isSharedBetweenReplicas() {
+		return true;
+	}
+
+	@Override
+	protected EncodedEntry<T> getEncodedPostFromCache(int postId) {
+		return lookUpEncodedPost(postId, false).getValue();
+	}
+
+	@Override
+	protected CacheLookup<Post> lookUpPostInCache(int postId) {
+		return lookUpEncodedPost(postId, true).map(encodedPost -> decodePost(postId, encodedPost));
+	}
+
+	/**
+	 * Gets the Post and its Likes and refreshes their expiration in a single round trip,
+	 * checking for the tombstone of the Post in the same round trip if asked to
+	 */
+	private CacheLookup<EncodedEntry<T>> lookUpEncodedPost(int postId, boolean withTombstone) {
+		byte[] key = getPostKey(postId);
+		byte[] likesKey = getPostLikesKey(postId);
+		try (Jedis jedis = jedisPool.getResource()) {
+			Pipeline pipeline = jedis.pipelined();
+			Response<byte[]> response = pipeline.get(key);
+			Response<Set<byte[]>> likesResponse = pipeline.smembers(likesKey);
+			pipeline.expire(key, expireTimeInSeconds);
+			pipeline.expire(likesKey, expireTimeInSeconds);
+			Response<Boolean> tombstoneResponse = withTombstone
+					? pipeline.exists(getTombstoneKey(getPostTombstoneKey(postId))) : null;
+			pipeline.sync();
+
+			EncodedEntry<T> encodedPost = toEncodedEntry(response.get(), likesResponse.get());
+			return toCacheLookup(encodedPost, tombstoneResponse);
+		}
+	}
+
+	/**
+	 * Gets the Posts with a single MGET, along with their Likes, and refreshes their expiration in a single round trip
+	 */
+	@Override
+	protected Map<Integer, EncodedEntry<T>> getEncodedPostsFromCache(Collection<Integer> postIds) {
+		Map<Integer, EncodedEntry<T>> encodedPostsById = new HashMap<>();
+		if (postIds.isEmpty()) {
+			return encodedPostsById;
+		}
+		List<Integer> distinctPostIds = new ArrayList<>(new LinkedHashSet<>(postIds));
+		List<Response<Set<byte[]>>> likesResponses = new ArrayList<>(distinctPostIds.size());
+		try (Jedis jedis = jedisPool.getResource()) {
+			Pipeline pipeline = jedis.pipelined();
+			Response<List<byte[]>> response = pipeline.mget(distinctPostIds.stream()
+					.map(AbstractRedisCachingService::getPostKey).toArray(byte[][]::new));
+			for (Integer postId : distinctPostIds) {
+				likesResponses.add(pipeline.smembers(getPostLikesKey(postId)));
+				pipeline.expire(getPostKey(postId), expireTimeInSeconds);
+				pipeline.expire(getPostLikesKey(postId), expireTimeInSeconds);
+			}
+			pipeline.sync();
+
+			List<byte[]> encodedPosts = response.get();
+			for (int i = 0; i < distinctPostIds.size(); i++) {
+				EncodedEntry<T> encodedPost = toEncodedEntry(encodedPosts.get(i), likesResponses.get(i).get());
+				if (encodedPost != null) {
+					encodedPostsById.put(distinctPostIds.get(i), encodedPost);
+				}
+			}
+		}
+		return encodedPostsById;
+	}
+
+	@Override
+	protected void putEncodedPostIntoCache(int postId, EncodedEntry<T> encodedPost) {
+		byte[] likesKey = getPostLikesKey(postId);
+		try (Jedis jedis = jedisPool.getResource()) {
+			Pipeline pipeline = jedis.pipelined();
+			pipeline.setex(getPostKey(postId), expireTimeInSeconds, toBytes(encodedPost.getEncodedValue()));
+			pipeline.del(likesKey);
+			pipeline.sadd(likesKey, toLikesMembers(encodedPost.getLikes()));
+			pipeline.expire(likesKey, expireTimeInSeconds);
+			pipeline.del(getTombstoneKey(getPostTombstoneKey(postId)));
+			pipeline.sync();
+		}
+	}
+
+	@Override
+	public void removePostFromCache(int postId) {
+		try (Jedis jedis = jedisPool.getResource()) {
+			jedis.del(getPostKey(postId), getCommentsInPostKey(postId), getPostLikesKey(postId));
+		}
+	}
+
+	@Override
+	public void likePostInCache(int postId, String username) {
+		addLike(getPostLikesKey(postId), username);
+	}
+
+	@Override
+	public void unlikePostInCache(int postId, String username) {
+		removeLike(getPostLikesKey(postId), username);
+	}
+
+	@Override
+	public void invalidateCommentsByPostId(int postId) {
+		try (Jedis jedis = jedisPool.getResource()) {
+			jedis.del(getCommentsInPostKey(postId));
+		}
+	}
+
+	@Override
+	protected void invalidatePost(int postId) {
+		try (Jedis jedis = jedisPool.getResource()) {
+			jedis.del(getPostKey(postId));
+		}
+	}
+
+	/**
+	 * Redis removes a Sorted Set once its last member is removed,
+	 * so an empty result means the Comments of the Post are not in the cache.
+	 * The keys of their Likes are named by the IDs of the Comments, so those are read in a second round trip
+	 */
+	@Override
+	protected Collection<EncodedEntry<T>> getEncodedCommentsFromCache(int postId) {
+		byte[] key = getCommentsInPostKey(postId);
+		List<Tuple> comments;
+		List<Response<Set<byte[]>>> likesResponses;
+		try (Jedis jedis = jedisPool.getResource()) {
+			Pipeline pipeline = jedis.pipelined();
+			Response<Set<Tuple>> response = pipeline.zrangeWithScores(key, 0, -1);
+			pipeline.expire(key, expireTimeInSeconds);
+			pipeline.sync();
+
+			comments = new ArrayList<>(response.get());
+			if (comments.isEmpty()) {
+				return null;
+			}
+			likesResponses = new ArrayList<>(comments.size());
+			pipeline = jedis.pipelined();
+			for (Tuple comment : comments) {
+				byte[] likesKey = getCommentLikesKey((int) comment.getScore());
+				likesResponses.add(pipeline.smembers(likesKey));
+				pipeline.expire(likesKey, expireTimeInSeconds);
+			}
+			pipeline.sync();
+		}
+		Collection<EncodedEntry<T>> encodedComments = new ArrayList<>(comments.size());
+		for (int i = 0; i < comments.size(); i++) {
+			EncodedEntry<T> encodedComment = toEncodedEntry(comments.get(i).getBinaryElement(), likesResponses.get(i).get());
+			if (encodedComment == null) {
+				return null;
+			}
+			encodedComments.add(encodedComment);
+		}
+		return encodedComments;
+	}
+
+	@Override
+	protected EncodedEntry<T> getEncodedCommentFromCache(int commentId) {
+		return getEncodedCommentsByIdsFromCache(List.of(commentId)).get(commentId);
+	}
+
+	/**
+	 * A Comment is kept with the other Comments of its Post, whose ID is read first, with a single MGET for all the Comments.
+	 * The Comments found, and their Likes, are then read in a second round trip
+	 */
+	@Override
+	protected Map<Integer, EncodedEntry<T>> getEncodedCommentsByIdsFromCache(Collection<Integer> commentIds) {
+		Map<Integer, EncodedEntry<T>> encodedCommentsById = new HashMap<>();
+		if (commentIds.isEmpty()) {
+			return encodedCommentsById;
+		}
+		List<Integer> distinctCommentIds = new ArrayList<>(new LinkedHashSet<>(commentIds));
+		Map<Integer, Response<Set<byte[]>>> responses = new HashMap<>();
+		Map<Integer, Response<Set<byte[]>>> likesResponses = new HashMap<>();
+		try (Jedis jedis = jedisPool.getResource()) {
+			List<byte[]> postIds = jedis.mget(distinctCommentIds.stream()
+					.map(AbstractRedisCachingService::getPostIdOfCommentKey).toArray(byte[][]::new));
+
+			Pipeline pipeline = jedis.pipelined();
+			for (int i = 0; i < distinctCommentIds.size(); i++) {
+				if (postIds.get(i) != null) {
+					int commentId = distinctCommentIds.get(i);
+					byte[] key = getCommentsInPostKey(toInt(postIds.get(i)));
+					byte[] likesKey = getCommentLikesKey(commentId);
+					responses.put(commentId, pipeline.zrangeByScore(key, commentId, commentId));
+					likesResponses.put(commentId, pipeline.smembers(likesKey));
+					pipeline.expire(key, expireTimeInSeconds);
+					pipeline.expire(likesKey, expireTimeInSeconds);
+				}
+			}
+			pipeline.sync();
+		}
+		responses.forEach((commentId, response) -> {
+			byte[] encodedComment = response.get().stream().findFirst().orElse(null);
+			EncodedEntry<T> encodedEntry = toEncodedEntry(encodedComment, likesResponses.get(commentId).get());
+			if (encodedEntry != null) {
+				encodedCommentsById.put(commentId, encodedEntry);
+			}
+		});
+		return encodedCommentsById;
+	}
+
+	@Override
+	protected void putEncodedCommentsFromPostIntoCache(int postId, Map<Integer, EncodedEntry<T>> encodedCommentsById) {
+		byte[] key = getCommentsInPostKey(postId);
+		byte[] encodedPostId = encode(postId);
+		Map<byte[], Double> encodedCommentsWithId = new HashMap<>();
+		encodedCommentsById.forEach((id, e) -> encodedCommentsWithId.put(toBytes(e.getEncodedValue()), id.doubleValue()));
+		byte[][] postIdOfCommentKeysValues = encodedCommentsById.keySet().stream()
+				.flatMap(id -> Stream.of(getPostIdOfCommentKey(id), encodedPostId))
+				.toArray(byte[][]::new);
+
+		try (Jedis jedis = jedisPool.getResource()) {
+			Pipeline pipeline = jedis.pipelined();
+			pipeline.multi();
+			pipeline.zadd(key, encodedCommentsWithId);
+			pipeline.expire(key, expireTimeInSeconds);
+			pipeline.mset(postIdOfCommentKeysValues);
+			encodedCommentsById.forEach((id, e) -> {
+				byte[] likesKey = getCommentLikesKey(id);
+				pipeline.del(likesKey);
+				pipeline.sadd(likesKey, toLikesMembers(e.getLikes()));
+				pipeline.expire(likesKey, expireTimeInSeconds);
+			});
+			pipeline.exec();
+			pipeline.sync();
+		}
+	}
+
+	@Override
+	protected void putEncodedCommentIntoCache(int commentId, int postId, EncodedEntry<T> encodedComment) {
+		List<byte[]> args = new ArrayList<>(List.of(encode(commentId), toBytes(encodedComment.getEncodedValue()),
+				encode(expireTimeInSeconds), encode(postId)));
+		Collections.addAll(args, toLikesMembers(encodedComment.getLikes()));
+		try (Jedis jedis = jedisPool.getResource()) {
+			jedis.eval(PUT_COMMENT_SCRIPT_BYTES, List.of(getCommentsInPostKey(postId), getPostIdOfCommentKey(commentId),
+					getCommentLikesKey(commentId)), args);
+		}
+	}
+
+	/**
+	 * The Comment is removed from the Comments of its Post once the ID of the Post is read
+	 */
+	@Override
+	public void removeCommentFromCache(int commentId) {
+		try (Jedis jedis = jedisPool.getResource()) {
+			Pipeline pipeline = jedis.pipelined();
+			Response<byte[]> postIdResponse = pipeline.get(getPostIdOfCommentKey(commentId));
+			pipeline.del(getCommentLikesKey(commentId));
+			pipeline.sync();
+
+			byte[] postId = postIdResponse.get();
+			if (postId != null) {
+				jedis.zremrangeByScore(getCommentsInPostKey(toInt(postId)), commentId, commentId);
+			}
+		}
+	}
+
+	@Override
+	public void likeCommentInCache(int commentId, String username) {
+		addLike(getCommentLikesKey(commentId), username);
+	}
+
+	@Override
+	public void unlikeCommentInCache(int commentId, String username) {
+		removeLike(getCommentLikesKey(commentId), username);
+	}
+
+	/**
+	 * Removes all the Comments of the Post of the Comment, once the ID of the Post is read
+	 */
+	@Override
+	protected void invalidateComment(int commentId) {
+		try (Jedis jedis = jedisPool.getResource()) {
+			byte[] postId = jedis.get(getPostIdOfCommentKey(commentId));
+			if (postId != null) {
+				jedis.del(getCommentsInPostKey(toInt(postId)));
+			}
+		}
+	}
+
+	@Override
+	protected T getEncodedUserSessionFromCache(String sessionKey) {
+		return lookUpEncodedUserSession(sessionKey, false).getValue();
+	}
+
+	@Override
+	protected CacheLookup<User> lookUpUserSessionInCache(String sessionKey) {
+		return lookUpEncodedUserSession(sessionKey, true).map(encodedUserSession -> decodeUserSession(sessionKey, encodedUserSession));
+	}
+
+	/**
+	 * Gets the Session and refreshes its expiration in a single round trip,
+	 * checking for the tombstone of the Session in the same round trip if asked to.
+	 * EXPIRE on a missing key is a no-op, so it doesn't need to wait for the GET
+	 */
+	private CacheLookup<T> lookUpEncodedUserSession(String sessionKey, boolean withTombstone) {
+		byte[] key = getUserSessionKey(sessionKey);
+		try (Jedis jedis = jedisPool.getResource()) {
+			Pipeline pipeline = jedis.pipelined();
+			Response<byte[]> response = pipeline.get(key);
+			pipeline.expire(key, expireTimeInSeconds);
+			Response<Boolean> tombstoneResponse = withTombstone
+					? pipeline.exists(getTombstoneKey(getUserSessionTombstoneKey(sessionKey))) : null;
+			pipeline.sync();
+
+			return toCacheLookup(fromBytes(response.get()), tombstoneResponse);
+		}
+	}
+
+	@Override
+	protected void putEncodedUserSessionIntoCache(String sessionKey, T encodedUserSession) {
+		try (Jedis jedis = jedisPool.getResource()) {
+			Pipeline pipeline = jedis.pipelined();
+			pipeline.setex(getUserSessionKey(sessionKey), expireTimeInSeconds, toBytes(encodedUserSession));
+			pipeline.del(getTombstoneKey(getUserSessionTombstoneKey(sessionKey)));
+			pipeline.sync();
+		}
+	}
+
+	@Override
+	public void removeUserSessionFromCache(String sessionKey) {
+		try (Jedis jedis = jedisPool.getResource()) {
+			jedis.del(getUserSessionKey(sessionKey));
+		}
+	}
+
+	@Override
+	protected void putTombstoneIntoCache(String key) {
+		try (Jedis jedis = jedisPool.getResource()) {
+			jedis.setex(getTombstoneKey(key), TOMBSTONE_EXPIRE_TIME_IN_SECONDS, TOMBSTONE_BYTES);
+		}
+	}
+
+	@Override
+	protected boolean isTombstoneInCache(String key) {
+		try (Jedis jedis = jedisPool.getResource()) {
+			return jedis.exists(getTombstoneKey(key));
+		}
+	}
+
+	@Override
+	protected void removeTombstoneFromCache(String key) {
+		try (Jedis jedis = jedisPool.getResource()) {
+			jedis.del(getTombstoneKey(key));
+		}
+	}
+
+	/**
+	 * A Like on a Set that is not cached creates one without {@link #LIKES_SENTINEL},
+	 * so it is given an expiration to be removed eventually
+	 */
+	private void addLike(byte[] likesKey, String username) {
+		try (Jedis jedis = jedisPool.getResource()) {
+			Pipeline pipeline = jedis.pipelined();
+			pipeline.sadd(likesKey, SafeEncoder.encode(username));
+			pipeline.expire(likesKey, expireTimeInSeconds);
+			pipeline.sync();
+		}
+	}
+
+	private void removeLike(byte[] likesKey, String username) {
+		try (Jedis jedis = jedisPool.getResource()) {
+			jedis.srem(likesKey, SafeEncoder.encode(username));
+		}
+	}
+
+	private static <V> CacheLookup<V> toCacheLookup(V value, Response<Boolean> tombstoneResponse) {
+		if (value == null && tombstoneResponse != null && tombstoneResponse.get()) {
+			return CacheLookup.tombstone();
+		}
+		return CacheLookup.of(value);
+	}
+
+	/**
+	 * @return	the encoded value with its Likes, or {@code null} if either of them is not in the cache
+	 */
+	@SuppressWarnings("unchecked")
+	private EncodedEntry<T> toEncodedEntry(Object encodedValue, Object likesMembers) {
+		Collection<String> likes = fromLikesMembers((Collection<byte[]>) likesMembers);
+		return encodedValue == null || likes == null ? null : new EncodedEntry<>(fromBytes((byte[]) encodedValue), likes);
+	}
+
+	static byte[][] toLikesMembers(Collection<String> likes) {
+		return Stream.concat(Stream.of(LIKES_SENTINEL), likes.stream()).map(SafeEncoder::encode).toArray(byte[][]::new);
+	}
+
+	/**
+	 * @return	the usernames in the Likes Set, or {@code null} if it is not complete
+	 */
+	static Collection<String> fromLikesMembers(Collection<byte[]> likesMembers) {
+		if (likesMembers == null) {
+			return null;
+		}
+		List<String> members = likesMembers.stream().map(SafeEncoder::encode).collect(Collectors.toList());
+		if (!members.contains(LIKES_SENTINEL)) {
+			return null;
+		}
+		return members.stream().filter(member -> !member.equals(LIKES_SENTINEL)).collect(Collectors.toList());
+	}
+
+	private static byte[] encode(int value) {
+		return SafeEncoder.encode(Integer.toString(value));
+	}
+
+	private static int toInt(byte[] value) {
+		return Integer.parseInt(SafeEncoder.encode(value));
+	}
+
+	static byte[] getPostKey(int postId) {
+		return SafeEncoder.encode("post/" + postId);
+	}
+
+	static byte[] getPostLikesKey(int postId) {
+		return SafeEncoder.encode("post/" + postId + "/likes");
+	}
+
+	static byte[] getCommentsInPostKey(int postId) {
+		return SafeEncoder.encode("post/" + postId + "/comments");
+	}
+
+	static byte[] getCommentLikesKey(int commentId) {
+		return SafeEncoder.encode("comment/" + commentId + "/likes");
+	}
+
+	static byte[] getUserSessionKey(String sessionKey) {
+		return SafeEncoder.encode("user/session/" + sessionKey);
+	}
+
+	static byte[] getPostIdOfCommentKey(int commentId) {
+		return SafeEncoder.encode("comment/" + commentId + "/postId");
+	}
+
+	static byte[] getTombstoneKey(String key) {
+		return SafeEncoder.encode("tombstone/" + key);
+	}
+}
@@ -0,0 +1,34 @@
+package com.jms.socialmedia.cache;
+
+import com.jms.socialmedia.cache.codec.CachingCodec;
+
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPoolConfig;
+
+/**
+ * Caches the values of codecs that encode into a binary layout, as they are
+ */
+public class BinaryRedisCachingService extends AbstractRedisCachingService<byte[]> {
+
+	public BinaryRedisCachingService(CachingCodec<byte[]> cachingServiceCodec, String host, int port, int expireTimeInSeconds) {
+		this(cachingServiceCodec, new JedisPool(new JedisPoolConfig(), host, port), expireTimeInSeconds);
+	}
+
+	public BinaryRedisCachingService(CachingCodec<byte[]> cachingServiceCodec, JedisPool jedisPool) {
+		this(cachingServiceCodec, jedisPool, Integer.MAX_VALUE);
+	}
+
+	public BinaryRedisCachingService(CachingCodec<byte[]> cachingServiceCodec, JedisPool jedisPool, int expireTimeInSeconds) {
+		super(cachingServiceCodec, jedisPool, expireTimeInSeconds);
+	}
+
+	@Override
+	protected byte[] toBytes(byte[] encodedValue) {
+		return encodedValue;
+	}
+
+	@Override
+	protected byte[] fromBytes(byte[] bytes) {
+		return bytes;
+	}
+}
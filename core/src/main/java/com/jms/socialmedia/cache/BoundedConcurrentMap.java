@@ -0,0 +1,89 @@
+package com.jms.socialmedia.cache;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+
+/**
+ * A {@link ConcurrentHashMap} that holds at most a maximum number of entries.
+ *
+ * Once it is full, putting a new entry evicts another one with the CLOCK (second chance) policy, an approximation of LRU:
+ * a hand goes round the entries, skipping the ones that were read since it last passed them and evicting the first
+ * one that wasn't. Reads only set a flag, so they never lock; only evictions are serialized
+ */
+final class BoundedConcurrentMap<K, V> {
+
+	private final ConcurrentMap<K, Node<V>> nodesByKey = new ConcurrentHashMap<>();
+	private final int maximumSize;
+	private final BiConsumer<K, V> evictionListener;
+	private Iterator<Map.Entry<K, Node<V>>> hand = Collections.emptyIterator();
+
+	BoundedConcurrentMap(int maximumSize) {
+		this(maximumSize, (key, value) -> { });
+	}
+
+	/**
+	 * @param evictionListener	Called with every entry evicted to make room, not with the ones removed
+	 */
+	BoundedConcurrentMap(int maximumSize, BiConsumer<K, V> evictionListener) {
+		this.maximumSize = maximumSize;
+		this.evictionListener = evictionListener;
+	}
+
+	V get(K key) {
+		Node<V> node = nodesByKey.get(key);
+		if (node == null) {
+			return null;
+		}
+		node.referenced = true;
+		return node.value;
+	}
+
+	void put(K key, V value) {
+		if (nodesByKey.put(key, new Node<>(value)) == null) {
+			while (nodesByKey.size() > maximumSize) {
+				evict();
+			}
+		}
+	}
+
+	V remove(K key) {
+		Node<V> node = nodesByKey.remove(key);
+		return node == null ? null : node.value;
+	}
+
+	int size() {
+		return nodesByKey.size();
+	}
+
+	private synchronized void evict() {
+		while (nodesByKey.size() > maximumSize) {
+			if (!hand.hasNext()) {
+				hand = nodesByKey.entrySet().iterator();
+				if (!hand.hasNext()) {
+					return;
+				}
+			}
+			Map.Entry<K, Node<V>> entry = hand.next();
+			Node<V> node = entry.getValue();
+			if (node.referenced) {
+				node.referenced = false;
+			} else if (nodesByKey.remove(entry.getKey(), node)) {
+				evictionListener.accept(entry.getKey(), node.value);
+			}
+		}
+	}
+
+	private static final class Node<V> {
+
+		private final V value;
+		private volatile boolean referenced;
+
+		private Node(V value) {
+			this.value = value;
+		}
+	}
+}
@@ -0,0 +1,50 @@
+package com.jms.socialmedia.cache;
+
+import java.util.function.Function;
+
+/**
+ * What a lookup found in the cache: a value, a tombstone remembering that there is no value, or neither
+ * @param <V>	Type of Value
+ */
+final class CacheLookup<V> {
+
+	private static final CacheLookup<?> TOMBSTONE = new CacheLookup<>(null, true);
+
+	private final V value;
+	private final boolean tombstone;
+
+	private CacheLookup(V value, boolean tombstone) {
+		this.value = value;
+		this.tombstone = tombstone;
+	}
+
+	/**
+	 * @param value	value found, or {@code null} for a miss
+	 */
+	static <V> CacheLookup<V> of(V value) {
+		return new CacheLookup<>(value, false);
+	}
+
+	@SuppressWarnings("unchecked")
+	static <V> CacheLookup<V> tombstone() {
+		return (CacheLookup<V>) TOMBSTONE;
+	}
+
+	/**
+	 * @return	the value found, or {@code null} for a miss or a tombstone
+	 */
+	V getValue() {
+		return value;
+	}
+
+	boolean isTombstone() {
+		return tombstone;
+	}
+
+	/**
+	 * @return	the lookup with its value, if any, mapped by the function
+	 */
+	<R> CacheLookup<R> map(Function<V, R> function) {
+		return tombstone ? tombstone() : of(value == null ? null : function.apply(value));
+	}
+}
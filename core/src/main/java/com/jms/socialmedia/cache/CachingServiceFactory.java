@@ -4,6 +4,7 @@ import java.util.Locale;
 
 import com.codahale.metrics.MetricRegistry;
 import com.google.gson.GsonBuilder;
+import com.jms.socialmedia.cache.codec.BinaryCachingCodec;
 import com.jms.socialmedia.cache.codec.CachingCodec;
 import com.jms.socialmedia.cache.codec.GsonCachingCodec;
 import com.jms.socialmedia.configuration.Configurations;
@@ -21,11 +22,10 @@ public class CachingServiceFactory {
 		if (configurations.get(CoreSettings.USE_CACHE)) {
 			switch (configurations.get(CoreSettings.CACHE_IMPLEMENTATION).toLowerCase(Locale.US)) {
 				case "redis":
-					CachingCodec<String> cachingCodec = new GsonCachingCodec(new GsonBuilder().create());
-					cachingService = new RedisCachingService(cachingCodec,
-							configurations.get(CoreSettings.CACHE_REDIS_HOST),
-							configurations.get(CoreSettings.CACHE_REDIS_PORT),
-							configurations.get(CoreSettings.CACHE_EXPIRE_TIME_SECONDS));
+					cachingService = createRedisCachingService(configurations);
+					break;
+				case "tiered":
+					cachingService = createTieredCachingService(configurations, metricRegistry);
 					break;
 				case "guava":
 					cachingService = new GuavaCachingService(
@@ -34,7 +34,10 @@ public class CachingServiceFactory {
 							configurations.get(CoreSettings.CACHE_EXPIRE_TIME_SECONDS));
 					break;
 				default:
-					cachingService = new JavaMapCachingService();
+					cachingService = new JavaMapCachingService(
+							configurations.get(CoreSettings.CACHE_JAVAMAP_MAX_NUMBER_OF_POSTS),
+							configurations.get(CoreSettings.CACHE_JAVAMAP_MAX_NUMBER_OF_COMMENTS),
+							configurations.get(CoreSettings.CACHE_JAVAMAP_MAX_NUMBER_OF_USER_SESSIONS));
 			}
 
 			if (metricRegistry != null) {
@@ -44,4 +47,37 @@ public class CachingServiceFactory {
 
 		return cachingService;
 	}
+
+	/**
+	 * A local Guava cache in front of Redis. When there are metrics, each tier gets its own hit and miss counters
+	 */
+	private static AbstractCachingService createTieredCachingService(Configurations configurations, MetricRegistry metricRegistry) {
+		AbstractCachingService localCachingService = new GuavaCachingService(
+				configurations.get(CoreSettings.CACHE_GUAVA_MAX_NUMBER_OF_POSTS),
+				configurations.get(CoreSettings.CACHE_GUAVA_MAX_NUMBER_OF_USER_SESSIONS),
+				configurations.get(CoreSettings.CACHE_TIERED_LOCAL_EXPIRE_TIME_SECONDS), true);
+		AbstractCachingService remoteCachingService = createRedisCachingService(configurations);
+
+		if (metricRegistry != null) {
+			localCachingService = new CachingServiceWithMetrics(localCachingService, metricRegistry, 
+					TieredCachingService.class.getSimpleName() + ".local");
+			remoteCachingService = new CachingServiceWithMetrics(remoteCachingService, metricRegistry, 
+					TieredCachingService.class.getSimpleName() + ".remote");
+		}
+		return new TieredCachingService(localCachingService, remoteCachingService);
+	}
+
+	private static AbstractCachingService createRedisCachingService(Configurations configurations) {
+		String host = configurations.get(CoreSettings.CACHE_REDIS_HOST);
+		int port = configurations.get(CoreSettings.CACHE_REDIS_PORT);
+		int expireTimeInSeconds = configurations.get(CoreSettings.CACHE_EXPIRE_TIME_SECONDS);
+
+		switch (configurations.get(CoreSettings.CACHE_REDIS_CODEC).toLowerCase(Locale.US)) {
+			case "binary":
+				return new BinaryRedisCachingService(new BinaryCachingCodec(), host, port, expireTimeInSeconds);
+			default:
+				CachingCodec<String> cachingCodec = new GsonCachingCodec(new GsonBuilder().create());
+				return new RedisCachingService(cachingCodec, host, port, expireTimeInSeconds);
+		}
+	}
 }
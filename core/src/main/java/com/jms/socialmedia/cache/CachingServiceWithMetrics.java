@@ -1,6 +1,8 @@
 package com.jms.socialmedia.cache;
 
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
 
 import com.codahale.metrics.Counter;
 import com.codahale.metrics.MetricRegistry;
@@ -13,6 +15,7 @@ public class CachingServiceWithMetrics extends AbstractCachingService {
 
 	private final AbstractCachingService cachingService;
 	private final Timer getPostFromCacheTimer;
+	private final Timer getPostsByIdsFromCacheTimer;
 	private final Timer editPostInCacheTimer;
 	private final Timer putPostIntoCacheTimer;
 	private final Timer removePostFromCacheTimer;
@@ -20,23 +23,32 @@ public class CachingServiceWithMetrics extends AbstractCachingService {
 	private final Timer unlikePostInCacheTimer;
 	private final Timer getCommentsFromCacheTimer;
 	private final Timer getCommentFromCacheTimer;
+	private final Timer getCommentsByIdsFromCacheTimer;
 	private final Timer editCommentInCacheTimer;
 	private final Timer putCommentIntoCacheTimer;
 	private final Timer putCommentsFromPostIntoCacheTimer;
 	private final Timer removeCommentFromCacheTimer;
+	private final Timer invalidateCommentsByPostIdTimer;
 	private final Timer likeCommentInCacheTimer;
 	private final Timer unlikeCommentInCacheTimer;
 	private final Timer getUserSessionFromCacheTimer;
 	private final Timer putUserSessionIntoCacheTimer;
 	private final Timer removeUserSessionFromCacheTimer;
+	private final Timer putTombstoneIntoCacheTimer;
+	private final Timer isTombstoneInCacheTimer;
+	private final Timer removeTombstoneFromCacheTimer;
+	private final Timer lookUpPostInCacheTimer;
+	private final Timer lookUpUserSessionInCacheTimer;
 	private final Counter postCacheHitCounter;
 	private final Counter postCacheMissCounter;
+	private final Counter postCacheTombstoneHitCounter;
 	private final Counter postCacheTotalCounter;
 	private final Counter commentsCacheHitCounter;
 	private final Counter commentsCacheMissCounter;
 	private final Counter commentsCacheTotalCounter;
 	private final Counter userSessionCacheHitCounter;
 	private final Counter userSessionCacheMissCounter;
+	private final Counter userSessionCacheTombstoneHitCounter;
 	private final Counter userSessionCacheTotalCounter;
 
 	public CachingServiceWithMetrics(AbstractCachingService cachingService, MetricRegistry metricRegistry) {
@@ -46,6 +58,7 @@ public class CachingServiceWithMetrics extends AbstractCachingService {
 	public CachingServiceWithMetrics(AbstractCachingService cachingService, MetricRegistry metricRegistry, String metricsName) {
 		this.cachingService = cachingService;
 		this.getPostFromCacheTimer = metricRegistry.timer(metricsName + ".getPostFromCache");
+		this.getPostsByIdsFromCacheTimer = metricRegistry.timer(metricsName + ".getPostsByIdsFromCache");
 		this.editPostInCacheTimer = metricRegistry.timer(metricsName + ".editPostInCache");
 		this.putPostIntoCacheTimer = metricRegistry.timer(metricsName + ".putPostIntoCache");
 		this.removePostFromCacheTimer = metricRegistry.timer(metricsName + ".removePostFromCache");
@@ -53,23 +66,32 @@ public class CachingServiceWithMetrics extends AbstractCachingService {
 		this.unlikePostInCacheTimer = metricRegistry.timer(metricsName + ".unlikePostInCache");
 		this.getCommentsFromCacheTimer = metricRegistry.timer(metricsName + ".getCommentsFromCache");
 		this.getCommentFromCacheTimer = metricRegistry.timer(metricsName + ".getCommentFromCache");
+		this.getCommentsByIdsFromCacheTimer = metricRegistry.timer(metricsName + ".getCommentsByIdsFromCache");
 		this.editCommentInCacheTimer = metricRegistry.timer(metricsName + ".editCommentInCache");
 		this.putCommentIntoCacheTimer = metricRegistry.timer(metricsName + ".putCommentIntoCache");
 		this.putCommentsFromPostIntoCacheTimer = metricRegistry.timer(metricsName + ".putCommentsFromPostIntoCache");
 		this.removeCommentFromCacheTimer = metricRegistry.timer(metricsName + ".removeCommentFromCache");
+		this.invalidateCommentsByPostIdTimer = metricRegistry.timer(metricsName + ".invalidateCommentsByPostId");
 		this.likeCommentInCacheTimer = metricRegistry.timer(metricsName + ".likeCommentInCache");
 		this.unlikeCommentInCacheTimer = metricRegistry.timer(metricsName + ".unlikeCommentInCache");
 		this.getUserSessionFromCacheTimer = metricRegistry.timer(metricsName + ".getUserSessionFromCache");
 		this.putUserSessionIntoCacheTimer = metricRegistry.timer(metricsName + ".putUserSessionIntoCache");
 		this.removeUserSessionFromCacheTimer = metricRegistry.timer(metricsName + ".removeUserSessionFromCache");
+		this.putTombstoneIntoCacheTimer = metricRegistry.timer(metricsName + ".putTombstoneIntoCache");
+		this.isTombstoneInCacheTimer = metricRegistry.timer(metricsName + ".isTombstoneInCache");
+		this.removeTombstoneFromCacheTimer = metricRegistry.timer(metricsName + ".removeTombstoneFromCache");
+		this.lookUpPostInCacheTimer = metricRegistry.timer(metricsName + ".lookUpPostInCache");
+		this.lookUpUserSessionInCacheTimer = metricRegistry.timer(metricsName + ".lookUpUserSessionInCache");
 		this.postCacheHitCounter = metricRegistry.counter(metricsName + ".postCacheHits");
 		this.postCacheMissCounter = metricRegistry.counter(metricsName + ".postCacheMisses");
+		this.postCacheTombstoneHitCounter = metricRegistry.counter(metricsName + ".postCacheTombstoneHits");
 		this.postCacheTotalCounter = metricRegistry.counter(metricsName + ".postCacheTotal");
 		this.commentsCacheHitCounter = metricRegistry.counter(metricsName + ".commentsCacheHits");
 		this.commentsCacheMissCounter = metricRegistry.counter(metricsName + ".commentsCacheMisses");
 		this.commentsCacheTotalCounter = metricRegistry.counter(metricsName + ".commentsCacheTotal");
 		this.userSessionCacheHitCounter = metricRegistry.counter(metricsName + ".userSessionCacheHits");
 		this.userSessionCacheMissCounter = metricRegistry.counter(metricsName + ".userSessionCacheMisses");
+		this.userSessionCacheTombstoneHitCounter = metricRegistry.counter(metricsName + ".userSessionCacheTombstoneHits");
 		this.userSessionCacheTotalCounter = metricRegistry.counter(metricsName + ".userSessionCacheTotal");
 		metricRegistry.gauge(metricsName + ".postCacheHitRatio", () -> () -> (double) postCacheHitCounter.getCount() / postCacheTotalCounter.getCount() * 100);
 		metricRegistry.gauge(metricsName + ".commentsCacheHitRatio", () -> () -> (double) commentsCacheHitCounter.getCount() / commentsCacheTotalCounter.getCount() * 100);
@@ -83,6 +105,22 @@ public class CachingServiceWithMetrics extends AbstractCachingService {
 		}
 	}
 
+	/**
+	 * Each Post looked up counts as a hit or a miss, like a single lookup does
+	 */
+	@Override
+	public Map<Integer, Post> getPostsByIdsFromCache(Collection<Integer> postIds) {
+		Map<Integer, Post> postsById;
+		try (Timer.Context context = getPostsByIdsFromCacheTimer.time()) {
+			postsById = cachingService.getPostsByIdsFromCache(postIds);
+		}
+		int numberOfPosts = new HashSet<>(postIds).size();
+		postCacheHitCounter.inc(postsById.size());
+		postCacheMissCounter.inc(numberOfPosts - postsById.size());
+		postCacheTotalCounter.inc(numberOfPosts);
+		return postsById;
+	}
+
 	@Override
 	public void editPostInCache(int postId, String text) {
 		try (Timer.Context context = editPostInCacheTimer.time()) {
@@ -132,6 +170,13 @@ public class CachingServiceWithMetrics extends AbstractCachingService {
 		}
 	}
 
+	@Override
+	public Map<Integer, Comment> getCommentsByIdsFromCache(Collection<Integer> commentIds) {
+		try (Timer.Context context = getCommentsByIdsFromCacheTimer.time()) {
+			return cachingService.getCommentsByIdsFromCache(commentIds);
+		}
+	}
+
 	@Override
 	public void editCommentInCache(int commentId, String text) {
 		try (Timer.Context context = editCommentInCacheTimer.time()) {
@@ -160,6 +205,13 @@ public class CachingServiceWithMetrics extends AbstractCachingService {
 		}
 	}
 
+	@Override
+	public void invalidateCommentsByPostId(int postId) {
+		try (Timer.Context context = invalidateCommentsByPostIdTimer.time()) {
+			cachingService.invalidateCommentsByPostId(postId);
+		}
+	}
+
 	@Override
 	public void likeCommentInCache(int commentId, int userId) {
 		try (Timer.Context context = likeCommentInCacheTimer.time()) {
@@ -209,6 +261,46 @@ public class CachingServiceWithMetrics extends AbstractCachingService {
 		}
 	}
 
+	@Override
+	public boolean isSharedBetweenReplicas() {
+		return cachingService.isSharedBetweenReplicas();
+	}
+
+	@Override
+	protected void putTombstoneIntoCache(String key) {
+		try (Timer.Context context = putTombstoneIntoCacheTimer.time()) {
+			cachingService.putTombstoneIntoCache(key);
+		}
+	}
+
+	@Override
+	protected boolean isTombstoneInCache(String key) {
+		try (Timer.Context context = isTombstoneInCacheTimer.time()) {
+			return cachingService.isTombstoneInCache(key);
+		}
+	}
+
+	@Override
+	protected void removeTombstoneFromCache(String key) {
+		try (Timer.Context context = removeTombstoneFromCacheTimer.time()) {
+			cachingService.removeTombstoneFromCache(key);
+		}
+	}
+
+	@Override
+	protected CacheLookup<Post> lookUpPostInCache(int postId) {
+		try (Timer.Context context = lookUpPostInCacheTimer.time()) {
+			return cachingService.lookUpPostInCache(postId);
+		}
+	}
+
+	@Override
+	protected CacheLookup<User> lookUpUserSessionInCache(String sessionKey) {
+		try (Timer.Context context = lookUpUserSessionInCacheTimer.time()) {
+			return cachingService.lookUpUserSessionInCache(sessionKey);
+		}
+	}
+
 	@Override
 	protected void postCacheHit() {
 		postCacheHitCounter.inc();
@@ -221,6 +313,12 @@ public class CachingServiceWithMetrics extends AbstractCachingService {
 		postCacheTotalCounter.inc();
 	}
 
+	@Override
+	protected void postCacheTombstoneHit() {
+		postCacheTombstoneHitCounter.inc();
+		postCacheTotalCounter.inc();
+	}
+
 	@Override
 	protected void commentsCacheHit() {
 		commentsCacheHitCounter.inc();
@@ -244,4 +342,10 @@ public class CachingServiceWithMetrics extends AbstractCachingService {
 		userSessionCacheMissCounter.inc();
 		userSessionCacheTotalCounter.inc();
 	}
+
+	@Override
+	protected void userSessionCacheTombstoneHit() {
+		userSessionCacheTombstoneHitCounter.inc();
+		userSessionCacheTotalCounter.inc();
+	}
 }
@@ -0,0 +1,103 @@
+package com.jms.socialmedia.cache;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Versions of Posts, Comments and User Pages, changing whenever they do, so clients can be told their copy is
+ * still current without loading it.
+ *
+ * Versions are counted in a fixed number of stripes, shared by the entities whose keys hash to the same stripe.
+ * A change to one of them changes the version of all of them, which only costs an extra response, never a
+ * stale one. Versions start over with the replica, so they are prefixed with the time the replica started.
+ *
+ * Versions are only kept in this replica's heap, so no two replicas give the same version of an entity. A client
+ * is only told its copy is current by the replica it got the copy from, so behind a load balancer this only saves
+ * responses when sessions are sticky or there is a single replica
+ */
+public class EntityVersions {
+
+	private static final int DEFAULT_NUMBER_OF_STRIPES = 1 << 16;
+	private static final int POST = 1;
+	private static final int COMMENTS = 2;
+	private static final int COMMENT = 3;
+	private static final int USER_PAGE = 4;
+
+	private final String epoch;
+	private final AtomicLongArray versions;
+	// Follows by User ID only change User Pages that can't be told apart by username
+	private final AtomicLong allUserPagesVersion;
+
+	public EntityVersions() {
+		this(DEFAULT_NUMBER_OF_STRIPES);
+	}
+
+	/**
+	 * @param numberOfStripes	number of versions kept, rounded up to a power of 2
+	 */
+	public EntityVersions(int numberOfStripes) {
+		this.epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+		this.versions = new AtomicLongArray(Integer.highestOneBit(Math.max(numberOfStripes, 2) * 2 - 1));
+		this.allUserPagesVersion = new AtomicLong();
+	}
+
+	public String getPostVersion(int postId) {
+		return getVersion(POST, postId);
+	}
+
+	public String getCommentsVersion(int postId) {
+		return getVersion(COMMENTS, postId);
+	}
+
+	public String getCommentVersion(int commentId) {
+		return getVersion(COMMENT, commentId);
+	}
+
+	public String getUserPageVersion(String username) {
+		return getVersion(USER_PAGE, userPageKey(username)) + '.' + allUserPagesVersion.get();
+	}
+
+	public void changePost(int postId) {
+		change(POST, postId);
+	}
+
+	public void changeComments(int postId) {
+		change(COMMENTS, postId);
+	}
+
+	public void changeComment(int commentId) {
+		change(COMMENT, commentId);
+	}
+
+	/**
+	 * @param username	username of the User, or {@code null} to change the Pages of every User
+	 */
+	public void changeUserPage(String username) {
+		if (username == null) {
+			allUserPagesVersion.incrementAndGet();
+		} else {
+			change(USER_PAGE, userPageKey(username));
+		}
+	}
+
+	private String getVersion(int type, int key) {
+		return epoch + '-' + versions.get(stripe(type, key));
+	}
+
+	private void change(int type, int key) {
+		versions.incrementAndGet(stripe(type, key));
+	}
+
+	private int stripe(int type, int key) {
+		int hash = key * 31 + type;
+		// Spreads the bits of sequential IDs, like HashMap does
+		hash ^= (hash >>> 20) ^ (hash >>> 12);
+		hash ^= (hash >>> 7) ^ (hash >>> 4);
+		return hash & (versions.length() - 1);
+	}
+
+	private static int userPageKey(String username) {
+		return username.trim().toLowerCase(Locale.ROOT).hashCode();
+	}
+}
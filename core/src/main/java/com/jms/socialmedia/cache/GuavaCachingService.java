@@ -1,7 +1,8 @@
 package com.jms.socialmedia.cache;
 
 import java.util.Collection;
-import java.util.TreeSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.TimeUnit;
 
 import com.google.common.cache.Cache;
@@ -16,11 +17,13 @@ public class GuavaCachingService extends AbstractHeapCachingService {
 
 	private static final int DEFAULT_MAX_NO_OF_POSTS = 50;
 	private static final int DEFAULT_MAX_NO_OF_USER_SESSIONS = 20;
+	private static final int MAX_NO_OF_TOMBSTONES = 10_000;
 
 	private final Cache<Integer, Post> postsById;
 	private final Cache<Integer, Comment> commentsById;
 	private final Cache<Integer, Collection<Comment>> commentsByPostId;
 	private final Cache<String, User> userSessionsByKey;
+	private final Cache<String, Boolean> tombstones;
 
 	public GuavaCachingService() {
 		this(DEFAULT_MAX_NO_OF_POSTS, DEFAULT_MAX_NO_OF_USER_SESSIONS);
@@ -31,18 +34,34 @@ public class GuavaCachingService extends AbstractHeapCachingService {
 	}
 
 	public GuavaCachingService(int maxNumberOfPosts, int maxNumberOfUserSessions, int expireTimeInSeconds) {
+		this(maxNumberOfPosts, maxNumberOfUserSessions, expireTimeInSeconds, false);
+	}
+
+	/**
+	 * @param expireAfterWrite	Expire entries a fixed time after they were put into the cache, rather than after they were last read.
+	 * 							Bounds how stale an entry can get when it is also changed outside of this cache
+	 */
+	public GuavaCachingService(int maxNumberOfPosts, int maxNumberOfUserSessions, int expireTimeInSeconds, boolean expireAfterWrite) {
 		this.commentsById = CacheBuilder.newBuilder().build();
-		this.commentsByPostId = CacheBuilder.newBuilder().maximumSize(maxNumberOfPosts)
-				.expireAfterAccess(expireTimeInSeconds, TimeUnit.SECONDS)
+		this.commentsByPostId = newCacheBuilder(maxNumberOfPosts, expireTimeInSeconds, expireAfterWrite)
 				.<Integer, Collection<Comment>>removalListener(removal -> 
 					commentsById.invalidateAll(removal.getValue().stream().map(Comment::getCommentId).collect(toSet()))
 				).build();
-		this.postsById = CacheBuilder.newBuilder().maximumSize(maxNumberOfPosts).expireAfterAccess(expireTimeInSeconds, TimeUnit.SECONDS)
+		this.postsById = newCacheBuilder(maxNumberOfPosts, expireTimeInSeconds, expireAfterWrite)
 				.removalListener(removal -> 
 					commentsByPostId.invalidate(removal.getKey())
 				).build();
-		this.userSessionsByKey = CacheBuilder.newBuilder().maximumSize(maxNumberOfUserSessions)
-				.expireAfterAccess(expireTimeInSeconds, TimeUnit.SECONDS).build();
+		this.userSessionsByKey = newCacheBuilder(maxNumberOfUserSessions, expireTimeInSeconds, expireAfterWrite).build();
+		this.tombstones = newCacheBuilder(MAX_NO_OF_TOMBSTONES, TOMBSTONE_EXPIRE_TIME_IN_SECONDS, true).build();
+	}
+
+	private static CacheBuilder<Object, Object> newCacheBuilder(int maximumSize, int expireTimeInSeconds, boolean expireAfterWrite) {
+		CacheBuilder<Object, Object> cacheBuilder = CacheBuilder.newBuilder().maximumSize(maximumSize);
+		if (expireAfterWrite) {
+			return cacheBuilder.expireAfterWrite(expireTimeInSeconds, TimeUnit.SECONDS);
+		} else {
+			return cacheBuilder.expireAfterAccess(expireTimeInSeconds, TimeUnit.SECONDS);
+		}
 	}
 
 	@Override
@@ -50,9 +69,15 @@ public class GuavaCachingService extends AbstractHeapCachingService {
 		return postsById.getIfPresent(postId);
 	}
 
+	@Override
+	public Map<Integer, Post> getPostsByIdsFromCache(Collection<Integer> postIds) {
+		return postsById.getAllPresent(postIds);
+	}
+
 	@Override
 	public void putPostIntoCache(Post post) {
-		postsById.put(post.getPostId(), post);
+		postsById.put(post.getPostId(), copyWithConcurrentLikes(post));
+		tombstones.invalidate(getPostTombstoneKey(post.getPostId()));
 	}
 
 	@Override
@@ -70,20 +95,31 @@ public class GuavaCachingService extends AbstractHeapCachingService {
 		return commentsById.getIfPresent(commentId);
 	}
 
+	@Override
+	public Map<Integer, Comment> getCommentsByIdsFromCache(Collection<Integer> commentIds) {
+		return commentsById.getAllPresent(commentIds);
+	}
+
 	@Override
 	public void putCommentIntoCache(Comment comment) {
-		commentsById.put(comment.getCommentId(), comment);
+		Comment cachedComment = copyWithConcurrentLikes(comment);
+		commentsById.put(cachedComment.getCommentId(), cachedComment);
 		Collection<Comment> comments = getCommentsFromCache(comment.getPostId());
 		if (comments != null) {
-			comments.add(comment);
+			comments.add(cachedComment);
 		}
 	}
 
 	@Override
 	public void putCommentsFromPostIntoCache(int postId, Collection<Comment> comments) {
-		commentsByPostId.put(postId, new TreeSet<>(comments));
+		Collection<Comment> cachedComments = new ConcurrentSkipListSet<>();
 		for (Comment comment : comments) {
-			commentsById.put(comment.getCommentId(), comment);
+			cachedComments.add(copyWithConcurrentLikes(comment));
+		}
+		// Put before the Comments by ID, since replacing the Comments of the Post removes the ones by ID of the old ones
+		commentsByPostId.put(postId, cachedComments);
+		for (Comment cachedComment : cachedComments) {
+			commentsById.put(cachedComment.getCommentId(), cachedComment);
 		}
 	}
 
@@ -107,6 +143,7 @@ public class GuavaCachingService extends AbstractHeapCachingService {
 	@Override
 	public void putUserSessionIntoCache(String sessionKey, User user) {
 		userSessionsByKey.put(sessionKey, user);
+		tombstones.invalidate(getUserSessionTombstoneKey(sessionKey));
 	}
 
 	@Override
@@ -115,7 +152,22 @@ public class GuavaCachingService extends AbstractHeapCachingService {
 	}
 
 	@Override
-	protected void invalidateCommentsByPostId(int postId) {
+	public void invalidateCommentsByPostId(int postId) {
 		commentsByPostId.invalidate(postId);
 	}
+
+	@Override
+	protected void putTombstoneIntoCache(String key) {
+		tombstones.put(key, Boolean.TRUE);
+	}
+
+	@Override
+	protected boolean isTombstoneInCache(String key) {
+		return tombstones.getIfPresent(key) != null;
+	}
+
+	@Override
+	protected void removeTombstoneFromCache(String key) {
+		tombstones.invalidate(key);
+	}
 }
@@ -1,31 +1,48 @@
 package com.jms.socialmedia.cache;
 
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.TreeSet;
-import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
 
 import com.jms.socialmedia.model.Comment;
 import com.jms.socialmedia.model.Post;
 import com.jms.socialmedia.model.User;
 
+/**
+ * Heap cache built on {@link java.util.concurrent.ConcurrentHashMap}s, safe to share between request threads.
+ *
+ * Posts, Comments, Comments by Post and User Sessions are each bounded, evicting with {@link BoundedConcurrentMap}.
+ * Evicting or removing a Post also removes its Comments, and evicting a Comment removes the Comments of its Post,
+ * so a cached Comment is always the one in the Comments of its Post.
+ * The Comments of a Post are kept in a {@link ConcurrentSkipListSet}, so Comments are added and removed without locking
+ */
 public class JavaMapCachingService extends AbstractHeapCachingService {
 
-	private final Map<Integer, Post> postsById;
-	private final Map<Integer, Comment> commentsById;
-	private final Map<Integer, Collection<Comment>> commentsByPostId;
-	private final Map<String, User> userSessionsByKey;
+	private static final int DEFAULT_MAX_NO_OF_POSTS = 1000;
+	private static final int DEFAULT_MAX_NO_OF_COMMENTS = 10_000;
+	private static final int DEFAULT_MAX_NO_OF_USER_SESSIONS = 1000;
+	private static final int MAX_NO_OF_TOMBSTONES = 10_000;
+
+	private final BoundedConcurrentMap<Integer, Post> postsById;
+	private final BoundedConcurrentMap<Integer, Comment> commentsById;
+	private final BoundedConcurrentMap<Integer, Collection<Comment>> commentsByPostId;
+	private final BoundedConcurrentMap<String, User> userSessionsByKey;
+	private final BoundedConcurrentMap<String, Long> tombstoneExpirationsByKey = new BoundedConcurrentMap<>(MAX_NO_OF_TOMBSTONES);
 
 	public JavaMapCachingService() {
-		this(new HashMap<>(), new HashMap<>(), new HashMap<>(), new HashMap<>());
+		this(DEFAULT_MAX_NO_OF_POSTS, DEFAULT_MAX_NO_OF_USER_SESSIONS);
+	}
+
+	public JavaMapCachingService(int maxNumberOfPosts, int maxNumberOfUserSessions) {
+		this(maxNumberOfPosts, DEFAULT_MAX_NO_OF_COMMENTS, maxNumberOfUserSessions);
 	}
 
-	public JavaMapCachingService(Map<Integer, Post> postsById, Map<Integer, Comment> commentsById,
-			Map<Integer, Collection<Comment>> commentsByPostId, Map<String, User> userSessionsByKey) {
-		this.postsById = postsById;
-		this.commentsById = commentsById;
-		this.commentsByPostId = commentsByPostId;
-		this.userSessionsByKey = userSessionsByKey;
+	public JavaMapCachingService(int maxNumberOfPosts, int maxNumberOfComments, int maxNumberOfUserSessions) {
+		this.commentsById = new BoundedConcurrentMap<>(maxNumberOfComments,
+				(commentId, comment) -> invalidateCommentsByPostId(comment.getPostId()));
+		this.commentsByPostId = new BoundedConcurrentMap<>(maxNumberOfPosts, (postId, comments) -> removeComments(comments));
+		this.postsById = new BoundedConcurrentMap<>(maxNumberOfPosts, (postId, post) -> invalidateCommentsByPostId(postId));
+		this.userSessionsByKey = new BoundedConcurrentMap<>(maxNumberOfUserSessions);
 	}
 
 	@Override
@@ -35,20 +52,14 @@ public class JavaMapCachingService extends AbstractHeapCachingService {
 
 	@Override
 	public void putPostIntoCache(Post post) {
-		postsById.put(post.getPostId(), post);
+		postsById.put(post.getPostId(), copyWithConcurrentLikes(post));
+		tombstoneExpirationsByKey.remove(getPostTombstoneKey(post.getPostId()));
 	}
 
 	@Override
 	public void removePostFromCache(int postId) {
-		Post post = postsById.remove(postId);
-		if (post != null) {
-			Collection<Comment> comments = commentsByPostId.remove(post.getPostId());
-			if (comments != null) {
-				for (Comment comment : comments) {
-					commentsById.remove(comment.getCommentId());
-				}
-			}
-		}
+		postsById.remove(postId);
+		invalidateCommentsByPostId(postId);
 	}
 
 	@Override
@@ -63,18 +74,24 @@ public class JavaMapCachingService extends AbstractHeapCachingService {
 
 	@Override
 	public void putCommentIntoCache(Comment comment) {
-		commentsById.put(comment.getCommentId(), comment);
+		Comment cachedComment = copyWithConcurrentLikes(comment);
+		commentsById.put(cachedComment.getCommentId(), cachedComment);
 		Collection<Comment> comments = getCommentsFromCache(comment.getPostId());
 		if (comments != null) {
-			comments.add(comment);
+			comments.add(cachedComment);
 		}
 	}
 
 	@Override
 	public void putCommentsFromPostIntoCache(int postId, Collection<Comment> comments) {
-		commentsByPostId.put(postId, new TreeSet<>(comments));
+		Collection<Comment> cachedComments = new ConcurrentSkipListSet<>();
 		for (Comment comment : comments) {
-			commentsById.put(comment.getCommentId(), comment);
+			cachedComments.add(copyWithConcurrentLikes(comment));
+		}
+		// Put before the Comments by ID, so that evicting one of them removes these too
+		commentsByPostId.put(postId, cachedComments);
+		for (Comment cachedComment : cachedComments) {
+			commentsById.put(cachedComment.getCommentId(), cachedComment);
 		}
 	}
 
@@ -97,6 +114,7 @@ public class JavaMapCachingService extends AbstractHeapCachingService {
 	@Override
 	public void putUserSessionIntoCache(String sessionKey, User user) {
 		userSessionsByKey.put(sessionKey, user);
+		tombstoneExpirationsByKey.remove(getUserSessionTombstoneKey(sessionKey));
 	}
 
 	@Override
@@ -105,7 +123,41 @@ public class JavaMapCachingService extends AbstractHeapCachingService {
 	}
 
 	@Override
-	protected void invalidateCommentsByPostId(int postId) {
-		commentsByPostId.remove(postId);
+	public void invalidateCommentsByPostId(int postId) {
+		Collection<Comment> comments = commentsByPostId.remove(postId);
+		if (comments != null) {
+			removeComments(comments);
+		}
+	}
+
+	private void removeComments(Collection<Comment> comments) {
+		for (Comment comment : comments) {
+			commentsById.remove(comment.getCommentId());
+		}
+	}
+
+	@Override
+	protected void putTombstoneIntoCache(String key) {
+		tombstoneExpirationsByKey.put(key, System.nanoTime() + TimeUnit.SECONDS.toNanos(TOMBSTONE_EXPIRE_TIME_IN_SECONDS));
+	}
+
+	/**
+	 * Expired tombstones are only removed once they are looked up again, or evicted
+	 */
+	@Override
+	protected boolean isTombstoneInCache(String key) {
+		Long expiration = tombstoneExpirationsByKey.get(key);
+		if (expiration == null) {
+			return false;
+		} else if (expiration - System.nanoTime() <= 0) {
+			tombstoneExpirationsByKey.remove(key);
+			return false;
+		}
+		return true;
+	}
+
+	@Override
+	protected void removeTombstoneFromCache(String key) {
+		tombstoneExpirationsByKey.remove(key);
 	}
 }
@@ -0,0 +1,254 @@
+package com.jms.socialmedia.cache;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.jms.socialmedia.model.Comment;
+import com.jms.socialmedia.model.Post;
+import com.jms.socialmedia.model.User;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Near Cache: looks in a small local cache first, then in a remote cache shared by all replicas (i.e. Redis),
+ * filling the local cache on a remote hit. Writes go to both tiers.
+ *
+ * Lookups go through the *OrSupplier methods of each tier, so a tier wrapped in {@link CachingServiceWithMetrics}
+ * counts its own hits and misses. The local tier logs what its supplier finds as coming from the remote tier.
+ * The remote tier is given a supplier of {@code null}: on a miss in both tiers,
+ * the caller of this service loads from the DataService and puts the result into both tiers.
+ * The tiers don't keep tombstones for their own misses; the tombstones of this service are kept in both tiers.
+ * A tombstone is looked up in the remote tier along with the Post or Session, and copied into the local tier when found
+ */
+public class TieredCachingService extends AbstractCachingService {
+
+	private static final String REMOTE_TIER = "remote CachingService";
+
+	private final AbstractCachingService localCachingService;
+	private final AbstractCachingService remoteCachingService;
+
+	public TieredCachingService(AbstractCachingService localCachingService, AbstractCachingService remoteCachingService) {
+		this.localCachingService = localCachingService;
+		this.remoteCachingService = remoteCachingService;
+	}
+
+	@Override
+	public boolean isSharedBetweenReplicas() {
+		return remoteCachingService.isSharedBetweenReplicas();
+	}
+
+	@Override
+	public Post getPostFromCache(int postId) {
+		return localCachingService.getPostFromCacheOrSupplier(postId,
+				() -> remoteCachingService.getPostFromCacheOrSupplier(postId, () -> null, false, DATA_SERVICE), false,
+				REMOTE_TIER);
+	}
+
+	/**
+	 * Posts missing from the local tier are looked up in the remote tier all at once,
+	 * and the ones found there are put into the local tier
+	 */
+	@Override
+	public Map<Integer, Post> getPostsByIdsFromCache(Collection<Integer> postIds) {
+		Map<Integer, Post> postsById = new HashMap<>(localCachingService.getPostsByIdsFromCache(postIds));
+		List<Integer> postIdsNotInLocalCache = postIds.stream().filter(postId -> !postsById.containsKey(postId))
+				.distinct().collect(toList());
+		if (!postIdsNotInLocalCache.isEmpty()) {
+			Map<Integer, Post> remotePostsById = remoteCachingService.getPostsByIdsFromCache(postIdsNotInLocalCache);
+			remotePostsById.values().forEach(localCachingService::putPostIntoCache);
+			postsById.putAll(remotePostsById);
+		}
+		return postsById;
+	}
+
+	@Override
+	public void editPostInCache(int postId, String text) {
+		localCachingService.editPostInCache(postId, text);
+		remoteCachingService.editPostInCache(postId, text);
+	}
+
+	@Override
+	public void putPostIntoCache(Post post) {
+		localCachingService.putPostIntoCache(post);
+		remoteCachingService.putPostIntoCache(post);
+	}
+
+	@Override
+	public void removePostFromCache(int postId) {
+		localCachingService.removePostFromCache(postId);
+		remoteCachingService.removePostFromCache(postId);
+	}
+
+	@Override
+	public void likePostInCache(int postId, String username) {
+		localCachingService.likePostInCache(postId, username);
+		remoteCachingService.likePostInCache(postId, username);
+	}
+
+	@Override
+	public void unlikePostInCache(int postId, String username) {
+		localCachingService.unlikePostInCache(postId, username);
+		remoteCachingService.unlikePostInCache(postId, username);
+	}
+
+	@Override
+	public Collection<Comment> getCommentsFromCache(int postId) {
+		return localCachingService.getCommentsFromCacheOrSupplier(postId,
+				() -> remoteCachingService.getCommentsFromCacheOrSupplier(postId, () -> null), REMOTE_TIER);
+	}
+
+	/**
+	 * A single Comment found in the remote tier isn't put into the local tier,
+	 * since the local tier only keeps the Comments of a Post all together
+	 */
+	@Override
+	public Comment getCommentFromCache(int commentId) {
+		Comment comment = localCachingService.getCommentFromCache(commentId);
+		if (comment == null) {
+			comment = remoteCachingService.getCommentFromCache(commentId);
+		}
+		return comment;
+	}
+
+	/**
+	 * Like {@link #getCommentFromCache(int)}, Comments found in the remote tier aren't put into the local tier
+	 */
+	@Override
+	public Map<Integer, Comment> getCommentsByIdsFromCache(Collection<Integer> commentIds) {
+		Map<Integer, Comment> commentsById = new HashMap<>(localCachingService.getCommentsByIdsFromCache(commentIds));
+		List<Integer> commentIdsNotInLocalCache = commentIds.stream()
+				.filter(commentId -> !commentsById.containsKey(commentId)).distinct().collect(toList());
+		if (!commentIdsNotInLocalCache.isEmpty()) {
+			commentsById.putAll(remoteCachingService.getCommentsByIdsFromCache(commentIdsNotInLocalCache));
+		}
+		return commentsById;
+	}
+
+	@Override
+	public void editCommentInCache(int commentId, String text) {
+		localCachingService.editCommentInCache(commentId, text);
+		remoteCachingService.editCommentInCache(commentId, text);
+	}
+
+	@Override
+	public void putCommentIntoCache(Comment comment) {
+		localCachingService.putCommentIntoCache(comment);
+		remoteCachingService.putCommentIntoCache(comment);
+	}
+
+	@Override
+	public void putCommentsFromPostIntoCache(int postId, Collection<Comment> comments) {
+		localCachingService.putCommentsFromPostIntoCache(postId, comments);
+		remoteCachingService.putCommentsFromPostIntoCache(postId, comments);
+	}
+
+	@Override
+	public void removeCommentFromCache(int commentId) {
+		localCachingService.removeCommentFromCache(commentId);
+		remoteCachingService.removeCommentFromCache(commentId);
+	}
+
+	@Override
+	public void invalidateCommentsByPostId(int postId) {
+		localCachingService.invalidateCommentsByPostId(postId);
+		remoteCachingService.invalidateCommentsByPostId(postId);
+	}
+
+	@Override
+	public void likeCommentInCache(int commentId, int userId) {
+		localCachingService.likeCommentInCache(commentId, userId);
+		remoteCachingService.likeCommentInCache(commentId, userId);
+	}
+
+	@Override
+	public void likeCommentInCache(int commentId, String username) {
+		localCachingService.likeCommentInCache(commentId, username);
+		remoteCachingService.likeCommentInCache(commentId, username);
+	}
+
+	@Override
+	public void unlikeCommentInCache(int commentId, int userId) {
+		localCachingService.unlikeCommentInCache(commentId, userId);
+		remoteCachingService.unlikeCommentInCache(commentId, userId);
+	}
+
+	@Override
+	public void unlikeCommentInCache(int commentId, String username) {
+		localCachingService.unlikeCommentInCache(commentId, username);
+		remoteCachingService.unlikeCommentInCache(commentId, username);
+	}
+
+	@Override
+	public User getUserSessionFromCache(String sessionKey) {
+		return localCachingService.getUserSessionCacheOrSupplier(sessionKey,
+				() -> remoteCachingService.getUserSessionCacheOrSupplier(sessionKey, () -> null, false, DATA_SERVICE), false,
+				REMOTE_TIER);
+	}
+
+	@Override
+	public void putUserSessionIntoCache(String sessionKey, User user) {
+		localCachingService.putUserSessionIntoCache(sessionKey, user);
+		remoteCachingService.putUserSessionIntoCache(sessionKey, user);
+	}
+
+	@Override
+	public void removeUserSessionFromCache(String sessionKey) {
+		localCachingService.removeUserSessionFromCache(sessionKey);
+		remoteCachingService.removeUserSessionFromCache(sessionKey);
+	}
+
+	@Override
+	protected void putTombstoneIntoCache(String key) {
+		localCachingService.putTombstoneIntoCache(key);
+		remoteCachingService.putTombstoneIntoCache(key);
+	}
+
+	@Override
+	protected boolean isTombstoneInCache(String key) {
+		return localCachingService.isTombstoneInCache(key) || remoteCachingService.isTombstoneInCache(key);
+	}
+
+	@Override
+	protected void removeTombstoneFromCache(String key) {
+		localCachingService.removeTombstoneFromCache(key);
+		remoteCachingService.removeTombstoneFromCache(key);
+	}
+
+	@Override
+	protected CacheLookup<Post> lookUpPostInCache(int postId) {
+		String tombstoneKey = getPostTombstoneKey(postId);
+		if (localCachingService.isTombstoneInCache(tombstoneKey)) {
+			return CacheLookup.tombstone();
+		}
+		Post post = localCachingService.getPostFromCacheOrSupplier(postId,
+				() -> copyTombstoneIntoLocalTier(remoteCachingService.lookUpPostInCache(postId), tombstoneKey), false,
+				REMOTE_TIER);
+		return post == null && localCachingService.isTombstoneInCache(tombstoneKey) ? CacheLookup.tombstone()
+				: CacheLookup.of(post);
+	}
+
+	@Override
+	protected CacheLookup<User> lookUpUserSessionInCache(String sessionKey) {
+		String tombstoneKey = getUserSessionTombstoneKey(sessionKey);
+		if (localCachingService.isTombstoneInCache(tombstoneKey)) {
+			return CacheLookup.tombstone();
+		}
+		User user = localCachingService.getUserSessionCacheOrSupplier(sessionKey,
+				() -> copyTombstoneIntoLocalTier(remoteCachingService.lookUpUserSessionInCache(sessionKey), tombstoneKey),
+				false, REMOTE_TIER);
+		return user == null && localCachingService.isTombstoneInCache(tombstoneKey) ? CacheLookup.tombstone()
+				: CacheLookup.of(user);
+	}
+
+	/**
+	 * Callers waiting on the same load of the local tier find the tombstone there, rather than being told by the load
+	 */
+	private <V> V copyTombstoneIntoLocalTier(CacheLookup<V> remoteLookup, String tombstoneKey) {
+		if (remoteLookup.isTombstone()) {
+			localCachingService.putTombstoneIntoCache(tombstoneKey);
+		}
+		return remoteLookup.getValue();
+	}
+}
@@ -0,0 +1,327 @@
+package com.jms.socialmedia.cache.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collection;
+
+import com.jms.socialmedia.model.Comment;
+import com.jms.socialmedia.model.Entry;
+import com.jms.socialmedia.model.Post;
+import com.jms.socialmedia.model.User;
+
+/**
+ * Encodes Posts, Comments and Users into a compact binary layout instead of JSON text.
+ *
+ * Every value starts with the schema version, followed by a varint bit mask of the fields that are not null,
+ * and then only those fields, in the order of their bits. Integers are ZigZag varints, Strings are a varint length
+ * followed by their UTF-8 bytes, timestamps are the UTC epoch second and nanosecond as varints,
+ * and likes are a varint count followed by the usernames.
+ *
+ * A value written with a different schema version is decoded as null, so it is treated as a cache miss.
+ * A value that ends before its fields do, or whose lengths and counts run past its end,
+ * fails to decode with an {@link IllegalArgumentException} instead of being read out of bounds.
+ */
+public class BinaryCachingCodec implements CachingCodec<byte[]> {
+
+	static final byte SCHEMA_VERSION = 1;
+
+	private static final int POST_ID = 1;
+	private static final int USER_ID = 1 << 1;
+	private static final int USERNAME = 1 << 2;
+	private static final int FULL_NAME = 1 << 3;
+	private static final int PROFILE_PICTURE_LINK = 1 << 4;
+	private static final int TEXT = 1 << 5;
+	private static final int TIMESTAMP = 1 << 6;
+	private static final int LIKES = 1 << 7;
+	private static final int COMMENT_ID = 1 << 8;
+	private static final int HASHED_PASSWORD = 1 << 9;
+
+	@Override
+	public byte[] encodePost(Post post) {
+		Writer writer = new Writer();
+		writeEntry(writer, post, 0);
+		return writer.toByteArray();
+	}
+
+	@Override
+	public Post decodePost(byte[] encodedPost) {
+		Reader reader = Reader.of(encodedPost);
+		if (reader == null) {
+			return null;
+		}
+		Post post = new Post();
+		readEntry(reader, post, reader.readVarint());
+		return post;
+	}
+
+	@Override
+	public byte[] encodeComment(Comment comment) {
+		Writer writer = new Writer();
+		int fields = comment.getCommentId() != null ? COMMENT_ID : 0;
+		writeEntry(writer, comment, fields);
+		if (comment.getCommentId() != null) {
+			writer.writeInt(comment.getCommentId());
+		}
+		return writer.toByteArray();
+	}
+
+	@Override
+	public Comment decodeComment(byte[] encodedComment) {
+		Reader reader = Reader.of(encodedComment);
+		if (reader == null) {
+			return null;
+		}
+		Comment comment = new Comment();
+		int fields = reader.readVarint();
+		readEntry(reader, comment, fields);
+		if ((fields & COMMENT_ID) != 0) {
+			comment.setCommentId(reader.readInt());
+		}
+		return comment;
+	}
+
+	@Override
+	public byte[] encodeUser(User user) {
+		Writer writer = new Writer();
+		int fields = (user.getUserId() != null ? USER_ID : 0)
+				| (user.getUsername() != null ? USERNAME : 0)
+				| (user.getFullName() != null ? FULL_NAME : 0)
+				| (user.getHashedPassword() != null ? HASHED_PASSWORD : 0);
+		writer.writeVarint(fields);
+		if (user.getUserId() != null) {
+			writer.writeInt(user.getUserId());
+		}
+		if (user.getUsername() != null) {
+			writer.writeString(user.getUsername());
+		}
+		if (user.getFullName() != null) {
+			writer.writeString(user.getFullName());
+		}
+		if (user.getHashedPassword() != null) {
+			writer.writeString(user.getHashedPassword());
+		}
+		return writer.toByteArray();
+	}
+
+	@Override
+	public User decodeUser(byte[] encodedUser) {
+		Reader reader = Reader.of(encodedUser);
+		if (reader == null) {
+			return null;
+		}
+		User user = new User();
+		int fields = reader.readVarint();
+		if ((fields & USER_ID) != 0) {
+			user.setUserId(reader.readInt());
+		}
+		if ((fields & USERNAME) != 0) {
+			user.setUsername(reader.readString());
+		}
+		if ((fields & FULL_NAME) != 0) {
+			user.setFullName(reader.readString());
+		}
+		if ((fields & HASHED_PASSWORD) != 0) {
+			user.setHashedPassword(reader.readString());
+		}
+		return user;
+	}
+
+	private static void writeEntry(Writer writer, Entry entry, int extraFields) {
+		int fields = extraFields
+				| (entry.getPostId() != null ? POST_ID : 0)
+				| (entry.getUserId() != null ? USER_ID : 0)
+				| (entry.getUsername() != null ? USERNAME : 0)
+				| (entry.getFullName() != null ? FULL_NAME : 0)
+				| (entry.getProfilePictureLink() != null ? PROFILE_PICTURE_LINK : 0)
+				| (entry.getText() != null ? TEXT : 0)
+				| (entry.getTimestamp() != null ? TIMESTAMP : 0)
+				| (entry.getLikes() != null && !entry.getLikes().isEmpty() ? LIKES : 0);
+		writer.writeVarint(fields);
+
+		if ((fields & POST_ID) != 0) {
+			writer.writeInt(entry.getPostId());
+		}
+		if ((fields & USER_ID) != 0) {
+			writer.writeInt(entry.getUserId());
+		}
+		if ((fields & USERNAME) != 0) {
+			writer.writeString(entry.getUsername());
+		}
+		if ((fields & FULL_NAME) != 0) {
+			writer.writeString(entry.getFullName());
+		}
+		if ((fields & PROFILE_PICTURE_LINK) != 0) {
+			writer.writeString(entry.getProfilePictureLink());
+		}
+		if ((fields & TEXT) != 0) {
+			writer.writeString(entry.getText());
+		}
+		if ((fields & TIMESTAMP) != 0) {
+			writer.writeLong(entry.getTimestamp().toEpochSecond(ZoneOffset.UTC));
+			writer.writeVarint(entry.getTimestamp().getNano());
+		}
+		if ((fields & LIKES) != 0) {
+			writer.writeVarint(entry.getLikes().size());
+			entry.getLikes().forEach(writer::writeString);
+		}
+	}
+
+	private static void readEntry(Reader reader, Entry entry, int fields) {
+		if ((fields & POST_ID) != 0) {
+			entry.setPostId(reader.readInt());
+		}
+		if ((fields & USER_ID) != 0) {
+			entry.setUserId(reader.readInt());
+		}
+		if ((fields & USERNAME) != 0) {
+			entry.setUsername(reader.readString());
+		}
+		if ((fields & FULL_NAME) != 0) {
+			entry.setFullName(reader.readString());
+		}
+		if ((fields & PROFILE_PICTURE_LINK) != 0) {
+			entry.setProfilePictureLink(reader.readString());
+		}
+		if ((fields & TEXT) != 0) {
+			entry.setText(reader.readString());
+		}
+		if ((fields & TIMESTAMP) != 0) {
+			long epochSecond = reader.readLong();
+			entry.setTimestamp(LocalDateTime.ofEpochSecond(epochSecond, reader.readVarint(), ZoneOffset.UTC));
+		}
+		if ((fields & LIKES) != 0) {
+			int numberOfLikes = reader.readCount();
+			Collection<String> likes = entry.getLikes();
+			for (int i = 0; i < numberOfLikes; i++) {
+				likes.add(reader.readString());
+			}
+		}
+	}
+
+	private static final class Writer {
+
+		private byte[] buffer = new byte[64];
+		private int position;
+
+		private Writer() {
+			buffer[position++] = SCHEMA_VERSION;
+		}
+
+		private void writeInt(int value) {
+			writeVarint((value << 1) ^ (value >> 31));
+		}
+
+		private void writeLong(long value) {
+			writeVarlong((value << 1) ^ (value >> 63));
+		}
+
+		private void writeVarint(int value) {
+			writeVarlong(value & 0xFFFFFFFFL);
+		}
+
+		private void writeVarlong(long value) {
+			ensureCapacity(10);
+			while ((value & ~0x7FL) != 0) {
+				buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+				value >>>= 7;
+			}
+			buffer[position++] = (byte) value;
+		}
+
+		private void writeString(String value) {
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			writeVarint(bytes.length);
+			ensureCapacity(bytes.length);
+			System.arraycopy(bytes, 0, buffer, position, bytes.length);
+			position += bytes.length;
+		}
+
+		private void ensureCapacity(int length) {
+			if (position + length > buffer.length) {
+				buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + length));
+			}
+		}
+
+		private byte[] toByteArray() {
+			return Arrays.copyOf(buffer, position);
+		}
+	}
+
+	private static final class Reader {
+
+		private final byte[] buffer;
+		private int position;
+
+		private Reader(byte[] buffer) {
+			this.buffer = buffer;
+			this.position = 1;
+		}
+
+		/**
+		 * @return a Reader positioned after the schema version, or null if there is nothing to decode in this schema version
+		 */
+		private static Reader of(byte[] encoded) {
+			if (encoded == null || encoded.length == 0 || encoded[0] != SCHEMA_VERSION) {
+				return null;
+			}
+			return new Reader(encoded);
+		}
+
+		private int readInt() {
+			int value = readVarint();
+			return (value >>> 1) ^ -(value & 1);
+		}
+
+		private long readLong() {
+			long value = readVarlong();
+			return (value >>> 1) ^ -(value & 1);
+		}
+
+		private int readVarint() {
+			return (int) readVarlong();
+		}
+
+		private long readVarlong() {
+			long value = 0;
+			int shift = 0;
+			byte b;
+			do {
+				if (position == buffer.length) {
+					throw new IllegalArgumentException("Encoded value ends inside a varint at byte " + position);
+				}
+				if (shift >= Long.SIZE) {
+					throw new IllegalArgumentException("Varint longer than 10 bytes at byte " + position);
+				}
+				b = buffer[position++];
+				value |= (long) (b & 0x7F) << shift;
+				shift += 7;
+			} while ((b & 0x80) != 0);
+			return value;
+		}
+
+		private String readString() {
+			int length = readVarint();
+			if (length < 0 || length > buffer.length - position) {
+				throw new IllegalArgumentException("String of " + (length & 0xFFFFFFFFL) + " bytes at byte " + position
+						+ " runs past the end of the " + buffer.length + " bytes");
+			}
+			String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+			position += length;
+			return value;
+		}
+
+		/**
+		 * @return the number of Strings that follow, each of which takes at least one byte
+		 */
+		private int readCount() {
+			int count = readVarint();
+			if (count < 0 || count > buffer.length - position) {
+				throw new IllegalArgumentException("Count of " + (count & 0xFFFFFFFFL) + " at byte " + position
+						+ " runs past the end of the " + buffer.length + " bytes");
+			}
+			return count;
+		}
+	}
+}
@@ -0,0 +1,167 @@
+package com.jms.socialmedia.cache.invalidation;
+
+import java.util.Objects;
+
+import com.google.common.base.MoreObjects;
+import com.jms.socialmedia.cache.AbstractCachingService;
+import com.jms.socialmedia.cache.EntityVersions;
+import com.jms.socialmedia.model.Comment;
+
+/**
+ * An entry that was changed on one replica, and needs to be dropped from the caches of all the other replicas,
+ * and given a new version on all of them
+ */
+public final class CacheInvalidation {
+
+	public enum Type {
+		/** A Post, along with its Comments */
+		POST,
+		/** The Comments of a Post */
+		COMMENTS,
+		/** A Comment, along with the other Comments of its Post */
+		COMMENT,
+		/** A User Session */
+		USER_SESSION,
+		/** The followers and following of a User, only versioned. Every User when there's no username */
+		USER_PAGE
+	}
+
+	private static final char SEPARATOR = ':';
+
+	private final Type type;
+	private final String key;
+
+	private CacheInvalidation(Type type, String key) {
+		this.type = type;
+		this.key = key;
+	}
+
+	public static CacheInvalidation post(int postId) {
+		return new CacheInvalidation(Type.POST, Integer.toString(postId));
+	}
+
+	public static CacheInvalidation comments(int postId) {
+		return new CacheInvalidation(Type.COMMENTS, Integer.toString(postId));
+	}
+
+	public static CacheInvalidation comment(int commentId) {
+		return new CacheInvalidation(Type.COMMENT, Integer.toString(commentId));
+	}
+
+	public static CacheInvalidation userSession(String sessionKey) {
+		return new CacheInvalidation(Type.USER_SESSION, sessionKey);
+	}
+
+	/**
+	 * @param username	username of the User, or {@code null} for every User
+	 */
+	public static CacheInvalidation userPage(String username) {
+		return new CacheInvalidation(Type.USER_PAGE, username == null ? "" : username);
+	}
+
+	public Type getType() {
+		return type;
+	}
+
+	public String getKey() {
+		return key;
+	}
+
+	/**
+	 * Drops the invalidated entry, and its tombstone, from a local cache
+	 * @param cachingService	Cache of this replica
+	 */
+	public void applyTo(AbstractCachingService cachingService) {
+		switch (type) {
+			case POST:
+				cachingService.removePostFromCache(Integer.parseInt(key));
+				cachingService.removePostTombstoneFromCache(Integer.parseInt(key));
+				break;
+			case COMMENTS:
+				cachingService.invalidateCommentsByPostId(Integer.parseInt(key));
+				break;
+			case COMMENT:
+				Comment comment = cachingService.getCommentFromCache(Integer.parseInt(key));
+				if (comment != null) {
+					cachingService.invalidateCommentsByPostId(comment.getPostId());
+				}
+				break;
+			case USER_SESSION:
+				cachingService.removeUserSessionFromCache(key);
+				cachingService.removeUserSessionTombstoneFromCache(key);
+				break;
+			case USER_PAGE:
+				break;
+		}
+	}
+
+	/**
+	 * Changes the versions of the invalidated entry
+	 * @param entityVersions	Versions of this replica
+	 */
+	public void applyTo(EntityVersions entityVersions) {
+		switch (type) {
+			case POST:
+				entityVersions.changePost(Integer.parseInt(key));
+				entityVersions.changeComments(Integer.parseInt(key));
+				break;
+			case COMMENTS:
+				entityVersions.changeComments(Integer.parseInt(key));
+				break;
+			case COMMENT:
+				entityVersions.changeComment(Integer.parseInt(key));
+				break;
+			case USER_PAGE:
+				entityVersions.changeUserPage(key.isEmpty() ? null : key);
+				break;
+			case USER_SESSION:
+				break;
+		}
+	}
+
+	public String encode() {
+		return type.name() + SEPARATOR + key;
+	}
+
+	/**
+	 * @param encodedInvalidation	Output of {@link #encode()}
+	 * @return						the CacheInvalidation, or {@code null} if it can't be decoded
+	 */
+	public static CacheInvalidation decode(String encodedInvalidation) {
+		int separatorIndex = encodedInvalidation.indexOf(SEPARATOR);
+		if (separatorIndex < 0) {
+			return null;
+		}
+		try {
+			return new CacheInvalidation(Type.valueOf(encodedInvalidation.substring(0, separatorIndex)),
+					encodedInvalidation.substring(separatorIndex + 1));
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(type, key);
+	}
+
+	@Override
+	public boolean equals(Object object) {
+		if (this == object)
+			return true;
+		if (object == null || this.getClass() != object.getClass())
+			return false;
+
+		CacheInvalidation that = (CacheInvalidation) object;
+
+		return this.type == that.type && Objects.equals(this.key, that.key);
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this)
+				.add("type", type)
+				.add("key", key)
+				.toString();
+	}
+}
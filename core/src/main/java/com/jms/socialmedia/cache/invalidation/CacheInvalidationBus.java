@@ -0,0 +1,17 @@
+package com.jms.socialmedia.cache.invalidation;
+
+import java.util.function.Consumer;
+
+/**
+ * Broadcasts {@link CacheInvalidation}s from one replica to all the other replicas.
+ * A replica never receives its own invalidations, since it has already applied them to its own cache
+ */
+public interface CacheInvalidationBus {
+
+	void publish(CacheInvalidation invalidation);
+
+	/**
+	 * @param listener	Called with every invalidation published by another replica
+	 */
+	void subscribe(Consumer<CacheInvalidation> listener);
+}
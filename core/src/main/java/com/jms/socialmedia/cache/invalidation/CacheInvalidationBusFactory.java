@@ -0,0 +1,33 @@
+package com.jms.socialmedia.cache.invalidation;
+
+import java.util.Locale;
+
+import com.codahale.metrics.MetricRegistry;
+import com.jms.socialmedia.configuration.Configurations;
+import com.jms.socialmedia.configuration.CoreSettings;
+
+public class CacheInvalidationBusFactory {
+
+	private CacheInvalidationBusFactory() {
+		throw new IllegalStateException("Factory Class");
+	}
+
+	public static CacheInvalidationBus createCacheInvalidationBus(Configurations configurations,
+			MetricRegistry metricRegistry) {
+
+		CacheInvalidationBus cacheInvalidationBus = null;
+		if (configurations.get(CoreSettings.USE_CACHE)
+				&& "redis".equals(configurations.get(CoreSettings.CACHE_INVALIDATION_BUS).toLowerCase(Locale.US))) {
+			RedisCacheInvalidationBus redisCacheInvalidationBus = new RedisCacheInvalidationBus(
+					configurations.get(CoreSettings.CACHE_REDIS_HOST),
+					configurations.get(CoreSettings.CACHE_REDIS_PORT));
+			if (metricRegistry != null) {
+				metricRegistry.gauge(RedisCacheInvalidationBus.class.getSimpleName() + ".failedPublishCount",
+						() -> redisCacheInvalidationBus::getFailedPublishCount);
+			}
+			cacheInvalidationBus = redisCacheInvalidationBus;
+		}
+
+		return cacheInvalidationBus;
+	}
+}
@@ -0,0 +1,44 @@
+package com.jms.socialmedia.cache.invalidation;
+
+import java.util.Collection;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Connects replicas running in the same JVM, delivering invalidations synchronously on the publishing thread
+ */
+public class LoopbackCacheInvalidationBus implements CacheInvalidationBus {
+
+	private final Collection<LoopbackCacheInvalidationBus> replicas;
+	private final Collection<Consumer<CacheInvalidation>> listeners = new CopyOnWriteArrayList<>();
+
+	public LoopbackCacheInvalidationBus() {
+		this(new CopyOnWriteArrayList<>());
+	}
+
+	private LoopbackCacheInvalidationBus(Collection<LoopbackCacheInvalidationBus> replicas) {
+		this.replicas = replicas;
+		replicas.add(this);
+	}
+
+	/**
+	 * @return a bus for another replica, connected to this one and to all of its other replicas
+	 */
+	public LoopbackCacheInvalidationBus newReplica() {
+		return new LoopbackCacheInvalidationBus(replicas);
+	}
+
+	@Override
+	public void publish(CacheInvalidation invalidation) {
+		for (LoopbackCacheInvalidationBus replica : replicas) {
+			if (replica != this) {
+				replica.listeners.forEach(listener -> listener.accept(invalidation));
+			}
+		}
+	}
+
+	@Override
+	public void subscribe(Consumer<CacheInvalidation> listener) {
+		listeners.add(listener);
+	}
+}
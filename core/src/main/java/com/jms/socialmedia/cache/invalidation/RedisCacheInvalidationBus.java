@@ -0,0 +1,145 @@
+package com.jms.socialmedia.cache.invalidation;
+
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPoolConfig;
+import redis.clients.jedis.JedisPubSub;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+
+/**
+ * Broadcasts invalidations over a Redis Pub/Sub channel. Every message is prefixed with the ID of the publishing replica
+ * so that the replica can skip its own messages.
+ * 
+ * Pub/Sub is fire and forget, so invalidations published while a replica is disconnected are lost;
+ * those entries stay stale on that replica until they expire from its cache.
+ * Likewise, an invalidation that fails to publish is logged, counted and dropped,
+ * since the change it follows has already been made
+ */
+public class RedisCacheInvalidationBus implements CacheInvalidationBus, AutoCloseable {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(RedisCacheInvalidationBus.class);
+
+	static final String CHANNEL = "cache/invalidations";
+	private static final char SEPARATOR = ' ';
+	private static final long RECONNECT_DELAY_MILLIS = TimeUnit.SECONDS.toMillis(1);
+
+	private final JedisPool jedisPool;
+	private final String replicaId;
+	private final Collection<Consumer<CacheInvalidation>> listeners = new CopyOnWriteArrayList<>();
+	private final AtomicLong failedPublishCount = new AtomicLong();
+	final JedisPubSub subscriber = new JedisPubSub() {
+		/**
+		 * A message that fails to apply is logged and skipped, so that it doesn't end the subscription
+		 */
+		@Override
+		public void onMessage(String channel, String message) {
+			try {
+				receive(message);
+			} catch (RuntimeException e) {
+				LOGGER.error("Failed to Apply Cache Invalidation {}", message, e);
+			}
+		}
+	};
+
+	private Thread subscriberThread;
+	private volatile boolean closed;
+
+	public RedisCacheInvalidationBus(String host, int port) {
+		this(new JedisPool(new JedisPoolConfig(), host, port));
+	}
+
+	public RedisCacheInvalidationBus(JedisPool jedisPool) {
+		this(jedisPool, UUID.randomUUID().toString());
+	}
+
+	RedisCacheInvalidationBus(JedisPool jedisPool, String replicaId) {
+		this.jedisPool = jedisPool;
+		this.replicaId = replicaId;
+	}
+
+	/**
+	 * Never throws, so that a failure to reach Redis doesn't fail the change that was already made
+	 */
+	@Override
+	public void publish(CacheInvalidation invalidation) {
+		try (Jedis jedis = jedisPool.getResource()) {
+			jedis.publish(CHANNEL, replicaId + SEPARATOR + invalidation.encode());
+		} catch (RuntimeException e) {
+			failedPublishCount.incrementAndGet();
+			LOGGER.error("Failed to Publish {} Cache Invalidation", invalidation.getType(), e);
+		}
+	}
+
+	/**
+	 * @return	number of invalidations that failed to publish, and were dropped
+	 */
+	public long getFailedPublishCount() {
+		return failedPublishCount.get();
+	}
+
+	@Override
+	public synchronized void subscribe(Consumer<CacheInvalidation> listener) {
+		listeners.add(listener);
+		if (subscriberThread == null) {
+			subscriberThread = new Thread(this::listen, "cache-invalidation-subscriber");
+			subscriberThread.setDaemon(true);
+			subscriberThread.start();
+		}
+	}
+
+	@Override
+	public void close() {
+		closed = true;
+		if (subscriber.isSubscribed()) {
+			subscriber.unsubscribe();
+		}
+	}
+
+	/**
+	 * Blocks while subscribed to the channel, resubscribing whenever the connection to Redis is lost
+	 * or the subscription fails
+	 */
+	private void listen() {
+		while (!closed) {
+			try (Jedis jedis = jedisPool.getResource()) {
+				jedis.subscribe(subscriber, CHANNEL);
+			} catch (JedisConnectionException e) {
+				LOGGER.warn("Lost Connection to Cache Invalidation Channel, Reconnecting", e);
+			} catch (RuntimeException e) {
+				LOGGER.error("Cache Invalidation Subscription Failed, Resubscribing", e);
+			}
+			if (closed) {
+				return;
+			}
+			try {
+				Thread.sleep(RECONNECT_DELAY_MILLIS);
+			} catch (InterruptedException ie) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+
+	void receive(String message) {
+		int separatorIndex = message.indexOf(SEPARATOR);
+		if (separatorIndex < 0 || replicaId.equals(message.substring(0, separatorIndex))) {
+			return;
+		}
+		CacheInvalidation invalidation = CacheInvalidation.decode(message.substring(separatorIndex + 1));
+		if (invalidation == null) {
+			LOGGER.warn("Ignoring Unknown Cache Invalidation {}", message);
+			return;
+		}
+		listeners.forEach(listener -> listener.accept(invalidation));
+	}
+}
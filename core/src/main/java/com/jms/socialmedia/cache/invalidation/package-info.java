@@ -0,0 +1,7 @@
+/**
+ * 
+ * <h1> Broadcasting Cache Invalidations between Replicas </h1>
+ * Lets every replica drop the entries of its local cache that were changed on another replica
+ *
+ */
+package com.jms.socialmedia.cache.invalidation;
@@ -1,10 +1,12 @@
 package com.jms.socialmedia.configuration;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 
 import static com.jms.socialmedia.configuration.Settings.booleanSettingWithDefault;
 import static com.jms.socialmedia.configuration.Settings.integerSettingWithDefault;
+import static com.jms.socialmedia.configuration.Settings.stringListSetting;
 import static com.jms.socialmedia.configuration.Settings.stringSetting;
 import static com.jms.socialmedia.configuration.Settings.stringSettingWithDefault;
 import static com.jms.socialmedia.configuration.Settings.integerSetSettingWithDefault;
@@ -23,20 +25,76 @@ public class CoreSettings {
 			"cache.guava.max_number_of_posts", 50);
 	public static final Setting<Integer> CACHE_GUAVA_MAX_NUMBER_OF_USER_SESSIONS = integerSettingWithDefault(
 			"cache.guava.max_number_of_user_sessions", 20);
+	public static final Setting<Integer> CACHE_JAVAMAP_MAX_NUMBER_OF_POSTS = integerSettingWithDefault(
+			"cache.javamap.max_number_of_posts", 1000);
+	public static final Setting<Integer> CACHE_JAVAMAP_MAX_NUMBER_OF_COMMENTS = integerSettingWithDefault(
+			"cache.javamap.max_number_of_comments", 10000);
+	public static final Setting<Integer> CACHE_JAVAMAP_MAX_NUMBER_OF_USER_SESSIONS = integerSettingWithDefault(
+			"cache.javamap.max_number_of_user_sessions", 1000);
 
 	public static final Setting<String> CACHE_REDIS_HOST = requiredStringSetting("cache.redis.host");
 	public static final Setting<Integer> CACHE_REDIS_PORT = integerSettingWithDefault("cache.redis.port", 6379);
 	public static final Setting<String> CACHE_REDIS_CODEC = stringSettingWithDefault("cache.redis.codec", "gson");
+	public static final Setting<String> CACHE_INVALIDATION_BUS = stringSettingWithDefault("cache.invalidation_bus", "none");
 
 	public static final Setting<Integer> CACHE_EXPIRE_TIME_SECONDS = integerSettingWithDefault("cache.expire_time_seconds", 172800); // 2 Days
+	public static final Setting<Integer> CACHE_TIERED_LOCAL_EXPIRE_TIME_SECONDS = integerSettingWithDefault(
+			"cache.tiered.local_expire_time_seconds", 30);
+
+	public static final Setting<Boolean> USE_TIMELINES = booleanSettingWithDefault("timeline", true);
+	public static final Setting<String> TIMELINE_IMPLEMENTATION = stringSettingWithDefault("timeline.implementation",
+			"guava");
+	public static final Setting<Integer> TIMELINE_MAX_NUMBER_OF_POSTS = integerSettingWithDefault(
+			"timeline.max_number_of_posts", 800);
+	public static final Setting<Integer> TIMELINE_GUAVA_MAX_NUMBER_OF_TIMELINES = integerSettingWithDefault(
+			"timeline.guava.max_number_of_timelines", 1000);
+	public static final Setting<Integer> TIMELINE_GUAVA_EXPIRE_TIME_SECONDS = integerSettingWithDefault(
+			"timeline.guava.expire_time_seconds", 60);
+	public static final Setting<Integer> TIMELINE_FAN_OUT_MAX_FOLLOWERS = integerSettingWithDefault(
+			"timeline.fan_out.max_followers", 5000);
+
+	public static final Setting<Integer> TOKEN_CACHE_MAX_NUMBER_OF_TOKENS = integerSettingWithDefault(
+			"token.cache.max_number_of_tokens", 10000);
+	public static final Setting<Integer> TOKEN_CACHE_EXPIRE_TIME_SECONDS = integerSettingWithDefault(
+			"token.cache.expire_time_seconds", 3600);
+
+	public static final Setting<Integer> PASSWORD_NUMBER_OF_THREADS = integerSettingWithDefault("password.threads",
+			Runtime.getRuntime().availableProcessors());
+	public static final Setting<Integer> PASSWORD_MAX_QUEUE_SIZE = integerSettingWithDefault("password.max_queue_size",
+			64);
 
 	public static final Setting<Boolean> CREATE_TABLES = booleanSettingWithDefault("db.create_tables", false);
+	public static final Setting<Integer> DB_POOL_MAX_ACTIVE_CONNECTIONS = integerSettingWithDefault(
+			"db.pool.max_active_connections", 10);
+	public static final Setting<Integer> DB_POOL_MAX_IDLE_CONNECTIONS = integerSettingWithDefault(
+			"db.pool.max_idle_connections", 5);
+	public static final Setting<Integer> DB_POOL_CONNECTION_TIMEOUT_MILLIS = integerSettingWithDefault(
+			"db.pool.connection_timeout_millis", 20000);
+	public static final Setting<Integer> DB_POOL_MAX_CHECKOUT_TIME_MILLIS = integerSettingWithDefault(
+			"db.pool.max_checkout_time_millis", 20000);
+	// Properties with this prefix are passed on to the JDBC Driver, such as db.connection.cachePrepStmts=true
+	public static final String DB_CONNECTION_PROPERTIES_PREFIX = "db.connection.";
+	// JDBC URLs of read replicas, comma-separated, using the same driver, credentials and pool settings as db.url
+	public static final Setting<List<String>> DB_REPLICA_URLS = stringListSetting("db.replica.urls");
+	public static final Setting<Integer> DB_REPLICA_HEALTH_CHECK_INTERVAL_SECONDS = integerSettingWithDefault(
+			"db.replica.health_check_interval_seconds", 5);
 	public static final Setting<Set<Integer>> ADMIN_USER_IDS = integerSetSettingWithDefault("admin.user_ids",
 			Collections.emptySet());
 	public static final Setting<Boolean> METRICS = booleanSettingWithDefault("metrics", true);
 	public static final Setting<Boolean> METRICS_JVM = booleanSettingWithDefault("metrics.jvm", true);
 	public static final Setting<Boolean> LOG_REQUESTS_AND_RESPONSES = booleanSettingWithDefault(
 			"log.requests_and_responses", true);
+	public static final Setting<Boolean> GZIP = booleanSettingWithDefault("gzip", true);
+	public static final Setting<Integer> GZIP_COMPRESSION_LEVEL = integerSettingWithDefault("gzip.compression_level", 6);
+	public static final Setting<Integer> GZIP_MIN_SIZE_BYTES = integerSettingWithDefault("gzip.min_size_bytes", 1024);
+
+	public static final Setting<Boolean> POSTS_STREAM = booleanSettingWithDefault("posts_stream", true);
+	public static final Setting<Integer> POSTS_STREAM_MAX_CONNECTIONS = integerSettingWithDefault(
+			"posts_stream.max_connections", 10000);
+	public static final Setting<Integer> POSTS_STREAM_TIMEOUT_SECONDS = integerSettingWithDefault(
+			"posts_stream.timeout_seconds", 300);
+	public static final Setting<Integer> POSTS_STREAM_HEARTBEAT_SECONDS = integerSettingWithDefault(
+			"posts_stream.heartbeat_seconds", 30);
 
 	public static final Setting<Boolean> WEBAPP = booleanSettingWithDefault("webapp", true);
 	public static final Setting<String> WEBAPP_LOCATION = stringSetting("webapp.location");
@@ -1,22 +1,54 @@
 package com.jms.socialmedia.dataservice;
 
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
 
 import com.jms.socialmedia.cache.AbstractCachingService;
+import com.jms.socialmedia.cache.EntityVersions;
+import com.jms.socialmedia.cache.invalidation.CacheInvalidation;
+import com.jms.socialmedia.cache.invalidation.CacheInvalidationBus;
 import com.jms.socialmedia.model.Comment;
 import com.jms.socialmedia.model.NewUser;
 import com.jms.socialmedia.model.Post;
 import com.jms.socialmedia.model.User;
 import com.jms.socialmedia.model.UserPage;
 
+import static java.util.stream.Collectors.toList;
+
 public class CachingDataService implements DataService {
 
 	private final DataService dataService;
 	private final AbstractCachingService cachingService;
+	private final CacheInvalidationBus cacheInvalidationBus;
+	private final EntityVersions entityVersions;
 
 	public CachingDataService(DataService dataService, AbstractCachingService cachingService) {
+		this(dataService, cachingService, null);
+	}
+
+	/**
+	 * Versions are kept by each replica, and only hear of the changes made through the other replicas over the bus.
+	 * Without a bus, a cache shared between replicas can change without this replica knowing, so nothing is versioned.
+	 * Versions are never the same across replicas, see {@link EntityVersions}
+	 *
+	 * @param cacheInvalidationBus	Broadcasts the changes made through this replica to the caches of the other replicas,
+	 * 								and applies theirs to this cache. Can be {@code null} when there is a single replica
+	 */
+	public CachingDataService(DataService dataService, AbstractCachingService cachingService,
+			CacheInvalidationBus cacheInvalidationBus) {
 		this.dataService = dataService;
 		this.cachingService = cachingService;
+		this.cacheInvalidationBus = cacheInvalidationBus;
+		this.entityVersions = cacheInvalidationBus != null || !cachingService.isSharedBetweenReplicas()
+				? new EntityVersions() : null;
+		if (cacheInvalidationBus != null) {
+			cacheInvalidationBus.subscribe(invalidation -> {
+				invalidation.applyTo(cachingService);
+				invalidation.applyTo(entityVersions);
+			});
+		}
 	}
 
 	@Override
@@ -29,6 +61,16 @@ public class CachingDataService implements DataService {
 		return dataService.getUserPageInfoByName(username);
 	}
 
+	@Override
+	public Collection<UserPage> getUserPagesByNames(Collection<String> usernames) {
+		return dataService.getUserPagesByNames(usernames);
+	}
+
+	@Override
+	public String getUserPageVersion(String username) {
+		return entityVersions == null ? null : entityVersions.getUserPageVersion(username);
+	}
+
 	@Override
 	public User getUserLoginInfoByString(String username) {
 		return dataService.getUserLoginInfoByString(username);
@@ -56,7 +98,11 @@ public class CachingDataService implements DataService {
 
 	@Override
 	public boolean addUser(NewUser newUser) {
-		return dataService.addUser(newUser);
+		if (dataService.addUser(newUser)) {
+			changed(CacheInvalidation.userPage(newUser.getUsername()));
+			return true;
+		}
+		return false;
 	}
 
 	@Override
@@ -66,7 +112,11 @@ public class CachingDataService implements DataService {
 
 	@Override
 	public boolean addUserSession(int userId, String sessionId) {
-		return dataService.addUserSession(userId, sessionId);
+		if (dataService.addUserSession(userId, sessionId)) {
+			cachingService.removeUserSessionTombstoneFromCache(sessionId);
+			return true;
+		}
+		return false;
 	}
 
 	@Override
@@ -78,12 +128,14 @@ public class CachingDataService implements DataService {
 	public void removeSessionId(String sessionId) {
 		cachingService.removeUserSessionFromCache(sessionId);
 		dataService.removeSessionId(sessionId);
+		changed(CacheInvalidation.userSession(sessionId));
 	}
 
 	@Override
 	public Collection<Post> getPosts(Collection<Integer> userIds, Collection<String> usernames, String tag, String onDate, String beforeDate,
-			String afterDate, Integer sincePostId, String sortBy, boolean sortOrderAsc) {
-		Collection<Post> posts = dataService.getPosts(userIds, usernames, tag, onDate, beforeDate, afterDate, sincePostId, sortBy, sortOrderAsc);
+			String afterDate, Integer sincePostId, Integer beforePostId, Integer limit, String sortBy, boolean sortOrderAsc) {
+		Collection<Post> posts = dataService.getPosts(userIds, usernames, tag, onDate, beforeDate, afterDate, sincePostId,
+				beforePostId, limit, sortBy, sortOrderAsc);
 		// Put the first 5 posts into cache
 		int i = 0;
 		for (Post post : posts) {
@@ -94,11 +146,35 @@ public class CachingDataService implements DataService {
 		return posts;
 	}
 
+	@Override
+	public Collection<Post> getFeedPosts(String username, Integer sincePostId, Integer beforePostId, Integer limit) {
+		return dataService.getFeedPosts(username, sincePostId, beforePostId, limit);
+	}
+
 	@Override
 	public Post getPost(int postId) {
 		return cachingService.getPostFromCacheOrSupplier(postId, () -> dataService.getPost(postId));
 	}
 
+	@Override
+	public String getPostVersion(int postId) {
+		return entityVersions == null ? null : entityVersions.getPostVersion(postId);
+	}
+
+	@Override
+	public Collection<Post> getPostsByIds(Collection<Integer> postIds) {
+		Map<Integer, Post> postsById = new HashMap<>(cachingService.getPostsByIdsFromCache(postIds));
+		Collection<Integer> postIdsNotInCache = postIds.stream().filter(postId -> !postsById.containsKey(postId))
+				.distinct().collect(toList());
+		if (!postIdsNotInCache.isEmpty()) {
+			for (Post post : dataService.getPostsByIds(postIdsNotInCache)) {
+				cachingService.putPostIntoCache(post);
+				postsById.put(post.getPostId(), post);
+			}
+		}
+		return postIds.stream().map(postsById::get).filter(Objects::nonNull).collect(toList());
+	}
+
 	@Override
 	public Integer getUserIdFromPostId(int postId) {
 		Post post = cachingService.getPostFromCache(postId);
@@ -110,29 +186,43 @@ public class CachingDataService implements DataService {
 
 	@Override
 	public boolean addPost(Post post) {
-		return dataService.addPost(post);
+		if (dataService.addPost(post)) {
+			cachingService.removePostTombstoneFromCache(post.getPostId());
+			changed(CacheInvalidation.post(post.getPostId()));
+			return true;
+		}
+		return false;
 	}
 	
 	@Override
 	public boolean editPost(int postId, String postText) {
 		cachingService.editPostInCache(postId, postText);
-		return dataService.editPost(postId, postText);
+		boolean result = dataService.editPost(postId, postText);
+		changed(CacheInvalidation.post(postId));
+		return result;
 	}
 
 	@Override
 	public boolean deletePost(int postId) {
 		cachingService.removePostFromCache(postId);
-		return dataService.deletePost(postId);
+		boolean result = dataService.deletePost(postId);
+		changed(CacheInvalidation.post(postId));
+		return result;
 	}
 
 	@Override
-	public Collection<Post> getCommentedPostsByUserId(int userId) {
-		return dataService.getCommentedPostsByUserId(userId);
+	public Collection<Post> getCommentedPostsByUserId(int userId, Integer beforePostId, Integer limit) {
+		return dataService.getCommentedPostsByUserId(userId, beforePostId, limit);
 	}
 
 	@Override
-	public Collection<Post> getLikedPostsByUserId(int userId) {
-		return dataService.getLikedPostsByUserId(userId);
+	public Collection<Post> getLikedPostsByUserId(int userId, Integer beforePostId, Integer limit) {
+		return dataService.getLikedPostsByUserId(userId, beforePostId, limit);
+	}
+
+	@Override
+	public Collection<Post> getPostsMentioningUserId(int userId, Integer beforePostId, Integer limit) {
+		return dataService.getPostsMentioningUserId(userId, beforePostId, limit);
 	}
 
 	@Override
@@ -147,25 +237,33 @@ public class CachingDataService implements DataService {
 	@Override
 	public boolean likePost(int postId, int userId) {
 		cachingService.removePostFromCache(postId);
-		return dataService.likePost(postId, userId);
+		boolean result = dataService.likePost(postId, userId);
+		changed(CacheInvalidation.post(postId));
+		return result;
 	}
 
 	@Override
 	public boolean likePost(int postId, String username) {
 		cachingService.likePostInCache(postId, username);
-		return dataService.likePost(postId, username);
+		boolean result = dataService.likePost(postId, username);
+		changed(CacheInvalidation.post(postId));
+		return result;
 	}
 
 	@Override
 	public boolean unlikePost(int postId, int userId) {
 		cachingService.removePostFromCache(postId);
-		return dataService.unlikePost(postId, userId);
+		boolean result = dataService.unlikePost(postId, userId);
+		changed(CacheInvalidation.post(postId));
+		return result;
 	}
 
 	@Override
 	public boolean unlikePost(int postId, String username) {
 		cachingService.unlikePostInCache(postId, username);
-		return dataService.unlikePost(postId, username);
+		boolean result = dataService.unlikePost(postId, username);
+		changed(CacheInvalidation.post(postId));
+		return result;
 	}
 
 	@Override
@@ -174,8 +272,18 @@ public class CachingDataService implements DataService {
 	}
 
 	@Override
-	public Collection<Comment> getCommentsByUserId(int userId) {
-		return dataService.getCommentsByUserId(userId);
+	public String getCommentsVersion(int postId) {
+		return entityVersions == null ? null : entityVersions.getCommentsVersion(postId);
+	}
+
+	@Override
+	public Collection<Comment> getCommentsByUserId(int userId, Integer beforeCommentId, Integer limit) {
+		return dataService.getCommentsByUserId(userId, beforeCommentId, limit);
+	}
+
+	@Override
+	public Collection<Comment> getCommentsMentioningUserId(int userId, Integer beforeCommentId, Integer limit) {
+		return dataService.getCommentsMentioningUserId(userId, beforeCommentId, limit);
 	}
 
 	@Override
@@ -188,6 +296,28 @@ public class CachingDataService implements DataService {
 		return comment;
 	}
 
+	/**
+	 * Looks up all the Comments in the cache at once, then retrieves the ones that are not cached all at once
+	 */
+	@Override
+	public Collection<Comment> getCommentsByIds(Collection<Integer> commentIds) {
+		Map<Integer, Comment> commentsById = new HashMap<>(cachingService.getCommentsByIdsFromCache(commentIds));
+		Collection<Integer> commentIdsNotInCache = commentIds.stream()
+				.filter(commentId -> !commentsById.containsKey(commentId)).distinct().collect(toList());
+		if (!commentIdsNotInCache.isEmpty()) {
+			for (Comment comment : dataService.getCommentsByIds(commentIdsNotInCache)) {
+				cachingService.putCommentIntoCache(comment);
+				commentsById.put(comment.getCommentId(), comment);
+			}
+		}
+		return commentIds.stream().map(commentsById::get).filter(Objects::nonNull).collect(toList());
+	}
+
+	@Override
+	public String getCommentVersion(int commentId) {
+		return entityVersions == null ? null : entityVersions.getCommentVersion(commentId);
+	}
+
 	@Override
 	public Integer getUserIdFromCommentId(int commentId) {
 		Comment comment = cachingService.getCommentFromCache(commentId);
@@ -202,6 +332,7 @@ public class CachingDataService implements DataService {
 	public boolean addComment(Comment comment) {
 		if (dataService.addComment(comment)) {
 			cachingService.putCommentIntoCache(getComment(comment.getCommentId()));
+			changed(CacheInvalidation.comments(comment.getPostId()));
 			return true;
 		}
 		return false;
@@ -209,14 +340,20 @@ public class CachingDataService implements DataService {
 	
 	@Override
 	public boolean editComment(int commentId, String commentText) {
+		Integer postId = getPostIdOfComment(commentId);
 		cachingService.editCommentInCache(commentId, commentText);
-		return dataService.editComment(commentId, commentText);
+		boolean result = dataService.editComment(commentId, commentText);
+		commentChanged(commentId, postId);
+		return result;
 	}
 
 	@Override
 	public boolean deleteComment(int commentId) {
+		Integer postId = getPostIdOfComment(commentId);
 		cachingService.removeCommentFromCache(commentId);
-		return dataService.deleteComment(commentId);
+		boolean result = dataService.deleteComment(commentId);
+		commentChanged(commentId, postId);
+		return result;
 	}
 	
 	@Override
@@ -230,26 +367,38 @@ public class CachingDataService implements DataService {
 
 	@Override
 	public boolean likeComment(int commentId, int userId) {
+		Integer postId = getPostIdOfComment(commentId);
 		cachingService.likeCommentInCache(commentId, userId);
-		return dataService.likeComment(commentId, userId);
+		boolean result = dataService.likeComment(commentId, userId);
+		commentChanged(commentId, postId);
+		return result;
 	}
 
 	@Override
 	public boolean likeComment(int commentId, String username) {
+		Integer postId = getPostIdOfComment(commentId);
 		cachingService.likeCommentInCache(commentId, username);
-		return dataService.likeComment(commentId, username);
+		boolean result = dataService.likeComment(commentId, username);
+		commentChanged(commentId, postId);
+		return result;
 	}
 
 	@Override
 	public boolean unlikeComment(int commentId, int userId) {
+		Integer postId = getPostIdOfComment(commentId);
 		cachingService.unlikeCommentInCache(commentId, userId);
-		return dataService.unlikeComment(commentId, userId);
+		boolean result = dataService.unlikeComment(commentId, userId);
+		commentChanged(commentId, postId);
+		return result;
 	}
 
 	@Override
 	public boolean unlikeComment(int commentId, String username) {
+		Integer postId = getPostIdOfComment(commentId);
 		cachingService.unlikeCommentInCache(commentId, username);
-		return dataService.unlikeComment(commentId, username);
+		boolean result = dataService.unlikeComment(commentId, username);
+		commentChanged(commentId, postId);
+		return result;
 	}
 	
 	@Override
@@ -257,6 +406,11 @@ public class CachingDataService implements DataService {
 		return dataService.getFollowerUsernames(username);
 	}
 
+	@Override
+	public int getNumberOfFollowers(String username) {
+		return dataService.getNumberOfFollowers(username);
+	}
+
 	@Override
 	public Collection<String> getFollowingUsernames(String username) {
 		return dataService.getFollowingUsernames(username);
@@ -264,11 +418,65 @@ public class CachingDataService implements DataService {
 
 	@Override
 	public boolean followUser(Integer followerUserId, String followerUsername, Integer followingUserId, String followingUsername) {
-		return dataService.followUser(followerUserId, followerUsername, followingUserId, followingUsername);
+		boolean followed = dataService.followUser(followerUserId, followerUsername, followingUserId, followingUsername);
+		if (followed) {
+			userPagesChanged(followerUsername, followingUsername);
+		}
+		return followed;
 	}
 
 	@Override
 	public boolean unfollowUser(Integer followerUserId, String followerUsername, Integer followingUserId, String followingUsername) {
-		return dataService.unfollowUser(followerUserId, followerUsername, followingUserId, followingUsername);
+		boolean unfollowed = dataService.unfollowUser(followerUserId, followerUsername, followingUserId, followingUsername);
+		if (unfollowed) {
+			userPagesChanged(followerUsername, followingUsername);
+		}
+		return unfollowed;
+	}
+
+	/**
+	 * Changes the versions of the entry on this replica, and drops it from the caches of the other replicas.
+	 * Called once the change is made, so a version is never read ahead of the entry it versions
+	 */
+	private void changed(CacheInvalidation invalidation) {
+		if (entityVersions != null) {
+			invalidation.applyTo(entityVersions);
+		}
+		if (cacheInvalidationBus != null) {
+			cacheInvalidationBus.publish(invalidation);
+		}
+	}
+
+	/**
+	 * A Comment is part of the Comments of its Post, which change along with it
+	 */
+	private void commentChanged(int commentId, Integer postId) {
+		changed(CacheInvalidation.comment(commentId));
+		if (postId != null) {
+			changed(CacheInvalidation.comments(postId));
+		}
+	}
+
+	/**
+	 * @return	ID of the Post of the Comment, or {@code null} if the Comment doesn't exist
+	 */
+	private Integer getPostIdOfComment(int commentId) {
+		Comment comment = cachingService.getCommentFromCache(commentId);
+		if (comment == null) {
+			comment = dataService.getComment(commentId);
+		}
+		return comment == null ? null : comment.getPostId();
+	}
+
+	/**
+	 * Follows by User ID only can't tell which User Pages changed, so they change all of them
+	 */
+	private void userPagesChanged(String followerUsername, String followingUsername) {
+		if (followerUsername == null || followingUsername == null) {
+			changed(CacheInvalidation.userPage(null));
+		} else {
+			changed(CacheInvalidation.userPage(followerUsername));
+			changed(CacheInvalidation.userPage(followingUsername));
+		}
 	}
 }
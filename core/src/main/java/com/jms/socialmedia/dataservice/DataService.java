@@ -1,6 +1,11 @@
 package com.jms.socialmedia.dataservice;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Stream;
 
 import com.jms.socialmedia.model.Comment;
 import com.jms.socialmedia.model.NewUser;
@@ -9,6 +14,7 @@ import com.jms.socialmedia.model.User;
 import com.jms.socialmedia.model.UserPage;
 
 import static java.util.Collections.singleton;
+import static java.util.stream.Collectors.toList;
 
 public interface DataService {
 
@@ -16,6 +22,20 @@ public interface DataService {
 
 	UserPage getUserPageInfoByName(String username);
 
+	/**
+	 * @param usernames		usernames of the Users to retrieve
+	 * @return				the User Pages that exist, with their followers and following, in the order of the given usernames
+	 */
+	Collection<UserPage> getUserPagesByNames(Collection<String> usernames);
+
+	/**
+	 * Versions change whenever what they version does, so a client holding the same version is up to date
+	 * @return	version of the User Page, with its followers and following, or {@code null} if it isn't versioned
+	 */
+	default String getUserPageVersion(String username) {
+		return null;
+	}
+
 	User getUserLoginInfoByString(String usernameOrEmail);
 
 	User getHashedPasswordByUserId(Integer userId);
@@ -36,8 +56,21 @@ public interface DataService {
 
 	void removeSessionId(String sessionId);
 
+	/**
+	 * Pages of Posts are retrieved with {@code beforePostId} and {@code limit}: the next page starts before
+	 * the ID of the last Post returned, when sorted by descending Post ID
+	 * @param sincePostId	only return Posts after this Post ID, can be {@code null}
+	 * @param beforePostId	only return Posts before this Post ID, can be {@code null}
+	 * @param limit			maximum number of Posts returned, {@code null} for no limit
+	 * @return				Collection of {@link Post}s
+	 */
 	Collection<Post> getPosts(Collection<Integer> userIds, Collection<String> usernames, String tag, String onDate, String beforeDate, 
-			String afterDate, Integer sincePostId, String sortBy, boolean sortOrderAsc);
+			String afterDate, Integer sincePostId, Integer beforePostId, Integer limit, String sortBy, boolean sortOrderAsc);
+
+	default Collection<Post> getPosts(Collection<Integer> userIds, Collection<String> usernames, String tag, String onDate, 
+			String beforeDate, String afterDate, Integer sincePostId, String sortBy, boolean sortOrderAsc) {
+		return getPosts(userIds, usernames, tag, onDate, beforeDate, afterDate, sincePostId, null, null, sortBy, sortOrderAsc);
+	}
 
 	default Collection<Post> getPosts(Integer userId) {
 		return getPosts(singleton(userId), null, null, null, null, null, null, "postId", false);
@@ -47,8 +80,47 @@ public interface DataService {
 		return getPosts(singleton(userId), null, null, null, null, null, sincePostId, "postId", false);
 	}
 
+	default Collection<Post> getFeedPosts(String username, Integer sincePostId) {
+		return getFeedPosts(username, sincePostId, null, null);
+	}
+
+	/**
+	 * Retrieves the Feed of a User: their own Posts and the Posts of everyone they follow, newest first.
+	 * Without a {@code beforePostId}, a page since a Post ID holds the oldest Posts after it, so that polling again
+	 * since the newest of them leaves no gaps.
+	 * @param username		username of the User whose Feed is being retrieved
+	 * @param sincePostId	only return Posts after this Post ID, can be {@code null}
+	 * @param beforePostId	only return Posts before this Post ID, can be {@code null}
+	 * @param limit			maximum number of Posts returned, {@code null} for no limit
+	 * @return				Collection of {@link Post}s
+	 */
+	default Collection<Post> getFeedPosts(String username, Integer sincePostId, Integer beforePostId, Integer limit) {
+		Collection<String> usernames = new HashSet<>(getFollowingUsernames(username));
+		usernames.add(username);
+		boolean pageForward = sincePostId != null && beforePostId == null;
+		List<Post> posts = new ArrayList<>(getPosts(null, usernames, null, null, null, null, sincePostId, beforePostId, 
+				limit, "postId", pageForward));
+		if (pageForward) {
+			Collections.reverse(posts);
+		}
+		return posts;
+	}
+
 	Post getPost(int postId);
 
+	/**
+	 * @return	version of the Post, with its Likes, or {@code null} if it isn't versioned
+	 */
+	default String getPostVersion(int postId) {
+		return null;
+	}
+
+	/**
+	 * @param postIds		IDs of the Posts to retrieve
+	 * @return				the Posts that exist, in the order of the given IDs
+	 */
+	Collection<Post> getPostsByIds(Collection<Integer> postIds);
+
 	Integer getUserIdFromPostId(int postId);
 
 	boolean addPost(Post post);
@@ -57,9 +129,37 @@ public interface DataService {
 
 	boolean deletePost(int postId);
 
-	Collection<Post> getCommentedPostsByUserId(int userId);
+	default Collection<Post> getCommentedPostsByUserId(int userId) {
+		return getCommentedPostsByUserId(userId, null, null);
+	}
 
-	Collection<Post> getLikedPostsByUserId(int userId);
+	/**
+	 * @param userId		ID of the User who commented on the Posts
+	 * @param beforePostId	only return Posts before this Post ID, can be {@code null}
+	 * @param limit			maximum number of Posts returned, {@code null} for no limit
+	 * @return				the Posts the User commented on, newest first
+	 */
+	Collection<Post> getCommentedPostsByUserId(int userId, Integer beforePostId, Integer limit);
+
+	default Collection<Post> getLikedPostsByUserId(int userId) {
+		return getLikedPostsByUserId(userId, null, null);
+	}
+
+	/**
+	 * @param userId		ID of the User who liked the Posts
+	 * @param beforePostId	only return Posts before this Post ID, can be {@code null}
+	 * @param limit			maximum number of Posts returned, {@code null} for no limit
+	 * @return				the Posts the User liked, newest first
+	 */
+	Collection<Post> getLikedPostsByUserId(int userId, Integer beforePostId, Integer limit);
+
+	/**
+	 * @param userId		ID of the User mentioned in the Posts
+	 * @param beforePostId	only return Posts before this Post ID, can be {@code null}
+	 * @param limit			maximum number of Posts returned, {@code null} for no limit
+	 * @return				the Posts mentioning the User, newest first
+	 */
+	Collection<Post> getPostsMentioningUserId(int userId, Integer beforePostId, Integer limit);
 
 	Collection<String> getPostLikes(int postId);
 
@@ -97,10 +197,66 @@ public interface DataService {
 
 	Collection<Comment> getComments(int postId);
 
-	Collection<Comment> getCommentsByUserId(int userId);
+	/**
+	 * @return	version of the Comments of the Post, with their Likes, or {@code null} if they aren't versioned
+	 */
+	default String getCommentsVersion(int postId) {
+		return null;
+	}
+
+	/**
+	 * Comments of a Post are retrieved and cached all together, so the page is taken from them
+	 * @param postId			ID of the Post
+	 * @param sinceCommentId	only return Comments after this Comment ID, can be {@code null}
+	 * @param limit				maximum number of Comments returned, {@code null} for no limit
+	 * @return					the Comments of the Post, oldest first
+	 */
+	default Collection<Comment> getComments(int postId, Integer sinceCommentId, Integer limit) {
+		Stream<Comment> comments = getComments(postId).stream();
+		if (sinceCommentId != null) {
+			comments = comments.filter(comment -> comment.getCommentId() > sinceCommentId);
+		}
+		if (limit != null) {
+			comments = comments.limit(limit);
+		}
+		return comments.collect(toList());
+	}
+
+	default Collection<Comment> getCommentsByUserId(int userId) {
+		return getCommentsByUserId(userId, null, null);
+	}
+
+	/**
+	 * @param userId			ID of the User who made the Comments
+	 * @param beforeCommentId	only return Comments before this Comment ID, can be {@code null}
+	 * @param limit				maximum number of Comments returned, {@code null} for no limit
+	 * @return					the Comments of the User, newest first
+	 */
+	Collection<Comment> getCommentsByUserId(int userId, Integer beforeCommentId, Integer limit);
+
+	/**
+	 * @param userId			ID of the User mentioned in the Comments
+	 * @param beforeCommentId	only return Comments before this Comment ID, can be {@code null}
+	 * @param limit				maximum number of Comments returned, {@code null} for no limit
+	 * @return					the Comments mentioning the User, newest first
+	 */
+	Collection<Comment> getCommentsMentioningUserId(int userId, Integer beforeCommentId, Integer limit);
 
 	Comment getComment(int commentId);
 
+	/**
+	 * @param commentIds	IDs of the Comments to retrieve
+	 * @return				the Comments that exist, in the order of the given IDs
+	 */
+	Collection<Comment> getCommentsByIds(Collection<Integer> commentIds);
+
+	/**
+	 * @return	version of the Comment, with its Likes, or {@code null} if it isn't versioned
+	 */
+	default String getCommentVersion(int commentId) {
+		return null;
+	}
+
 	Integer getUserIdFromCommentId(int commentId);
 
 	boolean addComment(Comment comment);
@@ -134,6 +290,13 @@ public interface DataService {
 	boolean unlikeComment(int commentId, String username);
 	
 	Collection<String> getFollowerUsernames(String username);
+
+	/**
+	 * @return	number of Users following the User, without retrieving their usernames
+	 */
+	default int getNumberOfFollowers(String username) {
+		return getFollowerUsernames(username).size();
+	}
 	
 	Collection<String> getFollowingUsernames(String username);
 	
@@ -4,8 +4,11 @@ import java.io.IOException;
 
 import com.codahale.metrics.MetricRegistry;
 import com.jms.socialmedia.cache.AbstractCachingService;
+import com.jms.socialmedia.cache.invalidation.CacheInvalidationBus;
 import com.jms.socialmedia.configuration.Configurations;
 import com.jms.socialmedia.configuration.CoreSettings;
+import com.jms.socialmedia.events.PostCreatedBus;
+import com.jms.socialmedia.timeline.TimelineService;
 
 public class DataServiceFactory {
 
@@ -15,12 +18,30 @@ public class DataServiceFactory {
 
 	public static DataService createDataService(Configurations configurations, AbstractCachingService cachingService,
 			MetricRegistry metricRegistry) throws IOException {
+		return createDataService(configurations, cachingService, null, metricRegistry);
+	}
+
+	public static DataService createDataService(Configurations configurations, AbstractCachingService cachingService,
+			TimelineService timelineService, MetricRegistry metricRegistry) throws IOException {
+		return createDataService(configurations, cachingService, null, timelineService, metricRegistry);
+	}
+
+	public static DataService createDataService(Configurations configurations, AbstractCachingService cachingService,
+			CacheInvalidationBus cacheInvalidationBus, TimelineService timelineService, MetricRegistry metricRegistry)
+			throws IOException {
+		return createDataService(configurations, cachingService, cacheInvalidationBus, timelineService, null,
+				metricRegistry);
+	}
+
+	public static DataService createDataService(Configurations configurations, AbstractCachingService cachingService,
+			CacheInvalidationBus cacheInvalidationBus, TimelineService timelineService, PostCreatedBus postCreatedBus,
+			MetricRegistry metricRegistry) throws IOException {
 
 		DataService dataService;
 		if (configurations.get(CoreSettings.MOCK_DATA_SERVICE)) {
 			dataService = new MockDataService();
 		} else {
-			dataService = new MybatisDataService(configurations);
+			dataService = new MybatisDataService(configurations, metricRegistry);
 		}
 
 		if (cachingService != null) {
@@ -29,7 +50,17 @@ public class DataServiceFactory {
 				dataService = new DataServiceWithMetrics(dataService, metricRegistry);
 			}
 
-			dataService = new CachingDataService(dataService, cachingService);
+			dataService = new CachingDataService(dataService, cachingService, cacheInvalidationBus);
+		}
+
+		if (timelineService != null) {
+			dataService = new TimelineDataService(dataService, timelineService,
+					configurations.get(CoreSettings.TIMELINE_MAX_NUMBER_OF_POSTS),
+					configurations.get(CoreSettings.TIMELINE_FAN_OUT_MAX_FOLLOWERS));
+		}
+
+		if (postCreatedBus != null) {
+			dataService = new PostEventsDataService(dataService, postCreatedBus);
 		}
 
 		if (metricRegistry != null) {
@@ -16,6 +16,7 @@ public class DataServiceWithMetrics implements DataService {
 	private final DataService dataService;
 	private final Timer getUserIdByUsernameTimer;
 	private final Timer getUserPageInfoByNameTimer;
+	private final Timer getUserPagesByNamesTimer;
 	private final Timer getUserLoginInfoByStringTimer;
 	private final Timer getHashedPasswordByUserIdTimer;
 	private final Timer getUsernamesToFollowTimer;
@@ -27,19 +28,24 @@ public class DataServiceWithMetrics implements DataService {
 	private final Timer getUserBySessionIdTimer;
 	private final Timer removeSessionIdTimer;
 	private final Timer getPostsTimer;
+	private final Timer getFeedPostsTimer;
 	private final Timer getPostTimer;
+	private final Timer getPostsByIdsTimer;
 	private final Timer getUserIdFromPostIdTimer;
 	private final Timer addPostTimer;
 	private final Timer editPostTimer;
 	private final Timer deletePostTimer;
 	private final Timer getCommentedPostsByUserIdTimer;
 	private final Timer getLikedPostsByUserIdTimer;
+	private final Timer getPostsMentioningUserIdTimer;
 	private final Timer getPostLikesTimer;
 	private final Timer likePostTimer;
 	private final Timer unlikePostTimer;
 	private final Timer getCommentsTimer;
 	private final Timer getCommentsByUserIdTimer;
+	private final Timer getCommentsMentioningUserIdTimer;
 	private final Timer getCommentTimer;
+	private final Timer getCommentsByIdsTimer;
 	private final Timer getUserIdFromCommentIdTimer;
 	private final Timer addCommentTimer;
 	private final Timer editCommentTimer;
@@ -48,6 +54,7 @@ public class DataServiceWithMetrics implements DataService {
 	private final Timer likeCommentTimer;
 	private final Timer unlikeCommentTimer;
 	private final Timer getFollowerUsernamesTimer;
+	private final Timer getNumberOfFollowersTimer;
 	private final Timer getFollowingUsernamesTimer;
 	private final Timer followUserTimer;
 	private final Timer unfollowUserTimer;
@@ -60,6 +67,7 @@ public class DataServiceWithMetrics implements DataService {
 		this.dataService = dataService;
 		this.getUserIdByUsernameTimer = metricRegistry.timer(metricsName + ".getUserIdByUsername");
 		this.getUserPageInfoByNameTimer = metricRegistry.timer(metricsName + ".getUserPageInfoByName");
+		this.getUserPagesByNamesTimer = metricRegistry.timer(metricsName + ".getUserPagesByNames");
 		this.getUserLoginInfoByStringTimer = metricRegistry.timer(metricsName + ".getUserLoginInfoByString");
 		this.getHashedPasswordByUserIdTimer = metricRegistry.timer(metricsName + ".getHashedPasswordByUserId");
 		this.getUsernamesToFollowTimer = metricRegistry.timer(metricsName + ".getUsernamesToFollow");
@@ -71,19 +79,24 @@ public class DataServiceWithMetrics implements DataService {
 		this.getUserBySessionIdTimer = metricRegistry.timer(metricsName + ".getUserBySessionId");
 		this.removeSessionIdTimer = metricRegistry.timer(metricsName + ".removeSessionId");
 		this.getPostsTimer = metricRegistry.timer(metricsName + ".getPosts");
+		this.getFeedPostsTimer = metricRegistry.timer(metricsName + ".getFeedPosts");
 		this.getPostTimer = metricRegistry.timer(metricsName + ".getPost");
+		this.getPostsByIdsTimer = metricRegistry.timer(metricsName + ".getPostsByIds");
 		this.getUserIdFromPostIdTimer = metricRegistry.timer(metricsName + ".getUserIdFromPostId");
 		this.addPostTimer = metricRegistry.timer(metricsName + ".addPost");
 		this.editPostTimer = metricRegistry.timer(metricsName + ".editPost");
 		this.deletePostTimer = metricRegistry.timer(metricsName + ".deletePost");
 		this.getCommentedPostsByUserIdTimer = metricRegistry.timer(metricsName + ".getCommentedPostsByUserId");
 		this.getLikedPostsByUserIdTimer = metricRegistry.timer(metricsName + ".getLikedPostsByUserId");
+		this.getPostsMentioningUserIdTimer = metricRegistry.timer(metricsName + ".getPostsMentioningUserId");
 		this.getPostLikesTimer = metricRegistry.timer(metricsName + ".getPostLikes");
 		this.likePostTimer = metricRegistry.timer(metricsName + ".likePost");
 		this.unlikePostTimer = metricRegistry.timer(metricsName + ".unlikePost");
 		this.getCommentsTimer = metricRegistry.timer(metricsName + ".getComments");
 		this.getCommentsByUserIdTimer = metricRegistry.timer(metricsName + ".getCommentsByUserId");
+		this.getCommentsMentioningUserIdTimer = metricRegistry.timer(metricsName + ".getCommentsMentioningUserId");
 		this.getCommentTimer = metricRegistry.timer(metricsName + ".getComment");
+		this.getCommentsByIdsTimer = metricRegistry.timer(metricsName + ".getCommentsByIds");
 		this.getUserIdFromCommentIdTimer = metricRegistry.timer(metricsName + ".getUserIdFromCommentId");
 		this.addCommentTimer = metricRegistry.timer(metricsName + ".addComment");
 		this.editCommentTimer = metricRegistry.timer(metricsName + ".editComment");
@@ -92,6 +105,7 @@ public class DataServiceWithMetrics implements DataService {
 		this.likeCommentTimer = metricRegistry.timer(metricsName + ".likeComment");
 		this.unlikeCommentTimer = metricRegistry.timer(metricsName + ".unlikeComment");
 		this.getFollowerUsernamesTimer = metricRegistry.timer(metricsName + ".getFollowerUsernames");
+		this.getNumberOfFollowersTimer = metricRegistry.timer(metricsName + ".getNumberOfFollowers");
 		this.getFollowingUsernamesTimer = metricRegistry.timer(metricsName + ".getFollowingUsernames");
 		this.followUserTimer = metricRegistry.timer(metricsName + ".followUser");
 		this.unfollowUserTimer = metricRegistry.timer(metricsName + ".unfollowUser");
@@ -111,6 +125,18 @@ public class DataServiceWithMetrics implements DataService {
 		}
 	}
 
+	@Override
+	public Collection<UserPage> getUserPagesByNames(Collection<String> usernames) {
+		try (Timer.Context context = getUserPagesByNamesTimer.time()) {
+			return dataService.getUserPagesByNames(usernames);
+		}
+	}
+
+	@Override
+	public String getUserPageVersion(String username) {
+		return dataService.getUserPageVersion(username);
+	}
+
 	@Override
 	public User getUserLoginInfoByString(String usernameOrEmail) {
 		try (Timer.Context context = getUserLoginInfoByStringTimer.time()) {
@@ -183,11 +209,19 @@ public class DataServiceWithMetrics implements DataService {
 
 	@Override
 	public Collection<Post> getPosts(Collection<Integer> userIds, Collection<String> usernames, String tag, String onDate,
-			String beforeDate, String afterDate, Integer sincePostId, String sortBy, boolean sortOrderAsc) {
+			String beforeDate, String afterDate, Integer sincePostId, Integer beforePostId, Integer limit, String sortBy,
+			boolean sortOrderAsc) {
 
 		try (Timer.Context context = getPostsTimer.time()) {
 			return dataService.getPosts(userIds, usernames, tag, onDate, beforeDate, afterDate, 
-					sincePostId, sortBy, sortOrderAsc);
+					sincePostId, beforePostId, limit, sortBy, sortOrderAsc);
+		}
+	}
+
+	@Override
+	public Collection<Post> getFeedPosts(String username, Integer sincePostId, Integer beforePostId, Integer limit) {
+		try (Timer.Context context = getFeedPostsTimer.time()) {
+			return dataService.getFeedPosts(username, sincePostId, beforePostId, limit);
 		}
 	}
 
@@ -198,6 +232,18 @@ public class DataServiceWithMetrics implements DataService {
 		}
 	}
 
+	@Override
+	public String getPostVersion(int postId) {
+		return dataService.getPostVersion(postId);
+	}
+
+	@Override
+	public Collection<Post> getPostsByIds(Collection<Integer> postIds) {
+		try (Timer.Context context = getPostsByIdsTimer.time()) {
+			return dataService.getPostsByIds(postIds);
+		}
+	}
+
 	@Override
 	public Integer getUserIdFromPostId(int postId) {
 		try (Timer.Context context = getUserIdFromPostIdTimer.time()) {
@@ -227,16 +273,23 @@ public class DataServiceWithMetrics implements DataService {
 	}
 
 	@Override
-	public Collection<Post> getCommentedPostsByUserId(int userId) {
+	public Collection<Post> getCommentedPostsByUserId(int userId, Integer beforePostId, Integer limit) {
 		try (Timer.Context context = getCommentedPostsByUserIdTimer.time()) {
-			return dataService.getCommentedPostsByUserId(userId);
+			return dataService.getCommentedPostsByUserId(userId, beforePostId, limit);
 		}
 	}
 
 	@Override
-	public Collection<Post> getLikedPostsByUserId(int userId) {
+	public Collection<Post> getLikedPostsByUserId(int userId, Integer beforePostId, Integer limit) {
 		try (Timer.Context context = getLikedPostsByUserIdTimer.time()) {
-			return dataService.getLikedPostsByUserId(userId);
+			return dataService.getLikedPostsByUserId(userId, beforePostId, limit);
+		}
+	}
+
+	@Override
+	public Collection<Post> getPostsMentioningUserId(int userId, Integer beforePostId, Integer limit) {
+		try (Timer.Context context = getPostsMentioningUserIdTimer.time()) {
+			return dataService.getPostsMentioningUserId(userId, beforePostId, limit);
 		}
 	}
 
@@ -283,9 +336,21 @@ public class DataServiceWithMetrics implements DataService {
 	}
 
 	@Override
-	public Collection<Comment> getCommentsByUserId(int userId) {
+	public String getCommentsVersion(int postId) {
+		return dataService.getCommentsVersion(postId);
+	}
+
+	@Override
+	public Collection<Comment> getCommentsByUserId(int userId, Integer beforeCommentId, Integer limit) {
 		try (Timer.Context context = getCommentsByUserIdTimer.time()) {
-			return dataService.getCommentsByUserId(userId);
+			return dataService.getCommentsByUserId(userId, beforeCommentId, limit);
+		}
+	}
+
+	@Override
+	public Collection<Comment> getCommentsMentioningUserId(int userId, Integer beforeCommentId, Integer limit) {
+		try (Timer.Context context = getCommentsMentioningUserIdTimer.time()) {
+			return dataService.getCommentsMentioningUserId(userId, beforeCommentId, limit);
 		}
 	}
 
@@ -296,6 +361,18 @@ public class DataServiceWithMetrics implements DataService {
 		}
 	}
 
+	@Override
+	public Collection<Comment> getCommentsByIds(Collection<Integer> commentIds) {
+		try (Timer.Context context = getCommentsByIdsTimer.time()) {
+			return dataService.getCommentsByIds(commentIds);
+		}
+	}
+
+	@Override
+	public String getCommentVersion(int commentId) {
+		return dataService.getCommentVersion(commentId);
+	}
+
 	@Override
 	public Integer getUserIdFromCommentId(int commentId) {
 		try (Timer.Context context = getUserIdFromCommentIdTimer.time()) {
@@ -366,6 +443,13 @@ public class DataServiceWithMetrics implements DataService {
 		}
 	}
 
+	@Override
+	public int getNumberOfFollowers(String username) {
+		try (Timer.Context context = getNumberOfFollowersTimer.time()) {
+			return dataService.getNumberOfFollowers(username);
+		}
+	}
+
 	@Override
 	public Collection<String> getFollowingUsernames(String username) {
 		try (Timer.Context context = getFollowingUsernamesTimer.time()) {
@@ -6,44 +6,79 @@ import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.TreeMap;
+import java.util.Locale;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
-import com.google.common.collect.Multimap;
-import com.google.common.collect.Ordering;
-import com.google.common.collect.TreeMultimap;
 import com.jms.socialmedia.model.Comment;
 import com.jms.socialmedia.model.Entry;
 import com.jms.socialmedia.model.NewUser;
 import com.jms.socialmedia.model.Post;
 import com.jms.socialmedia.model.User;
 import com.jms.socialmedia.model.UserPage;
+import com.jms.socialmedia.utils.TagsUtils;
 
 import static java.util.stream.Collectors.toList;
 
+/**
+ * In-memory DataService, safe to share between request threads.
+ *
+ * Users are indexed by lower case username and email. Posts are indexed by User, Tag and the Users who liked
+ * and mentioned them, and Comments by Post and the Users who made and mentioned them. The indexes of IDs are sorted newest first, like the pages of Posts and Comments returned,
+ * so a page is read straight off an index instead of scanning every Post or Comment
+ */
 public class MockDataService implements DataService {
 
 	private final Map<Integer, User> usersById;
+	private final Map<String, Integer> userIdsByUsername;
+	private final Map<String, Integer> userIdsByEmail;
 	private final Map<String, UserPage> userPagesByUsername;
 	private final Map<String, Integer> userSessionKeys;
-	private final Map<Integer, Post> postsById;
+	private final NavigableMap<Integer, Post> postsById;
+	private final Map<Integer, NavigableSet<Integer>> postIdsByUserId;
+	private final Map<String, NavigableSet<Integer>> postIdsByTag;
+	private final Map<Integer, NavigableSet<Integer>> likedPostIdsByUserId;
+	private final Map<Integer, NavigableSet<Integer>> mentioningPostIdsByUserId;
 	private final Map<Integer, Comment> commentsById;
-	private final Multimap<Integer, Comment> commentsByPostId;
+	private final Map<Integer, NavigableMap<Integer, Comment>> commentsByPostId;
+	private final Map<Integer, NavigableSet<Integer>> commentIdsByUserId;
+	private final Map<Integer, NavigableSet<Integer>> mentioningCommentIdsByUserId;
+	private final AtomicInteger lastUserId;
+	private final AtomicInteger lastPostId;
+	private final AtomicInteger lastCommentId;
 	private final Map<String, Comparator<Post>> postSorters;
 
 	public MockDataService() {
 
-		usersById = new HashMap<>();
-		userPagesByUsername = new HashMap<>();
-		userSessionKeys = new HashMap<>();
-		postsById = new TreeMap<>((a, b) -> b.compareTo(a));
-		commentsById = new HashMap<>();
-		commentsByPostId = TreeMultimap.create(Ordering.natural(),
-				(a, b) -> a.getCommentId().compareTo(b.getCommentId()));
+		usersById = new ConcurrentHashMap<>();
+		userIdsByUsername = new ConcurrentHashMap<>();
+		userIdsByEmail = new ConcurrentHashMap<>();
+		userPagesByUsername = new ConcurrentHashMap<>();
+		userSessionKeys = new ConcurrentHashMap<>();
+		postsById = new ConcurrentSkipListMap<>(Comparator.reverseOrder());
+		postIdsByUserId = new ConcurrentHashMap<>();
+		postIdsByTag = new ConcurrentHashMap<>();
+		likedPostIdsByUserId = new ConcurrentHashMap<>();
+		mentioningPostIdsByUserId = new ConcurrentHashMap<>();
+		commentsById = new ConcurrentHashMap<>();
+		commentsByPostId = new ConcurrentHashMap<>();
+		commentIdsByUserId = new ConcurrentHashMap<>();
+		mentioningCommentIdsByUserId = new ConcurrentHashMap<>();
+		lastUserId = new AtomicInteger();
+		lastPostId = new AtomicInteger();
+		lastCommentId = new AtomicInteger();
 		postSorters = Map.of("postId", (a, b) -> a.getPostId().compareTo(b.getPostId()), "userId",
 				(a, b) -> a.getUserId().compareTo(b.getUserId()), "username",
 				(a, b) -> a.getUsername().compareTo(b.getUsername()), "fullName",
@@ -57,51 +92,68 @@ public class MockDataService implements DataService {
 
 	@Override
 	public Integer getUserIdByUsername(String username) {
-		return usersById.values().stream().filter(user -> user.getUsername().equalsIgnoreCase(username))
-				.map(User::getUserId).findAny().orElse(null);
+		return username == null ? null : userIdsByUsername.get(toKey(username));
 	}
 
 	@Override
 	public UserPage getUserPageInfoByName(String username) {
-		return userPagesByUsername.values().stream().filter(page -> page.getUsername().equalsIgnoreCase(username)).findAny()
-				.orElse(null);
+		UserPage userPage = userPagesByUsername.get(toKey(username));
+		return userPage == null ? null : copyOf(userPage);
 	}
 
 	@Override
-	public User getUserLoginInfoByString(String username) {
-		return usersById.values().stream().filter(user -> username.equalsIgnoreCase(user.getUsername())).findFirst()
-				.orElse(null);
+	public Collection<UserPage> getUserPagesByNames(Collection<String> usernames) {
+		// Copies of the User Pages already include their followers and following
+		return usernames.stream().map(this::getUserPageInfoByName).filter(Objects::nonNull).collect(toList());
 	}
 
 	@Override
-	public User getHashedPasswordByUserId(Integer userId) {
-		return usersById.values().stream().filter(user -> userId.equals(user.getUserId())).findFirst().orElse(null);
+	public User getUserLoginInfoByString(String usernameOrEmail) {
+		Integer userId = getUserIdByUsername(usernameOrEmail);
+		if (userId == null) {
+			userId = userIdsByEmail.get(toKey(usernameOrEmail));
+		}
+		return userId == null ? null : usersById.get(userId);
+	}
 
+	@Override
+	public User getHashedPasswordByUserId(Integer userId) {
+		return usersById.get(userId);
 	}
 
 	@Override
 	public Collection<String> getUsernamesToFollow(String username) {
 		Collection<String> usernames = new HashSet<>(getFollowingUsernames(username));
 		usernames.add(username);
-		return userPagesByUsername.keySet().stream().filter(name -> !usernames.contains(name)).collect(toList());
+		return userPagesByUsername.values().stream().map(UserPage::getUsername).filter(name -> !usernames.contains(name))
+				.collect(toList());
 	}
 
 	@Override
 	public boolean isUsernameTaken(String username) {
-		return usersById.values().stream().anyMatch(user -> username.equalsIgnoreCase(user.getUsername()));
+		return userIdsByUsername.containsKey(toKey(username));
 	}
 
 	@Override
 	public boolean isEmailTaken(String email) {
-		return userPagesByUsername.values().stream().anyMatch(userPage -> email.equalsIgnoreCase(userPage.getEmail()));
+		return userIdsByEmail.containsKey(toKey(email));
 	}
 
+	/**
+	 * The username is claimed first, so of two Users added at once with the same username, only one is added
+	 */
 	@Override
 	public boolean addUser(NewUser newUser) {
-		int userId = usersById.size() + 1;
+		int userId = lastUserId.incrementAndGet();
+		if (userIdsByUsername.putIfAbsent(toKey(newUser.getUsername()), userId) != null) {
+			return false;
+		}
 		newUser.setUserId(userId);
 		User user = new User(userId, newUser.getUsername(), newUser.getFullName(), newUser.getHashedPassword());
 		usersById.put(user.getUserId(), user);
+		if (newUser.getEmail() != null) {
+			userIdsByEmail.put(toKey(newUser.getEmail()), userId);
+		}
 		UserPage userPage = new UserPage();
 		userPage.setUserId(userId);
 		userPage.setUsername(newUser.getUsername());
@@ -110,7 +162,7 @@ public class MockDataService implements DataService {
 		userPage.setBirthDate(newUser.getBirthDate());
 		userPage.setProfilePictureLink(newUser.getProfilePictureLink());
 		userPage.setDateTimeJoined(LocalDateTime.now());
-		userPagesByUsername.put(newUser.getUsername(), userPage);
+		userPagesByUsername.put(toKey(newUser.getUsername()), userPage);
 		return true;
 	}
 
@@ -128,7 +180,8 @@ public class MockDataService implements DataService {
 
 	@Override
 	public User getUserBySessionId(String sessionId) {
-		return usersById.get(userSessionKeys.get(sessionId));
+		Integer userId = userSessionKeys.get(sessionId);
+		return userId == null ? null : usersById.get(userId);
 	}
 
 	@Override
@@ -138,24 +191,51 @@ public class MockDataService implements DataService {
 
 	@Override
 	public Collection<Post> getPosts(Collection<Integer> userIds, Collection<String> usernames, String tag, String onDate,
-			String beforeDate, String afterDate, Integer sincePostId, String sortBy, boolean sortOrderAsc) {
+			String beforeDate, String afterDate, Integer sincePostId, Integer beforePostId, Integer limit, String sortBy,
+			boolean sortOrderAsc) {
 		DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MM-dd-yyyy");
 
-		Comparator<Post> comparator = postSorters.get(Optional.ofNullable(sortBy).orElse("postId"));
+		String sortField = Optional.ofNullable(sortBy).orElse("postId");
+		Comparator<Post> comparator = postSorters.get(sortField);
 		if (!sortOrderAsc) {
 			comparator = comparator.reversed();
 		}
-		return postsById.values().stream().filter(post -> userIds == null || userIds.contains(post.getUserId()))
+		Collection<NavigableSet<Integer>> postIdIndexes = getPostIdIndexes(userIds, usernames, tag);
+		Stream<Post> posts = postIdIndexes.stream()
+				.flatMap(postIds -> between(postIds, sincePostId, beforePostId).stream())
+				.map(postsById::get).filter(Objects::nonNull)
+				.filter(post -> userIds == null || userIds.contains(post.getUserId()))
 				.filter(post -> usernames == null || usernames.contains(post.getUsername()))
-				.filter(post -> sincePostId == null || sincePostId < post.getPostId())
-				.filter(post -> tag == null || post.getText().contains(tag))
 				.filter(post -> onDate == null
 						|| post.getTimestamp().toLocalDate().equals(LocalDate.parse(onDate, formatter)))
 				.filter(post -> beforeDate == null
-						|| post.getTimestamp().toLocalDate().isAfter(LocalDate.parse(beforeDate, formatter)))
+						|| post.getTimestamp().toLocalDate().isBefore(LocalDate.parse(beforeDate, formatter)))
 				.filter(post -> afterDate == null
-						|| post.getTimestamp().toLocalDate().isAfter(LocalDate.parse(afterDate, formatter)))
-				.sorted(comparator).collect(toList());
+						|| post.getTimestamp().toLocalDate().isAfter(LocalDate.parse(afterDate, formatter)));
+		// A single index is already sorted newest first
+		if (postIdIndexes.size() != 1 || !"postId".equals(sortField) || sortOrderAsc) {
+			posts = posts.sorted(comparator);
+		}
+		return posts.limit(toMaxSize(limit)).collect(toList());
+	}
+
+	/**
+	 * @return	the indexes of Post IDs that hold every Post matching the filters, the narrowest ones available
+	 */
+	private Collection<NavigableSet<Integer>> getPostIdIndexes(Collection<Integer> userIds, Collection<String> usernames,
+			String tag) {
+		if (tag != null) {
+			return Collections.singleton(postIdsByTag.getOrDefault(toKey(tag), Collections.emptyNavigableSet()));
+		}
+		Stream<Integer> userIdsOfPosts;
+		if (userIds != null) {
+			userIdsOfPosts = userIds.stream();
+		} else if (usernames != null) {
+			userIdsOfPosts = usernames.stream().map(this::getUserIdByUsername).filter(Objects::nonNull);
+		} else {
+			return Collections.singleton(postsById.navigableKeySet());
+		}
+		return userIdsOfPosts.distinct().map(postIdsByUserId::get).filter(Objects::nonNull).collect(toList());
 	}
 
 	@Override
@@ -163,6 +243,11 @@ public class MockDataService implements DataService {
 		return postsById.get(postId);
 	}
 
+	@Override
+	public Collection<Post> getPostsByIds(Collection<Integer> postIds) {
+		return postIds.stream().map(postsById::get).filter(Objects::nonNull).collect(toList());
+	}
+
 	@Override
 	public Integer getUserIdFromPostId(int postId) {
 		return getPost(postId).getUserId();
@@ -171,40 +256,73 @@ public class MockDataService implements DataService {
 	@Override
 	public boolean addPost(Post post) {
 		if (post.getPostId() == null) {
-			post.setPostId(postsById.size() + 1);
+			post.setPostId(lastPostId.incrementAndGet());
+		} else {
+			lastPostId.accumulateAndGet(post.getPostId(), Math::max);
 		}
 		if (post.getTimestamp() == null) {
 			post.setTimestamp(LocalDateTime.now());
 		}
-		post.setLikes(new ArrayList<>());
+		post.setLikes(new CopyOnWriteArrayList<>());
 		setCreatorOfEntry(post, usersById.get(post.getUserId()));
-		return postsById.put(post.getPostId(), post) == null;
+		if (postsById.putIfAbsent(post.getPostId(), post) != null) {
+			return false;
+		}
+		indexOf(postIdsByUserId, post.getUserId()).add(post.getPostId());
+		addTags(post.getPostId(), post.getText());
+		addMentions(mentioningPostIdsByUserId, post.getPostId(), post.getText());
+		return true;
 	}
 
 	@Override
 	public boolean editPost(int postId, String postText) {
-		postsById.get(postId).setText(postText);
+		Post post = postsById.get(postId);
+		removeTags(postId, post.getText());
+		removeMentions(mentioningPostIdsByUserId, postId, post.getText());
+		post.setText(postText);
+		addTags(postId, postText);
+		addMentions(mentioningPostIdsByUserId, postId, postText);
 		return true;
 	}
 
 	@Override
 	public boolean deletePost(int postId) {
-		commentsByPostId.removeAll(postId);
-		return postsById.remove(postId) != null;
+		NavigableMap<Integer, Comment> comments = commentsByPostId.remove(postId);
+		if (comments != null) {
+			comments.values().forEach(this::removeComment);
+		}
+		Post post = postsById.remove(postId);
+		if (post == null) {
+			return false;
+		}
+		removeFromIndex(postIdsByUserId, post.getUserId(), postId);
+		removeTags(postId, post.getText());
+		removeMentions(mentioningPostIdsByUserId, postId, post.getText());
+		for (String username : post.getLikes()) {
+			removeFromIndex(likedPostIdsByUserId, getUserIdByUsername(username), postId);
+		}
+		return true;
+	}
+
+	@Override
+	public Collection<Post> getCommentedPostsByUserId(int userId, Integer beforePostId, Integer limit) {
+		return commentIdsByUserId.getOrDefault(userId, Collections.emptyNavigableSet()).stream()
+				.map(commentsById::get).filter(Objects::nonNull).map(Comment::getPostId).distinct()
+				.filter(postId -> beforePostId == null || beforePostId > postId)
+				.sorted(Comparator.reverseOrder()).map(postsById::get).filter(Objects::nonNull)
+				.limit(toMaxSize(limit)).collect(toList());
 	}
 
 	@Override
-	public Collection<Post> getCommentedPostsByUserId(int userId) {
-		Collection<Integer> postIds = commentsByPostId.entries().stream()
-				.filter(entry -> entry.getValue().getUserId() == userId).map(Map.Entry::getKey).collect(toList());
-		return postsById.values().stream().filter(post -> postIds.contains(post.getPostId()))
-				.sorted((a, b) -> b.getPostId().compareTo(a.getPostId())).collect(toList());
+	public Collection<Post> getLikedPostsByUserId(int userId, Integer beforePostId, Integer limit) {
+		return between(likedPostIdsByUserId.getOrDefault(userId, Collections.emptyNavigableSet()), null, beforePostId)
+				.stream().map(postsById::get).filter(Objects::nonNull).limit(toMaxSize(limit)).collect(toList());
 	}
 
 	@Override
-	public Collection<Post> getLikedPostsByUserId(int userId) {
-		return postsById.values().stream().filter(post -> post.getLikes().contains(usersById.get(userId).getUsername()))
-				.sorted((a, b) -> b.getPostId().compareTo(a.getPostId())).collect(toList());
+	public Collection<Post> getPostsMentioningUserId(int userId, Integer beforePostId, Integer limit) {
+		return between(mentioningPostIdsByUserId.getOrDefault(userId, Collections.emptyNavigableSet()), null, beforePostId)
+				.stream().map(postsById::get).filter(Objects::nonNull).limit(toMaxSize(limit)).collect(toList());
 	}
 
 	@Override
@@ -217,9 +335,20 @@ public class MockDataService implements DataService {
 		return likePost(postId, usersById.get(userId).getUsername());
 	}
 
+	/**
+	 * The like is claimed in the index first, so a User liking a Post twice at once only likes it once
+	 */
 	@Override
 	public boolean likePost(int postId, String username) {
-		return getPost(postId).addLike(username);
+		Post post = getPost(postId);
+		if (post == null) {
+			return false;
+		}
+		Integer userId = getUserIdByUsername(username);
+		if (userId != null && !indexOf(likedPostIdsByUserId, userId).add(postId)) {
+			return false;
+		}
+		return post.addLike(username);
 	}
 
 	@Override
@@ -229,17 +358,28 @@ public class MockDataService implements DataService {
 
 	@Override
 	public boolean unlikePost(int postId, String username) {
-		return getPost(postId).removeLike(username);
+		Post post = getPost(postId);
+		removeFromIndex(likedPostIdsByUserId, getUserIdByUsername(username), postId);
+		return post.removeLike(username);
 	}
 
 	@Override
 	public Collection<Comment> getComments(int postId) {
-		return commentsByPostId.get(postId);
+		NavigableMap<Integer, Comment> comments = commentsByPostId.get(postId);
+		return comments == null ? Collections.emptyList() : new ArrayList<>(comments.values());
 	}
 
 	@Override
-	public Collection<Comment> getCommentsByUserId(int userId) {
-		return commentsById.values().stream().filter(comment -> comment.getUserId() == userId).collect(toList());
+	public Collection<Comment> getCommentsByUserId(int userId, Integer beforeCommentId, Integer limit) {
+		return between(commentIdsByUserId.getOrDefault(userId, Collections.emptyNavigableSet()), null, beforeCommentId)
+				.stream().map(commentsById::get).filter(Objects::nonNull).limit(toMaxSize(limit)).collect(toList());
+	}
+
+	@Override
+	public Collection<Comment> getCommentsMentioningUserId(int userId, Integer beforeCommentId, Integer limit) {
+		return between(mentioningCommentIdsByUserId.getOrDefault(userId, Collections.emptyNavigableSet()), null,
+				beforeCommentId).stream().map(commentsById::get).filter(Objects::nonNull).limit(toMaxSize(limit))
+				.collect(toList());
 	}
 
 	@Override
@@ -247,6 +387,11 @@ public class MockDataService implements DataService {
 		return commentsById.get(commentId);
 	}
 
+	@Override
+	public Collection<Comment> getCommentsByIds(Collection<Integer> commentIds) {
+		return commentIds.stream().map(commentsById::get).filter(Objects::nonNull).collect(toList());
+	}
+
 	@Override
 	public Integer getUserIdFromCommentId(int commentId) {
 		return getComment(commentId).getUserId();
@@ -254,14 +399,18 @@ public class MockDataService implements DataService {
 
 	@Override
 	public boolean addComment(Comment comment) {
-		comment.setCommentId(commentsByPostId.size() + 1);
+		comment.setCommentId(lastCommentId.incrementAndGet());
 		if (comment.getTimestamp() == null) {
 			comment.setTimestamp(LocalDateTime.now());
 		}
-		comment.setLikes(new ArrayList<>());
+		comment.setLikes(new CopyOnWriteArrayList<>());
 		setCreatorOfEntry(comment, usersById.get(comment.getUserId()));
 		commentsById.put(comment.getCommentId(), comment);
-		return commentsByPostId.put(comment.getPostId(), comment);
+		commentsByPostId.computeIfAbsent(comment.getPostId(), postId -> new ConcurrentSkipListMap<>())
+				.put(comment.getCommentId(), comment);
+		indexOf(commentIdsByUserId, comment.getUserId()).add(comment.getCommentId());
+		addMentions(mentioningCommentIdsByUserId, comment.getCommentId(), comment.getText());
+		return true;
 	}
 
 	@Override
@@ -270,15 +419,29 @@ public class MockDataService implements DataService {
 		if (comment == null) {
 			return false;
 		}
+		removeMentions(mentioningCommentIdsByUserId, commentId, comment.getText());
 		comment.setText(commentText);
+		addMentions(mentioningCommentIdsByUserId, commentId, commentText);
 		return true;
 	}
 
 	@Override
 	public boolean deleteComment(int commentId) {
 		Comment comment = getComment(commentId);
-		return comment != null
-				&& (commentsById.remove(commentId, comment) & commentsByPostId.remove(comment.getPostId(), comment));
+		if (comment == null || !removeComment(comment)) {
+			return false;
+		}
+		NavigableMap<Integer, Comment> comments = commentsByPostId.get(comment.getPostId());
+		return comments != null && comments.remove(commentId, comment);
+	}
+
+	private boolean removeComment(Comment comment) {
+		if (!commentsById.remove(comment.getCommentId(), comment)) {
+			return false;
+		}
+		removeFromIndex(commentIdsByUserId, comment.getUserId(), comment.getCommentId());
+		removeMentions(mentioningCommentIdsByUserId, comment.getCommentId(), comment.getText());
+		return true;
 	}
 
 	@Override
@@ -308,12 +471,26 @@ public class MockDataService implements DataService {
 
 	@Override
 	public Collection<String> getFollowerUsernames(String username) {
-		return userPagesByUsername.get(username).getFollowersUsernames();
+		UserPage userPage = userPagesByUsername.get(toKey(username));
+		synchronized (userPage) {
+			return new HashSet<>(userPage.getFollowersUsernames());
+		}
+	}
+
+	@Override
+	public int getNumberOfFollowers(String username) {
+		UserPage userPage = userPagesByUsername.get(toKey(username));
+		synchronized (userPage) {
+			return userPage.getFollowersUsernames().size();
+		}
 	}
 
 	@Override
 	public Collection<String> getFollowingUsernames(String username) {
-		return userPagesByUsername.get(username).getFollowingUsernames();
+		UserPage userPage = userPagesByUsername.get(toKey(username));
+		synchronized (userPage) {
+			return new HashSet<>(userPage.getFollowingUsernames());
+		}
 	}
 
 	@Override
@@ -327,8 +504,15 @@ public class MockDataService implements DataService {
 			followingUsername = usersById.get(followingUserId).getUsername();
 		}
 
-		boolean addFollowerUsername = getFollowerUsernames(followingUsername).add(followerUsername);
-		return getFollowingUsernames(followerUsername).add(followingUsername) && addFollowerUsername;
+		UserPage followingUserPage = userPagesByUsername.get(toKey(followingUsername));
+		UserPage followerUserPage = userPagesByUsername.get(toKey(followerUsername));
+		boolean addFollowerUsername;
+		synchronized (followingUserPage) {
+			addFollowerUsername = followingUserPage.addFollowersUsernames(followerUsername);
+		}
+		synchronized (followerUserPage) {
+			return followerUserPage.addFollowingUsernames(followingUsername) && addFollowerUsername;
+		}
 	}
 
 	@Override
@@ -342,15 +526,25 @@ public class MockDataService implements DataService {
 			followingUsername = usersById.get(followingUserId).getUsername();
 		}
 
-		boolean removeFollowerUserId = getFollowerUsernames(followingUsername).remove(followerUsername);
-		return getFollowingUsernames(followerUsername).remove(followingUsername) && removeFollowerUserId;
+		UserPage followingUserPage = userPagesByUsername.get(toKey(followingUsername));
+		UserPage followerUserPage = userPagesByUsername.get(toKey(followerUsername));
+		boolean removeFollowerUsername;
+		synchronized (followingUserPage) {
+			removeFollowerUsername = followingUserPage.getFollowersUsernames().remove(followerUsername);
+		}
+		synchronized (followerUserPage) {
+			return followerUserPage.getFollowingUsernames().remove(followingUsername) && removeFollowerUsername;
+		}
 	}
 
 	private void setupUsers() {
 		User user = new User(1, "user", "Visitor", "password");
 		User jason = new User(2, "Jason", "Jason Sarwar", "#$%@%$%");
-		usersById.put(1, user);
-		usersById.put(2, jason);
+		for (User setupUser : Arrays.asList(user, jason)) {
+			usersById.put(setupUser.getUserId(), setupUser);
+			userIdsByUsername.put(toKey(setupUser.getUsername()), setupUser.getUserId());
+			lastUserId.accumulateAndGet(setupUser.getUserId(), Math::max);
+		}
 
 		UserPage userPage = new UserPage();
 		userPage.setUserId(user.getUserId());
@@ -358,7 +552,7 @@ public class MockDataService implements DataService {
 		userPage.setFullName(user.getFullName());
 		userPage.setBio("Awesome person visiting Jason's website!");
 		userPage.setDateTimeJoined(LocalDateTime.now());
-		userPagesByUsername.put(user.getUsername(), userPage);
+		userPagesByUsername.put(toKey(user.getUsername()), userPage);
 
 		UserPage jasonPage = new UserPage();
 		jasonPage.setUserId(jason.getUserId());
@@ -367,7 +561,8 @@ public class MockDataService implements DataService {
 		jasonPage.setEmail("jason_sarwar@jms.com");
 		jasonPage.setBio("Trying to create this website.");
 		jasonPage.setDateTimeJoined(LocalDateTime.of(2019, 1, 1, 0, 0, 0));
-		userPagesByUsername.put(jason.getUsername(), jasonPage);
+		userPagesByUsername.put(toKey(jason.getUsername()), jasonPage);
+		userIdsByEmail.put(toKey(jasonPage.getEmail()), jason.getUserId());
 	}
 
 	private void setupPosts() {
@@ -380,7 +575,6 @@ public class MockDataService implements DataService {
 
 		Collection<Post> posts = Arrays.asList(firstPost, secondPost, thirdPost);
 		for (Post post : posts) {
-			post.setLikes(new ArrayList<>());
 			setCreatorOfEntry(post, user);
 			addPost(post);
 		}
@@ -396,7 +590,6 @@ public class MockDataService implements DataService {
 
 		Collection<Comment> comments = Arrays.asList(firstComment, secondComment, thirdComment);
 		for (Comment comment : comments) {
-			comment.setLikes(new ArrayList<>());
 			setCreatorOfEntry(comment, user);
 			addComment(comment);
 		}
@@ -407,4 +600,88 @@ public class MockDataService implements DataService {
 		entry.setUsername(user.getUsername());
 		entry.setFullName(user.getFullName());
 	}
+
+	private void addTags(int postId, String text) {
+		for (String tag : TagsUtils.extractTags(text)) {
+			indexOf(postIdsByTag, tag).add(postId);
+		}
+	}
+
+	private void removeTags(int postId, String text) {
+		for (String tag : TagsUtils.extractTags(text)) {
+			removeFromIndex(postIdsByTag, tag, postId);
+		}
+	}
+
+	/**
+	 * Mentions of usernames without a User are not indexed
+	 */
+	private void addMentions(Map<Integer, NavigableSet<Integer>> index, int entryId, String text) {
+		for (String username : TagsUtils.extractMentions(text)) {
+			Integer userId = getUserIdByUsername(username);
+			if (userId != null) {
+				indexOf(index, userId).add(entryId);
+			}
+		}
+	}
+
+	private void removeMentions(Map<Integer, NavigableSet<Integer>> index, int entryId, String text) {
+		for (String username : TagsUtils.extractMentions(text)) {
+			removeFromIndex(index, getUserIdByUsername(username), entryId);
+		}
+	}
+
+	private static UserPage copyOf(UserPage userPage) {
+		UserPage copy = new UserPage();
+		copy.setUserId(userPage.getUserId());
+		copy.setUsername(userPage.getUsername());
+		copy.setFullName(userPage.getFullName());
+		copy.setEmail(userPage.getEmail());
+		copy.setBio(userPage.getBio());
+		copy.setBirthDate(userPage.getBirthDate());
+		copy.setDateTimeJoined(userPage.getDateTimeJoined());
+		copy.setProfilePictureLink(userPage.getProfilePictureLink());
+		synchronized (userPage) {
+			copy.addFollowersUsernames(userPage.getFollowersUsernames());
+			copy.addFollowingUsernames(userPage.getFollowingUsernames());
+		}
+		return copy;
+	}
+
+	/**
+	 * @return	the IDs indexed under the key, newest first
+	 */
+	private static <K> NavigableSet<Integer> indexOf(Map<K, NavigableSet<Integer>> index, K key) {
+		return index.computeIfAbsent(key, k -> new ConcurrentSkipListSet<>(Comparator.reverseOrder()));
+	}
+
+	private static <K> void removeFromIndex(Map<K, NavigableSet<Integer>> index, K key, int id) {
+		if (key != null) {
+			index.getOrDefault(key, Collections.emptyNavigableSet()).remove(id);
+		}
+	}
+
+	/**
+	 * @param ids		IDs sorted newest first
+	 * @param sinceId	only keep IDs after this ID, can be {@code null}
+	 * @param beforeId	only keep IDs before this ID, can be {@code null}
+	 */
+	private static NavigableSet<Integer> between(NavigableSet<Integer> ids, Integer sinceId, Integer beforeId) {
+		if (sinceId != null && beforeId != null) {
+			return sinceId < beforeId ? ids.subSet(beforeId, false, sinceId, false) : Collections.emptyNavigableSet();
+		} else if (beforeId != null) {
+			return ids.tailSet(beforeId, false);
+		} else if (sinceId != null) {
+			return ids.headSet(sinceId, false);
+		}
+		return ids;
+	}
+
+	private static String toKey(String usernameOrEmail) {
+		return usernameOrEmail.toLowerCase(Locale.US);
+	}
+
+	private static long toMaxSize(Integer limit) {
+		return limit == null ? Long.MAX_VALUE : limit;
+	}
 }
@@ -2,55 +2,126 @@ package com.jms.socialmedia.dataservice;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Collection;
-
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.datasource.pooled.PoolState;
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
 import org.apache.ibatis.io.Resources;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.apache.ibatis.session.SqlSessionFactoryBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.codahale.metrics.MetricRegistry;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Maps;
 
 import com.jms.socialmedia.configuration.Configurations;
 import com.jms.socialmedia.configuration.CoreSettings;
 import com.jms.socialmedia.model.Comment;
+import com.jms.socialmedia.model.Entry;
+import com.jms.socialmedia.model.Follow;
+import com.jms.socialmedia.model.Like;
 import com.jms.socialmedia.model.NewUser;
 import com.jms.socialmedia.model.Post;
 import com.jms.socialmedia.model.User;
 import com.jms.socialmedia.model.UserPage;
 import com.jms.socialmedia.mybatis.CommentsMapper;
 import com.jms.socialmedia.mybatis.FollowersMapper;
+import com.jms.socialmedia.mybatis.MentionsMapper;
 import com.jms.socialmedia.mybatis.PostsMapper;
+import com.jms.socialmedia.mybatis.ReplicaSqlSessionFactory;
 import com.jms.socialmedia.mybatis.SqlSessionCommentsMapper;
 import com.jms.socialmedia.mybatis.SqlSessionCreateTablesMapper;
 import com.jms.socialmedia.mybatis.SqlSessionFollowersMapper;
+import com.jms.socialmedia.mybatis.SqlSessionMentionsMapper;
 import com.jms.socialmedia.mybatis.SqlSessionPostsMapper;
 import com.jms.socialmedia.mybatis.SqlSessionTagsMapper;
 import com.jms.socialmedia.mybatis.SqlSessionUsersMapper;
 import com.jms.socialmedia.mybatis.TagsMapper;
 import com.jms.socialmedia.mybatis.UsersMapper;
 import com.jms.socialmedia.utils.TagsUtils;
+import com.jms.socialmedia.utils.TagsUtils.TagsAndMentions;
 
 public class MybatisDataService implements DataService {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(MybatisDataService.class);
+	// Oracle does not allow more than 1000 expressions in an IN list
+	private static final int MAX_IDS_PER_QUERY = 1000;
+	private static final String DB_URL_PROPERTY = "db.url";
 
 	private final UsersMapper usersMapper;
 	private final PostsMapper postsMapper;
 	private final CommentsMapper commentsMapper;
 	private final TagsMapper tagsMapper;
+	private final MentionsMapper mentionsMapper;
 	private final FollowersMapper followersMapper;
+	// Reads that can be a little behind the primary Database are made on its replicas, when there are any
+	private final UsersMapper readUsersMapper;
+	private final PostsMapper readPostsMapper;
+	private final CommentsMapper readCommentsMapper;
+	private final FollowersMapper readFollowersMapper;
 
 	public MybatisDataService(Configurations configuration) throws IOException {
-		InputStream inputStream = Resources.getResourceAsStream(configuration.get(CoreSettings.MYBATIS_CONFIG_FILE_PATH));
-		SqlSessionFactory factory = new SqlSessionFactoryBuilder().build(inputStream, configuration.getProperties());
+		this(configuration, null);
+	}
+
+	/**
+	 * Writes, and reads that must see them, are made on the Database at db.url.
+	 * Lists of Posts and Comments, user pages and Users to follow are read from the replicas at db.replica.urls instead, when set
+	 * @param metricRegistry	registers the gauges of the connection pools, can be {@code null}
+	 */
+	public MybatisDataService(Configurations configuration, MetricRegistry metricRegistry) throws IOException {
+		String metricsName = MybatisDataService.class.getSimpleName();
+		SqlSessionFactory factory = createSqlSessionFactory(configuration, configuration.getProperties(), metricRegistry,
+				metricsName + ".pool");
+
+		SqlSessionFactory readFactory = factory;
+		List<String> replicaUrls = configuration.get(CoreSettings.DB_REPLICA_URLS);
+		if (replicaUrls != null && !replicaUrls.isEmpty()) {
+			List<SqlSessionFactory> replicaFactories = new ArrayList<>(replicaUrls.size());
+			for (int i = 0; i < replicaUrls.size(); i++) {
+				Properties replicaProperties = new Properties();
+				replicaProperties.putAll(configuration.getProperties());
+				replicaProperties.setProperty(DB_URL_PROPERTY, replicaUrls.get(i).trim());
+				replicaFactories.add(createSqlSessionFactory(configuration, replicaProperties, metricRegistry,
+						metricsName + ".replica" + (i + 1) + ".pool"));
+			}
+			ReplicaSqlSessionFactory replicaSqlSessionFactory = new ReplicaSqlSessionFactory(factory, replicaFactories);
+			replicaSqlSessionFactory.startHealthChecks(configuration.get(CoreSettings.DB_REPLICA_HEALTH_CHECK_INTERVAL_SECONDS));
+			if (metricRegistry != null) {
+				metricRegistry.gauge(metricsName + ".healthyReplicas",
+						() -> replicaSqlSessionFactory::getNumberOfHealthyReplicas);
+			}
+			LOGGER.info("Reading from {} Database replicas", replicaUrls.size());
+			readFactory = replicaSqlSessionFactory;
+		}
 
 		usersMapper = new SqlSessionUsersMapper(factory);
 		postsMapper = new SqlSessionPostsMapper(factory);
 		commentsMapper = new SqlSessionCommentsMapper(factory);
 		tagsMapper = new SqlSessionTagsMapper(factory);
+		mentionsMapper = new SqlSessionMentionsMapper(factory);
 		followersMapper = new SqlSessionFollowersMapper(factory);
+		readUsersMapper = new SqlSessionUsersMapper(readFactory);
+		readPostsMapper = new SqlSessionPostsMapper(readFactory);
+		readCommentsMapper = new SqlSessionCommentsMapper(readFactory);
+		readFollowersMapper = new SqlSessionFollowersMapper(readFactory);
 
 		if (configuration.get(CoreSettings.CREATE_TABLES)) {
 			LOGGER.info("Creating SQL Tables");
@@ -58,16 +129,80 @@ public class MybatisDataService implements DataService {
 		}
 	}
 
+	private static SqlSessionFactory createSqlSessionFactory(Configurations configuration, Properties properties,
+			MetricRegistry metricRegistry, String poolMetricsName) throws IOException {
+		InputStream inputStream = Resources.getResourceAsStream(configuration.get(CoreSettings.MYBATIS_CONFIG_FILE_PATH));
+		SqlSessionFactory factory = new SqlSessionFactoryBuilder().build(inputStream, properties);
+
+		DataSource dataSource = factory.getConfiguration().getEnvironment().getDataSource();
+		if (dataSource instanceof PooledDataSource) {
+			configurePool((PooledDataSource) dataSource, configuration);
+			if (metricRegistry != null) {
+				registerPoolGauges(((PooledDataSource) dataSource).getPoolState(), metricRegistry, poolMetricsName);
+			}
+		}
+		return factory;
+	}
+
+	/**
+	 * Sizes the pool of connections, and passes the db.connection.* properties to the JDBC Driver,
+	 * such as those caching Prepared Statements on the Database server.
+	 * Connections checked out for longer than the maximum checkout time are taken back by the pool
+	 * once it runs out of connections, and counted as claimed overdue
+	 */
+	private static void configurePool(PooledDataSource pooledDataSource, Configurations configuration) {
+		pooledDataSource.setPoolMaximumActiveConnections(configuration.get(CoreSettings.DB_POOL_MAX_ACTIVE_CONNECTIONS));
+		pooledDataSource.setPoolMaximumIdleConnections(configuration.get(CoreSettings.DB_POOL_MAX_IDLE_CONNECTIONS));
+		pooledDataSource.setPoolTimeToWait(configuration.get(CoreSettings.DB_POOL_CONNECTION_TIMEOUT_MILLIS));
+		pooledDataSource.setPoolMaximumCheckoutTime(configuration.get(CoreSettings.DB_POOL_MAX_CHECKOUT_TIME_MILLIS));
+
+		Properties driverProperties = new Properties();
+		Properties properties = configuration.getProperties();
+		for (String name : properties.stringPropertyNames()) {
+			if (name.startsWith(CoreSettings.DB_CONNECTION_PROPERTIES_PREFIX)) {
+				driverProperties.setProperty(name.substring(CoreSettings.DB_CONNECTION_PROPERTIES_PREFIX.length()),
+						properties.getProperty(name));
+			}
+		}
+		if (!driverProperties.isEmpty()) {
+			pooledDataSource.setDriverProperties(driverProperties);
+		}
+	}
+
+	private static void registerPoolGauges(PoolState poolState, MetricRegistry metricRegistry, String metricsName) {
+		metricRegistry.gauge(metricsName + ".activeConnections", () -> poolState::getActiveConnectionCount);
+		metricRegistry.gauge(metricsName + ".idleConnections", () -> poolState::getIdleConnectionCount);
+		metricRegistry.gauge(metricsName + ".requestCount", () -> poolState::getRequestCount);
+		metricRegistry.gauge(metricsName + ".hadToWaitCount", () -> poolState::getHadToWaitCount);
+		metricRegistry.gauge(metricsName + ".averageWaitTime", () -> poolState::getAverageWaitTime);
+		metricRegistry.gauge(metricsName + ".averageCheckoutTime", () -> poolState::getAverageCheckoutTime);
+		metricRegistry.gauge(metricsName + ".claimedOverdueConnections", () -> poolState::getClaimedOverdueConnectionCount);
+		metricRegistry.gauge(metricsName + ".badConnections", () -> poolState::getBadConnectionCount);
+	}
+
+	@VisibleForTesting
+	MybatisDataService(UsersMapper usersMapper, PostsMapper postsMapper, CommentsMapper commentsMapper, 
+			TagsMapper tagsMapper, MentionsMapper mentionsMapper, FollowersMapper followersMapper) {
+		this(usersMapper, postsMapper, commentsMapper, tagsMapper, mentionsMapper, followersMapper, usersMapper,
+				postsMapper, commentsMapper, followersMapper);
+	}
+
 	@VisibleForTesting
 	MybatisDataService(UsersMapper usersMapper, PostsMapper postsMapper, CommentsMapper commentsMapper, 
-			TagsMapper tagsMapper, FollowersMapper followersMapper) {
+			TagsMapper tagsMapper, MentionsMapper mentionsMapper, FollowersMapper followersMapper,
+			UsersMapper readUsersMapper, PostsMapper readPostsMapper, CommentsMapper readCommentsMapper,
+			FollowersMapper readFollowersMapper) {
 
 		this.usersMapper = usersMapper;
 		this.postsMapper = postsMapper;
 		this.commentsMapper = commentsMapper;
 		this.tagsMapper = tagsMapper;
+		this.mentionsMapper = mentionsMapper;
 		this.followersMapper = followersMapper;
-
+		this.readUsersMapper = readUsersMapper;
+		this.readPostsMapper = readPostsMapper;
+		this.readCommentsMapper = readCommentsMapper;
+		this.readFollowersMapper = readFollowersMapper;
 	}
 
 	@Override
@@ -77,7 +212,36 @@ public class MybatisDataService implements DataService {
 
 	@Override
 	public UserPage getUserPageInfoByName(String username) {
-		return usersMapper.getUserPageInfoByName(username);
+		return readUsersMapper.getUserPageInfoByName(username);
+	}
+
+	/**
+	 * Retrieves the User Pages, then the followers and following of all of them, in as few queries as possible
+	 */
+	@Override
+	public Collection<UserPage> getUserPagesByNames(Collection<String> usernames) {
+		Map<String, UserPage> userPagesByUsername = Maps.newLinkedHashMapWithExpectedSize(usernames.size());
+		for (List<String> usernamesPartition : Iterables.partition(usernames, MAX_IDS_PER_QUERY)) {
+			readUsersMapper.getUserPagesInfoByNames(usernamesPartition)
+					.forEach(userPage -> userPagesByUsername.put(toKey(userPage.getUsername()), userPage));
+		}
+		if (userPagesByUsername.isEmpty()) {
+			return new ArrayList<>();
+		}
+		for (List<String> usernamesPartition : Iterables.partition(userPagesByUsername.keySet(), MAX_IDS_PER_QUERY)) {
+			for (Follow follow : readFollowersMapper.getFollowsOfUsernames(usernamesPartition)) {
+				UserPage followingUserPage = userPagesByUsername.get(toKey(follow.getFollowingUsername()));
+				if (followingUserPage != null) {
+					followingUserPage.addFollowersUsernames(follow.getFollowerUsername());
+				}
+				UserPage followerUserPage = userPagesByUsername.get(toKey(follow.getFollowerUsername()));
+				if (followerUserPage != null) {
+					followerUserPage.addFollowingUsernames(follow.getFollowingUsername());
+				}
+			}
+		}
+		return usernames.stream().map(username -> userPagesByUsername.get(toKey(username))).filter(Objects::nonNull)
+				.collect(Collectors.toList());
 	}
 
 	@Override
@@ -92,7 +256,7 @@ public class MybatisDataService implements DataService {
 
 	@Override
 	public Collection<String> getUsernamesToFollow(String username) {
-		return followersMapper.getUsernamesToFollow(username);
+		return readFollowersMapper.getUsernamesToFollow(username);
 	}
 
 	@Override
@@ -132,12 +296,35 @@ public class MybatisDataService implements DataService {
 
 	@Override
 	public Collection<Post> getPosts(Collection<Integer> userIds, Collection<String> usernames, String tag, String onDate, 
-			String beforeDate, String afterDate, Integer sincePostId, String sortBy, boolean sortOrderAsc) {
-		Collection<Post> posts = postsMapper.getPosts(userIds, usernames, tag, onDate, beforeDate, afterDate, sincePostId, sortBy, sortOrderAsc);
-		posts.forEach(post -> post.setLikes(getPostLikes(post.getPostId())));
+			String beforeDate, String afterDate, Integer sincePostId, Integer beforePostId, Integer limit, String sortBy,
+			boolean sortOrderAsc) {
+		Collection<Post> posts = readPostsMapper.getPosts(userIds, usernames, tag, onDate, beforeDate, afterDate, sincePostId,
+				beforePostId, limit, sortBy, sortOrderAsc);
+		setLikesOfPosts(posts, readPostsMapper);
 		return posts;
 	}
 
+	/**
+	 * Feeds are read from the primary Database, as they are kept as Timelines, which would never get
+	 * the Posts a lagging replica missed
+	 */
+	@Override
+	public Collection<Post> getFeedPosts(String username, Integer sincePostId, Integer beforePostId, Integer limit) {
+		Collection<String> usernames = new HashSet<>(followersMapper.getFollowingUsernames(username));
+		usernames.add(username);
+		boolean pageForward = sincePostId != null && beforePostId == null;
+		List<Post> posts = new ArrayList<>(postsMapper.getPosts(null, usernames, null, null, null, null, sincePostId,
+				beforePostId, limit, "postId", pageForward));
+		if (pageForward) {
+			Collections.reverse(posts);
+		}
+		setLikesOfPosts(posts, postsMapper);
+		return posts;
+	}
+
+	/**
+	 * Posts are read by ID from the primary Database, as they are read right after being added, and cached
+	 */
 	@Override
 	public Post getPost(int postId) {
 		Post post = postsMapper.getPost(postId);
@@ -147,6 +334,23 @@ public class MybatisDataService implements DataService {
 		return post;
 	}
 
+	@Override
+	public Collection<Post> getPostsByIds(Collection<Integer> postIds) {
+		Map<Integer, Post> postsById = Maps.newHashMapWithExpectedSize(postIds.size());
+		for (List<Integer> postIdsPartition : Iterables.partition(postIds, MAX_IDS_PER_QUERY)) {
+			postsMapper.getPostsByIds(postIdsPartition).forEach(post -> postsById.put(post.getPostId(), post));
+		}
+		Collection<Post> posts = new ArrayList<>(postsById.size());
+		for (Integer postId : postIds) {
+			Post post = postsById.get(postId);
+			if (post != null) {
+				posts.add(post);
+			}
+		}
+		setLikesOfPosts(posts, postsMapper);
+		return posts;
+	}
+
 	@Override
 	public Integer getUserIdFromPostId(int postId) {
 		return postsMapper.getUserIdFromPostId(postId);
@@ -154,36 +358,57 @@ public class MybatisDataService implements DataService {
 
 	@Override
 	public boolean addPost(Post post) {
-		Collection<String> tags = TagsUtils.extractTagsFromPost(post);
+		TagsAndMentions tagsAndMentions = TagsUtils.extractTagsAndMentions(post.getText());
+		Collection<String> tags = tagsAndMentions.getTags();
 		boolean addedPost = postsMapper.addPost(post) == 1;
 		boolean addedTags = tags.isEmpty() || tagsMapper.addTags(post.getPostId(), tags) == tags.size();
+		addPostMentions(post.getPostId(), tagsAndMentions.getMentions());
 		return addedPost && addedTags;
 	}
 
 	@Override
 	public boolean editPost(int postId, String postText) {
 		tagsMapper.removePostTags(postId);
-		Collection<String> tags = TagsUtils.extractTags(postText);
+		mentionsMapper.removePostMentions(postId);
+		TagsAndMentions tagsAndMentions = TagsUtils.extractTagsAndMentions(postText);
+		Collection<String> tags = tagsAndMentions.getTags();
 		boolean addedTags = tags.isEmpty() || tagsMapper.addTags(postId, tags) == tags.size();
+		addPostMentions(postId, tagsAndMentions.getMentions());
 		return postsMapper.editPost(postId, postText) == 1 && addedTags;
 	}
 
+	/**
+	 * Mentions of usernames without a User are skipped, so they don't fail adding or editing the Post
+	 */
+	private void addPostMentions(int postId, Collection<String> usernames) {
+		if (!usernames.isEmpty()) {
+			mentionsMapper.addPostMentions(postId, usernames);
+		}
+	}
+
 	@Override
 	public boolean deletePost(int postId) {
 		return postsMapper.deletePost(postId) == 1;
 	}
 
 	@Override
-	public Collection<Post> getCommentedPostsByUserId(int userId) {
-		Collection<Post> posts = postsMapper.getCommentedPostsByUserId(userId);
-		posts.forEach(post -> post.setLikes(getPostLikes(post.getPostId())));
+	public Collection<Post> getCommentedPostsByUserId(int userId, Integer beforePostId, Integer limit) {
+		Collection<Post> posts = readPostsMapper.getCommentedPostsByUserId(userId, beforePostId, limit);
+		setLikesOfPosts(posts, readPostsMapper);
 		return posts;
 	}
 
 	@Override
-	public Collection<Post> getLikedPostsByUserId(int userId) {
-		Collection<Post> posts = postsMapper.getLikedPostsByUserId(userId);
-		posts.forEach(post -> post.setLikes(getPostLikes(post.getPostId())));
+	public Collection<Post> getLikedPostsByUserId(int userId, Integer beforePostId, Integer limit) {
+		Collection<Post> posts = readPostsMapper.getLikedPostsByUserId(userId, beforePostId, limit);
+		setLikesOfPosts(posts, readPostsMapper);
+		return posts;
+	}
+
+	@Override
+	public Collection<Post> getPostsMentioningUserId(int userId, Integer beforePostId, Integer limit) {
+		Collection<Post> posts = readPostsMapper.getPostsMentioningUserId(userId, beforePostId, limit);
+		setLikesOfPosts(posts, readPostsMapper);
 		return posts;
 	}
 
@@ -192,6 +417,45 @@ public class MybatisDataService implements DataService {
 		return postsMapper.getPostLikes(postId);
 	}
 
+	private static void setLikesOfPosts(Collection<Post> posts, PostsMapper postsMapper) {
+		setLikesOfEntries(posts, Post::getPostId, postsMapper::getPostLikesByPostIds);
+	}
+
+	private static void setLikesOfComments(Collection<Comment> comments, CommentsMapper commentsMapper) {
+		setLikesOfEntries(comments, Comment::getCommentId, commentsMapper::getCommentLikesByCommentIds);
+	}
+
+	/**
+	 * Retrieves the Likes of all the given {@link Entry}s in as few queries as possible
+	 * and sets them on each Entry
+	 * @param entries		Entries to set the Likes on
+	 * @param entryId		Function returning the ID of an Entry
+	 * @param likesLoader	Function retrieving the Likes of a collection of Entry IDs
+	 */
+	private static <E extends Entry> void setLikesOfEntries(Collection<E> entries, Function<E, Integer> entryId,
+			Function<Collection<Integer>, Collection<Like>> likesLoader) {
+		if (entries.isEmpty()) {
+			return;
+		}
+		List<Integer> entryIds = new ArrayList<>(entries.size());
+		entries.forEach(entry -> entryIds.add(entryId.apply(entry)));
+
+		ListMultimap<Integer, String> likesByEntryId = ArrayListMultimap.create();
+		for (List<Integer> entryIdsPartition : Iterables.partition(entryIds, MAX_IDS_PER_QUERY)) {
+			for (Like like : likesLoader.apply(entryIdsPartition)) {
+				likesByEntryId.put(like.getEntryId(), like.getUsername());
+			}
+		}
+		entries.forEach(entry -> entry.setLikes(new ArrayList<>(likesByEntryId.get(entryId.apply(entry)))));
+	}
+
+	/**
+	 * Usernames are case insensitive, like the queries comparing them
+	 */
+	private static String toKey(String username) {
+		return username.toLowerCase(Locale.US);
+	}
+
 	@Override
 	public boolean likePost(int postId, int userId) {
 		return postsMapper.likePost(postId, userId, null) == 1;
@@ -212,17 +476,27 @@ public class MybatisDataService implements DataService {
 		return postsMapper.unlikePost(postId, null, username) == 1;
 	}
 
+	/**
+	 * The Comments of a Post are read from the primary Database, as they are cached right after a Comment is added
+	 */
 	@Override
 	public Collection<Comment> getComments(int postId) {
 		Collection<Comment> comments = commentsMapper.getComments(postId);
-		comments.forEach(comment -> comment.setLikes(getCommentLikes(comment.getCommentId())));
+		setLikesOfComments(comments, commentsMapper);
 		return comments;
 	}
 
 	@Override
-	public Collection<Comment> getCommentsByUserId(int userId) {
-		Collection<Comment> comments = commentsMapper.getCommentsByUserId(userId);
-		comments.forEach(comment -> comment.setLikes(getCommentLikes(comment.getCommentId())));
+	public Collection<Comment> getCommentsByUserId(int userId, Integer beforeCommentId, Integer limit) {
+		Collection<Comment> comments = readCommentsMapper.getCommentsByUserId(userId, beforeCommentId, limit);
+		setLikesOfComments(comments, readCommentsMapper);
+		return comments;
+	}
+
+	@Override
+	public Collection<Comment> getCommentsMentioningUserId(int userId, Integer beforeCommentId, Integer limit) {
+		Collection<Comment> comments = readCommentsMapper.getCommentsMentioningUserId(userId, beforeCommentId, limit);
+		setLikesOfComments(comments, readCommentsMapper);
 		return comments;
 	}
 
@@ -235,6 +509,27 @@ public class MybatisDataService implements DataService {
 		return comment;
 	}
 
+	/**
+	 * Comments are read by ID from the primary Database, like {@link #getComment(int)}
+	 */
+	@Override
+	public Collection<Comment> getCommentsByIds(Collection<Integer> commentIds) {
+		Map<Integer, Comment> commentsById = Maps.newHashMapWithExpectedSize(commentIds.size());
+		for (List<Integer> commentIdsPartition : Iterables.partition(commentIds, MAX_IDS_PER_QUERY)) {
+			commentsMapper.getCommentsByIds(commentIdsPartition)
+					.forEach(comment -> commentsById.put(comment.getCommentId(), comment));
+		}
+		Collection<Comment> comments = new ArrayList<>(commentsById.size());
+		for (Integer commentId : commentIds) {
+			Comment comment = commentsById.get(commentId);
+			if (comment != null) {
+				comments.add(comment);
+			}
+		}
+		setLikesOfComments(comments, commentsMapper);
+		return comments;
+	}
+
 	@Override
 	public Integer getUserIdFromCommentId(int commentId) {
 		return commentsMapper.getUserIdFromCommentId(commentId);
@@ -242,14 +537,26 @@ public class MybatisDataService implements DataService {
 
 	@Override
 	public boolean addComment(Comment comment) {
-		return commentsMapper.addComment(comment) == 1;
+		boolean addedComment = commentsMapper.addComment(comment) == 1;
+		if (addedComment) {
+			addCommentMentions(comment.getCommentId(), TagsUtils.extractMentions(comment.getText()));
+		}
+		return addedComment;
 	}
 
 	@Override
 	public boolean editComment(int commentId, String commentText) {
+		mentionsMapper.removeCommentMentions(commentId);
+		addCommentMentions(commentId, TagsUtils.extractMentions(commentText));
 		return commentsMapper.editComment(commentId, commentText) == 1;
 	}
 
+	private void addCommentMentions(int commentId, Collection<String> usernames) {
+		if (!usernames.isEmpty()) {
+			mentionsMapper.addCommentMentions(commentId, usernames);
+		}
+	}
+
 	@Override
 	public boolean deleteComment(int commentId) {
 		return commentsMapper.deleteComment(commentId) == 1;
@@ -280,11 +587,22 @@ public class MybatisDataService implements DataService {
 		return commentsMapper.unlikeComment(commentId, null, username) == 1;
 	}
 
+	/**
+	 * Followers are read from the primary Database, as Posts are fanned out to them right after being added
+	 */
 	@Override
 	public Collection<String> getFollowerUsernames(String username) {
 		return followersMapper.getFollowerUsernames(username);
 	}
 
+	@Override
+	public int getNumberOfFollowers(String username) {
+		return followersMapper.getNumberOfFollowers(username);
+	}
+
+	/**
+	 * Users followed are read from the primary Database, as they make up the Feeds kept as Timelines
+	 */
 	@Override
 	public Collection<String> getFollowingUsernames(String username) {
 		return followersMapper.getFollowingUsernames(username);
@@ -0,0 +1,291 @@
+package com.jms.socialmedia.dataservice;
+
+import java.util.Collection;
+
+import com.jms.socialmedia.events.PostCreatedBus;
+import com.jms.socialmedia.model.Comment;
+import com.jms.socialmedia.model.NewUser;
+import com.jms.socialmedia.model.Post;
+import com.jms.socialmedia.model.User;
+import com.jms.socialmedia.model.UserPage;
+
+/**
+ * Publishes every Post added to the {@link PostCreatedBus}, once it is stored and has its ID
+ */
+public class PostEventsDataService implements DataService {
+
+	private final DataService dataService;
+	private final PostCreatedBus postCreatedBus;
+
+	public PostEventsDataService(DataService dataService, PostCreatedBus postCreatedBus) {
+		this.dataService = dataService;
+		this.postCreatedBus = postCreatedBus;
+	}
+
+	@Override
+	public Integer getUserIdByUsername(String username) {
+		return dataService.getUserIdByUsername(username);
+	}
+
+	@Override
+	public UserPage getUserPageInfoByName(String username) {
+		return dataService.getUserPageInfoByName(username);
+	}
+
+	@Override
+	public Collection<UserPage> getUserPagesByNames(Collection<String> usernames) {
+		return dataService.getUserPagesByNames(usernames);
+	}
+
+	@Override
+	public String getUserPageVersion(String username) {
+		return dataService.getUserPageVersion(username);
+	}
+
+	@Override
+	public User getUserLoginInfoByString(String usernameOrEmail) {
+		return dataService.getUserLoginInfoByString(usernameOrEmail);
+	}
+
+	@Override
+	public User getHashedPasswordByUserId(Integer userId) {
+		return dataService.getHashedPasswordByUserId(userId);
+	}
+
+	@Override
+	public Collection<String> getUsernamesToFollow(String username) {
+		return dataService.getUsernamesToFollow(username);
+	}
+
+	@Override
+	public boolean isUsernameTaken(String username) {
+		return dataService.isUsernameTaken(username);
+	}
+
+	@Override
+	public boolean isEmailTaken(String email) {
+		return dataService.isEmailTaken(email);
+	}
+
+	@Override
+	public boolean addUser(NewUser newUser) {
+		return dataService.addUser(newUser);
+	}
+
+	@Override
+	public boolean editPassword(Integer userId, String hashedPassword) {
+		return dataService.editPassword(userId, hashedPassword);
+	}
+
+	@Override
+	public User getUserBySessionId(String sessionId) {
+		return dataService.getUserBySessionId(sessionId);
+	}
+
+	@Override
+	public boolean addUserSession(int userId, String sessionId) {
+		return dataService.addUserSession(userId, sessionId);
+	}
+
+	@Override
+	public void removeSessionId(String sessionId) {
+		dataService.removeSessionId(sessionId);
+	}
+
+	@Override
+	public Collection<Post> getPosts(Collection<Integer> userIds, Collection<String> usernames, String tag, String onDate,
+			String beforeDate, String afterDate, Integer sincePostId, Integer beforePostId, Integer limit, String sortBy,
+			boolean sortOrderAsc) {
+		return dataService.getPosts(userIds, usernames, tag, onDate, beforeDate, afterDate, sincePostId, beforePostId, limit,
+				sortBy, sortOrderAsc);
+	}
+
+	@Override
+	public Collection<Post> getFeedPosts(String username, Integer sincePostId, Integer beforePostId, Integer limit) {
+		return dataService.getFeedPosts(username, sincePostId, beforePostId, limit);
+	}
+
+	@Override
+	public Post getPost(int postId) {
+		return dataService.getPost(postId);
+	}
+
+	@Override
+	public String getPostVersion(int postId) {
+		return dataService.getPostVersion(postId);
+	}
+
+	@Override
+	public Collection<Post> getPostsByIds(Collection<Integer> postIds) {
+		return dataService.getPostsByIds(postIds);
+	}
+
+	@Override
+	public Integer getUserIdFromPostId(int postId) {
+		return dataService.getUserIdFromPostId(postId);
+	}
+
+	@Override
+	public boolean addPost(Post post) {
+		if (dataService.addPost(post)) {
+			postCreatedBus.publish(post);
+			return true;
+		}
+		return false;
+	}
+
+	@Override
+	public boolean editPost(int postId, String postText) {
+		return dataService.editPost(postId, postText);
+	}
+
+	@Override
+	public boolean deletePost(int postId) {
+		return dataService.deletePost(postId);
+	}
+
+	@Override
+	public Collection<Post> getCommentedPostsByUserId(int userId, Integer beforePostId, Integer limit) {
+		return dataService.getCommentedPostsByUserId(userId, beforePostId, limit);
+	}
+
+	@Override
+	public Collection<Post> getLikedPostsByUserId(int userId, Integer beforePostId, Integer limit) {
+		return dataService.getLikedPostsByUserId(userId, beforePostId, limit);
+	}
+
+	@Override
+	public Collection<Post> getPostsMentioningUserId(int userId, Integer beforePostId, Integer limit) {
+		return dataService.getPostsMentioningUserId(userId, beforePostId, limit);
+	}
+
+	@Override
+	public Collection<String> getPostLikes(int postId) {
+		return dataService.getPostLikes(postId);
+	}
+
+	@Override
+	public boolean likePost(int postId, int userId) {
+		return dataService.likePost(postId, userId);
+	}
+
+	@Override
+	public boolean likePost(int postId, String username) {
+		return dataService.likePost(postId, username);
+	}
+
+	@Override
+	public boolean unlikePost(int postId, int userId) {
+		return dataService.unlikePost(postId, userId);
+	}
+
+	@Override
+	public boolean unlikePost(int postId, String username) {
+		return dataService.unlikePost(postId, username);
+	}
+
+	@Override
+	public Collection<Comment> getComments(int postId) {
+		return dataService.getComments(postId);
+	}
+
+	@Override
+	public String getCommentsVersion(int postId) {
+		return dataService.getCommentsVersion(postId);
+	}
+
+	@Override
+	public Collection<Comment> getCommentsByUserId(int userId, Integer beforeCommentId, Integer limit) {
+		return dataService.getCommentsByUserId(userId, beforeCommentId, limit);
+	}
+
+	@Override
+	public Collection<Comment> getCommentsMentioningUserId(int userId, Integer beforeCommentId, Integer limit) {
+		return dataService.getCommentsMentioningUserId(userId, beforeCommentId, limit);
+	}
+
+	@Override
+	public Comment getComment(int commentId) {
+		return dataService.getComment(commentId);
+	}
+
+	@Override
+	public Collection<Comment> getCommentsByIds(Collection<Integer> commentIds) {
+		return dataService.getCommentsByIds(commentIds);
+	}
+
+	@Override
+	public String getCommentVersion(int commentId) {
+		return dataService.getCommentVersion(commentId);
+	}
+
+	@Override
+	public Integer getUserIdFromCommentId(int commentId) {
+		return dataService.getUserIdFromCommentId(commentId);
+	}
+
+	@Override
+	public boolean addComment(Comment comment) {
+		return dataService.addComment(comment);
+	}
+
+	@Override
+	public boolean editComment(int commentId, String commentText) {
+		return dataService.editComment(commentId, commentText);
+	}
+
+	@Override
+	public boolean deleteComment(int commentId) {
+		return dataService.deleteComment(commentId);
+	}
+
+	@Override
+	public Collection<String> getCommentLikes(int commentId) {
+		return dataService.getCommentLikes(commentId);
+	}
+
+	@Override
+	public boolean likeComment(int commentId, int userId) {
+		return dataService.likeComment(commentId, userId);
+	}
+
+	@Override
+	public boolean likeComment(int commentId, String username) {
+		return dataService.likeComment(commentId, username);
+	}
+
+	@Override
+	public boolean unlikeComment(int commentId, int userId) {
+		return dataService.unlikeComment(commentId, userId);
+	}
+
+	@Override
+	public boolean unlikeComment(int commentId, String username) {
+		return dataService.unlikeComment(commentId, username);
+	}
+
+	@Override
+	public Collection<String> getFollowerUsernames(String username) {
+		return dataService.getFollowerUsernames(username);
+	}
+
+	@Override
+	public int getNumberOfFollowers(String username) {
+		return dataService.getNumberOfFollowers(username);
+	}
+
+	@Override
+	public Collection<String> getFollowingUsernames(String username) {
+		return dataService.getFollowingUsernames(username);
+	}
+
+	@Override
+	public boolean followUser(Integer followerUserId, String followerUsername, Integer followingUserId, String followingUsername) {
+		return dataService.followUser(followerUserId, followerUsername, followingUserId, followingUsername);
+	}
+
+	@Override
+	public boolean unfollowUser(Integer followerUserId, String followerUsername, Integer followingUserId, String followingUsername) {
+		return dataService.unfollowUser(followerUserId, followerUsername, followingUserId, followingUsername);
+	}
+}
@@ -0,0 +1,422 @@
+package com.jms.socialmedia.dataservice;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+import com.jms.socialmedia.model.Comment;
+import com.jms.socialmedia.model.NewUser;
+import com.jms.socialmedia.model.Post;
+import com.jms.socialmedia.model.User;
+import com.jms.socialmedia.model.UserPage;
+import com.jms.socialmedia.timeline.TimelineService;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Serves Feeds from Timelines that are built on the first read and then kept up to date when Posts are added.
+ * The Posts of Users with more than {@code maxFollowersForFanOut} followers are not pushed into Timelines,
+ * they are merged into the Feed when it is read instead.
+ * Timelines only keep the newest {@code maxNumberOfPostsPerTimeline} Posts, pages reaching past them are read from the
+ * {@link DataService}. A Timeline that lost Posts to deletions is taken as complete until new Posts fill it up again.
+ */
+public class TimelineDataService implements DataService {
+
+	private final DataService dataService;
+	private final TimelineService timelineService;
+	private final int maxNumberOfPostsPerTimeline;
+	private final int maxFollowersForFanOut;
+
+	public TimelineDataService(DataService dataService, TimelineService timelineService, int maxNumberOfPostsPerTimeline,
+			int maxFollowersForFanOut) {
+		this.dataService = dataService;
+		this.timelineService = timelineService;
+		this.maxNumberOfPostsPerTimeline = maxNumberOfPostsPerTimeline;
+		this.maxFollowersForFanOut = maxFollowersForFanOut;
+	}
+
+	@Override
+	public Integer getUserIdByUsername(String username) {
+		return dataService.getUserIdByUsername(username);
+	}
+
+	@Override
+	public UserPage getUserPageInfoByName(String username) {
+		return dataService.getUserPageInfoByName(username);
+	}
+
+	@Override
+	public Collection<UserPage> getUserPagesByNames(Collection<String> usernames) {
+		return dataService.getUserPagesByNames(usernames);
+	}
+
+	@Override
+	public String getUserPageVersion(String username) {
+		return dataService.getUserPageVersion(username);
+	}
+
+	@Override
+	public User getUserLoginInfoByString(String usernameOrEmail) {
+		return dataService.getUserLoginInfoByString(usernameOrEmail);
+	}
+
+	@Override
+	public User getHashedPasswordByUserId(Integer userId) {
+		return dataService.getHashedPasswordByUserId(userId);
+	}
+
+	@Override
+	public Collection<String> getUsernamesToFollow(String username) {
+		return dataService.getUsernamesToFollow(username);
+	}
+
+	@Override
+	public boolean isUsernameTaken(String username) {
+		return dataService.isUsernameTaken(username);
+	}
+
+	@Override
+	public boolean isEmailTaken(String email) {
+		return dataService.isEmailTaken(email);
+	}
+
+	@Override
+	public boolean addUser(NewUser newUser) {
+		return dataService.addUser(newUser);
+	}
+
+	@Override
+	public boolean editPassword(Integer userId, String hashedPassword) {
+		return dataService.editPassword(userId, hashedPassword);
+	}
+
+	@Override
+	public User getUserBySessionId(String sessionId) {
+		return dataService.getUserBySessionId(sessionId);
+	}
+
+	@Override
+	public boolean addUserSession(int userId, String sessionId) {
+		return dataService.addUserSession(userId, sessionId);
+	}
+
+	@Override
+	public void removeSessionId(String sessionId) {
+		dataService.removeSessionId(sessionId);
+	}
+
+	@Override
+	public Collection<Post> getPosts(Collection<Integer> userIds, Collection<String> usernames, String tag, String onDate,
+			String beforeDate, String afterDate, Integer sincePostId, Integer beforePostId, Integer limit, String sortBy,
+			boolean sortOrderAsc) {
+		return dataService.getPosts(userIds, usernames, tag, onDate, beforeDate, afterDate, sincePostId, beforePostId, limit,
+				sortBy, sortOrderAsc);
+	}
+
+	@Override
+	public Collection<Post> getFeedPosts(String username, Integer sincePostId, Integer beforePostId, Integer limit) {
+		int maxNumberOfPosts = limit == null ? maxNumberOfPostsPerTimeline : Math.min(limit, maxNumberOfPostsPerTimeline);
+		boolean pageForward = sincePostId != null && beforePostId == null;
+		List<Integer> timeline = timelineService.getTimeline(username);
+		if (timeline == null) {
+			Collection<Post> feedPosts = dataService.getFeedPosts(username, null, null, maxNumberOfPostsPerTimeline);
+			List<Integer> feedPostIds = feedPosts.stream().map(Post::getPostId).collect(toList());
+			timelineService.putTimeline(username, feedPostIds);
+			List<Post> pagePosts = toPage(feedPosts.stream()
+					.filter(post -> isInPage(post.getPostId(), sincePostId, beforePostId)).collect(toList()),
+					maxNumberOfPosts, pageForward);
+			if (isPastTimeline(feedPostIds, pagePosts.size(), maxNumberOfPosts, sincePostId, pageForward)) {
+				return dataService.getFeedPosts(username, sincePostId, beforePostId, maxNumberOfPosts);
+			}
+			return pagePosts;
+		}
+
+		List<Integer> postIds = toPage(timeline.stream().filter(postId -> isInPage(postId, sincePostId, beforePostId))
+				.collect(toList()), maxNumberOfPosts, pageForward);
+		if (isPastTimeline(timeline, postIds.size(), maxNumberOfPosts, sincePostId, pageForward)) {
+			return dataService.getFeedPosts(username, sincePostId, beforePostId, maxNumberOfPosts);
+		}
+		Collection<Post> posts = postIds.isEmpty() ? new ArrayList<>() : dataService.getPostsByIds(postIds);
+
+		Collection<String> followedUsersWithoutFanOut = getFollowedUsersWithoutFanOut(username);
+		if (followedUsersWithoutFanOut.isEmpty()) {
+			return posts;
+		}
+		// Posts are ordered newest first, and Posts with the same ID are only kept once
+		Collection<Post> mergedPosts = new TreeSet<>(posts);
+		mergedPosts.addAll(dataService.getPosts(null, followedUsersWithoutFanOut, null, null, null, null, sincePostId,
+				beforePostId, maxNumberOfPosts, "postId", pageForward));
+		return toPage(new ArrayList<>(mergedPosts), maxNumberOfPosts, pageForward);
+	}
+
+	/**
+	 * @return	{@code true} if the page may be missing Posts because the Timeline was trimmed
+	 */
+	private boolean isPastTimeline(List<Integer> timeline, int pageSize, int maxNumberOfPosts, Integer sincePostId,
+			boolean pageForward) {
+		if (timeline.size() < maxNumberOfPostsPerTimeline
+				|| sincePostId != null && timeline.get(timeline.size() - 1) <= sincePostId) {
+			return false;
+		}
+		// Forward pages start from the oldest Posts after sincePostId, which the Timeline doesn't reach
+		return pageForward || pageSize < maxNumberOfPosts;
+	}
+
+	/**
+	 * @param newestFirst	entries in the page range, newest first
+	 * @return				the newest entries, or the oldest ones when paging forward, newest first
+	 */
+	private static <T> List<T> toPage(List<T> newestFirst, int maxNumberOfPosts, boolean pageForward) {
+		if (newestFirst.size() <= maxNumberOfPosts) {
+			return newestFirst;
+		}
+		return pageForward ? newestFirst.subList(newestFirst.size() - maxNumberOfPosts, newestFirst.size())
+				: newestFirst.subList(0, maxNumberOfPosts);
+	}
+
+	@Override
+	public Post getPost(int postId) {
+		return dataService.getPost(postId);
+	}
+
+	@Override
+	public String getPostVersion(int postId) {
+		return dataService.getPostVersion(postId);
+	}
+
+	@Override
+	public Collection<Post> getPostsByIds(Collection<Integer> postIds) {
+		return dataService.getPostsByIds(postIds);
+	}
+
+	@Override
+	public Integer getUserIdFromPostId(int postId) {
+		return dataService.getUserIdFromPostId(postId);
+	}
+
+	@Override
+	public boolean addPost(Post post) {
+		if (!dataService.addPost(post)) {
+			return false;
+		}
+		String username = post.getUsername();
+		if (username == null) {
+			Post addedPost = dataService.getPost(post.getPostId());
+			if (addedPost == null) {
+				return true;
+			}
+			username = addedPost.getUsername();
+		}
+
+		if (dataService.getNumberOfFollowers(username) > maxFollowersForFanOut) {
+			timelineService.addUserWithoutFanOut(username);
+			timelineService.addPostToTimelines(post.getPostId(), List.of(username));
+		} else {
+			Collection<String> followers = dataService.getFollowerUsernames(username);
+			if (timelineService.removeUserWithoutFanOut(username)) {
+				// Their older Posts were only merged into Feeds when read, so the Timelines of their followers are rebuilt
+				followers.forEach(timelineService::removeTimeline);
+			}
+			Collection<String> usernames = new ArrayList<>(followers);
+			usernames.add(username);
+			timelineService.addPostToTimelines(post.getPostId(), usernames);
+		}
+		return true;
+	}
+
+	@Override
+	public boolean editPost(int postId, String postText) {
+		return dataService.editPost(postId, postText);
+	}
+
+	@Override
+	public boolean deletePost(int postId) {
+		Post post = dataService.getPost(postId);
+		if (!dataService.deletePost(postId)) {
+			return false;
+		}
+		if (post != null) {
+			Collection<String> usernames = new ArrayList<>(dataService.getFollowerUsernames(post.getUsername()));
+			usernames.add(post.getUsername());
+			timelineService.removePostFromTimelines(postId, usernames);
+		}
+		return true;
+	}
+
+	@Override
+	public Collection<Post> getCommentedPostsByUserId(int userId, Integer beforePostId, Integer limit) {
+		return dataService.getCommentedPostsByUserId(userId, beforePostId, limit);
+	}
+
+	@Override
+	public Collection<Post> getLikedPostsByUserId(int userId, Integer beforePostId, Integer limit) {
+		return dataService.getLikedPostsByUserId(userId, beforePostId, limit);
+	}
+
+	@Override
+	public Collection<Post> getPostsMentioningUserId(int userId, Integer beforePostId, Integer limit) {
+		return dataService.getPostsMentioningUserId(userId, beforePostId, limit);
+	}
+
+	@Override
+	public Collection<String> getPostLikes(int postId) {
+		return dataService.getPostLikes(postId);
+	}
+
+	@Override
+	public boolean likePost(int postId, int userId) {
+		return dataService.likePost(postId, userId);
+	}
+
+	@Override
+	public boolean likePost(int postId, String username) {
+		return dataService.likePost(postId, username);
+	}
+
+	@Override
+	public boolean unlikePost(int postId, int userId) {
+		return dataService.unlikePost(postId, userId);
+	}
+
+	@Override
+	public boolean unlikePost(int postId, String username) {
+		return dataService.unlikePost(postId, username);
+	}
+
+	@Override
+	public Collection<Comment> getComments(int postId) {
+		return dataService.getComments(postId);
+	}
+
+	@Override
+	public String getCommentsVersion(int postId) {
+		return dataService.getCommentsVersion(postId);
+	}
+
+	@Override
+	public Collection<Comment> getCommentsByUserId(int userId, Integer beforeCommentId, Integer limit) {
+		return dataService.getCommentsByUserId(userId, beforeCommentId, limit);
+	}
+
+	@Override
+	public Collection<Comment> getCommentsMentioningUserId(int userId, Integer beforeCommentId, Integer limit) {
+		return dataService.getCommentsMentioningUserId(userId, beforeCommentId, limit);
+	}
+
+	@Override
+	public Comment getComment(int commentId) {
+		return dataService.getComment(commentId);
+	}
+
+	@Override
+	public Collection<Comment> getCommentsByIds(Collection<Integer> commentIds) {
+		return dataService.getCommentsByIds(commentIds);
+	}
+
+	@Override
+	public String getCommentVersion(int commentId) {
+		return dataService.getCommentVersion(commentId);
+	}
+
+	@Override
+	public Integer getUserIdFromCommentId(int commentId) {
+		return dataService.getUserIdFromCommentId(commentId);
+	}
+
+	@Override
+	public boolean addComment(Comment comment) {
+		return dataService.addComment(comment);
+	}
+
+	@Override
+	public boolean editComment(int commentId, String commentText) {
+		return dataService.editComment(commentId, commentText);
+	}
+
+	@Override
+	public boolean deleteComment(int commentId) {
+		return dataService.deleteComment(commentId);
+	}
+
+	@Override
+	public Collection<String> getCommentLikes(int commentId) {
+		return dataService.getCommentLikes(commentId);
+	}
+
+	@Override
+	public boolean likeComment(int commentId, int userId) {
+		return dataService.likeComment(commentId, userId);
+	}
+
+	@Override
+	public boolean likeComment(int commentId, String username) {
+		return dataService.likeComment(commentId, username);
+	}
+
+	@Override
+	public boolean unlikeComment(int commentId, int userId) {
+		return dataService.unlikeComment(commentId, userId);
+	}
+
+	@Override
+	public boolean unlikeComment(int commentId, String username) {
+		return dataService.unlikeComment(commentId, username);
+	}
+
+	@Override
+	public Collection<String> getFollowerUsernames(String username) {
+		return dataService.getFollowerUsernames(username);
+	}
+
+	@Override
+	public int getNumberOfFollowers(String username) {
+		return dataService.getNumberOfFollowers(username);
+	}
+
+	@Override
+	public Collection<String> getFollowingUsernames(String username) {
+		return dataService.getFollowingUsernames(username);
+	}
+
+	/**
+	 * The Timeline of the follower is removed, and is rebuilt with the Posts of the followed User on the next read.
+	 * Timelines are kept by username, so a follow by ID only is picked up when the Timeline expires.
+	 */
+	@Override
+	public boolean followUser(Integer followerUserId, String followerUsername, Integer followingUserId, String followingUsername) {
+		boolean followed = dataService.followUser(followerUserId, followerUsername, followingUserId, followingUsername);
+		if (followed && followerUsername != null) {
+			timelineService.removeTimeline(followerUsername);
+		}
+		return followed;
+	}
+
+	/**
+	 * The Timeline of the follower is removed, and is rebuilt without the Posts of the unfollowed User on the next read.
+	 * Timelines are kept by username, so an unfollow by ID only is picked up when the Timeline expires.
+	 */
+	@Override
+	public boolean unfollowUser(Integer followerUserId, String followerUsername, Integer followingUserId, String followingUsername) {
+		boolean unfollowed = dataService.unfollowUser(followerUserId, followerUsername, followingUserId, followingUsername);
+		if (unfollowed && followerUsername != null) {
+			timelineService.removeTimeline(followerUsername);
+		}
+		return unfollowed;
+	}
+
+	private static boolean isInPage(int postId, Integer sincePostId, Integer beforePostId) {
+		return (sincePostId == null || postId > sincePostId) && (beforePostId == null || postId < beforePostId);
+	}
+
+	private Collection<String> getFollowedUsersWithoutFanOut(String username) {
+		Set<String> usersWithoutFanOut = timelineService.getUsersWithoutFanOut();
+		if (usersWithoutFanOut.isEmpty()) {
+			return usersWithoutFanOut;
+		}
+		return dataService.getFollowingUsernames(username).stream()
+				.filter(followed -> usersWithoutFanOut.contains(followed.toLowerCase(Locale.US))).collect(toList());
+	}
+}
@@ -0,0 +1,59 @@
+package com.jms.socialmedia.events;
+
+import java.util.Collection;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.jms.socialmedia.model.Post;
+
+/**
+ * Delivers Posts to the listeners in the same JVM on a single background thread, in the order they were published.
+ * Adding a Post never waits for the listeners, and a failing listener doesn't stop the others
+ */
+public class InProcessPostCreatedBus implements PostCreatedBus {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(InProcessPostCreatedBus.class);
+
+	private final Executor executor;
+	private final Collection<Consumer<Post>> listeners = new CopyOnWriteArrayList<>();
+
+	public InProcessPostCreatedBus() {
+		this(Executors.newSingleThreadExecutor(
+				new ThreadFactoryBuilder().setNameFormat("post-created-%d").setDaemon(true).build()));
+	}
+
+	/**
+	 * @param executor	runs the deliveries, which must run one at a time for the Posts to be delivered in order
+	 */
+	public InProcessPostCreatedBus(Executor executor) {
+		this.executor = executor;
+	}
+
+	@Override
+	public void publish(Post post) {
+		if (!listeners.isEmpty()) {
+			executor.execute(() -> deliver(post));
+		}
+	}
+
+	@Override
+	public void subscribe(Consumer<Post> listener) {
+		listeners.add(listener);
+	}
+
+	private void deliver(Post post) {
+		for (Consumer<Post> listener : listeners) {
+			try {
+				listener.accept(post);
+			} catch (RuntimeException e) {
+				LOGGER.error("Failed to deliver Post {}", post.getPostId(), e);
+			}
+		}
+	}
+}
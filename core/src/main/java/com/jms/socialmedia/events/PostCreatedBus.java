@@ -0,0 +1,21 @@
+package com.jms.socialmedia.events;
+
+import java.util.function.Consumer;
+
+import com.jms.socialmedia.model.Post;
+
+/**
+ * Delivers the Posts added on this replica to the listeners subscribed to it
+ */
+public interface PostCreatedBus {
+
+	/**
+	 * @param post	Post that was just added, with its ID
+	 */
+	void publish(Post post);
+
+	/**
+	 * @param listener	Called with every Post published
+	 */
+	void subscribe(Consumer<Post> listener);
+}
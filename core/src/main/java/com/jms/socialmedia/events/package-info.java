@@ -0,0 +1,7 @@
+/**
+ * 
+ * <h1> Post Created Events </h1>
+ * Tells the parts of a replica interested in new Posts, like the streams of new Posts, about every Post added on it
+ *
+ */
+package com.jms.socialmedia.events;
@@ -0,0 +1,34 @@
+package com.jms.socialmedia.exception;
+
+/**
+ * Thrown when the client already has the current version of what it requested, so there's nothing to send.
+ * It's how a request ends early rather than an error, so it has no stack trace
+ */
+public class NotModifiedException extends MySocialMediaException {
+
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = 6482717932806143325L;
+
+	public NotModifiedException() {
+		super(null, null, false, false);
+	}
+
+	public NotModifiedException(String arg0) {
+		super(arg0, null, false, false);
+	}
+
+	public NotModifiedException(Throwable arg0) {
+		super(arg0);
+	}
+
+	public NotModifiedException(String arg0, Throwable arg1) {
+		super(arg0, arg1);
+	}
+
+	public NotModifiedException(String arg0, Throwable arg1, boolean arg2, boolean arg3) {
+		super(arg0, arg1, arg2, arg3);
+	}
+
+}
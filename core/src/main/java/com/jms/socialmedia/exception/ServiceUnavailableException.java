@@ -0,0 +1,32 @@
+package com.jms.socialmedia.exception;
+
+/**
+ * Thrown when a service is too busy to take on the request, which can be retried later
+ */
+public class ServiceUnavailableException extends MySocialMediaException {
+
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = -3402843419532170541L;
+
+	public ServiceUnavailableException() {
+	}
+
+	public ServiceUnavailableException(String arg0) {
+		super(arg0);
+	}
+
+	public ServiceUnavailableException(Throwable arg0) {
+		super(arg0);
+	}
+
+	public ServiceUnavailableException(String arg0, Throwable arg1) {
+		super(arg0, arg1);
+	}
+
+	public ServiceUnavailableException(String arg0, Throwable arg1, boolean arg2, boolean arg3) {
+		super(arg0, arg1, arg2, arg3);
+	}
+
+}
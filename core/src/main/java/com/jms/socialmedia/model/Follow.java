@@ -0,0 +1,64 @@
+package com.jms.socialmedia.model;
+
+import java.util.Objects;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * A single User following another, used when retrieving the followers and following of many Users at once
+ */
+public class Follow {
+
+	private String followerUsername;
+	private String followingUsername;
+
+	public Follow() {
+	}
+
+	public Follow(String followerUsername, String followingUsername) {
+		this.followerUsername = followerUsername;
+		this.followingUsername = followingUsername;
+	}
+
+	public final String getFollowerUsername() {
+		return followerUsername;
+	}
+
+	public final void setFollowerUsername(String followerUsername) {
+		this.followerUsername = followerUsername;
+	}
+
+	public final String getFollowingUsername() {
+		return followingUsername;
+	}
+
+	public final void setFollowingUsername(String followingUsername) {
+		this.followingUsername = followingUsername;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(followerUsername, followingUsername);
+	}
+
+	@Override
+	public boolean equals(Object object) {
+		if (this == object)
+			return true;
+		if (object == null || this.getClass() != object.getClass())
+			return false;
+
+		Follow that = (Follow) object;
+
+		return Objects.equals(this.followerUsername, that.followerUsername)
+				&& Objects.equals(this.followingUsername, that.followingUsername);
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this)
+				.add("followerUsername", followerUsername)
+				.add("followingUsername", followingUsername)
+				.toString();
+	}
+}
@@ -0,0 +1,64 @@
+package com.jms.socialmedia.model;
+
+import java.util.Objects;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * A single Like on an {@link Entry}, used when retrieving the Likes of many Entries at once
+ */
+public class Like {
+
+	private Integer entryId;
+	private String username;
+
+	public Like() {
+	}
+
+	public Like(Integer entryId, String username) {
+		this.entryId = entryId;
+		this.username = username;
+	}
+
+	public final Integer getEntryId() {
+		return entryId;
+	}
+
+	public final void setEntryId(Integer entryId) {
+		this.entryId = entryId;
+	}
+
+	public final String getUsername() {
+		return username;
+	}
+
+	public final void setUsername(String username) {
+		this.username = username;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(entryId, username);
+	}
+
+	@Override
+	public boolean equals(Object object) {
+		if (this == object)
+			return true;
+		if (object == null || this.getClass() != object.getClass())
+			return false;
+
+		Like that = (Like) object;
+
+		return Objects.equals(this.entryId, that.entryId)
+				&& Objects.equals(this.username, that.username);
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this)
+				.add("entryId", entryId)
+				.add("username", username)
+				.toString();
+	}
+}
@@ -5,6 +5,7 @@ import java.util.Collection;
 import org.apache.ibatis.annotations.Param;
 
 import com.jms.socialmedia.model.Comment;
+import com.jms.socialmedia.model.Like;
 
 public interface CommentsMapper {
 
@@ -12,10 +13,16 @@ public interface CommentsMapper {
 
 	Collection<Comment> getComments(int postId);
 
-	Collection<Comment> getCommentsByUserId(int userId);
+	Collection<Comment> getCommentsByUserId(@Param(value="userId") int userId,
+			@Param(value="beforeCommentId") Integer beforeCommentId, @Param(value="limit") Integer limit);
+
+	Collection<Comment> getCommentsMentioningUserId(@Param(value="userId") int userId,
+			@Param(value="beforeCommentId") Integer beforeCommentId, @Param(value="limit") Integer limit);
 
 	Comment getComment(int commentId);
 
+	Collection<Comment> getCommentsByIds(@Param(value="commentIds") Collection<Integer> commentIds);
+
 	Integer getUserIdFromCommentId(int commentId);
 
 	int addComment(Comment comment);
@@ -26,6 +33,8 @@ public interface CommentsMapper {
 
 	Collection<String> getCommentLikes(int commentId);
 
+	Collection<Like> getCommentLikesByCommentIds(@Param(value="commentIds") Collection<Integer> commentIds);
+
 	int likeComment(@Param(value="commentId") int commentId, @Param(value="userId") Integer userId, @Param(value="username") String username);
 
 	int unlikeComment(@Param(value="commentId") int commentId, @Param(value="userId") Integer userId, @Param(value="username") String username);
@@ -4,12 +4,18 @@ import java.util.Collection;
 
 import org.apache.ibatis.annotations.Param;
 
+import com.jms.socialmedia.model.Follow;
+
 public interface FollowersMapper {
 
 	Collection<String> getFollowerUsernames(String username);
 
+	int getNumberOfFollowers(String username);
+
 	Collection<String> getFollowingUsernames(String username);
 
+	Collection<Follow> getFollowsOfUsernames(@Param(value="usernames") Collection<String> usernames);
+
 	int followUser(@Param(value="followerUserId") Integer followerUserId, @Param(value="followerUsername") String followerUsername, 
 			@Param(value="followingUserId") Integer followingUserId, @Param(value="followingUsername") String followingUsername);
 
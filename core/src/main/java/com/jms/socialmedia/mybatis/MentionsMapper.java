@@ -0,0 +1,16 @@
+package com.jms.socialmedia.mybatis;
+
+import java.util.Collection;
+
+import org.apache.ibatis.annotations.Param;
+
+public interface MentionsMapper {
+
+	int addPostMentions(@Param(value="postId") int postId, @Param(value="usernames") Collection<String> usernames);
+
+	int removePostMentions(int postId);
+
+	int addCommentMentions(@Param(value="commentId") int commentId, @Param(value="usernames") Collection<String> usernames);
+
+	int removeCommentMentions(int commentId);
+}
@@ -4,6 +4,7 @@ import java.util.Collection;
 
 import org.apache.ibatis.annotations.Param;
 
+import com.jms.socialmedia.model.Like;
 import com.jms.socialmedia.model.Post;
 
 public interface PostsMapper {
@@ -13,11 +14,13 @@ public interface PostsMapper {
 	Collection<Post> getPosts(@Param(value="userIds") Collection<Integer> userIds, @Param(value="usernames") Collection<String> usernames, 
 			@Param(value="tag") String tag, @Param(value="onDate") String onDate, 
 			@Param(value="beforeDate") String beforeDate, @Param(value="afterDate") String afterDate, 
-			@Param(value="sincePostId") Integer sincePostId,
-			@Param(value="sortBy") String sortBy, @Param(value="sortOrderAsc") boolean sortOrderAsc);
+			@Param(value="sincePostId") Integer sincePostId, @Param(value="beforePostId") Integer beforePostId,
+			@Param(value="limit") Integer limit, @Param(value="sortBy") String sortBy, @Param(value="sortOrderAsc") boolean sortOrderAsc);
 
 	Post getPost(int postId);
 
+	Collection<Post> getPostsByIds(@Param(value="postIds") Collection<Integer> postIds);
+
 	Integer getUserIdFromPostId(int postId);
 
 	int addPost(Post post);
@@ -26,13 +29,20 @@ public interface PostsMapper {
 
 	int deletePost(int postId);
 
-	Collection<Post> getLikedPostsByUserId(int userId);
+	Collection<Post> getLikedPostsByUserId(@Param(value="userId") int userId, @Param(value="beforePostId") Integer beforePostId,
+			@Param(value="limit") Integer limit);
 
 	Collection<String> getPostLikes(int postId);
 
+	Collection<Like> getPostLikesByPostIds(@Param(value="postIds") Collection<Integer> postIds);
+
 	int likePost(@Param(value="postId") int postId, @Param(value="userId") Integer userId, @Param(value="username") String username);
 
 	int unlikePost(@Param(value="postId") int postId, @Param(value="userId") Integer userId, @Param(value="username") String username);
 
-	Collection<Post> getCommentedPostsByUserId(int userId);
+	Collection<Post> getCommentedPostsByUserId(@Param(value="userId") int userId, @Param(value="beforePostId") Integer beforePostId,
+			@Param(value="limit") Integer limit);
+
+	Collection<Post> getPostsMentioningUserId(@Param(value="userId") int userId, @Param(value="beforePostId") Integer beforePostId,
+			@Param(value="limit") Integer limit);
 }
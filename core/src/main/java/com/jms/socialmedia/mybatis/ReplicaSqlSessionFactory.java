@@ -0,0 +1,158 @@
+package com.jms.socialmedia.mybatis;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.TransactionIsolationLevel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Opens the SqlSessions of reads on Database replicas, taking turns between the replicas that passed their last
+ * health check. When none of them did, sessions are opened on the primary Database instead.
+ *
+ * Replicas are checked by validating one of their connections, every {@code healthCheckIntervalInSeconds}
+ */
+public class ReplicaSqlSessionFactory implements SqlSessionFactory {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ReplicaSqlSessionFactory.class);
+	private static final int VALIDATION_TIMEOUT_IN_SECONDS = 2;
+
+	private final SqlSessionFactory primary;
+	private final List<Replica> replicas;
+	private final AtomicInteger nextReplica;
+	private ScheduledExecutorService healthChecker;
+
+	public ReplicaSqlSessionFactory(SqlSessionFactory primary, List<SqlSessionFactory> replicas) {
+		this.primary = primary;
+		this.replicas = new ArrayList<>(replicas.size());
+		for (int i = 0; i < replicas.size(); i++) {
+			this.replicas.add(new Replica(i + 1, replicas.get(i)));
+		}
+		this.nextReplica = new AtomicInteger();
+	}
+
+	public synchronized void startHealthChecks(int healthCheckIntervalInSeconds) {
+		if (healthChecker == null) {
+			healthChecker = Executors.newSingleThreadScheduledExecutor(
+					new ThreadFactoryBuilder().setNameFormat("replica-health-check-%d").setDaemon(true).build());
+			healthChecker.scheduleWithFixedDelay(this::checkHealth, healthCheckIntervalInSeconds,
+					healthCheckIntervalInSeconds, TimeUnit.SECONDS);
+		}
+	}
+
+	public synchronized void stopHealthChecks() {
+		if (healthChecker != null) {
+			healthChecker.shutdownNow();
+			healthChecker = null;
+		}
+	}
+
+	@VisibleForTesting
+	void checkHealth() {
+		for (Replica replica : replicas) {
+			boolean healthy;
+			try (SqlSession session = replica.sessionFactory.openSession(true)) {
+				Connection connection = session.getConnection();
+				healthy = connection.isValid(VALIDATION_TIMEOUT_IN_SECONDS);
+			} catch (Exception e) {
+				LOGGER.debug("Replica #{} failed its health check", replica.number, e);
+				healthy = false;
+			}
+			if (healthy != replica.healthy) {
+				LOGGER.warn("Replica #{} is now {}", replica.number, healthy ? "healthy" : "unhealthy");
+				replica.healthy = healthy;
+			}
+		}
+	}
+
+	/**
+	 * @return	number of replicas that passed their last health check
+	 */
+	public int getNumberOfHealthyReplicas() {
+		return (int) replicas.stream().filter(replica -> replica.healthy).count();
+	}
+
+	@VisibleForTesting
+	SqlSessionFactory nextSessionFactory() {
+		int numberOfReplicas = replicas.size();
+		int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(numberOfReplicas, 1));
+		for (int i = 0; i < numberOfReplicas; i++) {
+			Replica replica = replicas.get((start + i) % numberOfReplicas);
+			if (replica.healthy) {
+				return replica.sessionFactory;
+			}
+		}
+		return primary;
+	}
+
+	@Override
+	public SqlSession openSession() {
+		return nextSessionFactory().openSession();
+	}
+
+	@Override
+	public SqlSession openSession(boolean autoCommit) {
+		return nextSessionFactory().openSession(autoCommit);
+	}
+
+	@Override
+	public SqlSession openSession(Connection connection) {
+		return nextSessionFactory().openSession(connection);
+	}
+
+	@Override
+	public SqlSession openSession(TransactionIsolationLevel level) {
+		return nextSessionFactory().openSession(level);
+	}
+
+	@Override
+	public SqlSession openSession(ExecutorType execType) {
+		return nextSessionFactory().openSession(execType);
+	}
+
+	@Override
+	public SqlSession openSession(ExecutorType execType, boolean autoCommit) {
+		return nextSessionFactory().openSession(execType, autoCommit);
+	}
+
+	@Override
+	public SqlSession openSession(ExecutorType execType, TransactionIsolationLevel level) {
+		return nextSessionFactory().openSession(execType, level);
+	}
+
+	@Override
+	public SqlSession openSession(ExecutorType execType, Connection connection) {
+		return nextSessionFactory().openSession(execType, connection);
+	}
+
+	@Override
+	public Configuration getConfiguration() {
+		return primary.getConfiguration();
+	}
+
+	private static final class Replica {
+
+		private final int number;
+		private final SqlSessionFactory sessionFactory;
+		/** Replicas are used from the start, until a health check fails **/
+		private volatile boolean healthy = true;
+
+		private Replica(int number, SqlSessionFactory sessionFactory) {
+			this.number = number;
+			this.sessionFactory = sessionFactory;
+		}
+	}
+}
@@ -6,6 +6,7 @@ import org.apache.ibatis.session.SqlSession;
 import org.apache.ibatis.session.SqlSessionFactory;
 
 import com.jms.socialmedia.model.Comment;
+import com.jms.socialmedia.model.Like;
 
 public class SqlSessionCommentsMapper implements CommentsMapper {
 
@@ -32,10 +33,18 @@ public class SqlSessionCommentsMapper implements CommentsMapper {
 	}
 
 	@Override
-	public Collection<Comment> getCommentsByUserId(int userId) {
+	public Collection<Comment> getCommentsByUserId(int userId, Integer beforeCommentId, Integer limit) {
 		try (SqlSession session = sessionfactory.openSession(true)) {
 			CommentsMapper mapper = session.getMapper(CommentsMapper.class);
-			return mapper.getCommentsByUserId(userId);
+			return mapper.getCommentsByUserId(userId, beforeCommentId, limit);
+		}
+	}
+
+	@Override
+	public Collection<Comment> getCommentsMentioningUserId(int userId, Integer beforeCommentId, Integer limit) {
+		try (SqlSession session = sessionfactory.openSession(true)) {
+			CommentsMapper mapper = session.getMapper(CommentsMapper.class);
+			return mapper.getCommentsMentioningUserId(userId, beforeCommentId, limit);
 		}
 	}
 
@@ -47,6 +56,14 @@ public class SqlSessionCommentsMapper implements CommentsMapper {
 		}
 	}
 
+	@Override
+	public Collection<Comment> getCommentsByIds(Collection<Integer> commentIds) {
+		try (SqlSession session = sessionfactory.openSession(true)) {
+			CommentsMapper mapper = session.getMapper(CommentsMapper.class);
+			return mapper.getCommentsByIds(commentIds);
+		}
+	}
+
 	@Override
 	public Integer getUserIdFromCommentId(int commentId) {
 		try (SqlSession session = sessionfactory.openSession(true)) {
@@ -87,6 +104,14 @@ public class SqlSessionCommentsMapper implements CommentsMapper {
 		}
 	}
 
+	@Override
+	public Collection<Like> getCommentLikesByCommentIds(Collection<Integer> commentIds) {
+		try (SqlSession session = sessionfactory.openSession(true)) {
+			CommentsMapper mapper = session.getMapper(CommentsMapper.class);
+			return mapper.getCommentLikesByCommentIds(commentIds);
+		}
+	}
+
 	@Override
 	public int likeComment(int commentId, Integer userId, String username) {
 		try (SqlSession session = sessionfactory.openSession(true)) {
@@ -5,6 +5,8 @@ import java.util.Collection;
 import org.apache.ibatis.session.SqlSession;
 import org.apache.ibatis.session.SqlSessionFactory;
 
+import com.jms.socialmedia.model.Follow;
+
 public class SqlSessionFollowersMapper implements FollowersMapper {
 
 	private final SqlSessionFactory sessionfactory;
@@ -21,6 +23,14 @@ public class SqlSessionFollowersMapper implements FollowersMapper {
 		}
 	}
 
+	@Override
+	public int getNumberOfFollowers(String username) {
+		try (SqlSession session = sessionfactory.openSession(true)) {
+			FollowersMapper mapper = session.getMapper(FollowersMapper.class);
+			return mapper.getNumberOfFollowers(username);
+		}
+	}
+
 	@Override
 	public Collection<String> getFollowingUsernames(String username) {
 		try (SqlSession session = sessionfactory.openSession(true)) {
@@ -29,6 +39,14 @@ public class SqlSessionFollowersMapper implements FollowersMapper {
 		}
 	}
 
+	@Override
+	public Collection<Follow> getFollowsOfUsernames(Collection<String> usernames) {
+		try (SqlSession session = sessionfactory.openSession(true)) {
+			FollowersMapper mapper = session.getMapper(FollowersMapper.class);
+			return mapper.getFollowsOfUsernames(usernames);
+		}
+	}
+
 	@Override
 	public int followUser(Integer followerUserId, String followerUsername, Integer followingUserId, String followingUsername) {
 		try (SqlSession session = sessionfactory.openSession(true)) {
@@ -0,0 +1,47 @@
+package com.jms.socialmedia.mybatis;
+
+import java.util.Collection;
+
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+
+public class SqlSessionMentionsMapper implements MentionsMapper {
+
+	private final SqlSessionFactory sessionfactory;
+	
+	public SqlSessionMentionsMapper(SqlSessionFactory sessionfactory) {
+		this.sessionfactory = sessionfactory;
+	}
+
+	@Override
+	public int addPostMentions(int postId, Collection<String> usernames) {
+		try(SqlSession session = sessionfactory.openSession(true)) {
+			MentionsMapper mapper = session.getMapper(MentionsMapper.class);
+			return mapper.addPostMentions(postId, usernames);
+		}
+	}
+
+	@Override
+	public int removePostMentions(int postId) {
+		try(SqlSession session = sessionfactory.openSession(true)) {
+			MentionsMapper mapper = session.getMapper(MentionsMapper.class);
+			return mapper.removePostMentions(postId);
+		}
+	}
+
+	@Override
+	public int addCommentMentions(int commentId, Collection<String> usernames) {
+		try(SqlSession session = sessionfactory.openSession(true)) {
+			MentionsMapper mapper = session.getMapper(MentionsMapper.class);
+			return mapper.addCommentMentions(commentId, usernames);
+		}
+	}
+
+	@Override
+	public int removeCommentMentions(int commentId) {
+		try(SqlSession session = sessionfactory.openSession(true)) {
+			MentionsMapper mapper = session.getMapper(MentionsMapper.class);
+			return mapper.removeCommentMentions(commentId);
+		}
+	}
+}
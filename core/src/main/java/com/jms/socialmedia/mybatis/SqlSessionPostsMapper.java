@@ -5,6 +5,7 @@ import java.util.Collection;
 import org.apache.ibatis.session.SqlSession;
 import org.apache.ibatis.session.SqlSessionFactory;
 
+import com.jms.socialmedia.model.Like;
 import com.jms.socialmedia.model.Post;
 
 public class SqlSessionPostsMapper implements PostsMapper {
@@ -26,11 +27,12 @@ public class SqlSessionPostsMapper implements PostsMapper {
 	@Override
 	public Collection<Post> getPosts(Collection<Integer> userIds, Collection<String> usernames, 
 			String tag, String onDate, String beforeDate, String afterDate, Integer sincePostId,
-			String sortBy, boolean sortOrderAsc) {
+			Integer beforePostId, Integer limit, String sortBy, boolean sortOrderAsc) {
 		
 		try (SqlSession session = sessionfactory.openSession(true)) {
 			PostsMapper mapper = session.getMapper(PostsMapper.class);
-			return mapper.getPosts(userIds, usernames, tag, onDate, beforeDate, afterDate, sincePostId, sortBy, sortOrderAsc);
+			return mapper.getPosts(userIds, usernames, tag, onDate, beforeDate, afterDate, sincePostId, beforePostId, limit,
+					sortBy, sortOrderAsc);
 		}
 	}
 
@@ -42,6 +44,14 @@ public class SqlSessionPostsMapper implements PostsMapper {
 		}
 	}
 
+	@Override
+	public Collection<Post> getPostsByIds(Collection<Integer> postIds) {
+		try (SqlSession session = sessionfactory.openSession(true)) {
+			PostsMapper mapper = session.getMapper(PostsMapper.class);
+			return mapper.getPostsByIds(postIds);
+		}
+	}
+
 	@Override
 	public Integer getUserIdFromPostId(int postId) {
 		try(SqlSession session = sessionfactory.openSession(true)) {
@@ -75,10 +85,18 @@ public class SqlSessionPostsMapper implements PostsMapper {
 	}
 
 	@Override
-	public Collection<Post> getLikedPostsByUserId(int userId) {
+	public Collection<Post> getLikedPostsByUserId(int userId, Integer beforePostId, Integer limit) {
+		try (SqlSession session = sessionfactory.openSession(true)) {
+			PostsMapper mapper = session.getMapper(PostsMapper.class);
+			return mapper.getLikedPostsByUserId(userId, beforePostId, limit);
+		}
+	}
+
+	@Override
+	public Collection<Post> getPostsMentioningUserId(int userId, Integer beforePostId, Integer limit) {
 		try (SqlSession session = sessionfactory.openSession(true)) {
 			PostsMapper mapper = session.getMapper(PostsMapper.class);
-			return mapper.getLikedPostsByUserId(userId);
+			return mapper.getPostsMentioningUserId(userId, beforePostId, limit);
 		}
 	}
 
@@ -90,6 +108,14 @@ public class SqlSessionPostsMapper implements PostsMapper {
 		}
 	}
 
+	@Override
+	public Collection<Like> getPostLikesByPostIds(Collection<Integer> postIds) {
+		try (SqlSession session = sessionfactory.openSession(true)) {
+			PostsMapper mapper = session.getMapper(PostsMapper.class);
+			return mapper.getPostLikesByPostIds(postIds);
+		}
+	}
+
 	@Override
 	public int likePost(int postId, Integer userId, String username) {
 		try (SqlSession session = sessionfactory.openSession(true)) {
@@ -108,10 +134,10 @@ public class SqlSessionPostsMapper implements PostsMapper {
 	}
 
 	@Override
-	public Collection<Post> getCommentedPostsByUserId(int userId) {
+	public Collection<Post> getCommentedPostsByUserId(int userId, Integer beforePostId, Integer limit) {
 		try (SqlSession session = sessionfactory.openSession(true)) {
 			PostsMapper mapper = session.getMapper(PostsMapper.class);
-			return mapper.getCommentedPostsByUserId(userId);
+			return mapper.getCommentedPostsByUserId(userId, beforePostId, limit);
 		}
 	}
 }
@@ -1,5 +1,7 @@
 package com.jms.socialmedia.mybatis;
 
+import java.util.Collection;
+
 import org.apache.ibatis.session.SqlSession;
 import org.apache.ibatis.session.SqlSessionFactory;
 
@@ -55,6 +57,14 @@ public class SqlSessionUsersMapper implements UsersMapper {
 		}
 	}
 
+	@Override
+	public Collection<UserPage> getUserPagesInfoByNames(Collection<String> usernames) {
+		try (SqlSession session = sessionfactory.openSession(true)) {
+			UsersMapper mapper = session.getMapper(UsersMapper.class);
+			return mapper.getUserPagesInfoByNames(usernames);
+		}
+	}
+
 	@Override
 	public User getUserLoginInfoByString(String username) {
 		try (SqlSession session = sessionfactory.openSession(true)) {
@@ -1,5 +1,7 @@
 package com.jms.socialmedia.mybatis;
 
+import java.util.Collection;
+
 import org.apache.ibatis.annotations.Param;
 
 import com.jms.socialmedia.model.NewUser;
@@ -18,6 +20,8 @@ public interface UsersMapper {
 
 	UserPage getUserPageInfoByName(String username);
 
+	Collection<UserPage> getUserPagesInfoByNames(@Param(value="usernames") Collection<String> usernames);
+
 	User getUserLoginInfoByString(String usernameOrEmail);
 
 	User getHashedPasswordByUserId(Integer userId);
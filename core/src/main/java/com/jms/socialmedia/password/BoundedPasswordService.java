@@ -0,0 +1,95 @@
+package com.jms.socialmedia.password;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.jms.socialmedia.exception.ServiceUnavailableException;
+
+/**
+ * Runs the hashing of another PasswordService on its own fixed pool of threads, so a burst of logins can only keep
+ * those threads busy, not every thread serving requests.
+ *
+ * At most {@code maxQueueSize} passwords wait for a thread. Any more are rejected right away with a
+ * {@link ServiceUnavailableException}, rather than queued for longer than the client would wait
+ */
+public class BoundedPasswordService implements PasswordService {
+
+	private static final String SERVICE_UNAVAILABLE_MESSAGE = "Too many password requests, try again later";
+
+	private final PasswordService passwordService;
+	private final ThreadPoolExecutor executor;
+	private final AtomicLong rejectedCount;
+
+	public BoundedPasswordService(PasswordService passwordService, int numberOfThreads, int maxQueueSize) {
+		this.passwordService = passwordService;
+		this.executor = new ThreadPoolExecutor(numberOfThreads, numberOfThreads, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(maxQueueSize),
+				new ThreadFactoryBuilder().setNameFormat("password-%d").setDaemon(true).build(),
+				new ThreadPoolExecutor.AbortPolicy());
+		this.rejectedCount = new AtomicLong();
+	}
+
+	@Override
+	public String encryptPassword(String password) {
+		return execute(() -> passwordService.encryptPassword(password));
+	}
+
+	@Override
+	public boolean checkPassword(String password, String hashedPassword) {
+		return execute(() -> passwordService.checkPassword(password, hashedPassword));
+	}
+
+	/**
+	 * @return	number of passwords waiting for a thread
+	 */
+	public int getQueueSize() {
+		return executor.getQueue().size();
+	}
+
+	/**
+	 * @return	number of threads hashing a password
+	 */
+	public int getActiveCount() {
+		return executor.getActiveCount();
+	}
+
+	/**
+	 * @return	number of passwords rejected because the queue was full
+	 */
+	public long getRejectedCount() {
+		return rejectedCount.get();
+	}
+
+	public void shutdown() {
+		executor.shutdown();
+	}
+
+	private <T> T execute(Callable<T> task) {
+		Future<T> future;
+		try {
+			future = executor.submit(task);
+		} catch (RejectedExecutionException e) {
+			rejectedCount.incrementAndGet();
+			throw new ServiceUnavailableException(SERVICE_UNAVAILABLE_MESSAGE, e);
+		}
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			future.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new ServiceUnavailableException(SERVICE_UNAVAILABLE_MESSAGE, e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+}
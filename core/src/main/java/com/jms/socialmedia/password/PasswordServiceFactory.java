@@ -0,0 +1,39 @@
+package com.jms.socialmedia.password;
+
+import com.codahale.metrics.MetricRegistry;
+import com.jms.socialmedia.configuration.Configurations;
+import com.jms.socialmedia.configuration.CoreSettings;
+
+public class PasswordServiceFactory {
+
+	private PasswordServiceFactory() {
+		throw new IllegalStateException("Factory Class");
+	}
+
+	/**
+	 * Passwords are hashed with BCrypt on a bounded pool of threads, unless the Mock Data Service is used.
+	 * The hashing itself is timed, on the threads of the pool, so the timers don't include the time spent queued
+	 */
+	public static PasswordService createPasswordService(Configurations configurations, MetricRegistry metricRegistry) {
+
+		if (Boolean.TRUE.equals(configurations.get(CoreSettings.MOCK_DATA_SERVICE))) {
+			return new NonEncryptionPasswordService();
+		}
+
+		PasswordService passwordService = new BcryptPasswordService();
+		if (metricRegistry != null) {
+			passwordService = new PasswordServiceWithMetrics(passwordService, metricRegistry);
+		}
+
+		BoundedPasswordService boundedPasswordService = new BoundedPasswordService(passwordService,
+				configurations.get(CoreSettings.PASSWORD_NUMBER_OF_THREADS),
+				configurations.get(CoreSettings.PASSWORD_MAX_QUEUE_SIZE));
+		if (metricRegistry != null) {
+			String metricsName = BoundedPasswordService.class.getSimpleName();
+			metricRegistry.gauge(metricsName + ".queueSize", () -> boundedPasswordService::getQueueSize);
+			metricRegistry.gauge(metricsName + ".activeCount", () -> boundedPasswordService::getActiveCount);
+			metricRegistry.gauge(metricsName + ".rejectedCount", () -> boundedPasswordService::getRejectedCount);
+		}
+		return boundedPasswordService;
+	}
+}
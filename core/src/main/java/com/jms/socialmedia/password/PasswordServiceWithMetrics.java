@@ -0,0 +1,35 @@
+package com.jms.socialmedia.password;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+
+public class PasswordServiceWithMetrics implements PasswordService {
+
+	private final PasswordService passwordService;
+	private final Timer encryptPasswordTimer;
+	private final Timer checkPasswordTimer;
+
+	public PasswordServiceWithMetrics(PasswordService passwordService, MetricRegistry metricRegistry) {
+		this(passwordService, metricRegistry, passwordService.getClass().getSimpleName());
+	}
+
+	public PasswordServiceWithMetrics(PasswordService passwordService, MetricRegistry metricRegistry, String metricsName) {
+		this.passwordService = passwordService;
+		this.encryptPasswordTimer = metricRegistry.timer(metricsName + ".encryptPassword");
+		this.checkPasswordTimer = metricRegistry.timer(metricsName + ".checkPassword");
+	}
+
+	@Override
+	public String encryptPassword(String password) {
+		try (Timer.Context context = encryptPasswordTimer.time()) {
+			return passwordService.encryptPassword(password);
+		}
+	}
+
+	@Override
+	public boolean checkPassword(String password, String hashedPassword) {
+		try (Timer.Context context = checkPasswordTimer.time()) {
+			return passwordService.checkPassword(password, hashedPassword);
+		}
+	}
+}
@@ -0,0 +1,113 @@
+package com.jms.socialmedia.timeline;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Keeps the Timelines in the heap of this replica. Posts fanned out on another replica never reach them,
+ * so each Timeline expires a fixed time after it was loaded, however often it is read,
+ * to bound how long it can miss those Posts
+ */
+public class GuavaTimelineService implements TimelineService {
+
+	private final Cache<String, NavigableSet<Integer>> timelinesByUsername;
+	private final Set<String> usersWithoutFanOut;
+	private final int maxNumberOfPostsPerTimeline;
+
+	public GuavaTimelineService(int maxNumberOfTimelines, int maxNumberOfPostsPerTimeline) {
+		this(maxNumberOfTimelines, maxNumberOfPostsPerTimeline, Integer.MAX_VALUE);
+	}
+
+	public GuavaTimelineService(int maxNumberOfTimelines, int maxNumberOfPostsPerTimeline, int expireTimeInSeconds) {
+		this.timelinesByUsername = CacheBuilder.newBuilder().maximumSize(maxNumberOfTimelines)
+				.expireAfterWrite(expireTimeInSeconds, TimeUnit.SECONDS).build();
+		this.usersWithoutFanOut = ConcurrentHashMap.newKeySet();
+		this.maxNumberOfPostsPerTimeline = maxNumberOfPostsPerTimeline;
+	}
+
+	@Override
+	public List<Integer> getTimeline(String username) {
+		NavigableSet<Integer> timeline = timelinesByUsername.getIfPresent(toKey(username));
+		if (timeline == null) {
+			return null;
+		}
+		synchronized (timeline) {
+			return new ArrayList<>(timeline);
+		}
+	}
+
+	@Override
+	public void putTimeline(String username, Collection<Integer> postIds) {
+		NavigableSet<Integer> timeline = new TreeSet<>(Comparator.reverseOrder());
+		timeline.addAll(postIds);
+		trimTimeline(timeline);
+		timelinesByUsername.put(toKey(username), timeline);
+	}
+
+	@Override
+	public void addPostToTimelines(int postId, Collection<String> usernames) {
+		for (String username : usernames) {
+			NavigableSet<Integer> timeline = timelinesByUsername.getIfPresent(toKey(username));
+			if (timeline != null) {
+				synchronized (timeline) {
+					timeline.add(postId);
+					trimTimeline(timeline);
+				}
+			}
+		}
+	}
+
+	@Override
+	public void removePostFromTimelines(int postId, Collection<String> usernames) {
+		for (String username : usernames) {
+			NavigableSet<Integer> timeline = timelinesByUsername.getIfPresent(toKey(username));
+			if (timeline != null) {
+				synchronized (timeline) {
+					timeline.remove(postId);
+				}
+			}
+		}
+	}
+
+	@Override
+	public void removeTimeline(String username) {
+		timelinesByUsername.invalidate(toKey(username));
+	}
+
+	@Override
+	public void addUserWithoutFanOut(String username) {
+		usersWithoutFanOut.add(toKey(username));
+	}
+
+	@Override
+	public boolean removeUserWithoutFanOut(String username) {
+		return usersWithoutFanOut.remove(toKey(username));
+	}
+
+	@Override
+	public Set<String> getUsersWithoutFanOut() {
+		return Collections.unmodifiableSet(usersWithoutFanOut);
+	}
+
+	private void trimTimeline(NavigableSet<Integer> timeline) {
+		while (timeline.size() > maxNumberOfPostsPerTimeline) {
+			timeline.pollLast();
+		}
+	}
+
+	private static String toKey(String username) {
+		return username.toLowerCase(Locale.US);
+	}
+}
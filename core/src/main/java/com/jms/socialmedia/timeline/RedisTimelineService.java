@@ -0,0 +1,147 @@
+package com.jms.socialmedia.timeline;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPoolConfig;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Stores each Timeline as a Redis Sorted Set of Post IDs scored by Post ID, so that every replica shares the same Timelines.
+ * Each Timeline also holds a placeholder member with a score of 0 so that a built but empty Timeline still exists.
+ */
+public class RedisTimelineService implements TimelineService {
+
+	private static final String PLACEHOLDER = "0";
+	private static final String USERS_WITHOUT_FAN_OUT_KEY = "timeline/users_without_fan_out";
+
+	/**
+	 * Adds the Post ID in ARGV[1] to every Timeline in KEYS that exists,
+	 * then trims it to the newest ARGV[2] Posts while keeping the placeholder at rank 0
+	 */
+	private static final String ADD_POST_TO_TIMELINES_SCRIPT = 
+			"for _, key in ipairs(KEYS) do\n"
+			+ "  if redis.call('EXISTS', key) == 1 then\n"
+			+ "    redis.call('ZADD', key, ARGV[1], ARGV[1])\n"
+			+ "    redis.call('ZREMRANGEBYRANK', key, 1, -(tonumber(ARGV[2]) + 1))\n"
+			+ "  end\n"
+			+ "end\n"
+			+ "return 0";
+
+	private final JedisPool jedisPool;
+	private final int maxNumberOfPostsPerTimeline;
+	private final int expireTimeInSeconds;
+
+	public RedisTimelineService(String host, int port, int maxNumberOfPostsPerTimeline, int expireTimeInSeconds) {
+		this(new JedisPool(new JedisPoolConfig(), host, port), maxNumberOfPostsPerTimeline, expireTimeInSeconds);
+	}
+
+	public RedisTimelineService(JedisPool jedisPool, int maxNumberOfPostsPerTimeline, int expireTimeInSeconds) {
+		this.jedisPool = jedisPool;
+		this.maxNumberOfPostsPerTimeline = maxNumberOfPostsPerTimeline;
+		this.expireTimeInSeconds = expireTimeInSeconds;
+	}
+
+	@Override
+	public List<Integer> getTimeline(String username) {
+		String key = getTimelineKey(username);
+		try (Jedis jedis = jedisPool.getResource()) {
+			Pipeline pipeline = jedis.pipelined();
+			Response<Set<String>> response = pipeline.zrevrange(key, 0, -1);
+			pipeline.expire(key, expireTimeInSeconds);
+			pipeline.sync();
+
+			Set<String> members = response.get();
+			if (members == null || members.isEmpty()) {
+				return null;
+			}
+			return members.stream().filter(member -> !PLACEHOLDER.equals(member)).map(Integer::valueOf).collect(toList());
+		}
+	}
+
+	@Override
+	public void putTimeline(String username, Collection<Integer> postIds) {
+		String key = getTimelineKey(username);
+		Map<String, Double> membersWithScores = new HashMap<>();
+		membersWithScores.put(PLACEHOLDER, 0d);
+		postIds.stream().sorted((a, b) -> b.compareTo(a)).limit(maxNumberOfPostsPerTimeline)
+				.forEach(postId -> membersWithScores.put(postId.toString(), postId.doubleValue()));
+
+		try (Jedis jedis = jedisPool.getResource()) {
+			Pipeline pipeline = jedis.pipelined();
+			pipeline.multi();
+			pipeline.del(key);
+			pipeline.zadd(key, membersWithScores);
+			pipeline.expire(key, expireTimeInSeconds);
+			pipeline.exec();
+			pipeline.sync();
+		}
+	}
+
+	@Override
+	public void addPostToTimelines(int postId, Collection<String> usernames) {
+		if (usernames.isEmpty()) {
+			return;
+		}
+		List<String> keys = usernames.stream().map(RedisTimelineService::getTimelineKey).collect(toList());
+		try (Jedis jedis = jedisPool.getResource()) {
+			jedis.eval(ADD_POST_TO_TIMELINES_SCRIPT, keys, 
+					List.of(Integer.toString(postId), Integer.toString(maxNumberOfPostsPerTimeline)));
+		}
+	}
+
+	@Override
+	public void removePostFromTimelines(int postId, Collection<String> usernames) {
+		if (usernames.isEmpty()) {
+			return;
+		}
+		String member = Integer.toString(postId);
+		try (Jedis jedis = jedisPool.getResource()) {
+			Pipeline pipeline = jedis.pipelined();
+			usernames.forEach(username -> pipeline.zrem(getTimelineKey(username), member));
+			pipeline.sync();
+		}
+	}
+
+	@Override
+	public void removeTimeline(String username) {
+		try (Jedis jedis = jedisPool.getResource()) {
+			jedis.del(getTimelineKey(username));
+		}
+	}
+
+	@Override
+	public void addUserWithoutFanOut(String username) {
+		try (Jedis jedis = jedisPool.getResource()) {
+			jedis.sadd(USERS_WITHOUT_FAN_OUT_KEY, username.toLowerCase(Locale.US));
+		}
+	}
+
+	@Override
+	public boolean removeUserWithoutFanOut(String username) {
+		try (Jedis jedis = jedisPool.getResource()) {
+			return jedis.srem(USERS_WITHOUT_FAN_OUT_KEY, username.toLowerCase(Locale.US)) > 0;
+		}
+	}
+
+	@Override
+	public Set<String> getUsersWithoutFanOut() {
+		try (Jedis jedis = jedisPool.getResource()) {
+			return jedis.smembers(USERS_WITHOUT_FAN_OUT_KEY);
+		}
+	}
+
+	private static String getTimelineKey(String username) {
+		return "timeline/" + username.toLowerCase(Locale.US);
+	}
+}
@@ -0,0 +1,61 @@
+package com.jms.socialmedia.timeline;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+public interface TimelineService {
+
+	/**
+	 * @param username	User whose Timeline is being retrieved
+	 * @return			IDs of the Posts in the Timeline, newest first, 
+	 * 					or {@code null} if the Timeline of this User has not been built
+	 */
+	List<Integer> getTimeline(String username);
+
+	/**
+	 * Builds or replaces the Timeline of a User
+	 * @param username	User whose Timeline is being built
+	 * @param postIds	IDs of the Posts in the Timeline
+	 */
+	void putTimeline(String username, Collection<Integer> postIds);
+
+	/**
+	 * Adds a Post to the Timelines of the given Users.
+	 * Users whose Timeline has not been built are skipped, their Timeline will include the Post when it is built.
+	 * @param postId	ID of the new Post
+	 * @param usernames	Users whose Timelines will receive the Post
+	 */
+	void addPostToTimelines(int postId, Collection<String> usernames);
+
+	/**
+	 * @param postId	ID of the deleted Post
+	 * @param usernames	Users whose Timelines may contain the Post
+	 */
+	void removePostFromTimelines(int postId, Collection<String> usernames);
+
+	/**
+	 * Removes the Timeline of a User so it is rebuilt the next time it is read
+	 * @param username	User whose Timeline is removed
+	 */
+	void removeTimeline(String username);
+
+	/**
+	 * Marks a User as having too many followers to push their Posts into Timelines.
+	 * The Posts of these Users are merged into Feeds when they are read.
+	 * @param username	User with too many followers
+	 */
+	void addUserWithoutFanOut(String username);
+
+	/**
+	 * Marks a User as having few enough followers to push their Posts into Timelines again
+	 * @param username	User who had too many followers
+	 * @return			{@code true} if the User was marked as having too many followers
+	 */
+	boolean removeUserWithoutFanOut(String username);
+
+	/**
+	 * @return			lowercase usernames of the Users whose Posts are not pushed into Timelines
+	 */
+	Set<String> getUsersWithoutFanOut();
+}
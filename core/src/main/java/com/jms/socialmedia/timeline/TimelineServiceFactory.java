@@ -0,0 +1,47 @@
+package com.jms.socialmedia.timeline;
+
+import java.util.Locale;
+
+import com.jms.socialmedia.configuration.Configurations;
+import com.jms.socialmedia.configuration.CoreSettings;
+import com.jms.socialmedia.exception.ConfigurationException;
+
+public class TimelineServiceFactory {
+
+	private TimelineServiceFactory() {
+		throw new IllegalStateException("Factory Class");
+	}
+
+	/**
+	 * Timelines kept in the heap of each replica are refused along with an invalidation bus,
+	 * since the bus means there are other replicas, whose Posts would never reach those Timelines
+	 * 
+	 * @throws ConfigurationException	if Guava Timelines are configured along with an invalidation bus
+	 */
+	public static TimelineService createTimelineService(Configurations configurations) {
+
+		TimelineService timelineService = null;
+		if (configurations.get(CoreSettings.USE_TIMELINES)) {
+			switch (configurations.get(CoreSettings.TIMELINE_IMPLEMENTATION).toLowerCase(Locale.US)) {
+				case "redis":
+					timelineService = new RedisTimelineService(
+							configurations.get(CoreSettings.CACHE_REDIS_HOST),
+							configurations.get(CoreSettings.CACHE_REDIS_PORT),
+							configurations.get(CoreSettings.TIMELINE_MAX_NUMBER_OF_POSTS),
+							configurations.get(CoreSettings.CACHE_EXPIRE_TIME_SECONDS));
+					break;
+				default:
+					if (!"none".equals(configurations.get(CoreSettings.CACHE_INVALIDATION_BUS).toLowerCase(Locale.US))) {
+						throw new ConfigurationException("Guava Timelines are kept in each replica and can't be shared, "
+								+ "set timeline.implementation=redis along with cache.invalidation_bus");
+					}
+					timelineService = new GuavaTimelineService(
+							configurations.get(CoreSettings.TIMELINE_GUAVA_MAX_NUMBER_OF_TIMELINES),
+							configurations.get(CoreSettings.TIMELINE_MAX_NUMBER_OF_POSTS),
+							configurations.get(CoreSettings.TIMELINE_GUAVA_EXPIRE_TIME_SECONDS));
+			}
+		}
+
+		return timelineService;
+	}
+}
@@ -0,0 +1,12 @@
+/**
+ * 
+ */
+/**
+ * 
+ * <h1> Materialized Home Timelines </h1>
+ * Post IDs are pushed into the bounded Timelines of a User's followers when the User posts,
+ * so that Feeds can be read without querying the Posts of everyone being followed
+ * @author jason sarwar
+ *
+ */
+package com.jms.socialmedia.timeline;
@@ -3,9 +3,13 @@ package com.jms.socialmedia.token;
 import javax.crypto.spec.SecretKeySpec;
 import javax.xml.bind.DatatypeConverter;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
@@ -18,8 +22,15 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+/**
+ * Signs and verifies JSON Web Tokens.
+ *
+ * Tokens verified are cached by their string, so a client sending the same token on every request only has it verified
+ * and parsed once. Only valid tokens are cached, and a cached token expiring is parsed again, so the parser rejects it
+ */
 public class JWTService implements TokenService {
 
 	private static final String JWT_KEY = "fh3qHRGn787K8t8WERFIKLh3p57tRscsdcsQW9328JHION";
@@ -29,6 +40,32 @@ public class JWTService implements TokenService {
 	private static final String CLAIM_USERNAME = "username";
 	private static final String CLAIM_PERMISSIONS = "permissions";
 
+	//The JWT signature algorithm we will be using to sign the token
+	private static final SignatureAlgorithm SIGNATURE_ALGORITHM = SignatureAlgorithm.HS256;
+	//We will sign our JWT with our ApiKey secret
+	private static final Key SIGNING_KEY = new SecretKeySpec(DatatypeConverter.parseBase64Binary(JWT_KEY),
+			SIGNATURE_ALGORITHM.getJcaName());
+
+	private static final int DEFAULT_MAX_NUMBER_OF_TOKENS = 10000;
+	private static final int DEFAULT_EXPIRE_TIME_IN_SECONDS = 3600;
+
+	private final JwtParser parser;
+	private final Cache<String, VerifiedToken> verifiedTokens;
+
+	public JWTService() {
+		this(DEFAULT_MAX_NUMBER_OF_TOKENS, DEFAULT_EXPIRE_TIME_IN_SECONDS);
+	}
+
+	/**
+	 * @param maxNumberOfTokens		maximum number of verified tokens cached
+	 * @param expireTimeInSeconds	time a verified token stays cached, unless the token expires before
+	 */
+	public JWTService(int maxNumberOfTokens, int expireTimeInSeconds) {
+		this.parser = Jwts.parser().setSigningKey(SIGNING_KEY);
+		this.verifiedTokens = CacheBuilder.newBuilder().maximumSize(maxNumberOfTokens)
+				.expireAfterWrite(expireTimeInSeconds, TimeUnit.SECONDS).build();
+	}
+
 	/**
 	 * Taken from <a href='https://stormpath.com/blog/jwt-java-create-verify'>
 	 * 				https://stormpath.com/blog/jwt-java-create-verify</a>
@@ -38,13 +75,6 @@ public class JWTService implements TokenService {
 	 */
 	@Override
 	public String createTokenString(Token token) throws IOException {
-		 
-	    //The JWT signature algorithm we will be using to sign the token
-	    SignatureAlgorithm signatureAlgorithm = SignatureAlgorithm.HS256;
-
-	    //We will sign our JWT with our ApiKey secret
-	    byte[] apiKeySecretBytes = DatatypeConverter.parseBase64Binary(JWT_KEY);
-	    Key signingKey = new SecretKeySpec(apiKeySecretBytes, signatureAlgorithm.getJcaName());
 
 	    //Let's set the JWT Claims
 	    JwtBuilder builder = Jwts.builder().setId(UUID.randomUUID().toString())
@@ -54,17 +84,13 @@ public class JWTService implements TokenService {
 	                                .claim(CLAIM_USERID, token.getUserId())
 	                                .claim(CLAIM_USERNAME, token.getUsername())
 	                                .claim(CLAIM_PERMISSIONS, token.getPermissions())
-	                                .signWith(signatureAlgorithm, signingKey);
-	 
+	                                .signWith(SIGNATURE_ALGORITHM, SIGNING_KEY);
+
 	    //Builds the JWT and serializes it to a compact, URL-safe string
 	    return builder.compact();
 	}
 
-
 	/**
-	 * Taken from <a href='https://stormpath.com/blog/jwt-java-create-verify'>
-	 * 				https://stormpath.com/blog/jwt-java-create-verify</a>
-	 * 
 	 * @param jwt
 	 * @return
 	 * @throws ExpiredJwtException
@@ -75,22 +101,49 @@ public class JWTService implements TokenService {
 	 * @throws IOException
 	 */
 	@Override
-	@SuppressWarnings("unchecked")
 	public Token createTokenFromString(String jwt) throws IOException {
-		 
+		VerifiedToken verifiedToken = jwt == null ? null : verifiedTokens.getIfPresent(jwt);
+		if (verifiedToken != null && !verifiedToken.isExpired()) {
+			return verifiedToken.token;
+		}
+		verifiedToken = verify(jwt);
+		verifiedTokens.put(jwt, verifiedToken);
+		return verifiedToken.token;
+	}
+
+	/**
+	 * Taken from <a href='https://stormpath.com/blog/jwt-java-create-verify'>
+	 * 				https://stormpath.com/blog/jwt-java-create-verify</a>
+	 */
+	@SuppressWarnings("unchecked")
+	private VerifiedToken verify(String jwt) {
+
 	    //This line will throw an exception if it is not a signed JWS (as expected)
-	    Claims claims = Jwts.parser()         
-	       .setSigningKey(DatatypeConverter.parseBase64Binary(JWT_KEY))
-	       .parseClaimsJws(jwt).getBody();
+	    Claims claims = parser.parseClaimsJws(jwt).getBody();
 
 		Set<Permission> permissions = (Set<Permission>) claims.get(CLAIM_PERMISSIONS, ArrayList.class).stream()
 				.map(e -> Permission.valueOf((String) e)).collect(Collectors.toSet());
 
-		return Token.newBuilder()
+		Token token = Token.newBuilder()
 				.setUserId(claims.get(CLAIM_USERID, Integer.class))
 				.setUsername(claims.get(CLAIM_USERNAME, String.class))
 				.addPermissions(permissions)
 				.build();
+		return new VerifiedToken(token, claims.getExpiration());
 	}
 
+	private static final class VerifiedToken {
+
+		private final Token token;
+		private final Date expiration;
+
+		private VerifiedToken(Token token, Date expiration) {
+			this.token = token;
+			this.expiration = expiration;
+		}
+
+		private boolean isExpired() {
+			return expiration != null && expiration.getTime() <= System.currentTimeMillis();
+		}
+	}
 }
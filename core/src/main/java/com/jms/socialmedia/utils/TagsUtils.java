@@ -2,28 +2,101 @@ package com.jms.socialmedia.utils;
 
 import java.util.Collection;
 import java.util.HashSet;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Locale;
 
 import com.jms.socialmedia.model.Post;
 
+/**
+ * Extracts the #tags and @mentions of the text of a Post or Comment in a single pass, without regular expressions.
+ *
+ * A tag or mention starts at the beginning of the text or after whitespace, and runs until the end of the text
+ * or the next whitespace. Tags are letters, digits, underscores and dashes; mentions are usernames, so letters,
+ * digits and underscores. Any other character in between means it isn't a tag or mention at all.
+ * Both are returned in lower case, without their # or @
+ */
 public class TagsUtils {
 
+	private static final char TAG_PREFIX = '#';
+	private static final char MENTION_PREFIX = '@';
+
 	private TagsUtils() {
 	}
 
 	public static Collection<String> extractTagsFromPost(Post post) {
 		return extractTags(post.getText());
 	}
-	
+
 	public static Collection<String> extractTags(String text) {
-		Collection<String> tags = new HashSet<>();
-		Pattern pattern = Pattern.compile("(?<=\\s|^)#([\\w_-]*)(?=\\s|$)");
-		Matcher matcher = pattern.matcher(text);
-		while (matcher.find()) {
-			tags.add(matcher.group(1).toLowerCase());
+		return scan(text, true, false).getTags();
+	}
+
+	public static Collection<String> extractMentions(String text) {
+		return scan(text, false, true).getMentions();
+	}
+
+	public static TagsAndMentions extractTagsAndMentions(String text) {
+		return scan(text, true, true);
+	}
+
+	private static TagsAndMentions scan(String text, boolean withTags, boolean withMentions) {
+		TagsAndMentions tagsAndMentions = new TagsAndMentions();
+		int length = text.length();
+		int i = 0;
+		while (i < length) {
+			char prefix = text.charAt(i);
+			boolean isTag = withTags && prefix == TAG_PREFIX;
+			boolean isMention = withMentions && prefix == MENTION_PREFIX;
+			if ((isTag || isMention) && (i == 0 || isWhitespace(text.charAt(i - 1)))) {
+				int start = i + 1;
+				int end = start;
+				while (end < length && isWordCharacter(text.charAt(end), isTag)) {
+					end++;
+				}
+				if (end > start && (end == length || isWhitespace(text.charAt(end)))) {
+					String word = text.substring(start, end).toLowerCase(Locale.US);
+					if (isTag) {
+						tagsAndMentions.tags.add(word);
+					} else {
+						tagsAndMentions.mentions.add(word);
+					}
+				}
+				i = end;
+			} else {
+				i++;
+			}
+		}
+		return tagsAndMentions;
+	}
+
+	/**
+	 * Same characters as {@code \s} in a regular expression
+	 */
+	private static boolean isWhitespace(char c) {
+		return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+	}
+
+	private static boolean isWordCharacter(char c, boolean isTag) {
+		return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_'
+				|| (isTag && c == '-');
+	}
+
+	public static final class TagsAndMentions {
+
+		private final Collection<String> tags = new HashSet<>();
+		private final Collection<String> mentions = new HashSet<>();
+
+		private TagsAndMentions() {
 		}
 
-		return tags;
+		public Collection<String> getTags() {
+			return tags;
+		}
+
+		/**
+		 * @return	the usernames mentioned
+		 */
+		public Collection<String> getMentions() {
+			return mentions;
+		}
 	}
 }
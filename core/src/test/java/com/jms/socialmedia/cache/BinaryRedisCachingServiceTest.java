@@ -0,0 +1,333 @@
+package com.jms.socialmedia.cache;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+
+import com.jms.socialmedia.cache.codec.BinaryCachingCodec;
+import com.jms.socialmedia.model.Comment;
+import com.jms.socialmedia.model.Post;
+import com.jms.socialmedia.model.User;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.Tuple;
+import redis.clients.jedis.util.SafeEncoder;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class BinaryRedisCachingServiceTest {
+
+	private static final byte[] POST_KEY = SafeEncoder.encode("post/5");
+	private static final byte[] POST_LIKES_KEY = SafeEncoder.encode("post/5/likes");
+	private static final byte[] COMMENTS_KEY = SafeEncoder.encode("post/3/comments");
+	private static final byte[] USER_SESSION_KEY = SafeEncoder.encode("user/session/sessionId");
+	private static final int EXPIRATION_TIME = 500;
+
+	@Mock
+	private JedisPool jedisPool;
+	@Mock
+	private Jedis jedis;
+	@Mock
+	private Pipeline pipeline;
+	@Mock
+	private Response<byte[]> getResponse;
+	@Mock
+	private Response<Set<byte[]>> smembersResponse;
+	@Mock
+	private Response<List<byte[]>> mgetResponse;
+	@Mock
+	private Response<Set<Tuple>> zrangeWithScoresResponse;
+	@Mock
+	private Response<Set<byte[]>> zrangeByScoreResponse;
+
+	private BinaryCachingCodec cachingServiceCodec;
+
+	private Post post;
+	private Comment comment1;
+	private Comment comment2;
+	private User userSession;
+
+	private BinaryRedisCachingService binaryRedisCachingService;
+	private int numberOfResources = 1;
+
+	@Before
+	public void setUp() {
+		initMocks(this);
+		cachingServiceCodec = new BinaryCachingCodec();
+		post = new Post(5, 1, "Username", "Full Name", "Post Text", LocalDateTime.of(2019, 5, 17, 6, 16, 25));
+		comment1 = new Comment(1, 3, "comment 1", null);
+		comment2 = new Comment(2, 3, "comment 2", null);
+		userSession = new User(10, "User10", "User Number 10");
+		binaryRedisCachingService = new BinaryRedisCachingService(cachingServiceCodec, jedisPool, EXPIRATION_TIME);
+
+		when(jedisPool.getResource()).thenReturn(jedis);
+		when(jedis.pipelined()).thenReturn(pipeline);
+		when(pipeline.get(any(byte[].class))).thenReturn(getResponse);
+		when(pipeline.smembers(any(byte[].class))).thenReturn(smembersResponse);
+	}
+
+	@After
+	public void tearDown() {
+		verify(jedisPool, times(numberOfResources)).getResource();
+		verify(jedis, times(numberOfResources)).close();
+		verifyNoMoreInteractions(jedis, pipeline);
+	}
+
+	@Test
+	public void testGetPostFromCache() {
+		when(getResponse.get()).thenReturn(cachingServiceCodec.encodePost(post));
+		when(smembersResponse.get()).thenReturn(Set.of(SafeEncoder.encode(""), SafeEncoder.encode("User1")));
+		post.addLike("User1");
+
+		Post retrievedPost = binaryRedisCachingService.getPostFromCache(5);
+		assertThat(retrievedPost, is(post));
+
+		verifyGetPostAndTouch();
+	}
+
+	@Test
+	public void testGetPostFromCacheNotFound() {
+		assertThat(binaryRedisCachingService.getPostFromCache(5), is(nullValue()));
+
+		verifyGetPostAndTouch();
+	}
+
+	@Test
+	public void testGetPostFromCacheWithoutCompleteLikes() {
+		when(getResponse.get()).thenReturn(cachingServiceCodec.encodePost(post));
+		when(smembersResponse.get()).thenReturn(Set.of(SafeEncoder.encode("User1")));
+
+		assertThat(binaryRedisCachingService.getPostFromCache(5), is(nullValue()));
+
+		verifyGetPostAndTouch();
+	}
+
+	@Test
+	public void testGetPostFromCacheDecodeFailure() {
+		byte[] encodedPost = cachingServiceCodec.encodePost(post);
+		when(getResponse.get()).thenReturn(Arrays.copyOf(encodedPost, encodedPost.length - 1));
+		when(smembersResponse.get()).thenReturn(Set.of(SafeEncoder.encode("")));
+		numberOfResources = 2;
+
+		assertThat(binaryRedisCachingService.getPostFromCache(5), is(nullValue()));
+
+		verifyGetPostAndTouch();
+		verify(jedis, times(1)).del(POST_KEY);
+	}
+
+	@Test
+	public void testGetUserSessionFromCacheDecodeFailure() {
+		when(getResponse.get()).thenReturn(new byte[] { 1, 1 << 2, 100 });
+		numberOfResources = 2;
+
+		assertThat(binaryRedisCachingService.getUserSessionFromCache("sessionId"), is(nullValue()));
+
+		verifyGetAndTouch(USER_SESSION_KEY);
+		verify(jedis, times(1)).del(USER_SESSION_KEY);
+	}
+
+	@Test
+	public void testGetPostsByIdsFromCache() {
+		byte[] otherPostKey = SafeEncoder.encode("post/6");
+		byte[] otherPostLikesKey = SafeEncoder.encode("post/6/likes");
+		when(pipeline.mget(POST_KEY, otherPostKey)).thenReturn(mgetResponse);
+		when(mgetResponse.get()).thenReturn(Arrays.asList(cachingServiceCodec.encodePost(post), null));
+		when(smembersResponse.get()).thenReturn(Set.of(SafeEncoder.encode(""), SafeEncoder.encode("User1")));
+		post.addLike("User1");
+
+		assertThat(binaryRedisCachingService.getPostsByIdsFromCache(List.of(5, 6)), is(Map.of(5, post)));
+
+		verify(jedis, times(1)).pipelined();
+		verify(pipeline, times(1)).mget(POST_KEY, otherPostKey);
+		verify(pipeline, times(1)).smembers(POST_LIKES_KEY);
+		verify(pipeline, times(1)).smembers(otherPostLikesKey);
+		verify(pipeline, times(1)).expire(POST_KEY, EXPIRATION_TIME);
+		verify(pipeline, times(1)).expire(POST_LIKES_KEY, EXPIRATION_TIME);
+		verify(pipeline, times(1)).expire(otherPostKey, EXPIRATION_TIME);
+		verify(pipeline, times(1)).expire(otherPostLikesKey, EXPIRATION_TIME);
+		verify(pipeline, times(1)).sync();
+	}
+
+	@Test
+	public void testPutPostIntoCache() {
+		binaryRedisCachingService.putPostIntoCache(post);
+
+		verify(jedis, times(1)).pipelined();
+		verify(pipeline, times(1)).setex(POST_KEY, EXPIRATION_TIME, cachingServiceCodec.encodePost(post));
+		verify(pipeline, times(1)).del(POST_LIKES_KEY);
+		verify(pipeline, times(1)).sadd(POST_LIKES_KEY, SafeEncoder.encode(""));
+		verify(pipeline, times(1)).expire(POST_LIKES_KEY, EXPIRATION_TIME);
+		verify(pipeline, times(1)).del(SafeEncoder.encode("tombstone/post/5"));
+		verify(pipeline, times(1)).sync();
+	}
+
+	@Test
+	public void testRemovePostFromCache() {
+		binaryRedisCachingService.removePostFromCache(5);
+
+		verify(jedis, times(1)).del(POST_KEY, SafeEncoder.encode("post/5/comments"), POST_LIKES_KEY);
+	}
+
+	@Test
+	public void testLikePostInCache() {
+		binaryRedisCachingService.likePostInCache(5, "User1");
+
+		verify(jedis, times(1)).pipelined();
+		verify(pipeline, times(1)).sadd(POST_LIKES_KEY, SafeEncoder.encode("User1"));
+		verify(pipeline, times(1)).expire(POST_LIKES_KEY, EXPIRATION_TIME);
+		verify(pipeline, times(1)).sync();
+	}
+
+	@Test
+	public void testUnlikePostInCache() {
+		binaryRedisCachingService.unlikePostInCache(5, "User1");
+
+		verify(jedis, times(1)).srem(POST_LIKES_KEY, SafeEncoder.encode("User1"));
+	}
+
+	@Test
+	public void testGetCommentsFromCache() {
+		when(pipeline.zrangeWithScores(COMMENTS_KEY, 0, -1)).thenReturn(zrangeWithScoresResponse);
+		when(zrangeWithScoresResponse.get()).thenReturn(new LinkedHashSet<>(List.of(
+				new Tuple(cachingServiceCodec.encodeComment(comment1), 1D),
+				new Tuple(cachingServiceCodec.encodeComment(comment2), 2D))));
+		when(smembersResponse.get()).thenReturn(Set.of(SafeEncoder.encode(""), SafeEncoder.encode("User1")),
+				Set.of(SafeEncoder.encode("")));
+
+		comment1.addLike("User1");
+
+		Collection<Comment> retrievedComments = binaryRedisCachingService.getCommentsFromCache(3);
+		assertThat(retrievedComments, is(List.of(comment1, comment2)));
+
+		verify(jedis, times(2)).pipelined();
+		verify(pipeline, times(1)).zrangeWithScores(COMMENTS_KEY, 0, -1);
+		verify(pipeline, times(1)).expire(COMMENTS_KEY, EXPIRATION_TIME);
+		verify(pipeline, times(1)).smembers(SafeEncoder.encode("comment/1/likes"));
+		verify(pipeline, times(1)).expire(SafeEncoder.encode("comment/1/likes"), EXPIRATION_TIME);
+		verify(pipeline, times(1)).smembers(SafeEncoder.encode("comment/2/likes"));
+		verify(pipeline, times(1)).expire(SafeEncoder.encode("comment/2/likes"), EXPIRATION_TIME);
+		verify(pipeline, times(2)).sync();
+	}
+
+	@Test
+	public void testGetCommentsFromCacheNotFound() {
+		when(pipeline.zrangeWithScores(COMMENTS_KEY, 0, -1)).thenReturn(zrangeWithScoresResponse);
+		when(zrangeWithScoresResponse.get()).thenReturn(Set.of());
+
+		assertThat(binaryRedisCachingService.getCommentsFromCache(3), is(nullValue()));
+
+		verify(jedis, times(1)).pipelined();
+		verify(pipeline, times(1)).zrangeWithScores(COMMENTS_KEY, 0, -1);
+		verify(pipeline, times(1)).expire(COMMENTS_KEY, EXPIRATION_TIME);
+		verify(pipeline, times(1)).sync();
+	}
+
+	@Test
+	public void testGetCommentFromCache() {
+		byte[] postIdOfCommentKey = SafeEncoder.encode("comment/2/postId");
+		byte[] commentLikesKey = SafeEncoder.encode("comment/2/likes");
+		when(jedis.mget(postIdOfCommentKey)).thenReturn(List.of(SafeEncoder.encode("3")));
+		when(pipeline.zrangeByScore(COMMENTS_KEY, 2, 2)).thenReturn(zrangeByScoreResponse);
+		when(zrangeByScoreResponse.get()).thenReturn(Set.of(cachingServiceCodec.encodeComment(comment2)));
+		when(smembersResponse.get()).thenReturn(Set.of(SafeEncoder.encode("")));
+
+		assertThat(binaryRedisCachingService.getCommentFromCache(2), is(comment2));
+
+		verify(jedis, times(1)).mget(postIdOfCommentKey);
+		verify(jedis, times(1)).pipelined();
+		verify(pipeline, times(1)).zrangeByScore(COMMENTS_KEY, 2, 2);
+		verify(pipeline, times(1)).smembers(commentLikesKey);
+		verify(pipeline, times(1)).expire(COMMENTS_KEY, EXPIRATION_TIME);
+		verify(pipeline, times(1)).expire(commentLikesKey, EXPIRATION_TIME);
+		verify(pipeline, times(1)).sync();
+	}
+
+	@Test
+	public void testPutCommentsFromPostIntoCache() {
+		binaryRedisCachingService.putCommentsFromPostIntoCache(3, List.of(comment1, comment2));
+
+		verify(jedis, times(1)).pipelined();
+		verify(pipeline, times(1)).multi();
+		verify(pipeline, times(1)).zadd(eq(COMMENTS_KEY), anyMap());
+		verify(pipeline, times(1)).expire(COMMENTS_KEY, EXPIRATION_TIME);
+		ArgumentCaptor<byte[]> msetCaptor = ArgumentCaptor.forClass(byte[].class);
+		verify(pipeline, times(1)).mset(msetCaptor.capture());
+		for (String likesKey : List.of("comment/1/likes", "comment/2/likes")) {
+			verify(pipeline, times(1)).del(SafeEncoder.encode(likesKey));
+			verify(pipeline, times(1)).sadd(SafeEncoder.encode(likesKey), SafeEncoder.encode(""));
+			verify(pipeline, times(1)).expire(SafeEncoder.encode(likesKey), EXPIRATION_TIME);
+		}
+		Map<String, String> postIdOfComments = new HashMap<>();
+		List<byte[]> keysValues = msetCaptor.getAllValues();
+		for (int i = 0; i < keysValues.size(); i += 2) {
+			postIdOfComments.put(SafeEncoder.encode(keysValues.get(i)), SafeEncoder.encode(keysValues.get(i + 1)));
+		}
+		assertThat(postIdOfComments, is(Map.of("comment/1/postId", "3", "comment/2/postId", "3")));
+		verify(pipeline, times(1)).exec();
+		verify(pipeline, times(1)).sync();
+	}
+
+	@Test
+	public void testGetUserSessionFromCache() {
+		when(getResponse.get()).thenReturn(cachingServiceCodec.encodeUser(userSession));
+
+		assertThat(binaryRedisCachingService.getUserSessionFromCache("sessionId"), is(userSession));
+
+		verifyGetAndTouch(USER_SESSION_KEY);
+	}
+
+	@Test
+	public void testPutUserSessionIntoCache() {
+		binaryRedisCachingService.putUserSessionIntoCache("sessionId", userSession);
+
+		verify(jedis, times(1)).pipelined();
+		verify(pipeline, times(1)).setex(USER_SESSION_KEY, EXPIRATION_TIME, cachingServiceCodec.encodeUser(userSession));
+		verify(pipeline, times(1)).del(SafeEncoder.encode("tombstone/user/session/sessionId"));
+		verify(pipeline, times(1)).sync();
+	}
+
+	@Test
+	public void testPutTombstoneIntoCache() {
+		binaryRedisCachingService.putTombstoneIntoCache("post/5");
+
+		verify(jedis, times(1)).setex(SafeEncoder.encode("tombstone/post/5"),
+				AbstractCachingService.TOMBSTONE_EXPIRE_TIME_IN_SECONDS, SafeEncoder.encode("1"));
+	}
+
+	private void verifyGetPostAndTouch() {
+		verify(pipeline, times(1)).smembers(POST_LIKES_KEY);
+		verify(pipeline, times(1)).expire(POST_LIKES_KEY, EXPIRATION_TIME);
+		verifyGetAndTouch(POST_KEY);
+	}
+
+	private void verifyGetAndTouch(byte[] key) {
+		verify(jedis, times(1)).pipelined();
+		verify(pipeline, times(1)).get(key);
+		verify(pipeline, times(1)).expire(key, EXPIRATION_TIME);
+		verify(pipeline, times(1)).sync();
+	}
+}
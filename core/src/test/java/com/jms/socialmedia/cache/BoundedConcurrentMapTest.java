@@ -0,0 +1,111 @@
+package com.jms.socialmedia.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class BoundedConcurrentMapTest {
+
+	@Test
+	public void testPutGetAndRemove() {
+		BoundedConcurrentMap<Integer, String> map = new BoundedConcurrentMap<>(2);
+
+		assertThat(map.get(1), is(nullValue()));
+		map.put(1, "One");
+		assertThat(map.get(1), is("One"));
+
+		map.put(1, "Uno");
+		assertThat(map.get(1), is("Uno"));
+		assertThat(map.size(), is(1));
+
+		assertThat(map.remove(1), is("Uno"));
+		assertThat(map.remove(1), is(nullValue()));
+		assertThat(map.get(1), is(nullValue()));
+		assertThat(map.size(), is(0));
+	}
+
+	@Test
+	public void testEvictsEntriesNotReadSinceLastPassed() {
+		List<Integer> evictedKeys = new ArrayList<>();
+		BoundedConcurrentMap<Integer, String> map = new BoundedConcurrentMap<>(3, (key, value) -> evictedKeys.add(key));
+
+		map.put(1, "One");
+		map.put(2, "Two");
+		map.put(3, "Three");
+		map.get(1);
+		map.get(3);
+
+		map.put(4, "Four");
+
+		assertThat(map.size(), is(3));
+		assertThat(evictedKeys, is(List.of(2)));
+		assertThat(map.get(1), is("One"));
+		assertThat(map.get(2), is(nullValue()));
+		assertThat(map.get(3), is("Three"));
+		assertThat(map.get(4), is("Four"));
+	}
+
+	@Test
+	public void testEvictsWhenEveryEntryWasRead() {
+		List<Integer> evictedKeys = new ArrayList<>();
+		BoundedConcurrentMap<Integer, String> map = new BoundedConcurrentMap<>(2, (key, value) -> evictedKeys.add(key));
+
+		map.put(1, "One");
+		map.put(2, "Two");
+		map.get(1);
+		map.get(2);
+
+		map.put(3, "Three");
+
+		assertThat(map.size(), is(2));
+		assertThat(evictedKeys.size(), is(1));
+	}
+
+	@Test
+	public void testRemovedEntriesAreNotPassedToTheEvictionListener() {
+		List<Integer> evictedKeys = new ArrayList<>();
+		BoundedConcurrentMap<Integer, String> map = new BoundedConcurrentMap<>(2, (key, value) -> evictedKeys.add(key));
+
+		map.put(1, "One");
+		map.remove(1);
+
+		assertThat(evictedKeys.isEmpty(), is(true));
+	}
+
+	@Test
+	public void testStaysBoundedUnderConcurrentPuts() throws InterruptedException {
+		BoundedConcurrentMap<Integer, Integer> map = new BoundedConcurrentMap<>(100);
+		ExecutorService executorService = Executors.newFixedThreadPool(8);
+		CountDownLatch start = new CountDownLatch(1);
+
+		for (int thread = 0; thread < 8; thread++) {
+			int offset = thread * 10_000;
+			executorService.execute(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				for (int i = 0; i < 10_000; i++) {
+					map.put(offset + i, i);
+					map.get(offset + i / 2);
+				}
+			});
+		}
+		start.countDown();
+		executorService.shutdown();
+		assertTrue(executorService.awaitTermination(30, TimeUnit.SECONDS));
+
+		assertThat(map.size(), is(100));
+	}
+}
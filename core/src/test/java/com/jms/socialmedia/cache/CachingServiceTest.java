@@ -14,12 +14,16 @@ import static org.hamcrest.CoreMatchers.nullValue;
 import static org.junit.Assert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
 import static org.mockito.MockitoAnnotations.initMocks;
 
 import java.util.Collection;
@@ -27,7 +31,6 @@ import java.util.Collections;
 
 public class CachingServiceTest {
 
-	@Mock
 	private AbstractCachingService cachingService;
 	@Mock
 	private DataService dataService;
@@ -39,12 +42,18 @@ public class CachingServiceTest {
 	@Before
 	public void setUp() throws Exception {
 		initMocks(this);
+		cachingService = mock(AbstractCachingService.class, withSettings().useConstructor());
 		post = new Post(1);
 		comments = Collections.singleton(new Comment(10, 1, "text", null));
 		user = new User(1, "User", "Full Name", "Hashed Password");
 		when(cachingService.getPostFromCacheOrSupplier(anyInt(), any())).thenCallRealMethod();
 		when(cachingService.getCommentsFromCacheOrSupplier(anyInt(), any())).thenCallRealMethod();
 		when(cachingService.getUserSessionCacheOrSupplier(anyString(), any())).thenCallRealMethod();
+		when(cachingService.getPostFromCacheOrSupplier(anyInt(), any(), anyBoolean(), anyString())).thenCallRealMethod();
+		when(cachingService.getCommentsFromCacheOrSupplier(anyInt(), any(), anyString())).thenCallRealMethod();
+		when(cachingService.getUserSessionCacheOrSupplier(anyString(), any(), anyBoolean(), anyString())).thenCallRealMethod();
+		when(cachingService.lookUpPostInCache(anyInt())).thenCallRealMethod();
+		when(cachingService.lookUpUserSessionInCache(anyString())).thenCallRealMethod();
 		when(dataService.getPost(1)).thenReturn(post);
 		when(dataService.getComments(1)).thenReturn(comments);
 		when(dataService.getUserBySessionId("sessionKey")).thenReturn(user);
@@ -73,6 +82,36 @@ public class CachingServiceTest {
 		verify(cachingService, times(1)).getPostFromCache(2);
 		verify(dataService, times(1)).getPost(2);
 		verify(cachingService, never()).putPostIntoCache(any());
+		verify(cachingService, times(1)).putTombstoneIntoCache("post/2");
+	}
+
+	@Test
+	public void testGetPostFromCacheOrSupplierTombstoneInCache() {
+		when(cachingService.isTombstoneInCache("post/2")).thenReturn(true);
+		assertThat(cachingService.getPostFromCacheOrSupplier(2, () -> dataService.getPost(2)), is(nullValue()));
+		verify(cachingService, times(1)).getPostFromCache(2);
+		verify(cachingService, times(1)).isTombstoneInCache("post/2");
+		verifyZeroInteractions(dataService);
+		verify(cachingService, never()).putTombstoneIntoCache(any());
+	}
+
+	@Test
+	public void testGetPostFromCacheOrSupplierTombstoneInSameLookup() {
+		doReturn(CacheLookup.tombstone()).when(cachingService).lookUpPostInCache(2);
+		assertThat(cachingService.getPostFromCacheOrSupplier(2, () -> dataService.getPost(2)), is(nullValue()));
+		verify(cachingService, never()).getPostFromCache(anyInt());
+		verify(cachingService, never()).isTombstoneInCache(any());
+		verifyZeroInteractions(dataService);
+	}
+
+	@Test
+	public void testGetPostFromCacheOrSupplierWithoutTombstones() {
+		when(cachingService.isTombstoneInCache("post/2")).thenReturn(true);
+		assertThat(cachingService.getPostFromCacheOrSupplier(2, () -> dataService.getPost(2), false, "DataService"), is(nullValue()));
+		verify(cachingService, times(1)).getPostFromCache(2);
+		verify(dataService, times(1)).getPost(2);
+		verify(cachingService, never()).isTombstoneInCache(any());
+		verify(cachingService, never()).putTombstoneIntoCache(any());
 	}
 
 	@Test
@@ -102,6 +141,8 @@ public class CachingServiceTest {
 		verify(cachingService, times(1)).getCommentsFromCache(2);
 		verify(dataService, times(1)).getComments(2);
 		verify(cachingService, never()).putCommentsFromPostIntoCache(anyInt(), any());
+		verify(cachingService, never()).isTombstoneInCache(any());
+		verify(cachingService, never()).putTombstoneIntoCache(any());
 	}
 
 	@Test
@@ -130,5 +171,16 @@ public class CachingServiceTest {
 		verify(cachingService, times(1)).getUserSessionFromCache("sessionKey2");
 		verify(dataService, times(1)).getUserBySessionId("sessionKey2");
 		verify(cachingService, never()).putUserSessionIntoCache(any(), any());
+		verify(cachingService, times(1)).putTombstoneIntoCache("user/session/sessionKey2");
+	}
+
+	@Test
+	public void testGetUserSessionFromCacheOrSupplierTombstoneInCache() {
+		when(cachingService.isTombstoneInCache("user/session/sessionKey2")).thenReturn(true);
+		assertThat(cachingService.getUserSessionCacheOrSupplier("sessionKey2",
+				() -> dataService.getUserBySessionId("sessionKey2")), is(nullValue()));
+		verify(cachingService, times(1)).getUserSessionFromCache("sessionKey2");
+		verifyZeroInteractions(dataService);
+		verify(cachingService, never()).putTombstoneIntoCache(any());
 	}
 }
@@ -6,11 +6,16 @@ import org.mockito.Mock;
 
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Timer;
+import com.jms.socialmedia.model.Post;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
 
+import java.util.List;
+import java.util.Map;
+
 public class CachingServiceWithMetricsTest {
 
 	@Mock
@@ -49,6 +54,27 @@ public class CachingServiceWithMetricsTest {
 		assertThat(timer.getMeanRate() > 0, is(true));
 	}
 
+	@Test
+	public void testGetPostsByIdsFromCache() {
+		Timer timer = metricRegistry.timer("test.getPostsByIdsFromCache");
+		when(cachingService.getPostsByIdsFromCache(List.of(1, 2, 1))).thenReturn(Map.of(1, new Post(1)));
+
+		cachingServiceWithMetrics.getPostsByIdsFromCache(List.of(1, 2, 1));
+		assertThat(timer.getCount(), is(1L));
+		assertThat(metricRegistry.counter("test.postCacheHits").getCount(), is(1L));
+		assertThat(metricRegistry.counter("test.postCacheMisses").getCount(), is(1L));
+		assertThat(metricRegistry.counter("test.postCacheTotal").getCount(), is(2L));
+	}
+
+	@Test
+	public void testGetCommentsByIdsFromCache() {
+		Timer timer = metricRegistry.timer("test.getCommentsByIdsFromCache");
+		assertThat(timer.getCount(), is(0L));
+		cachingServiceWithMetrics.getCommentsByIdsFromCache(List.of(1, 2));
+		assertThat(timer.getCount(), is(1L));
+		assertThat(timer.getMeanRate() > 0, is(true));
+	}
+
 	@Test
 	public void testEditPostInCache() {
 		Timer timer = metricRegistry.timer("test.editPostInCache");
@@ -179,6 +205,15 @@ public class CachingServiceWithMetricsTest {
 		assertThat(timer.getMeanRate() > 0, is(true));
 	}
 
+	@Test
+	public void testInvalidateCommentsByPostId() {
+		Timer timer = metricRegistry.timer("test.invalidateCommentsByPostId");
+		assertThat(timer.getCount(), is(0L));
+		cachingServiceWithMetrics.invalidateCommentsByPostId(1);
+		assertThat(timer.getCount(), is(1L));
+		assertThat(timer.getMeanRate() > 0, is(true));
+	}
+
 	@Test
 	public void testRemoveCommentFromCache() {
 		Timer timer = metricRegistry.timer("test.removeCommentFromCache");
@@ -256,4 +291,44 @@ public class CachingServiceWithMetricsTest {
 		assertThat(timer.getCount(), is(2L));
 		assertThat(timer.getMeanRate() > 0, is(true));
 	}
+
+	@Test
+	public void testIsTombstoneInCache() {
+		Timer timer = metricRegistry.timer("test.isTombstoneInCache");
+		assertThat(timer.getCount(), is(0L));
+		cachingServiceWithMetrics.isTombstoneInCache("post/1");
+		assertThat(timer.getCount(), is(1L));
+		assertThat(timer.getMeanRate() > 0, is(true));
+	}
+
+	@Test
+	public void testLookUpPostInCache() {
+		Timer timer = metricRegistry.timer("test.lookUpPostInCache");
+		when(cachingService.lookUpPostInCache(1)).thenReturn(CacheLookup.tombstone());
+		assertThat(cachingServiceWithMetrics.lookUpPostInCache(1).isTombstone(), is(true));
+		assertThat(timer.getCount(), is(1L));
+	}
+
+	@Test
+	public void testLookUpUserSessionInCache() {
+		Timer timer = metricRegistry.timer("test.lookUpUserSessionInCache");
+		when(cachingService.lookUpUserSessionInCache("sessionId")).thenReturn(CacheLookup.of(null));
+		assertThat(cachingServiceWithMetrics.lookUpUserSessionInCache("sessionId").isTombstone(), is(false));
+		assertThat(timer.getCount(), is(1L));
+	}
+
+	@Test
+	public void testTombstoneHits() {
+		cachingServiceWithMetrics = new CachingServiceWithMetrics(new JavaMapCachingService(), metricRegistry, "tombstones");
+		cachingServiceWithMetrics.getPostFromCacheOrSupplier(1, () -> null);
+		cachingServiceWithMetrics.getPostFromCacheOrSupplier(1, () -> null);
+		cachingServiceWithMetrics.getUserSessionCacheOrSupplier("sessionId", () -> null);
+
+		assertThat(metricRegistry.counter("tombstones.postCacheMisses").getCount(), is(1L));
+		assertThat(metricRegistry.counter("tombstones.postCacheTombstoneHits").getCount(), is(1L));
+		assertThat(metricRegistry.counter("tombstones.postCacheHits").getCount(), is(0L));
+		assertThat(metricRegistry.counter("tombstones.postCacheTotal").getCount(), is(2L));
+		assertThat(metricRegistry.counter("tombstones.userSessionCacheMisses").getCount(), is(1L));
+		assertThat(metricRegistry.counter("tombstones.userSessionCacheTombstoneHits").getCount(), is(0L));
+	}
 }
@@ -0,0 +1,73 @@
+package com.jms.socialmedia.cache;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+public class EntityVersionsTest {
+
+	private final EntityVersions entityVersions = new EntityVersions();
+
+	@Test
+	public void testChangePost() {
+		String postVersion = entityVersions.getPostVersion(1);
+		String commentsVersion = entityVersions.getCommentsVersion(1);
+		String otherPostVersion = entityVersions.getPostVersion(2);
+
+		entityVersions.changePost(1);
+
+		assertThat(entityVersions.getPostVersion(1), is(not(postVersion)));
+		assertThat(entityVersions.getCommentsVersion(1), is(commentsVersion));
+		assertThat(entityVersions.getPostVersion(2), is(otherPostVersion));
+	}
+
+	@Test
+	public void testChangeComments() {
+		String commentsVersion = entityVersions.getCommentsVersion(1);
+		String commentVersion = entityVersions.getCommentVersion(1);
+
+		entityVersions.changeComments(1);
+
+		assertThat(entityVersions.getCommentsVersion(1), is(not(commentsVersion)));
+		assertThat(entityVersions.getCommentVersion(1), is(commentVersion));
+	}
+
+	@Test
+	public void testChangeComment() {
+		String commentVersion = entityVersions.getCommentVersion(1);
+		entityVersions.changeComment(1);
+		assertThat(entityVersions.getCommentVersion(1), is(not(commentVersion)));
+	}
+
+	@Test
+	public void testChangeUserPage() {
+		String userPageVersion = entityVersions.getUserPageVersion("Jason");
+		String otherUserPageVersion = entityVersions.getUserPageVersion("Pete");
+
+		entityVersions.changeUserPage(" jason ");
+
+		assertThat(entityVersions.getUserPageVersion("Jason"), is(not(userPageVersion)));
+		assertThat(entityVersions.getUserPageVersion("Pete"), is(otherUserPageVersion));
+	}
+
+	@Test
+	public void testChangeAllUserPages() {
+		String userPageVersion = entityVersions.getUserPageVersion("Jason");
+		String otherUserPageVersion = entityVersions.getUserPageVersion("Pete");
+
+		entityVersions.changeUserPage(null);
+
+		assertThat(entityVersions.getUserPageVersion("Jason"), is(not(userPageVersion)));
+		assertThat(entityVersions.getUserPageVersion("Pete"), is(not(otherUserPageVersion)));
+	}
+
+	@Test
+	public void testStripesAreShared() {
+		EntityVersions oneStripe = new EntityVersions(1);
+		String postVersion = oneStripe.getPostVersion(1);
+		oneStripe.changeComment(7);
+		assertThat(oneStripe.getPostVersion(1), is(not(postVersion)));
+	}
+}
@@ -10,6 +10,8 @@ import com.jms.socialmedia.model.User;
 import static org.junit.Assert.assertThat;
 
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static org.hamcrest.CoreMatchers.is;
@@ -58,6 +60,41 @@ public class GuavaCachingServiceTest {
 		assertThat(guavaCachingService.getPostFromCache(3), is(post3));
 	}
 
+	@Test
+	public void testGetPostsByIdsFromCache() {
+		Post post1 = new Post(1);
+		Post post3 = new Post(3);
+		guavaCachingService.putPostIntoCache(post1);
+		guavaCachingService.putPostIntoCache(post3);
+
+		assertThat(guavaCachingService.getPostsByIdsFromCache(List.of(3, 2, 1, 3)), is(Map.of(1, post1, 3, post3)));
+		assertThat(guavaCachingService.getPostsByIdsFromCache(List.of(2, 4)), is(Collections.emptyMap()));
+	}
+
+	@Test
+	public void testGetCommentsByIdsFromCache() {
+		Comment comment1 = new Comment(31, 1, null, null);
+		Comment comment2 = new Comment(32, 1, null, null);
+		guavaCachingService.putCommentIntoCache(comment1);
+		guavaCachingService.putCommentIntoCache(comment2);
+
+		assertThat(guavaCachingService.getCommentsByIdsFromCache(List.of(32, 33, 31)),
+				is(Map.of(31, comment1, 32, comment2)));
+		assertThat(guavaCachingService.getCommentsByIdsFromCache(List.of(33)), is(Collections.emptyMap()));
+	}
+
+	@Test
+	public void testPutCommentsFromPostIntoCacheAgain() {
+		Comment comment1 = new Comment(31, 1, null, null);
+		Comment comment2 = new Comment(32, 1, null, null);
+		guavaCachingService.putCommentsFromPostIntoCache(1, List.of(comment1, comment2));
+		guavaCachingService.putCommentsFromPostIntoCache(1, List.of(comment1, comment2));
+
+		assertThat(guavaCachingService.getCommentFromCache(31), is(comment1));
+		assertThat(guavaCachingService.getCommentFromCache(32), is(comment2));
+		assertThat(guavaCachingService.getCommentsFromCache(1), is(Set.of(comment1, comment2)));
+	}
+
 	@Test
 	public void testPostsAndComments() {
 
@@ -387,4 +424,43 @@ public class GuavaCachingServiceTest {
 		guavaCachingService.unlikeCommentInCache(1, "Me");
 		assertThat(guavaCachingService.getCommentFromCache(1), is(nullValue()));
 	}
+
+	@Test
+	public void testInvalidateCommentsByPostId() {
+		Post post = new Post(1);
+		Comment comment1 = new Comment(1, 1, "Comment 1", null);
+		Comment comment2 = new Comment(2, 1, "Comment 2", null);
+		guavaCachingService.putPostIntoCache(post);
+		guavaCachingService.putCommentsFromPostIntoCache(1, Set.of(comment1, comment2));
+
+		guavaCachingService.invalidateCommentsByPostId(1);
+
+		assertThat(guavaCachingService.getPostFromCache(1), is(post));
+		assertThat(guavaCachingService.getCommentsFromCache(1), is(nullValue()));
+		assertThat(guavaCachingService.getCommentFromCache(1), is(nullValue()));
+		assertThat(guavaCachingService.getCommentFromCache(2), is(nullValue()));
+	}
+
+	@Test
+	public void testTombstones() {
+		assertThat(guavaCachingService.isTombstoneInCache("post/1"), is(false));
+		assertThat(guavaCachingService.isTombstoneInCache("user/session/sessionId"), is(false));
+
+		guavaCachingService.putTombstoneIntoCache("post/1");
+		guavaCachingService.putTombstoneIntoCache("user/session/sessionId");
+
+		assertThat(guavaCachingService.isTombstoneInCache("post/1"), is(true));
+		assertThat(guavaCachingService.isTombstoneInCache("user/session/sessionId"), is(true));
+		assertThat(guavaCachingService.isTombstoneInCache("post/2"), is(false));
+
+		guavaCachingService.putPostIntoCache(new Post(1));
+		guavaCachingService.putUserSessionIntoCache("sessionId", new User(1, "User1"));
+
+		assertThat(guavaCachingService.isTombstoneInCache("post/1"), is(false));
+		assertThat(guavaCachingService.isTombstoneInCache("user/session/sessionId"), is(false));
+
+		guavaCachingService.putTombstoneIntoCache("post/2");
+		guavaCachingService.removePostTombstoneFromCache(2);
+		assertThat(guavaCachingService.isTombstoneInCache("post/2"), is(false));
+	}
 }
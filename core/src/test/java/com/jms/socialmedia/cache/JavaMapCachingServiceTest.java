@@ -9,11 +9,17 @@ import com.jms.socialmedia.model.User;
 
 import static org.junit.Assert.assertThat;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertTrue;
 
 public class JavaMapCachingServiceTest {
 
@@ -391,4 +397,132 @@ public class JavaMapCachingServiceTest {
 		javaMapCachingService.unlikeCommentInCache(1, "Me");
 		assertThat(javaMapCachingService.getCommentFromCache(1), is(nullValue()));
 	}
+
+	@Test
+	public void testInvalidateCommentsByPostId() {
+		Post post = new Post(1);
+		Comment comment1 = new Comment(1, 1, "Comment 1", null);
+		Comment comment2 = new Comment(2, 1, "Comment 2", null);
+		javaMapCachingService.putPostIntoCache(post);
+		javaMapCachingService.putCommentsFromPostIntoCache(1, Set.of(comment1, comment2));
+
+		javaMapCachingService.invalidateCommentsByPostId(1);
+
+		assertThat(javaMapCachingService.getPostFromCache(1), is(post));
+		assertThat(javaMapCachingService.getCommentsFromCache(1), is(nullValue()));
+		assertThat(javaMapCachingService.getCommentFromCache(1), is(nullValue()));
+		assertThat(javaMapCachingService.getCommentFromCache(2), is(nullValue()));
+	}
+
+	@Test
+	public void testTombstones() {
+		assertThat(javaMapCachingService.isTombstoneInCache("post/1"), is(false));
+		assertThat(javaMapCachingService.isTombstoneInCache("user/session/sessionId"), is(false));
+
+		javaMapCachingService.putTombstoneIntoCache("post/1");
+		javaMapCachingService.putTombstoneIntoCache("user/session/sessionId");
+
+		assertThat(javaMapCachingService.isTombstoneInCache("post/1"), is(true));
+		assertThat(javaMapCachingService.isTombstoneInCache("user/session/sessionId"), is(true));
+		assertThat(javaMapCachingService.isTombstoneInCache("post/2"), is(false));
+
+		javaMapCachingService.putPostIntoCache(new Post(1));
+		javaMapCachingService.putUserSessionIntoCache("sessionId", new User(1, "User1"));
+
+		assertThat(javaMapCachingService.isTombstoneInCache("post/1"), is(false));
+		assertThat(javaMapCachingService.isTombstoneInCache("user/session/sessionId"), is(false));
+
+		javaMapCachingService.putTombstoneIntoCache("post/2");
+		javaMapCachingService.removePostTombstoneFromCache(2);
+		assertThat(javaMapCachingService.isTombstoneInCache("post/2"), is(false));
+	}
+
+	@Test
+	public void testEvictingPostEvictsItsComments() {
+		javaMapCachingService = new JavaMapCachingService(1, 1);
+		Comment comment = new Comment(31, 1, null, null);
+		javaMapCachingService.putPostIntoCache(new Post(1));
+		javaMapCachingService.putCommentsFromPostIntoCache(1, Set.of(comment));
+
+		javaMapCachingService.putPostIntoCache(new Post(2));
+
+		assertThat(javaMapCachingService.getPostFromCache(1), is(nullValue()));
+		assertThat(javaMapCachingService.getCommentsFromCache(1), is(nullValue()));
+		assertThat(javaMapCachingService.getCommentFromCache(31), is(nullValue()));
+		assertThat(javaMapCachingService.getPostFromCache(2), is(new Post(2)));
+	}
+
+	@Test
+	public void testEvictingCommentEvictsCommentsOfItsPost() {
+		javaMapCachingService = new JavaMapCachingService(2, 2, 1);
+		Comment comment1 = new Comment(31, 1, null, null);
+		Comment comment2 = new Comment(32, 1, null, null);
+		javaMapCachingService.putPostIntoCache(new Post(1));
+		javaMapCachingService.putCommentsFromPostIntoCache(1, Set.of(comment1, comment2));
+
+		javaMapCachingService.putCommentIntoCache(new Comment(33, 2, null, null));
+
+		assertThat(javaMapCachingService.getCommentsFromCache(1), is(nullValue()));
+		assertThat(javaMapCachingService.getCommentFromCache(31), is(nullValue()));
+		assertThat(javaMapCachingService.getCommentFromCache(32), is(nullValue()));
+		assertThat(javaMapCachingService.getCommentFromCache(33), is(new Comment(33, 2, null, null)));
+		assertThat(javaMapCachingService.getPostFromCache(1), is(new Post(1)));
+	}
+
+	@Test
+	public void testCachedEntriesAreCopies() {
+		Post post = new Post(1);
+		List<String> likes = new ArrayList<>(List.of("Pete"));
+		post.setLikes(likes);
+		Comment comment = new Comment(31, 1, null, null);
+		javaMapCachingService.putPostIntoCache(post);
+		javaMapCachingService.putCommentIntoCache(comment);
+
+		javaMapCachingService.likePostInCache(1, "Jason");
+		javaMapCachingService.editCommentInCache(31, "Edited");
+
+		assertThat(post.getLikes() == likes, is(true));
+		assertThat(likes, is(List.of("Pete")));
+		assertThat(comment.getText(), is(nullValue()));
+		assertThat(javaMapCachingService.getPostFromCache(1).getLikes().contains("Jason"), is(true));
+		assertThat(javaMapCachingService.getCommentFromCache(31).getText(), is("Edited"));
+	}
+
+	@Test
+	public void testUserSessionsAreBounded() {
+		javaMapCachingService = new JavaMapCachingService(1, 2);
+		javaMapCachingService.putUserSessionIntoCache("sessionKey1", new User(1, "User1"));
+		javaMapCachingService.putUserSessionIntoCache("sessionKey2", new User(2, "User2"));
+		javaMapCachingService.getUserSessionFromCache("sessionKey1");
+
+		javaMapCachingService.putUserSessionIntoCache("sessionKey3", new User(3, "User3"));
+
+		assertThat(javaMapCachingService.getUserSessionFromCache("sessionKey1"), is(new User(1, "User1")));
+		assertThat(javaMapCachingService.getUserSessionFromCache("sessionKey2"), is(nullValue()));
+		assertThat(javaMapCachingService.getUserSessionFromCache("sessionKey3"), is(new User(3, "User3")));
+	}
+
+	@Test
+	public void testConcurrentLikesAndComments() throws InterruptedException {
+		javaMapCachingService.putPostIntoCache(new Post(1));
+		javaMapCachingService.putCommentsFromPostIntoCache(1, Collections.emptySet());
+		ExecutorService executorService = Executors.newFixedThreadPool(4);
+
+		for (int thread = 0; thread < 4; thread++) {
+			int offset = thread * 1000;
+			executorService.execute(() -> {
+				for (int i = offset; i < offset + 1000; i++) {
+					javaMapCachingService.likePostInCache(1, "User" + i);
+					javaMapCachingService.putCommentIntoCache(new Comment(i, 1, null, null));
+					javaMapCachingService.getPostFromCache(1).getLikes().forEach(String::length);
+					javaMapCachingService.getCommentsFromCache(1).forEach(Comment::getCommentId);
+				}
+			});
+		}
+		executorService.shutdown();
+		assertTrue(executorService.awaitTermination(30, TimeUnit.SECONDS));
+
+		assertThat(javaMapCachingService.getPostFromCache(1).getLikes().size(), is(4000));
+		assertThat(javaMapCachingService.getCommentsFromCache(1).size(), is(4000));
+	}
 }
@@ -3,8 +3,10 @@ package com.jms.socialmedia.cache;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 
+import com.jms.socialmedia.cache.AbstractCodecCachingService.EncodedEntry;
 import com.jms.socialmedia.cache.codec.CachingCodec;
 import com.jms.socialmedia.model.Comment;
 import com.jms.socialmedia.model.Post;
@@ -12,34 +14,47 @@ import com.jms.socialmedia.model.User;
 
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.Tuple;
+import redis.clients.jedis.util.SafeEncoder;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.junit.Assert.assertThat;
-import static org.mockito.ArgumentMatchers.anyInt;
-import static org.mockito.ArgumentMatchers.anyLong;
-import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.never;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Stream;
 
 public class RedisCachingServiceTest {
 
 	private static final String ENCODED_POST = "encodedPost";
 	private static final String POST_KEY = "post/5";
+	private static final String POST_LIKES_KEY = "post/5/likes";
 	private static final String ENCODED_COMMENT1 = "encodedComment1";
 	private static final String ENCODED_COMMENT2 = "encodedComment2";
 	private static final String COMMENTS_KEY = "post/3/comments";
 	private static final String POST_ID_OF_COMMENT_KEY1 = "comment/1/postId";
 	private static final String POST_ID_OF_COMMENT_KEY2 = "comment/2/postId";
+	private static final String COMMENT_LIKES_KEY1 = "comment/1/likes";
+	private static final String COMMENT_LIKES_KEY2 = "comment/2/likes";
 	private static final String ENCODED_USER_SESSION = "encodedUserSession";
 	private static final String USER_SESSION_KEY = "user/session/sessionId";
 	private static final int EXPIRATION_TIME = 500;
@@ -50,6 +65,24 @@ public class RedisCachingServiceTest {
 	private JedisPool jedisPool;
 	@Mock
 	private Jedis jedis;
+	@Mock
+	private Pipeline pipeline;
+	@Mock
+	private Response<byte[]> getResponse;
+	@Mock
+	private Response<Set<byte[]>> smembersResponse;
+	@Mock
+	private Response<List<byte[]>> mgetResponse;
+	@Mock
+	private Response<Boolean> existsResponse;
+	@Mock
+	private Response<Set<Tuple>> zrangeWithScoresResponse;
+	@Mock
+	private Response<Set<byte[]>> zrangeByScoreResponse;
+	@Mock
+	private Response<Set<byte[]>> likesResponse1;
+	@Mock
+	private Response<Set<byte[]>> likesResponse2;
 
 	private Post post;
 
@@ -72,17 +105,17 @@ public class RedisCachingServiceTest {
 		redisCachingService = new RedisCachingService(cachingServiceCodec, jedisPool, EXPIRATION_TIME);
 
 		when(jedisPool.getResource()).thenReturn(jedis);
-
-		when(jedis.get(POST_KEY)).thenReturn(ENCODED_POST);
-		when(jedis.get(POST_ID_OF_COMMENT_KEY2)).thenReturn("3");
-		when(jedis.zrangeByScore(COMMENTS_KEY, 2, 2)).thenReturn(Set.of(ENCODED_COMMENT2));
+		when(jedis.pipelined()).thenReturn(pipeline);
+		when(pipeline.get(any(byte[].class))).thenReturn(getResponse);
+		when(pipeline.smembers(any(byte[].class))).thenReturn(smembersResponse);
+		when(jedis.get(bytes(POST_ID_OF_COMMENT_KEY1))).thenReturn(bytes("3"));
+		when(jedis.get(bytes(POST_ID_OF_COMMENT_KEY2))).thenReturn(bytes("3"));
 
 		when(cachingServiceCodec.decodePost(ENCODED_POST)).thenReturn(post);
 		when(cachingServiceCodec.decodeComment(ENCODED_COMMENT1)).thenReturn(comment1);
 		when(cachingServiceCodec.decodeComment(ENCODED_COMMENT2)).thenReturn(comment2);
-		when(cachingServiceCodec.encodeComment(comment1)).thenReturn(ENCODED_COMMENT1);
-		when(cachingServiceCodec.encodeComment(comment2)).thenReturn(ENCODED_COMMENT2);
-
+		when(cachingServiceCodec.encodeComment(withoutLikes(comment1))).thenReturn(ENCODED_COMMENT1);
+		when(cachingServiceCodec.encodeComment(withoutLikes(comment2))).thenReturn(ENCODED_COMMENT2);
 	}
 
 	@After
@@ -90,187 +123,296 @@ public class RedisCachingServiceTest {
 		if (!skipTearDown) {
 			verify(jedisPool, times(1)).getResource();
 			verify(jedis, times(1)).close();
-			verifyNoMoreInteractions(jedis);
+			verifyNoMoreInteractions(jedis, pipeline);
 			verifyNoMoreInteractions(cachingServiceCodec);
 		}
 	}
 
 	@Test
 	public void testGetPostFromCache() {
+		when(getResponse.get()).thenReturn(bytes(ENCODED_POST));
+		when(smembersResponse.get()).thenReturn(members("", "User1", "User2"));
 
-		assertThat(redisCachingService.getPostFromCache(5), is(post));
+		Post retrievedPost = redisCachingService.getPostFromCache(5);
+		assertThat(retrievedPost, is(post));
+		assertThat(retrievedPost.getLikes(), is(Set.of("User1", "User2")));
 
-		verify(jedis, times(1)).get(POST_KEY);
-		verify(jedis, times(1)).expire(POST_KEY, EXPIRATION_TIME);
+		verifyGetAndTouch(POST_KEY, POST_LIKES_KEY, EXPIRATION_TIME);
 		verify(cachingServiceCodec, times(1)).decodePost(ENCODED_POST);
 	}
 
 	@Test
 	public void testGetEncodedPostFromCache() {
+		when(getResponse.get()).thenReturn(bytes(ENCODED_POST));
+		when(smembersResponse.get()).thenReturn(members("", "User1"));
 
-		assertThat(redisCachingService.getEncodedPostFromCache(5), is(ENCODED_POST));
+		EncodedEntry<String> encodedPost = redisCachingService.getEncodedPostFromCache(5);
+		assertThat(encodedPost.getEncodedValue(), is(ENCODED_POST));
+		assertThat(encodedPost.getLikes(), is(List.of("User1")));
 
-		verify(jedis, times(1)).get(POST_KEY);
-		verify(jedis, times(1)).expire(POST_KEY, EXPIRATION_TIME);
+		verifyGetAndTouch(POST_KEY, POST_LIKES_KEY, EXPIRATION_TIME);
 	}
 
 	@Test
 	public void testGetEncodedPostFromCacheDefaultExpirationTime() {
 		redisCachingService = new RedisCachingService(cachingServiceCodec, jedisPool);
+		when(getResponse.get()).thenReturn(bytes(ENCODED_POST));
+		when(smembersResponse.get()).thenReturn(members(""));
 
-		assertThat(redisCachingService.getEncodedPostFromCache(5), is(ENCODED_POST));
+		assertThat(redisCachingService.getEncodedPostFromCache(5).getEncodedValue(), is(ENCODED_POST));
 
-		verify(jedis, times(1)).get(POST_KEY);
-		verify(jedis, times(1)).expire(POST_KEY, Integer.MAX_VALUE);
+		verifyGetAndTouch(POST_KEY, POST_LIKES_KEY, Integer.MAX_VALUE);
 	}
 
 	@Test
 	public void testGetEncodedPostFromCacheNotFound() {
+		when(smembersResponse.get()).thenReturn(members());
+
 		assertThat(redisCachingService.getEncodedPostFromCache(6), is(nullValue()));
 
-		verify(jedis, times(1)).get("post/6");
-		verify(jedis, never()).expire(anyString(), anyInt());
+		verifyGetAndTouch("post/6", "post/6/likes", EXPIRATION_TIME);
+	}
+
+	@Test
+	public void testGetEncodedPostFromCacheWithoutCompleteLikes() {
+		when(getResponse.get()).thenReturn(bytes(ENCODED_POST));
+		when(smembersResponse.get()).thenReturn(members("User1"));
+
+		assertThat(redisCachingService.getEncodedPostFromCache(5), is(nullValue()));
+
+		verifyGetAndTouch(POST_KEY, POST_LIKES_KEY, EXPIRATION_TIME);
+	}
+
+	@Test
+	public void testGetPostsByIdsFromCache() {
+		when(pipeline.mget(bytes(POST_KEY), bytes("post/6"))).thenReturn(mgetResponse);
+		when(mgetResponse.get()).thenReturn(Arrays.asList(bytes(ENCODED_POST), null));
+		when(smembersResponse.get()).thenReturn(members("", "User1"));
+
+		Map<Integer, Post> postsById = redisCachingService.getPostsByIdsFromCache(List.of(5, 6, 5));
+		assertThat(postsById, is(Map.of(5, post)));
+		assertThat(postsById.get(5).getLikes(), is(Set.of("User1")));
+
+		verify(jedis, times(1)).pipelined();
+		verify(pipeline, times(1)).mget(bytes(POST_KEY), bytes("post/6"));
+		verify(pipeline, times(1)).smembers(bytes(POST_LIKES_KEY));
+		verify(pipeline, times(1)).smembers(bytes("post/6/likes"));
+		verify(pipeline, times(1)).expire(bytes(POST_KEY), EXPIRATION_TIME);
+		verify(pipeline, times(1)).expire(bytes(POST_LIKES_KEY), EXPIRATION_TIME);
+		verify(pipeline, times(1)).expire(bytes("post/6"), EXPIRATION_TIME);
+		verify(pipeline, times(1)).expire(bytes("post/6/likes"), EXPIRATION_TIME);
+		verify(pipeline, times(1)).sync();
+		verify(cachingServiceCodec, times(1)).decodePost(ENCODED_POST);
+	}
+
+	@Test
+	public void testGetNoPostsByIdsFromCache() {
+		skipTearDown = true;
+
+		assertThat(redisCachingService.getPostsByIdsFromCache(Collections.emptyList()), is(Collections.emptyMap()));
+
+		verifyNoMoreInteractions(jedisPool, jedis, pipeline);
 	}
 
 	@Test
 	public void testEditPostFromCache() {
 		redisCachingService.editPostInCache(5, "new text");
-		verify(jedis, times(1)).del(POST_KEY);
+		verify(jedis, times(1)).del(bytes(POST_KEY));
 	}
 
 	@Test
 	public void testPutPostIntoCache() {
-		when(cachingServiceCodec.encodePost(post)).thenReturn(ENCODED_POST);
+		post.addLike("User1");
+		when(cachingServiceCodec.encodePost(withoutLikes(post))).thenReturn(ENCODED_POST);
 
 		redisCachingService.putPostIntoCache(post);
 
-		verify(jedis, times(1)).set(POST_KEY, ENCODED_POST);
-		verify(jedis, times(1)).expire(POST_KEY, EXPIRATION_TIME);
-		verify(cachingServiceCodec, times(1)).encodePost(post);
+		verify(jedis, times(1)).pipelined();
+		verify(pipeline, times(1)).setex(bytes(POST_KEY), EXPIRATION_TIME, bytes(ENCODED_POST));
+		verify(pipeline, times(1)).del(bytes(POST_LIKES_KEY));
+		verify(pipeline, times(1)).sadd(bytes(POST_LIKES_KEY), bytes(""), bytes("User1"));
+		verify(pipeline, times(1)).expire(bytes(POST_LIKES_KEY), EXPIRATION_TIME);
+		verify(pipeline, times(1)).del(bytes("tombstone/" + POST_KEY));
+		verify(pipeline, times(1)).sync();
+		verify(cachingServiceCodec, times(1)).encodePost(withoutLikes(post));
 	}
 
 	@Test
 	public void testRemovePostFromCache() {
 		redisCachingService.removePostFromCache(5);
-		verify(jedis, times(1)).del(POST_KEY);
-		verify(jedis, times(1)).del(POST_KEY + "/comments");
+		verify(jedis, times(1)).del(bytes(POST_KEY), bytes(POST_KEY + "/comments"), bytes(POST_LIKES_KEY));
+	}
+
+	@Test
+	public void testInvalidateCommentsByPostId() {
+		redisCachingService.invalidateCommentsByPostId(3);
+		verify(jedis, times(1)).del(bytes(COMMENTS_KEY));
 	}
 
 	@Test
 	public void testLikePostFromCache() {
 		redisCachingService.likePostInCache(5, "Me");
-		verify(jedis, times(1)).del(POST_KEY);
+		verify(jedis, times(1)).pipelined();
+		verify(pipeline, times(1)).sadd(bytes(POST_LIKES_KEY), bytes("Me"));
+		verify(pipeline, times(1)).expire(bytes(POST_LIKES_KEY), EXPIRATION_TIME);
+		verify(pipeline, times(1)).sync();
 	}
 
 	@Test
 	public void testUnlikePostFromCache() {
 		redisCachingService.unlikePostInCache(5, "Me");
-		verify(jedis, times(1)).del(POST_KEY);
+		verify(jedis, times(1)).srem(bytes(POST_LIKES_KEY), bytes("Me"));
 	}
 
 	@Test
 	public void testGetEncodedCommentsFromCache() {
-		Set<String> encodedComments = Set.of(ENCODED_COMMENT1, ENCODED_COMMENT2);
-		when(jedis.exists(COMMENTS_KEY)).thenReturn(true);
-		when(jedis.zrange(COMMENTS_KEY, 0, -1)).thenReturn(encodedComments);
+		stubGetComments(COMMENTS_KEY, ENCODED_COMMENT1, ENCODED_COMMENT2);
+		when(likesResponse1.get()).thenReturn(members("", "User1"));
+		when(likesResponse2.get()).thenReturn(members(""));
 
-		assertThat(redisCachingService.getEncodedCommentsFromCache(3), is(encodedComments));
+		Collection<EncodedEntry<String>> encodedComments = redisCachingService.getEncodedCommentsFromCache(3);
+		assertThat(encodedComments.stream().map(EncodedEntry::getEncodedValue).collect(toList()),
+				is(List.of(ENCODED_COMMENT1, ENCODED_COMMENT2)));
+		assertThat(encodedComments.stream().map(EncodedEntry::getLikes).collect(toList()),
+				is(List.of(List.of("User1"), List.of())));
 
-		verify(jedis, times(1)).exists(COMMENTS_KEY);
-		verify(jedis, times(1)).zrange(COMMENTS_KEY, 0, -1);
-		verify(jedis, times(1)).expire(COMMENTS_KEY, EXPIRATION_TIME);
+		verifyGetComments(COMMENTS_KEY);
 	}
 
 	@Test
 	public void testGetEncodedCommentsFromCacheNotFound() {
+		stubGetComments("post/14/comments");
+
 		assertThat(redisCachingService.getEncodedCommentsFromCache(14), is(nullValue()));
-		verify(jedis, times(1)).exists("post/14/comments");
+
+		verify(jedis, times(1)).pipelined();
+		verify(pipeline, times(1)).zrangeWithScores(bytes("post/14/comments"), 0, -1);
+		verify(pipeline, times(1)).expire(bytes("post/14/comments"), EXPIRATION_TIME);
+		verify(pipeline, times(1)).sync();
 	}
 
 	@Test
-	public void testGetCommentsFromCache() {
-		Set<String> encodedComments = Set.of(ENCODED_COMMENT1, ENCODED_COMMENT2);
-		Collection<Comment> comments = Set.of(comment1, comment2);
+	public void testGetEncodedCommentsFromCacheWithoutCompleteLikes() {
+		stubGetComments(COMMENTS_KEY, ENCODED_COMMENT1, ENCODED_COMMENT2);
+		when(likesResponse1.get()).thenReturn(members("", "User1"));
+		when(likesResponse2.get()).thenReturn(members("User2"));
+
+		assertThat(redisCachingService.getEncodedCommentsFromCache(3), is(nullValue()));
 
-		when(jedis.exists(COMMENTS_KEY)).thenReturn(true);
-		when(jedis.zrange(COMMENTS_KEY, 0, -1)).thenReturn(encodedComments);
+		verifyGetComments(COMMENTS_KEY);
+	}
+
+	@Test
+	public void testGetCommentsFromCache() {
+		stubGetComments(COMMENTS_KEY, ENCODED_COMMENT1, ENCODED_COMMENT2);
+		when(likesResponse1.get()).thenReturn(members("", "User1"));
+		when(likesResponse2.get()).thenReturn(members(""));
 
 		Collection<Comment> retrievedComments = redisCachingService.getCommentsFromCache(3);
-		assertThat(retrievedComments.size(), is(comments.size()));
-		assertThat(retrievedComments.containsAll(comments), is(true));
+		assertThat(retrievedComments, is(List.of(comment1, comment2)));
+		assertThat(comment1.getLikes(), is(Set.of("User1")));
+		assertThat(comment2.getLikes(), is(Set.of()));
 
-		verify(jedis, times(1)).exists(COMMENTS_KEY);
-		verify(jedis, times(1)).zrange(COMMENTS_KEY, 0, -1);
-		verify(jedis, times(1)).expire(COMMENTS_KEY, EXPIRATION_TIME);
+		verifyGetComments(COMMENTS_KEY);
 		verify(cachingServiceCodec, times(1)).decodeComment(ENCODED_COMMENT1);
 		verify(cachingServiceCodec, times(1)).decodeComment(ENCODED_COMMENT2);
 	}
 
 	@Test
 	public void testGetNullCommentsFromCache() {
-		when(jedis.zrange(anyString(), anyLong(), anyLong())).thenReturn(null);
+		stubGetComments("post/12/comments");
 		assertThat(redisCachingService.getCommentsFromCache(12), is(nullValue()));
 		skipTearDown = true;
 	}
 
 	@Test
 	public void testGetEncodedCommentFromCache() {
+		stubGetComment(2, ENCODED_COMMENT2);
+		when(likesResponse2.get()).thenReturn(members("", "User1"));
 
-		assertThat(redisCachingService.getEncodedCommentFromCache(2), is(ENCODED_COMMENT2));
+		EncodedEntry<String> encodedComment = redisCachingService.getEncodedCommentFromCache(2);
+		assertThat(encodedComment.getEncodedValue(), is(ENCODED_COMMENT2));
+		assertThat(encodedComment.getLikes(), is(List.of("User1")));
 
-		verify(jedis, times(1)).get(POST_ID_OF_COMMENT_KEY2);
-		verify(jedis, times(1)).zrangeByScore(COMMENTS_KEY, 2, 2);
-		verify(jedis, times(1)).expire(COMMENTS_KEY, EXPIRATION_TIME);
+		verify(jedis, times(1)).mget(bytes(POST_ID_OF_COMMENT_KEY2));
+		verifyGetComment(2);
+		verify(pipeline, times(1)).sync();
 	}
 
 	@Test
-	public void testGetEncodedCommentFromCachePostIdNotFound() {
+	public void testGetEncodedCommentFromCacheNotFound() {
+		when(jedis.mget(bytes("comment/20/postId"))).thenReturn(Arrays.asList((byte[]) null));
 
-		assertThat(redisCachingService.getEncodedCommentFromCache(10), is(nullValue()));
+		assertThat(redisCachingService.getEncodedCommentFromCache(20), is(nullValue()));
 
-		verify(jedis, times(1)).get("comment/10/postId");
+		verify(jedis, times(1)).mget(bytes("comment/20/postId"));
+		verify(jedis, times(1)).pipelined();
+		verify(pipeline, times(1)).sync();
 	}
 
 	@Test
-	public void testGetEncodedCommentFromCacheNotFound() {
+	public void testGetCommentFromCache() {
+		stubGetComment(2, ENCODED_COMMENT2);
+		when(likesResponse2.get()).thenReturn(members(""));
 
-		when(jedis.get("comment/20/postId")).thenReturn("30");
-		assertThat(redisCachingService.getEncodedCommentFromCache(20), is(nullValue()));
+		assertThat(redisCachingService.getCommentFromCache(2), is(comment2));
 
-		verify(jedis, times(1)).get("comment/20/postId");
-		verify(jedis, times(1)).zrangeByScore("post/30/comments", 20D, 20D);
+		verify(jedis, times(1)).mget(bytes(POST_ID_OF_COMMENT_KEY2));
+		verifyGetComment(2);
+		verify(pipeline, times(1)).sync();
+		verify(cachingServiceCodec, times(1)).decodeComment(ENCODED_COMMENT2);
 	}
 
 	@Test
-	public void testGetCommentFromCache() {
+	public void testGetCommentsByIdsFromCache() {
+		when(jedis.mget(bytes("comment/20/postId"), bytes(POST_ID_OF_COMMENT_KEY2))).thenReturn(Arrays.asList(null, bytes("3")));
+		when(pipeline.zrangeByScore(bytes(COMMENTS_KEY), 2, 2)).thenReturn(zrangeByScoreResponse);
+		when(zrangeByScoreResponse.get()).thenReturn(members(ENCODED_COMMENT2));
+		when(pipeline.smembers(bytes(COMMENT_LIKES_KEY2))).thenReturn(likesResponse2);
+		when(likesResponse2.get()).thenReturn(members("", "User1"));
 
-		assertThat(redisCachingService.getCommentFromCache(2), is(comment2));
+		Map<Integer, Comment> commentsById = redisCachingService.getCommentsByIdsFromCache(List.of(20, 2));
+		assertThat(commentsById, is(Map.of(2, comment2)));
+		assertThat(commentsById.get(2).getLikes(), is(Set.of("User1")));
 
-		verify(jedis, times(1)).get(POST_ID_OF_COMMENT_KEY2);
-		verify(jedis, times(1)).zrangeByScore(COMMENTS_KEY, 2, 2);
-		verify(jedis, times(1)).expire(COMMENTS_KEY, EXPIRATION_TIME);
+		verify(jedis, times(1)).mget(bytes("comment/20/postId"), bytes(POST_ID_OF_COMMENT_KEY2));
+		verifyGetComment(2);
+		verify(pipeline, times(1)).sync();
 		verify(cachingServiceCodec, times(1)).decodeComment(ENCODED_COMMENT2);
 	}
 
 	@Test
 	public void testEditCommentFromCache() {
 		redisCachingService.editCommentInCache(2, "New Text");
-		verify(jedis, times(1)).get(POST_ID_OF_COMMENT_KEY2);
-		verify(jedis, times(1)).del(COMMENTS_KEY);
+		verifyInvalidateComment(POST_ID_OF_COMMENT_KEY2);
 	}
 
 	@Test
 	public void testPutCommentsFromPostIntoCache() {
+		comment1.addLike("User1");
 		Collection<Comment> comments = Set.of(comment1, comment2);
 
 		redisCachingService.putCommentsFromPostIntoCache(3, comments);
 
-		verify(jedis, times(1)).zadd(COMMENTS_KEY, Map.of(ENCODED_COMMENT1, 1.0D, ENCODED_COMMENT2, 2.0D));
-		verify(jedis, times(1)).expire(COMMENTS_KEY, EXPIRATION_TIME);
-		verify(jedis, times(1)).set(POST_ID_OF_COMMENT_KEY1, "3");
-		verify(jedis, times(1)).set(POST_ID_OF_COMMENT_KEY2, "3");
-		verify(cachingServiceCodec, times(1)).encodeComment(comment1);
-		verify(cachingServiceCodec, times(1)).encodeComment(comment2);
+		verify(jedis, times(1)).pipelined();
+		verify(pipeline, times(1)).multi();
+		ArgumentCaptor<Map<byte[], Double>> zaddCaptor = ArgumentCaptor.forClass(Map.class);
+		verify(pipeline, times(1)).zadd(eq(bytes(COMMENTS_KEY)), zaddCaptor.capture());
+		assertThat(toStrings(zaddCaptor.getValue()), is(Map.of(ENCODED_COMMENT1, 1.0D, ENCODED_COMMENT2, 2.0D)));
+		verify(pipeline, times(1)).expire(bytes(COMMENTS_KEY), EXPIRATION_TIME);
+		ArgumentCaptor<byte[]> msetCaptor = ArgumentCaptor.forClass(byte[].class);
+		verify(pipeline, times(1)).mset(msetCaptor.capture());
+		assertThat(toMap(msetCaptor.getAllValues()), is(Map.of(POST_ID_OF_COMMENT_KEY1, "3", POST_ID_OF_COMMENT_KEY2, "3")));
+		verify(pipeline, times(1)).del(bytes(COMMENT_LIKES_KEY1));
+		verify(pipeline, times(1)).sadd(bytes(COMMENT_LIKES_KEY1), bytes(""), bytes("User1"));
+		verify(pipeline, times(1)).expire(bytes(COMMENT_LIKES_KEY1), EXPIRATION_TIME);
+		verify(pipeline, times(1)).del(bytes(COMMENT_LIKES_KEY2));
+		verify(pipeline, times(1)).sadd(bytes(COMMENT_LIKES_KEY2), bytes(""));
+		verify(pipeline, times(1)).expire(bytes(COMMENT_LIKES_KEY2), EXPIRATION_TIME);
+		verify(pipeline, times(1)).exec();
+		verify(pipeline, times(1)).sync();
+		verify(cachingServiceCodec, times(1)).encodeComment(withoutLikes(comment1));
+		verify(cachingServiceCodec, times(1)).encodeComment(withoutLikes(comment2));
 	}
 
 	@Test
@@ -282,86 +424,95 @@ public class RedisCachingServiceTest {
 
 	@Test
 	public void testPutCommentIntoCache() {
+		comment1.addLike("User1");
 
-		when(jedis.exists(COMMENTS_KEY)).thenReturn(true);
 		redisCachingService.putCommentIntoCache(comment1);
 
-		verify(jedis, times(1)).exists(COMMENTS_KEY);
-		verify(jedis, times(1)).zadd(COMMENTS_KEY, 1.0D, ENCODED_COMMENT1);
-		verify(jedis, times(1)).expire(COMMENTS_KEY, EXPIRATION_TIME);
-		verify(jedis, times(1)).set(POST_ID_OF_COMMENT_KEY1, "3");
-		verify(cachingServiceCodec, times(1)).encodeComment(comment1);
+		verify(jedis, times(1)).eval(any(byte[].class), bytesList(COMMENTS_KEY, POST_ID_OF_COMMENT_KEY1, COMMENT_LIKES_KEY1),
+				bytesList("1", ENCODED_COMMENT1, "500", "3", "", "User1"));
+		verify(cachingServiceCodec, times(1)).encodeComment(withoutLikes(comment1));
 	}
 
 	@Test
-	public void testPutCommentIntoCacheCommentsNotInCache() {
+	public void testRemoveCommentFromCache() {
+		when(getResponse.get()).thenReturn(bytes("3"));
 
-		redisCachingService.putCommentIntoCache(comment1);
-		verify(jedis, times(1)).exists(COMMENTS_KEY);
-		verify(cachingServiceCodec, times(1)).encodeComment(comment1);
+		redisCachingService.removeCommentFromCache(2);
+
+		verify(jedis, times(1)).pipelined();
+		verify(pipeline, times(1)).get(bytes(POST_ID_OF_COMMENT_KEY2));
+		verify(pipeline, times(1)).del(bytes(COMMENT_LIKES_KEY2));
+		verify(pipeline, times(1)).sync();
+		verify(jedis, times(1)).zremrangeByScore(bytes(COMMENTS_KEY), 2, 2);
 	}
 
 	@Test
-	public void testRemoveCommentFromCache() {
+	public void testRemoveCommentFromCacheNotFound() {
 		redisCachingService.removeCommentFromCache(2);
-		verify(jedis, times(1)).get(POST_ID_OF_COMMENT_KEY2);
-		verify(jedis, times(1)).zremrangeByScore(COMMENTS_KEY, 2, 2);
-	}
 
-	@Test
-	public void testTryRemoveCommentFromCacheDoesNotExist() {
-		redisCachingService.removeCommentFromCache(7);
-		verify(jedis, times(1)).get("comment/7/postId");
-		verify(jedis, never()).zremrangeByScore(anyString(), anyInt(), anyInt());
+		verify(jedis, times(1)).pipelined();
+		verify(pipeline, times(1)).get(bytes(POST_ID_OF_COMMENT_KEY2));
+		verify(pipeline, times(1)).del(bytes(COMMENT_LIKES_KEY2));
+		verify(pipeline, times(1)).sync();
 	}
 
 	@Test
 	public void testLikeCommentFromCache() {
 		redisCachingService.likeCommentInCache(2, "Me");
-		verify(jedis, times(1)).get(POST_ID_OF_COMMENT_KEY2);
-		verify(jedis, times(1)).del(COMMENTS_KEY);
+		verify(jedis, times(1)).pipelined();
+		verify(pipeline, times(1)).sadd(bytes(COMMENT_LIKES_KEY2), bytes("Me"));
+		verify(pipeline, times(1)).expire(bytes(COMMENT_LIKES_KEY2), EXPIRATION_TIME);
+		verify(pipeline, times(1)).sync();
+	}
+
+	@Test
+	public void testLikeCommentByUserIdFromCache() {
+		redisCachingService.likeCommentInCache(2, 10);
+		verifyInvalidateComment(POST_ID_OF_COMMENT_KEY2);
 	}
 
 	@Test
 	public void testUnlikeCommentFromCache() {
 		redisCachingService.unlikeCommentInCache(2, "Me");
-		verify(jedis, times(1)).get(POST_ID_OF_COMMENT_KEY2);
-		verify(jedis, times(1)).del(COMMENTS_KEY);
+		verify(jedis, times(1)).srem(bytes(COMMENT_LIKES_KEY2), bytes("Me"));
+	}
+
+	@Test
+	public void testUnlikeCommentByUserIdFromCache() {
+		redisCachingService.unlikeCommentInCache(2, 10);
+		verifyInvalidateComment(POST_ID_OF_COMMENT_KEY2);
 	}
 
 	@Test
 	public void testInvalidateComment() {
 		redisCachingService.invalidateComment(1);
-		verify(jedis, times(1)).get(POST_ID_OF_COMMENT_KEY1);
+		verifyInvalidateComment(POST_ID_OF_COMMENT_KEY1);
 	}
 
 	@Test
 	public void testGetEncodedUserSessionFromCache() {
-		when(jedis.get(USER_SESSION_KEY)).thenReturn(ENCODED_USER_SESSION);
+		when(getResponse.get()).thenReturn(bytes(ENCODED_USER_SESSION));
 
 		assertThat(redisCachingService.getEncodedUserSessionFromCache("sessionId"), is(ENCODED_USER_SESSION));
 
-		verify(jedis, times(1)).get(USER_SESSION_KEY);
-		verify(jedis, times(1)).expire(USER_SESSION_KEY, EXPIRATION_TIME);
+		verifyGetAndTouch(USER_SESSION_KEY, EXPIRATION_TIME);
 	}
 
 	@Test
 	public void testGetEncodedUserSessionFromCacheNotFound() {
 		assertThat(redisCachingService.getEncodedUserSessionFromCache("sessionId"), is(nullValue()));
 
-		verify(jedis, times(1)).get(USER_SESSION_KEY);
-		verify(jedis, never()).expire(USER_SESSION_KEY, EXPIRATION_TIME);
+		verifyGetAndTouch(USER_SESSION_KEY, EXPIRATION_TIME);
 	}
 
 	@Test
 	public void testGetUserSessionFromCache() {
-		when(jedis.get(USER_SESSION_KEY)).thenReturn(ENCODED_USER_SESSION);
+		when(getResponse.get()).thenReturn(bytes(ENCODED_USER_SESSION));
 		when(cachingServiceCodec.decodeUser(ENCODED_USER_SESSION)).thenReturn(userSession);
 
 		assertThat(redisCachingService.getUserSessionFromCache("sessionId"), is(userSession));
 
-		verify(jedis, times(1)).get(USER_SESSION_KEY);
-		verify(jedis, times(1)).expire(USER_SESSION_KEY, EXPIRATION_TIME);
+		verifyGetAndTouch(USER_SESSION_KEY, EXPIRATION_TIME);
 		verify(cachingServiceCodec, times(1)).decodeUser(ENCODED_USER_SESSION);
 	}
 
@@ -371,14 +522,187 @@ public class RedisCachingServiceTest {
 
 		redisCachingService.putUserSessionIntoCache("sessionId", userSession);
 
-		verify(jedis, times(1)).set(USER_SESSION_KEY, ENCODED_USER_SESSION);
-		verify(jedis, times(1)).expire(USER_SESSION_KEY, EXPIRATION_TIME);
+		verify(jedis, times(1)).pipelined();
+		verify(pipeline, times(1)).setex(bytes(USER_SESSION_KEY), EXPIRATION_TIME, bytes(ENCODED_USER_SESSION));
+		verify(pipeline, times(1)).del(bytes("tombstone/" + USER_SESSION_KEY));
+		verify(pipeline, times(1)).sync();
 		verify(cachingServiceCodec, times(1)).encodeUser(userSession);
 	}
 
 	@Test
 	public void testRemoveUserSessionFromCache() {
 		redisCachingService.removeUserSessionFromCache("aSessionKey");
-		verify(jedis, times(1)).del("user/session/aSessionKey");
+		verify(jedis, times(1)).del(bytes("user/session/aSessionKey"));
+	}
+
+	@Test
+	public void testPutTombstoneIntoCache() {
+		redisCachingService.putTombstoneIntoCache(POST_KEY);
+		verify(jedis, times(1)).setex(bytes("tombstone/" + POST_KEY), AbstractCachingService.TOMBSTONE_EXPIRE_TIME_IN_SECONDS, bytes("1"));
+	}
+
+	@Test
+	public void testIsTombstoneInCache() {
+		when(jedis.exists(bytes("tombstone/" + POST_KEY))).thenReturn(true);
+		assertThat(redisCachingService.isTombstoneInCache(POST_KEY), is(true));
+		verify(jedis, times(1)).exists(bytes("tombstone/" + POST_KEY));
+	}
+
+	@Test
+	public void testLookUpPostInCache() {
+		when(getResponse.get()).thenReturn(bytes(ENCODED_POST));
+		when(smembersResponse.get()).thenReturn(members(""));
+		when(pipeline.exists(any(byte[].class))).thenReturn(existsResponse);
+
+		assertThat(redisCachingService.lookUpPostInCache(5).getValue(), is(post));
+
+		verifyGetAndTouch(POST_KEY, POST_LIKES_KEY, EXPIRATION_TIME);
+		verify(pipeline, times(1)).exists(bytes("tombstone/" + POST_KEY));
+		verify(cachingServiceCodec, times(1)).decodePost(ENCODED_POST);
+	}
+
+	@Test
+	public void testLookUpPostInCacheTombstone() {
+		when(smembersResponse.get()).thenReturn(members());
+		when(pipeline.exists(any(byte[].class))).thenReturn(existsResponse);
+		when(existsResponse.get()).thenReturn(true);
+
+		CacheLookup<Post> lookup = redisCachingService.lookUpPostInCache(5);
+		assertThat(lookup.isTombstone(), is(true));
+		assertThat(lookup.getValue(), is(nullValue()));
+
+		verifyGetAndTouch(POST_KEY, POST_LIKES_KEY, EXPIRATION_TIME);
+		verify(pipeline, times(1)).exists(bytes("tombstone/" + POST_KEY));
+	}
+
+	@Test
+	public void testLookUpUserSessionInCacheNotFound() {
+		when(pipeline.exists(any(byte[].class))).thenReturn(existsResponse);
+		when(existsResponse.get()).thenReturn(false);
+
+		CacheLookup<User> lookup = redisCachingService.lookUpUserSessionInCache("sessionId");
+		assertThat(lookup.isTombstone(), is(false));
+		assertThat(lookup.getValue(), is(nullValue()));
+
+		verifyGetAndTouch(USER_SESSION_KEY, EXPIRATION_TIME);
+		verify(pipeline, times(1)).exists(bytes("tombstone/" + USER_SESSION_KEY));
+	}
+
+	@Test
+	public void testRemoveTombstoneFromCache() {
+		redisCachingService.removeTombstoneFromCache(USER_SESSION_KEY);
+		verify(jedis, times(1)).del(bytes("tombstone/" + USER_SESSION_KEY));
+	}
+
+	private void verifyGetAndTouch(String key, int expirationTime) {
+		verify(jedis, times(1)).pipelined();
+		verify(pipeline, times(1)).get(bytes(key));
+		verify(pipeline, times(1)).expire(bytes(key), expirationTime);
+		verify(pipeline, times(1)).sync();
+	}
+
+	private void verifyGetAndTouch(String key, String likesKey, int expirationTime) {
+		verify(pipeline, times(1)).smembers(bytes(likesKey));
+		verify(pipeline, times(1)).expire(bytes(likesKey), expirationTime);
+		verifyGetAndTouch(key, expirationTime);
+	}
+
+	/**
+	 * Stubs the Comments of a Post, with the IDs 1, 2... in order, and the Likes of the first two
+	 */
+	private void stubGetComments(String key, String... encodedComments) {
+		Set<Tuple> comments = new LinkedHashSet<>();
+		for (int i = 0; i < encodedComments.length; i++) {
+			comments.add(new Tuple(bytes(encodedComments[i]), i + 1D));
+		}
+		when(pipeline.zrangeWithScores(bytes(key), 0, -1)).thenReturn(zrangeWithScoresResponse);
+		when(zrangeWithScoresResponse.get()).thenReturn(comments);
+		when(pipeline.smembers(bytes(COMMENT_LIKES_KEY1))).thenReturn(likesResponse1);
+		when(pipeline.smembers(bytes(COMMENT_LIKES_KEY2))).thenReturn(likesResponse2);
+	}
+
+	/**
+	 * The Likes are kept apart from the encoded value
+	 */
+	private static Post withoutLikes(Post post) {
+		Post postWithoutLikes = new Post(post.getPostId(), post.getUserId(), post.getUsername(), post.getFullName(),
+				post.getText(), post.getTimestamp());
+		postWithoutLikes.setProfilePictureLink(post.getProfilePictureLink());
+		return postWithoutLikes;
+	}
+
+	private static Comment withoutLikes(Comment comment) {
+		Comment commentWithoutLikes = new Comment(comment.getCommentId(), comment.getPostId(), comment.getUserId(),
+				comment.getUsername(), comment.getFullName(), comment.getText(), comment.getTimestamp());
+		commentWithoutLikes.setProfilePictureLink(comment.getProfilePictureLink());
+		return commentWithoutLikes;
+	}
+
+	private void verifyGetComments(String key) {
+		verify(jedis, times(2)).pipelined();
+		verify(pipeline, times(1)).zrangeWithScores(bytes(key), 0, -1);
+		verify(pipeline, times(1)).expire(bytes(key), EXPIRATION_TIME);
+		verify(pipeline, times(1)).smembers(bytes(COMMENT_LIKES_KEY1));
+		verify(pipeline, times(1)).expire(bytes(COMMENT_LIKES_KEY1), EXPIRATION_TIME);
+		verify(pipeline, times(1)).smembers(bytes(COMMENT_LIKES_KEY2));
+		verify(pipeline, times(1)).expire(bytes(COMMENT_LIKES_KEY2), EXPIRATION_TIME);
+		verify(pipeline, times(2)).sync();
+	}
+
+	/**
+	 * Stubs a Comment of the Post with ID 3
+	 */
+	private void stubGetComment(int commentId, String encodedComment) {
+		when(jedis.mget(bytes("comment/" + commentId + "/postId"))).thenReturn(List.of(bytes("3")));
+		when(pipeline.zrangeByScore(bytes(COMMENTS_KEY), commentId, commentId)).thenReturn(zrangeByScoreResponse);
+		when(zrangeByScoreResponse.get()).thenReturn(members(encodedComment));
+		when(pipeline.smembers(bytes(COMMENT_LIKES_KEY2))).thenReturn(likesResponse2);
+	}
+
+	private void verifyGetComment(int commentId) {
+		String likesKey = "comment/" + commentId + "/likes";
+		verify(jedis, times(1)).pipelined();
+		verify(pipeline, times(1)).zrangeByScore(bytes(COMMENTS_KEY), commentId, commentId);
+		verify(pipeline, times(1)).smembers(bytes(likesKey));
+		verify(pipeline, times(1)).expire(bytes(COMMENTS_KEY), EXPIRATION_TIME);
+		verify(pipeline, times(1)).expire(bytes(likesKey), EXPIRATION_TIME);
+	}
+
+	private void verifyInvalidateComment(String postIdOfCommentKey) {
+		verify(jedis, times(1)).get(bytes(postIdOfCommentKey));
+		verify(jedis, times(1)).del(bytes(COMMENTS_KEY));
+	}
+
+	private static Map<String, String> toMap(List<byte[]> keysValues) {
+		Map<String, String> map = new HashMap<>();
+		for (int i = 0; i < keysValues.size(); i += 2) {
+			map.put(SafeEncoder.encode(keysValues.get(i)), SafeEncoder.encode(keysValues.get(i + 1)));
+		}
+		return map;
+	}
+
+	private static Map<String, Double> toStrings(Map<byte[], Double> map) {
+		Map<String, Double> strings = new HashMap<>();
+		map.forEach((key, value) -> strings.put(SafeEncoder.encode(key), value));
+		return strings;
+	}
+
+	private static byte[] bytes(String value) {
+		return SafeEncoder.encode(value);
+	}
+
+	private static Set<byte[]> members(String... members) {
+		return Stream.of(members).map(SafeEncoder::encode).collect(toSet());
+	}
+
+	private static List<byte[]> likes(String... members) {
+		return Stream.of(members).map(SafeEncoder::encode).collect(toList());
+	}
+
+	/**
+	 * Matches a List of keys or arguments by their text, since arrays are not equal by content
+	 */
+	private static List<byte[]> bytesList(String... values) {
+		return argThat(list -> list.stream().map(SafeEncoder::encode).collect(toList()).equals(List.of(values)));
 	}
 }
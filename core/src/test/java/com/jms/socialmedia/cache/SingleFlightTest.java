@@ -0,0 +1,81 @@
+package com.jms.socialmedia.cache;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class SingleFlightTest {
+
+	private SingleFlight<Integer, String> singleFlight;
+
+	@Before
+	public void setUp() {
+		singleFlight = new SingleFlight<>();
+	}
+
+	@Test(timeout = 10000)
+	public void testConcurrentLoadsOfSameKeyAreCoalesced() throws Exception {
+		AtomicInteger numberOfLoads = new AtomicInteger();
+		CountDownLatch loading = new CountDownLatch(1);
+		CountDownLatch finishLoading = new CountDownLatch(1);
+		Supplier<String> loader = () -> {
+			numberOfLoads.incrementAndGet();
+			loading.countDown();
+			try {
+				finishLoading.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return "value";
+		};
+
+		AtomicReference<String> leaderResult = new AtomicReference<>();
+		AtomicReference<String> followerResult = new AtomicReference<>();
+		Thread leader = new Thread(() -> leaderResult.set(singleFlight.load(1, loader)));
+		Thread follower = new Thread(() -> followerResult.set(singleFlight.load(1, loader)));
+
+		leader.start();
+		loading.await();
+		follower.start();
+		while (follower.getState() != Thread.State.WAITING) {
+			Thread.sleep(1);
+		}
+		finishLoading.countDown();
+		leader.join();
+		follower.join();
+
+		assertThat(numberOfLoads.get(), is(1));
+		assertThat(leaderResult.get(), is("value"));
+		assertThat(followerResult.get(), is("value"));
+	}
+
+	@Test
+	public void testSequentialLoadsRunAgain() {
+		AtomicInteger numberOfLoads = new AtomicInteger();
+
+		assertThat(singleFlight.load(1, () -> "value" + numberOfLoads.incrementAndGet()), is("value1"));
+		assertThat(singleFlight.load(1, () -> "value" + numberOfLoads.incrementAndGet()), is("value2"));
+		assertThat(singleFlight.load(2, () -> null), is((String) null));
+	}
+
+	@Test
+	public void testFailedLoad() {
+		try {
+			singleFlight.load(1, () -> {
+				throw new IllegalStateException("Failed");
+			});
+			fail("Expected the failure of the loader");
+		} catch (IllegalStateException e) {
+			assertThat(e.getMessage(), is("Failed"));
+		}
+		assertThat(singleFlight.load(1, () -> "value"), is("value"));
+	}
+}
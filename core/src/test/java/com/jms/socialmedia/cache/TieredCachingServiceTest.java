@@ -0,0 +1,163 @@
+package com.jms.socialmedia.cache;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.codahale.metrics.MetricRegistry;
+import com.jms.socialmedia.model.Comment;
+import com.jms.socialmedia.model.Post;
+import com.jms.socialmedia.model.User;
+
+public class TieredCachingServiceTest {
+
+	private MetricRegistry metricRegistry;
+	private GuavaCachingService localCachingService;
+	private JavaMapCachingService remoteCachingService;
+	private TieredCachingService tieredCachingService;
+
+	@Before
+	public void setUp() {
+		metricRegistry = new MetricRegistry();
+		localCachingService = new GuavaCachingService(2, 2, 60, true);
+		remoteCachingService = new JavaMapCachingService();
+		tieredCachingService = new TieredCachingService(
+				new CachingServiceWithMetrics(localCachingService, metricRegistry, "local"),
+				new CachingServiceWithMetrics(remoteCachingService, metricRegistry, "remote"));
+	}
+
+	@Test
+	public void testGetPostFromCacheNotInEitherTier() {
+		assertThat(tieredCachingService.getPostFromCache(1), is(nullValue()));
+
+		assertCounts("local.postCache", 0, 1);
+		assertCounts("remote.postCache", 0, 1);
+		assertThat(localCachingService.isTombstoneInCache("post/1"), is(false));
+		assertThat(remoteCachingService.isTombstoneInCache("post/1"), is(false));
+	}
+
+	@Test
+	public void testTombstonesGoToBothTiers() {
+		assertThat(tieredCachingService.getPostFromCacheOrSupplier(1, () -> null), is(nullValue()));
+		assertThat(localCachingService.isTombstoneInCache("post/1"), is(true));
+		assertThat(remoteCachingService.isTombstoneInCache("post/1"), is(true));
+
+		assertThat(tieredCachingService.getPostFromCacheOrSupplier(1, () -> new Post(1)), is(nullValue()));
+
+		Post post = new Post(1);
+		tieredCachingService.putPostIntoCache(post);
+		assertThat(localCachingService.isTombstoneInCache("post/1"), is(false));
+		assertThat(remoteCachingService.isTombstoneInCache("post/1"), is(false));
+		assertThat(tieredCachingService.getPostFromCacheOrSupplier(1, () -> null), is(post));
+	}
+
+	@Test
+	public void testRemoteTombstoneIsCopiedIntoLocalTier() {
+		remoteCachingService.putTombstoneIntoCache("post/1");
+		remoteCachingService.putTombstoneIntoCache("user/session/sessionId");
+
+		assertThat(tieredCachingService.getPostFromCacheOrSupplier(1, () -> new Post(1)), is(nullValue()));
+		assertThat(tieredCachingService.getUserSessionCacheOrSupplier("sessionId", () -> new User(1, "Username")),
+				is(nullValue()));
+		assertThat(localCachingService.isTombstoneInCache("post/1"), is(true));
+		assertThat(localCachingService.isTombstoneInCache("user/session/sessionId"), is(true));
+	}
+
+	@Test
+	public void testGetPostFromCacheFillsLocalTier() {
+		Post post = new Post(1);
+		remoteCachingService.putPostIntoCache(post);
+
+		assertThat(tieredCachingService.getPostFromCache(1), is(post));
+		assertThat(localCachingService.getPostFromCache(1), is(post));
+		assertCounts("local.postCache", 0, 1);
+		assertCounts("remote.postCache", 1, 0);
+
+		assertThat(tieredCachingService.getPostFromCache(1), is(post));
+		assertCounts("local.postCache", 1, 1);
+		assertCounts("remote.postCache", 1, 0);
+	}
+
+	@Test
+	public void testGetPostsByIdsFromCacheFillsLocalTier() {
+		Post post1 = new Post(1);
+		Post post2 = new Post(2);
+		localCachingService.putPostIntoCache(post1);
+		remoteCachingService.putPostIntoCache(post2);
+
+		assertThat(tieredCachingService.getPostsByIdsFromCache(List.of(1, 2, 3)), is(Map.of(1, post1, 2, post2)));
+		assertThat(localCachingService.getPostFromCache(2), is(post2));
+		assertCounts("local.postCache", 1, 2);
+		assertCounts("remote.postCache", 1, 1);
+	}
+
+	@Test
+	public void testGetCommentsByIdsFromCache() {
+		Comment comment1 = new Comment(1, 5, "Comment 1", null);
+		Comment comment2 = new Comment(2, 6, "Comment 2", null);
+		localCachingService.putCommentsFromPostIntoCache(5, Set.of(comment1));
+		remoteCachingService.putCommentsFromPostIntoCache(6, Set.of(comment2));
+
+		assertThat(tieredCachingService.getCommentsByIdsFromCache(List.of(1, 2, 3)),
+				is(Map.of(1, comment1, 2, comment2)));
+	}
+
+	@Test
+	public void testPostWritesGoToBothTiers() {
+		Post post = new Post(1, "Text", null);
+		tieredCachingService.putPostIntoCache(post);
+		assertThat(localCachingService.getPostFromCache(1), is(post));
+		assertThat(remoteCachingService.getPostFromCache(1), is(post));
+
+		tieredCachingService.removePostFromCache(1);
+		assertThat(localCachingService.getPostFromCache(1), is(nullValue()));
+		assertThat(remoteCachingService.getPostFromCache(1), is(nullValue()));
+	}
+
+	@Test
+	public void testGetCommentsFromCache() {
+		Comment comment1 = new Comment(1, 5, "Comment 1", null);
+		Comment comment2 = new Comment(2, 5, "Comment 2", null);
+		remoteCachingService.putCommentsFromPostIntoCache(5, Set.of(comment1, comment2));
+
+		Collection<Comment> comments = tieredCachingService.getCommentsFromCache(5);
+		assertThat(comments.size(), is(2));
+		assertThat(localCachingService.getCommentsFromCache(5).size(), is(2));
+		assertCounts("local.commentsCache", 0, 1);
+		assertCounts("remote.commentsCache", 1, 0);
+
+		assertThat(tieredCachingService.getCommentFromCache(2), is(comment2));
+
+		tieredCachingService.invalidateCommentsByPostId(5);
+		assertThat(tieredCachingService.getCommentsFromCache(5), is(nullValue()));
+		assertThat(tieredCachingService.getCommentFromCache(2), is(nullValue()));
+	}
+
+	@Test
+	public void testUserSessions() {
+		User user = new User(1, "Username");
+		remoteCachingService.putUserSessionIntoCache("sessionId", user);
+
+		assertThat(tieredCachingService.getUserSessionFromCache("sessionId"), is(user));
+		assertThat(localCachingService.getUserSessionFromCache("sessionId"), is(user));
+		assertCounts("local.userSessionCache", 0, 1);
+		assertCounts("remote.userSessionCache", 1, 0);
+
+		tieredCachingService.removeUserSessionFromCache("sessionId");
+		assertThat(localCachingService.getUserSessionFromCache("sessionId"), is(nullValue()));
+		assertThat(remoteCachingService.getUserSessionFromCache("sessionId"), is(nullValue()));
+	}
+
+	private void assertCounts(String metricsName, long hits, long misses) {
+		assertThat(metricRegistry.counter(metricsName + "Hits").getCount(), is(hits));
+		assertThat(metricRegistry.counter(metricsName + "Misses").getCount(), is(misses));
+	}
+}
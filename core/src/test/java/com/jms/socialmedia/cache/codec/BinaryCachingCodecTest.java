@@ -0,0 +1,117 @@
+package com.jms.socialmedia.cache.codec;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.gson.GsonBuilder;
+import com.jms.socialmedia.model.Comment;
+import com.jms.socialmedia.model.Post;
+import com.jms.socialmedia.model.User;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class BinaryCachingCodecTest {
+
+	private Post post;
+	private Comment comment;
+	private User user;
+	private BinaryCachingCodec binaryCachingCodec;
+
+	@Before
+	public void setUp() throws Exception {
+		post = new Post(4, 12, "Username", "A Full Name", "Some Post Text", LocalDateTime.of(2019, 5, 17, 6, 16, 25));
+		post.setProfilePictureLink("link/to/picture");
+		post.setLikes(Arrays.asList("Joe", "Sam"));
+
+		comment = new Comment(23, 5, 14, "SecondUsername", "Another Full Name", "Some Comment Text", LocalDateTime.of(2019, 5, 19, 6, 47, 47));
+		comment.setProfilePictureLink("link/to/picture");
+		comment.setLikes(Arrays.asList("Pete", "Ron"));
+
+		user = new User(10, "UserName", "Full Name");
+
+		binaryCachingCodec = new BinaryCachingCodec();
+	}
+
+	@Test
+	public void testEncodeDecodePost() {
+		assertThat(binaryCachingCodec.decodePost(binaryCachingCodec.encodePost(post)), is(post));
+		assertThat(binaryCachingCodec.decodePost(null), is(nullValue()));
+	}
+
+	@Test
+	public void testEncodeDecodePostWithMissingFields() {
+		Post partialPost = new Post(-7, "Ünïcødé text ✓", LocalDateTime.of(1969, 12, 31, 23, 59, 59, 123456789));
+
+		assertThat(binaryCachingCodec.decodePost(binaryCachingCodec.encodePost(partialPost)), is(partialPost));
+	}
+
+	@Test
+	public void testEncodeDecodeComment() {
+		assertThat(binaryCachingCodec.decodeComment(binaryCachingCodec.encodeComment(comment)), is(comment));
+		assertThat(binaryCachingCodec.decodeComment(null), is(nullValue()));
+	}
+
+	@Test
+	public void testEncodeDecodeUser() {
+		assertThat(binaryCachingCodec.decodeUser(binaryCachingCodec.encodeUser(user)), is(user));
+		assertThat(binaryCachingCodec.decodeUser(null), is(nullValue()));
+
+		User userWithPassword = new User(Integer.MAX_VALUE, "UserName", null, "hashedPassword");
+		assertThat(binaryCachingCodec.decodeUser(binaryCachingCodec.encodeUser(userWithPassword)), is(userWithPassword));
+	}
+
+	@Test
+	public void testDecodeOtherSchemaVersion() {
+		byte[] encodedPost = binaryCachingCodec.encodePost(post);
+		encodedPost[0] = BinaryCachingCodec.SCHEMA_VERSION + 1;
+
+		assertThat(binaryCachingCodec.decodePost(encodedPost), is(nullValue()));
+		assertThat(binaryCachingCodec.decodeComment(new byte[0]), is(nullValue()));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testDecodeTruncatedPost() {
+		byte[] encodedPost = binaryCachingCodec.encodePost(post);
+
+		binaryCachingCodec.decodePost(Arrays.copyOf(encodedPost, encodedPost.length - 1));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testDecodeStringLengthPastEnd() {
+		// Only the username, with a length of 100 bytes but a single byte left
+		binaryCachingCodec.decodeUser(new byte[] { BinaryCachingCodec.SCHEMA_VERSION, 1 << 2, 100, 'a' });
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testDecodeNegativeStringLength() {
+		binaryCachingCodec.decodeUser(new byte[] { BinaryCachingCodec.SCHEMA_VERSION, 1 << 2, -1, -1, -1, -1, 0x0F });
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testDecodeLikesCountPastEnd() {
+		// Only the likes, with a count of 1,000,000 but no username
+		binaryCachingCodec.decodeComment(new byte[] { BinaryCachingCodec.SCHEMA_VERSION, (byte) 0x80, 1, -64, -124, 61 });
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testDecodeVarintTooLong() {
+		byte[] encodedUser = new byte[12];
+		Arrays.fill(encodedUser, (byte) 0x80);
+		encodedUser[0] = BinaryCachingCodec.SCHEMA_VERSION;
+
+		binaryCachingCodec.decodeUser(encodedUser);
+	}
+
+	@Test
+	public void testEncodedSizeSmallerThanGson() {
+		GsonCachingCodec gsonCachingCodec = new GsonCachingCodec(new GsonBuilder().create());
+
+		assertThat(binaryCachingCodec.encodePost(post).length < gsonCachingCodec.encodePost(post).length() / 2, is(true));
+		assertThat(binaryCachingCodec.encodeComment(comment).length < gsonCachingCodec.encodeComment(comment).length() / 2, is(true));
+	}
+}
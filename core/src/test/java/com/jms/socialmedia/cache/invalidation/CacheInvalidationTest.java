@@ -0,0 +1,103 @@
+package com.jms.socialmedia.cache.invalidation;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+
+import com.jms.socialmedia.cache.AbstractCachingService;
+import com.jms.socialmedia.cache.EntityVersions;
+import com.jms.socialmedia.model.Comment;
+
+public class CacheInvalidationTest {
+
+	@Mock
+	private AbstractCachingService cachingService;
+
+	@Before
+	public void setUp() {
+		initMocks(this);
+	}
+
+	@After
+	public void tearDown() {
+		verifyNoMoreInteractions(cachingService);
+	}
+
+	@Test
+	public void testEncodeDecode() {
+		assertThat(CacheInvalidation.post(5).encode(), is("POST:5"));
+		assertThat(CacheInvalidation.decode("POST:5"), is(CacheInvalidation.post(5)));
+		assertThat(CacheInvalidation.decode(CacheInvalidation.userSession("a:session").encode()), 
+				is(CacheInvalidation.userSession("a:session")));
+		assertThat(CacheInvalidation.decode("POST"), is(nullValue()));
+		assertThat(CacheInvalidation.decode("UNKNOWN:5"), is(nullValue()));
+	}
+
+	@Test
+	public void testApplyPost() {
+		CacheInvalidation.post(5).applyTo(cachingService);
+		verify(cachingService, times(1)).removePostFromCache(5);
+		verify(cachingService, times(1)).removePostTombstoneFromCache(5);
+	}
+
+	@Test
+	public void testApplyComments() {
+		CacheInvalidation.comments(5).applyTo(cachingService);
+		verify(cachingService, times(1)).invalidateCommentsByPostId(5);
+	}
+
+	@Test
+	public void testApplyComment() {
+		when(cachingService.getCommentFromCache(7)).thenReturn(new Comment(7, 5, "Comment", null));
+
+		CacheInvalidation.comment(7).applyTo(cachingService);
+
+		verify(cachingService, times(1)).getCommentFromCache(7);
+		verify(cachingService, times(1)).invalidateCommentsByPostId(5);
+	}
+
+	@Test
+	public void testApplyCommentNotInCache() {
+		CacheInvalidation.comment(7).applyTo(cachingService);
+		verify(cachingService, times(1)).getCommentFromCache(7);
+	}
+
+	@Test
+	public void testApplyUserSession() {
+		CacheInvalidation.userSession("sessionId").applyTo(cachingService);
+		verify(cachingService, times(1)).removeUserSessionFromCache("sessionId");
+		verify(cachingService, times(1)).removeUserSessionTombstoneFromCache("sessionId");
+	}
+
+	@Test
+	public void testApplyUserPage() {
+		assertThat(CacheInvalidation.decode(CacheInvalidation.userPage(null).encode()), is(CacheInvalidation.userPage(null)));
+		CacheInvalidation.userPage("username").applyTo(cachingService);
+	}
+
+	@Test
+	public void testApplyToEntityVersions() {
+		EntityVersions entityVersions = new EntityVersions();
+		String postVersion = entityVersions.getPostVersion(5);
+		String commentsVersion = entityVersions.getCommentsVersion(5);
+		String userPageVersion = entityVersions.getUserPageVersion("username");
+
+		CacheInvalidation.post(5).applyTo(entityVersions);
+		assertThat(entityVersions.getPostVersion(5), is(not(postVersion)));
+		assertThat(entityVersions.getCommentsVersion(5), is(not(commentsVersion)));
+
+		CacheInvalidation.userPage(null).applyTo(entityVersions);
+		assertThat(entityVersions.getUserPageVersion("username"), is(not(userPageVersion)));
+	}
+}
@@ -0,0 +1,45 @@
+package com.jms.socialmedia.cache.invalidation;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+public class LoopbackCacheInvalidationBusTest {
+
+	@Test
+	public void testPublishToOtherReplicas() {
+		LoopbackCacheInvalidationBus replica1 = new LoopbackCacheInvalidationBus();
+		LoopbackCacheInvalidationBus replica2 = replica1.newReplica();
+		LoopbackCacheInvalidationBus replica3 = replica2.newReplica();
+
+		List<CacheInvalidation> received1 = new ArrayList<>();
+		List<CacheInvalidation> received2 = new ArrayList<>();
+		List<CacheInvalidation> received3 = new ArrayList<>();
+		replica1.subscribe(received1::add);
+		replica2.subscribe(received2::add);
+		replica3.subscribe(received3::add);
+
+		replica1.publish(CacheInvalidation.post(1));
+		replica3.publish(CacheInvalidation.comment(2));
+
+		assertThat(received1, is(List.of(CacheInvalidation.comment(2))));
+		assertThat(received2, is(List.of(CacheInvalidation.post(1), CacheInvalidation.comment(2))));
+		assertThat(received3, is(List.of(CacheInvalidation.post(1))));
+	}
+
+	@Test
+	public void testSingleReplica() {
+		LoopbackCacheInvalidationBus replica = new LoopbackCacheInvalidationBus();
+		List<CacheInvalidation> received = new ArrayList<>();
+		replica.subscribe(received::add);
+
+		replica.publish(CacheInvalidation.post(1));
+
+		assertThat(received, is(Collections.emptyList()));
+	}
+}
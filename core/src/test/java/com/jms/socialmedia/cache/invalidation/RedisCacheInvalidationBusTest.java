@@ -0,0 +1,127 @@
+package com.jms.socialmedia.cache.invalidation;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPubSub;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+
+public class RedisCacheInvalidationBusTest {
+
+	@Mock
+	private JedisPool jedisPool;
+	@Mock
+	private Jedis jedis;
+
+	private RedisCacheInvalidationBus redisCacheInvalidationBus;
+
+	@Before
+	public void setUp() {
+		initMocks(this);
+		when(jedisPool.getResource()).thenReturn(jedis);
+		redisCacheInvalidationBus = new RedisCacheInvalidationBus(jedisPool, "replica1");
+	}
+
+	@Test
+	public void testPublish() {
+		redisCacheInvalidationBus.publish(CacheInvalidation.post(5));
+
+		verify(jedisPool, times(1)).getResource();
+		verify(jedis, times(1)).publish(RedisCacheInvalidationBus.CHANNEL, "replica1 POST:5");
+		verify(jedis, times(1)).close();
+		verifyNoMoreInteractions(jedis);
+	}
+
+	@Test
+	public void testPublishFailureIsDropped() {
+		when(jedis.publish(RedisCacheInvalidationBus.CHANNEL, "replica1 POST:5"))
+				.thenThrow(new JedisConnectionException("Connection refused"));
+
+		redisCacheInvalidationBus.publish(CacheInvalidation.post(5));
+
+		when(jedisPool.getResource()).thenThrow(new JedisConnectionException("Pool exhausted"));
+
+		redisCacheInvalidationBus.publish(CacheInvalidation.post(6));
+
+		assertThat(redisCacheInvalidationBus.getFailedPublishCount(), is(2L));
+		verify(jedis, times(1)).publish(RedisCacheInvalidationBus.CHANNEL, "replica1 POST:5");
+		verify(jedis, times(1)).close();
+		verifyNoMoreInteractions(jedis);
+	}
+
+	@Test
+	public void testReceive() {
+		List<CacheInvalidation> received = new ArrayList<>();
+		redisCacheInvalidationBus.subscribe(received::add);
+		redisCacheInvalidationBus.close();
+
+		redisCacheInvalidationBus.receive("replica2 COMMENT:3");
+		redisCacheInvalidationBus.receive("replica2 USER_SESSION:session key");
+
+		assertThat(received, is(List.of(CacheInvalidation.comment(3), CacheInvalidation.userSession("session key"))));
+	}
+
+	@Test
+	public void testReceiveOwnOrUnknownMessage() {
+		List<CacheInvalidation> received = new ArrayList<>();
+		redisCacheInvalidationBus.subscribe(received::add);
+		redisCacheInvalidationBus.close();
+
+		redisCacheInvalidationBus.receive("replica1 COMMENT:3");
+		redisCacheInvalidationBus.receive("replica2 UNKNOWN:3");
+		redisCacheInvalidationBus.receive("garbage");
+
+		assertThat(received, is(Collections.emptyList()));
+	}
+
+	@Test
+	public void testFailedMessageIsSkipped() {
+		List<CacheInvalidation> received = new ArrayList<>();
+		redisCacheInvalidationBus.subscribe(invalidation -> {
+			if (invalidation.equals(CacheInvalidation.post(3))) {
+				throw new IllegalStateException();
+			}
+			received.add(invalidation);
+		});
+		redisCacheInvalidationBus.close();
+
+		redisCacheInvalidationBus.subscriber.onMessage(RedisCacheInvalidationBus.CHANNEL, "replica2 POST:3");
+		redisCacheInvalidationBus.subscriber.onMessage(RedisCacheInvalidationBus.CHANNEL, "replica2 POST:4");
+
+		assertThat(received, is(List.of(CacheInvalidation.post(4))));
+	}
+
+	@Test
+	public void testResubscribesAfterFailure() {
+		doAnswer(invocation -> {
+			throw new IllegalStateException();
+		}).doAnswer(invocation -> {
+			redisCacheInvalidationBus.close();
+			return null;
+		}).when(jedis).subscribe(any(JedisPubSub.class), eq(RedisCacheInvalidationBus.CHANNEL));
+
+		redisCacheInvalidationBus.subscribe(invalidation -> {});
+
+		verify(jedis, timeout(5000).times(2)).subscribe(redisCacheInvalidationBus.subscriber,
+				RedisCacheInvalidationBus.CHANNEL);
+	}
+}
@@ -1,6 +1,9 @@
 package com.jms.socialmedia.dataservice;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -12,6 +15,7 @@ import static org.mockito.MockitoAnnotations.initMocks;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Map;
 import java.util.Set;
 
 import org.junit.After;
@@ -20,6 +24,8 @@ import org.junit.Test;
 import org.mockito.Mock;
 
 import com.jms.socialmedia.cache.AbstractCachingService;
+import com.jms.socialmedia.cache.GuavaCachingService;
+import com.jms.socialmedia.cache.invalidation.LoopbackCacheInvalidationBus;
 import com.jms.socialmedia.model.Comment;
 import com.jms.socialmedia.model.Post;
 
@@ -36,6 +42,7 @@ public class CachingDataServiceTest {
 	public void setUp() {
 		initMocks(this);
 		cachingDataService = new CachingDataService(dataService, cachingService);
+		verify(cachingService, times(1)).isSharedBetweenReplicas();
 	}
 
 	@After
@@ -94,7 +101,19 @@ public class CachingDataServiceTest {
 
 	@Test
 	public void testAddUserSession() {
-		// TODO
+		when(dataService.addUserSession(1, "sessionId")).thenReturn(true);
+
+		assertThat(cachingDataService.addUserSession(1, "sessionId"), is(true));
+
+		verify(dataService, times(1)).addUserSession(1, "sessionId");
+		verify(cachingService, times(1)).removeUserSessionTombstoneFromCache("sessionId");
+	}
+
+	@Test
+	public void testAddUserSessionFailed() {
+		assertThat(cachingDataService.addUserSession(1, "sessionId"), is(false));
+
+		verify(dataService, times(1)).addUserSession(1, "sessionId");
 	}
 
 	@Test
@@ -128,15 +147,15 @@ public class CachingDataServiceTest {
 		Post post6 = new Post(6);
 		Collection<Post> posts = Arrays.asList(post1, post2, post3, post4, post5, post6);
 
-		when(dataService.getPosts(userIds, usernames, tag, onDate, beforeDate, afterDate, sincePostId, sortBy,
+		when(dataService.getPosts(userIds, usernames, tag, onDate, beforeDate, afterDate, sincePostId, 10, 20, sortBy,
 				sortOrderAsc)).thenReturn(posts);
 		Collection<Post> returnedPosts = cachingDataService.getPosts(userIds, usernames, tag, onDate, beforeDate,
-				afterDate, sincePostId, sortBy, sortOrderAsc);
+				afterDate, sincePostId, 10, 20, sortBy, sortOrderAsc);
 
 		assertThat(returnedPosts, is(posts));
 
 		verify(dataService, times(1)).getPosts(userIds, usernames, tag, onDate, beforeDate, afterDate, sincePostId,
-				sortBy, sortOrderAsc);
+				10, 20, sortBy, sortOrderAsc);
 		verify(cachingService, times(1)).putPostIntoCache(post1);
 		verify(cachingService, times(1)).putPostIntoCache(post2);
 		verify(cachingService, times(1)).putPostIntoCache(post3);
@@ -150,6 +169,22 @@ public class CachingDataServiceTest {
 		// TODO
 	}
 
+	@Test
+	public void testGetPostsByIds() {
+		Post post1 = new Post(1);
+		Post post2 = new Post(2);
+		Post post3 = new Post(3);
+		when(cachingService.getPostsByIdsFromCache(Arrays.asList(3, 2, 1, 4))).thenReturn(Map.of(2, post2));
+		when(dataService.getPostsByIds(Arrays.asList(3, 1, 4))).thenReturn(Arrays.asList(post3, post1));
+
+		assertThat(cachingDataService.getPostsByIds(Arrays.asList(3, 2, 1, 4)), is(Arrays.asList(post3, post2, post1)));
+
+		verify(cachingService, times(1)).getPostsByIdsFromCache(Arrays.asList(3, 2, 1, 4));
+		verify(dataService, times(1)).getPostsByIds(Arrays.asList(3, 1, 4));
+		verify(cachingService, times(1)).putPostIntoCache(post3);
+		verify(cachingService, times(1)).putPostIntoCache(post1);
+	}
+
 	@Test
 	public void testGetUserIdFromPostId() {
 		// TODO
@@ -157,7 +192,16 @@ public class CachingDataServiceTest {
 
 	@Test
 	public void testAddPost() {
-		// TODO
+		Post post = new Post(null, 1, "Username", "Full Name", "Post Text", null);
+		when(dataService.addPost(post)).then(invocation -> {
+			post.setPostId(5);
+			return true;
+		});
+
+		assertThat(cachingDataService.addPost(post), is(true));
+
+		verify(dataService, times(1)).addPost(post);
+		verify(cachingService, times(1)).removePostTombstoneFromCache(5);
 	}
 
 	@Test
@@ -256,6 +300,33 @@ public class CachingDataServiceTest {
 		// TODO
 	}
 
+	@Test
+	public void testGetCommentsByIds() {
+		Comment comment1 = new Comment(1, 5, "Comment 1", null);
+		Comment comment2 = new Comment(2, 5, "Comment 2", null);
+		Comment comment3 = new Comment(3, 6, "Comment 3", null);
+		when(cachingService.getCommentsByIdsFromCache(Arrays.asList(3, 2, 1, 3))).thenReturn(Map.of(2, comment2));
+		when(dataService.getCommentsByIds(Arrays.asList(3, 1))).thenReturn(Arrays.asList(comment3, comment1));
+
+		assertThat(cachingDataService.getCommentsByIds(Arrays.asList(3, 2, 1, 3)),
+				is(Arrays.asList(comment3, comment2, comment1, comment3)));
+
+		verify(cachingService, times(1)).getCommentsByIdsFromCache(Arrays.asList(3, 2, 1, 3));
+		verify(dataService, times(1)).getCommentsByIds(Arrays.asList(3, 1));
+		verify(cachingService, times(1)).putCommentIntoCache(comment3);
+		verify(cachingService, times(1)).putCommentIntoCache(comment1);
+	}
+
+	@Test
+	public void testGetCommentsByIdsAllInCache() {
+		Comment comment1 = new Comment(1, 5, "Comment 1", null);
+		when(cachingService.getCommentsByIdsFromCache(Arrays.asList(1))).thenReturn(Map.of(1, comment1));
+
+		assertThat(cachingDataService.getCommentsByIds(Arrays.asList(1)), is(Arrays.asList(comment1)));
+
+		verify(cachingService, times(1)).getCommentsByIdsFromCache(Arrays.asList(1));
+	}
+
 	@Test
 	public void testGetUserIdFromCommentId() {
 		// TODO
@@ -301,8 +372,10 @@ public class CachingDataServiceTest {
 	public void testLikeCommentIntInt() {
 		int commentId = 4;
 		int userId = 6;
+		when(cachingService.getCommentFromCache(commentId)).thenReturn(new Comment(commentId, 1, "Comment Text", null));
 		when(dataService.likeComment(commentId, userId)).thenReturn(true);
 		assertThat(cachingDataService.likeComment(commentId, userId), is(true));
+		verify(cachingService, times(1)).getCommentFromCache(commentId);
 		verify(dataService, times(1)).likeComment(commentId, userId);
 		verify(cachingService, times(1)).likeCommentInCache(commentId, userId);
 	}
@@ -311,8 +384,10 @@ public class CachingDataServiceTest {
 	public void testLikeCommentIntString() {
 		int commentId = 4;
 		String username = "Username";
+		when(cachingService.getCommentFromCache(commentId)).thenReturn(new Comment(commentId, 1, "Comment Text", null));
 		when(dataService.likeComment(commentId, username)).thenReturn(true);
 		assertThat(cachingDataService.likeComment(commentId, username), is(true));
+		verify(cachingService, times(1)).getCommentFromCache(commentId);
 		verify(dataService, times(1)).likeComment(commentId, username);
 		verify(cachingService, times(1)).likeCommentInCache(commentId, username);
 	}
@@ -321,8 +396,11 @@ public class CachingDataServiceTest {
 	public void testUnlikeCommentIntInt() {
 		int commentId = 4;
 		int userId = 6;
+		when(dataService.getComment(commentId)).thenReturn(new Comment(commentId, 1, "Comment Text", null));
 		when(dataService.unlikeComment(commentId, userId)).thenReturn(true);
 		assertThat(cachingDataService.unlikeComment(commentId, userId), is(true));
+		verify(cachingService, times(1)).getCommentFromCache(commentId);
+		verify(dataService, times(1)).getComment(commentId);
 		verify(dataService, times(1)).unlikeComment(commentId, userId);
 		verify(cachingService, times(1)).unlikeCommentInCache(commentId, userId);
 	}
@@ -331,8 +409,11 @@ public class CachingDataServiceTest {
 	public void testUnlikeCommentIntString() {
 		int commentId = 4;
 		String username = "Username";
+		when(dataService.getComment(commentId)).thenReturn(new Comment(commentId, 1, "Comment Text", null));
 		when(dataService.unlikeComment(commentId, username)).thenReturn(true);
 		assertThat(cachingDataService.unlikeComment(commentId, username), is(true));
+		verify(cachingService, times(1)).getCommentFromCache(commentId);
+		verify(dataService, times(1)).getComment(commentId);
 		verify(dataService, times(1)).unlikeComment(commentId, username);
 		verify(cachingService, times(1)).unlikeCommentInCache(commentId, username);
 	}
@@ -378,4 +459,114 @@ public class CachingDataServiceTest {
 		assertThat(cachingDataService.unfollowUser(followerUserId, followerUsername, followingUserId, followingUsername), is(true));
 		verify(dataService, times(1)).unfollowUser(followerUserId, followerUsername, followingUserId, followingUsername);
 	}
+
+	@Test
+	public void testChangesInvalidateCachesOfOtherReplicas() {
+		LoopbackCacheInvalidationBus cacheInvalidationBus1 = new LoopbackCacheInvalidationBus();
+		GuavaCachingService cachingService1 = new GuavaCachingService();
+		GuavaCachingService cachingService2 = new GuavaCachingService();
+		CachingDataService replica1 = new CachingDataService(dataService, cachingService1, cacheInvalidationBus1);
+		new CachingDataService(dataService, cachingService2, cacheInvalidationBus1.newReplica());
+
+		for (GuavaCachingService cache : Arrays.asList(cachingService1, cachingService2)) {
+			cache.putPostIntoCache(new Post(1, "Post Text", null));
+			cache.putCommentsFromPostIntoCache(1, Set.of(new Comment(2, 1, "Comment Text", null)));
+		}
+		when(dataService.editPost(1, "New Post Text")).thenReturn(true);
+		when(dataService.editComment(2, "New Comment Text")).thenReturn(true);
+
+		assertThat(replica1.editComment(2, "New Comment Text"), is(true));
+		assertThat(cachingService1.getCommentFromCache(2).getText(), is("New Comment Text"));
+		assertThat(cachingService2.getCommentFromCache(2), is(nullValue()));
+		assertThat(cachingService2.getCommentsFromCache(1), is(nullValue()));
+		assertThat(cachingService2.getPostFromCache(1).getText(), is("Post Text"));
+
+		assertThat(replica1.editPost(1, "New Post Text"), is(true));
+		assertThat(cachingService1.getPostFromCache(1).getText(), is("New Post Text"));
+		assertThat(cachingService2.getPostFromCache(1), is(nullValue()));
+
+		verify(dataService, times(1)).editPost(1, "New Post Text");
+		verify(dataService, times(1)).editComment(2, "New Comment Text");
+	}
+
+	@Test
+	public void testVersionsChangeWithTheirEntries() {
+		when(cachingService.getCommentFromCache(2)).thenReturn(new Comment(2, 1, "Comment Text", null));
+		when(dataService.followUser(5, "Me", 11, "You")).thenReturn(true);
+		String postVersion = cachingDataService.getPostVersion(1);
+		String commentsVersion = cachingDataService.getCommentsVersion(1);
+		String commentVersion = cachingDataService.getCommentVersion(2);
+		String userPageVersion = cachingDataService.getUserPageVersion("You");
+
+		cachingDataService.likeComment(2, 6);
+		assertThat(cachingDataService.getPostVersion(1), is(postVersion));
+		assertThat(cachingDataService.getCommentsVersion(1), is(not(commentsVersion)));
+		assertThat(cachingDataService.getCommentVersion(2), is(not(commentVersion)));
+
+		commentsVersion = cachingDataService.getCommentsVersion(1);
+		cachingDataService.editPost(1, "New Post Text");
+		assertThat(cachingDataService.getPostVersion(1), is(not(postVersion)));
+		assertThat(cachingDataService.getCommentsVersion(1), is(not(commentsVersion)));
+
+		cachingDataService.followUser(5, "Me", 11, "You");
+		assertThat(cachingDataService.getUserPageVersion("you"), is(not(userPageVersion)));
+
+		verify(cachingService, times(1)).getCommentFromCache(2);
+		verify(cachingService, times(1)).likeCommentInCache(2, 6);
+		verify(cachingService, times(1)).editPostInCache(1, "New Post Text");
+		verify(dataService, times(1)).likeComment(2, 6);
+		verify(dataService, times(1)).editPost(1, "New Post Text");
+		verify(dataService, times(1)).followUser(5, "Me", 11, "You");
+	}
+
+	@Test
+	public void testNoVersionsWithSharedCacheAndNoBus() {
+		when(cachingService.isSharedBetweenReplicas()).thenReturn(true);
+		cachingDataService = new CachingDataService(dataService, cachingService);
+		when(dataService.editPost(1, "New Post Text")).thenReturn(true);
+
+		assertThat(cachingDataService.getPostVersion(1), is(nullValue()));
+		assertThat(cachingDataService.editPost(1, "New Post Text"), is(true));
+		assertThat(cachingDataService.getPostVersion(1), is(nullValue()));
+		assertThat(cachingDataService.getCommentsVersion(1), is(nullValue()));
+		assertThat(cachingDataService.getCommentVersion(2), is(nullValue()));
+		assertThat(cachingDataService.getUserPageVersion("You"), is(nullValue()));
+
+		verify(cachingService, times(2)).isSharedBetweenReplicas();
+		verify(dataService, times(1)).editPost(1, "New Post Text");
+		verify(cachingService, times(1)).editPostInCache(1, "New Post Text");
+	}
+
+	@Test
+	public void testVersionsWithSharedCacheAndBus() {
+		when(cachingService.isSharedBetweenReplicas()).thenReturn(true);
+		cachingDataService = new CachingDataService(dataService, cachingService, new LoopbackCacheInvalidationBus());
+
+		assertThat(cachingDataService.getPostVersion(1), is(notNullValue()));
+	}
+
+	@Test
+	public void testChangesChangeVersionsOnOtherReplicas() {
+		LoopbackCacheInvalidationBus cacheInvalidationBus1 = new LoopbackCacheInvalidationBus();
+		CachingDataService replica1 = new CachingDataService(dataService, new GuavaCachingService(),
+				cacheInvalidationBus1);
+		CachingDataService replica2 = new CachingDataService(dataService, new GuavaCachingService(),
+				cacheInvalidationBus1.newReplica());
+		Comment comment = new Comment(3, 1, "Comment Text", null);
+		when(dataService.addComment(comment)).thenReturn(true);
+		when(dataService.getComment(3)).thenReturn(comment);
+		when(dataService.unfollowUser(5, null, 11, null)).thenReturn(true);
+		String commentsVersion = replica2.getCommentsVersion(1);
+		String userPageVersion = replica2.getUserPageVersion("You");
+
+		replica1.addComment(comment);
+		assertThat(replica2.getCommentsVersion(1), is(not(commentsVersion)));
+
+		replica1.unfollowUser(5, null, 11, null);
+		assertThat(replica2.getUserPageVersion("You"), is(not(userPageVersion)));
+
+		verify(dataService, times(1)).addComment(comment);
+		verify(dataService, times(1)).getComment(3);
+		verify(dataService, times(1)).unfollowUser(5, null, 11, null);
+	}
 }
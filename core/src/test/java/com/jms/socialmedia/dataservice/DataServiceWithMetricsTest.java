@@ -1,5 +1,7 @@
 package com.jms.socialmedia.dataservice;
 
+import java.util.List;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
@@ -53,6 +55,19 @@ public class DataServiceWithMetricsTest {
 		assertThat(timer.getMeanRate() > 0, is(true));
 	}
 
+	@Test
+	public void testGetUserPagesByNames() {
+		Timer timer = metricRegistry.timer("test.getUserPagesByNames");
+		assertThat(timer.getCount(), is(0L));
+		assertThat(timer.getOneMinuteRate() == 0, is(true));
+		dataServiceWithMetrics.getUserPagesByNames(List.of("Jason", "Pete"));
+		assertThat(timer.getCount(), is(1L));
+		assertThat(timer.getMeanRate() > 0, is(true));
+		dataServiceWithMetrics.getUserPagesByNames(List.of("Joe"));
+		assertThat(timer.getCount(), is(2L));
+		assertThat(timer.getMeanRate() > 0, is(true));
+	}
+
 	@Test
 	public void testGetUserLoginInfoByString() {
 		Timer timer = metricRegistry.timer("test.getUserLoginInfoByString");
@@ -196,6 +211,19 @@ public class DataServiceWithMetricsTest {
 		assertThat(timer.getMeanRate() > 0, is(true));
 	}
 
+	@Test
+	public void testGetFeedPosts() {
+		Timer timer = metricRegistry.timer("test.getFeedPosts");
+		assertThat(timer.getCount(), is(0L));
+		assertThat(timer.getOneMinuteRate() == 0, is(true));
+		dataServiceWithMetrics.getFeedPosts("username", null);
+		assertThat(timer.getCount(), is(1L));
+		assertThat(timer.getMeanRate() > 0, is(true));
+		dataServiceWithMetrics.getFeedPosts("username", 5);
+		assertThat(timer.getCount(), is(2L));
+		assertThat(timer.getMeanRate() > 0, is(true));
+	}
+
 	@Test
 	public void testGetPost() {
 		Timer timer = metricRegistry.timer("test.getPost");
@@ -209,6 +237,32 @@ public class DataServiceWithMetricsTest {
 		assertThat(timer.getMeanRate() > 0, is(true));
 	}
 
+	@Test
+	public void testGetPostsByIds() {
+		Timer timer = metricRegistry.timer("test.getPostsByIds");
+		assertThat(timer.getCount(), is(0L));
+		assertThat(timer.getOneMinuteRate() == 0, is(true));
+		dataServiceWithMetrics.getPostsByIds(List.of(1, 2));
+		assertThat(timer.getCount(), is(1L));
+		assertThat(timer.getMeanRate() > 0, is(true));
+		dataServiceWithMetrics.getPostsByIds(List.of(3));
+		assertThat(timer.getCount(), is(2L));
+		assertThat(timer.getMeanRate() > 0, is(true));
+	}
+
+	@Test
+	public void testGetCommentsByIds() {
+		Timer timer = metricRegistry.timer("test.getCommentsByIds");
+		assertThat(timer.getCount(), is(0L));
+		assertThat(timer.getOneMinuteRate() == 0, is(true));
+		dataServiceWithMetrics.getCommentsByIds(List.of(1, 2));
+		assertThat(timer.getCount(), is(1L));
+		assertThat(timer.getMeanRate() > 0, is(true));
+		dataServiceWithMetrics.getCommentsByIds(List.of(3));
+		assertThat(timer.getCount(), is(2L));
+		assertThat(timer.getMeanRate() > 0, is(true));
+	}
+
 	@Test
 	public void testGetUserIdFromPostId() {
 		Timer timer = metricRegistry.timer("test.getUserIdFromPostId");
@@ -287,6 +341,19 @@ public class DataServiceWithMetricsTest {
 		assertThat(timer.getMeanRate() > 0, is(true));
 	}
 
+	@Test
+	public void testGetPostsMentioningUserId() {
+		Timer timer = metricRegistry.timer("test.getPostsMentioningUserId");
+		assertThat(timer.getCount(), is(0L));
+		assertThat(timer.getOneMinuteRate() == 0, is(true));
+		dataServiceWithMetrics.getPostsMentioningUserId(1, null, null);
+		assertThat(timer.getCount(), is(1L));
+		assertThat(timer.getMeanRate() > 0, is(true));
+		dataServiceWithMetrics.getPostsMentioningUserId(1, null, null);
+		assertThat(timer.getCount(), is(2L));
+		assertThat(timer.getMeanRate() > 0, is(true));
+	}
+
 	@Test
 	public void testGetPostLikes() {
 		Timer timer = metricRegistry.timer("test.getPostLikes");
@@ -352,6 +419,19 @@ public class DataServiceWithMetricsTest {
 		assertThat(timer.getMeanRate() > 0, is(true));
 	}
 
+	@Test
+	public void testGetCommentsMentioningUserId() {
+		Timer timer = metricRegistry.timer("test.getCommentsMentioningUserId");
+		assertThat(timer.getCount(), is(0L));
+		assertThat(timer.getOneMinuteRate() == 0, is(true));
+		dataServiceWithMetrics.getCommentsMentioningUserId(1, null, null);
+		assertThat(timer.getCount(), is(1L));
+		assertThat(timer.getMeanRate() > 0, is(true));
+		dataServiceWithMetrics.getCommentsMentioningUserId(1, null, null);
+		assertThat(timer.getCount(), is(2L));
+		assertThat(timer.getMeanRate() > 0, is(true));
+	}
+
 	@Test
 	public void testGetComment() {
 		Timer timer = metricRegistry.timer("test.getComment");
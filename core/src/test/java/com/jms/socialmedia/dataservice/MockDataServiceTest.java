@@ -8,10 +8,16 @@ import static org.junit.Assert.assertThat;
 import java.time.LocalDate;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import org.junit.Before;
 import org.junit.Test;
 
+import com.jms.socialmedia.model.Comment;
 import com.jms.socialmedia.model.NewUser;
 import com.jms.socialmedia.model.Post;
 import com.jms.socialmedia.model.UserPage;
@@ -37,9 +43,24 @@ public class MockDataServiceTest {
 		assertThat(mockDataService.getPosts(2).size(), is(3));
 	}
 
+	@Test
+	public void testGetPostsPage() {
+		Collection<Post> posts = mockDataService.getPosts(null, null, null, null, null, null, null, 3, 1, "postId", false);
+		assertThat(posts.stream().map(Post::getPostId).collect(Collectors.toList()), is(List.of(2)));
+	}
+
+	@Test
+	public void testGetPostsByIds() {
+		Collection<Post> posts = mockDataService.getPostsByIds(List.of(3, 100, 1));
+		assertThat(posts.stream().map(Post::getPostId).collect(Collectors.toList()), is(List.of(3, 1)));
+	}
+
 	@Test
 	public void testGetUserIdByUsername() {
-		// TODO
+		assertThat(mockDataService.getUserIdByUsername("Jason"), is(2));
+		assertThat(mockDataService.getUserIdByUsername("jASON"), is(2));
+		assertThat(mockDataService.getUserIdByUsername("Matt"), is(nullValue()));
+		assertThat(mockDataService.getUserIdByUsername(null), is(nullValue()));
 	}
 
 	@Test
@@ -70,7 +91,9 @@ public class MockDataServiceTest {
 
 	@Test
 	public void testGetUserLoginInfoByString() {
-		// TODO
+		assertThat(mockDataService.getUserLoginInfoByString("JASON").getUserId(), is(2));
+		assertThat(mockDataService.getUserLoginInfoByString("Jason_Sarwar@jms.com").getUserId(), is(2));
+		assertThat(mockDataService.getUserLoginInfoByString("matt@jms.com"), is(nullValue()));
 	}
 
 	@Test
@@ -126,7 +149,14 @@ public class MockDataServiceTest {
 
 	@Test
 	public void testAddUser() {
-		// TODO
+		NewUser newUser = new NewUser(null, "Matt", "Mr. Matt", "matt@jms.com", "password", "password", LocalDate.now(), null);
+		assertThat(mockDataService.addUser(newUser), is(true));
+		assertThat(newUser.getUserId(), is(3));
+
+		assertThat(mockDataService.addUser(
+				new NewUser(null, "MATT", "Mr. Matt", "matt2@jms.com", "password", "password", LocalDate.now(), null)),
+				is(false));
+		assertThat(mockDataService.isEmailTaken("matt2@jms.com"), is(false));
 	}
 
 	@Test
@@ -151,7 +181,14 @@ public class MockDataServiceTest {
 
 	@Test
 	public void testGetPosts() {
-		// TODO
+		assertThat(postIds(mockDataService.getPosts(null, null, "data", null, null, null, null, "postId", false)),
+				is(List.of(1)));
+		assertThat(postIds(mockDataService.getPosts(null, List.of("Jason"), null, null, null, null, 1, 3, 1,
+				"postId", false)), is(List.of(2)));
+		assertThat(postIds(mockDataService.getPosts(List.of(2), null, null, null, null, null, null, "postId", true)),
+				is(List.of(1, 2, 3)));
+		assertThat(mockDataService.getPosts(List.of(1), null, null, null, null, null, null, "postId", false).isEmpty(),
+				is(true));
 	}
 
 	@Test
@@ -166,22 +203,50 @@ public class MockDataServiceTest {
 
 	@Test
 	public void testAddPost() {
-		// TODO
+		Post post = newPost(1, "A #New Post");
+		assertThat(mockDataService.addPost(post), is(true));
+
+		assertThat(post.getPostId(), is(4));
+		assertThat(post.getUsername(), is("user"));
+		assertThat(postIds(mockDataService.getPosts(1)), is(List.of(4)));
+		assertThat(postIds(mockDataService.getPosts(null, null, "new", null, null, null, null, "postId", false)),
+				is(List.of(4)));
 	}
 
 	@Test
 	public void testEditPost() {
-		// TODO
+		assertThat(mockDataService.editPost(2, "Edited #Data"), is(true));
+		assertThat(mockDataService.editPost(1, "No more tags"), is(true));
+
+		assertThat(postIds(mockDataService.getPosts(null, null, "data", null, null, null, null, "postId", false)),
+				is(List.of(2)));
 	}
 
 	@Test
 	public void testDeletePost() {
-		// TODO
+		mockDataService.likePost(1, "user");
+
+		assertThat(mockDataService.deletePost(1), is(true));
+		assertThat(mockDataService.deletePost(1), is(false));
+
+		assertThat(mockDataService.getPost(1), is(nullValue()));
+		assertThat(mockDataService.getComments(1).isEmpty(), is(true));
+		assertThat(mockDataService.getComment(1), is(nullValue()));
+		assertThat(mockDataService.getLikedPostsByUserId(1).isEmpty(), is(true));
+		assertThat(postIds(mockDataService.getPosts(2)), is(List.of(3, 2)));
+		assertThat(mockDataService.getPosts(null, null, "data", null, null, null, null, "postId", false).isEmpty(),
+				is(true));
 	}
 
 	@Test
 	public void testGetCommentedPostsByUserId() {
-		// TODO
+		mockDataService.addComment(new Comment(3, 1, "Comment"));
+		mockDataService.addComment(new Comment(1, 1, "Comment"));
+		mockDataService.addComment(new Comment(3, 1, "Another Comment"));
+
+		assertThat(postIds(mockDataService.getCommentedPostsByUserId(1)), is(List.of(3, 1)));
+		assertThat(postIds(mockDataService.getCommentedPostsByUserId(1, 3, null)), is(List.of(1)));
+		assertThat(mockDataService.getCommentedPostsByUserId(2, null, 1).size(), is(1));
 	}
 
 	@Test
@@ -202,6 +267,71 @@ public class MockDataServiceTest {
 		assertThat(likedPosts.contains(post3), is(true));
 	}
 
+	@Test
+	public void testGetFeedPostsSincePostIdWithMorePostsThanLimit() {
+		mockDataService.followUser(null, "user", null, "Jason");
+		for (int i = 0; i < 150; i++) {
+			assertThat(mockDataService.addPost(newPost(2, "Post " + i)), is(true));
+		}
+		List<Integer> firstPage = postIds(mockDataService.getFeedPosts("user", 3, null, 100));
+		assertThat(firstPage.size(), is(100));
+		assertThat(firstPage.get(0), is(103));
+		assertThat(firstPage.get(99), is(4));
+
+		List<Integer> secondPage = postIds(mockDataService.getFeedPosts("user", 103, null, 100));
+		assertThat(secondPage.size(), is(50));
+		assertThat(secondPage.get(0), is(153));
+		assertThat(secondPage.get(49), is(104));
+	}
+
+	@Test
+	public void testGetPostsMentioningUserId() {
+		assertThat(mockDataService.getPostsMentioningUserId(1, null, null).isEmpty(), is(true));
+		Post post4 = newPost(2, "Hello @User and @Jason");
+		Post post5 = newPost(2, "Hello @nobody");
+		Post post6 = newPost(1, "Hello again @user");
+		for (Post post : List.of(post4, post5, post6)) {
+			assertThat(mockDataService.addPost(post), is(true));
+		}
+		assertThat(postIds(mockDataService.getPostsMentioningUserId(1, null, null)), is(List.of(6, 4)));
+		assertThat(postIds(mockDataService.getPostsMentioningUserId(1, 6, 1)), is(List.of(4)));
+		assertThat(postIds(mockDataService.getPostsMentioningUserId(2, null, null)), is(List.of(4)));
+
+		assertThat(mockDataService.editPost(4, "Hello @Jason"), is(true));
+		assertThat(postIds(mockDataService.getPostsMentioningUserId(1, null, null)), is(List.of(6)));
+		assertThat(mockDataService.deletePost(6), is(true));
+		assertThat(mockDataService.getPostsMentioningUserId(1, null, null).isEmpty(), is(true));
+	}
+
+	@Test
+	public void testLikePostTwice() {
+		assertThat(mockDataService.likePost(1, "user"), is(true));
+		assertThat(mockDataService.likePost(1, "USER"), is(false));
+		assertThat(mockDataService.getPostLikes(1), is(Collections.singletonList("user")));
+	}
+
+	@Test
+	public void testConcurrentPostsAndLikes() throws InterruptedException {
+		ExecutorService executorService = Executors.newFixedThreadPool(4);
+		for (int thread = 0; thread < 4; thread++) {
+			executorService.execute(() -> {
+				for (int i = 0; i < 250; i++) {
+					Post post = newPost(1, "Post #Load");
+					mockDataService.addPost(post);
+					mockDataService.likePost(post.getPostId(), 2);
+					mockDataService.getPosts(null, null, "load", null, null, null, null, null, 10, "postId", false);
+				}
+			});
+		}
+		executorService.shutdown();
+		assertThat(executorService.awaitTermination(30, TimeUnit.SECONDS), is(true));
+
+		assertThat(mockDataService.getPosts(1).size(), is(1000));
+		assertThat(mockDataService.getLikedPostsByUserId(2).size(), is(1000));
+		assertThat(mockDataService.getPosts(null, null, "load", null, null, null, null, "postId", false).size(),
+				is(1000));
+	}
+
 	@Test
 	public void testLikeAndUnlikePostIntInt() {
 		int postId = 1;
@@ -239,7 +369,23 @@ public class MockDataServiceTest {
 
 	@Test
 	public void testGetCommentsByUserId() {
-		// TODO
+		assertThat(commentIds(mockDataService.getCommentsByUserId(2, null, null)), is(List.of(3, 2, 1)));
+		assertThat(commentIds(mockDataService.getCommentsByUserId(2, 3, 1)), is(List.of(2)));
+		assertThat(mockDataService.getCommentsByUserId(1, null, null).isEmpty(), is(true));
+	}
+
+	@Test
+	public void testGetCommentsMentioningUserId() {
+		assertThat(mockDataService.getCommentsMentioningUserId(1, null, null).isEmpty(), is(true));
+		assertThat(mockDataService.addComment(new Comment(1, 2, "Thanks @user")), is(true));
+		assertThat(mockDataService.addComment(new Comment(2, 2, "Thanks again @USER")), is(true));
+		assertThat(commentIds(mockDataService.getCommentsMentioningUserId(1, null, null)), is(List.of(5, 4)));
+		assertThat(commentIds(mockDataService.getCommentsMentioningUserId(1, 5, null)), is(List.of(4)));
+
+		assertThat(mockDataService.editComment(4, "Thanks"), is(true));
+		assertThat(commentIds(mockDataService.getCommentsMentioningUserId(1, null, null)), is(List.of(5)));
+		assertThat(mockDataService.deletePost(2), is(true));
+		assertThat(mockDataService.getCommentsMentioningUserId(1, null, null).isEmpty(), is(true));
 	}
 
 	@Test
@@ -247,6 +393,12 @@ public class MockDataServiceTest {
 		// TODO
 	}
 
+	@Test
+	public void testGetCommentsByIds() {
+		Collection<Comment> comments = mockDataService.getCommentsByIds(List.of(3, 100, 1));
+		assertThat(comments.stream().map(Comment::getCommentId).collect(Collectors.toList()), is(List.of(3, 1)));
+	}
+
 	@Test
 	public void testGetUserIdFromCommentId() {
 		// TODO
@@ -254,7 +406,13 @@ public class MockDataServiceTest {
 
 	@Test
 	public void testAddComment() {
-		// TODO
+		Comment comment = new Comment(1, 1, "New Comment");
+		assertThat(mockDataService.addComment(comment), is(true));
+
+		assertThat(comment.getCommentId(), is(4));
+		assertThat(comment.getUsername(), is("user"));
+		assertThat(commentIds(mockDataService.getComments(1)), is(List.of(1, 4)));
+		assertThat(commentIds(mockDataService.getCommentsByUserId(1, null, null)), is(List.of(4)));
 	}
 
 	@Test
@@ -264,7 +422,12 @@ public class MockDataServiceTest {
 
 	@Test
 	public void testDeleteComment() {
-		// TODO
+		assertThat(mockDataService.deleteComment(2), is(true));
+		assertThat(mockDataService.deleteComment(2), is(false));
+
+		assertThat(mockDataService.getComment(2), is(nullValue()));
+		assertThat(mockDataService.getComments(2).isEmpty(), is(true));
+		assertThat(commentIds(mockDataService.getCommentsByUserId(2, null, null)), is(List.of(3, 1)));
 	}
 
 	@Test
@@ -297,6 +460,18 @@ public class MockDataServiceTest {
 		assertThat(mockDataService.getCommentLikes(commentId), is(Collections.emptyList()));
 	}
 
+	@Test
+	public void testGetUserPagesByNames() {
+		mockDataService.followUser(null, "user", null, "Jason");
+
+		List<UserPage> userPages = List.copyOf(mockDataService.getUserPagesByNames(List.of("jason", "nobody", "user")));
+		assertThat(userPages.size(), is(2));
+		assertThat(userPages.get(0).getUsername(), is("Jason"));
+		assertThat(userPages.get(0).getFollowersUsernames(), is(Collections.singleton("user")));
+		assertThat(userPages.get(1).getUsername(), is("user"));
+		assertThat(userPages.get(1).getFollowingUsernames(), is(Collections.singleton("Jason")));
+	}
+
 	@Test
 	public void testFollowAndUnfollowUserByUsername() {
 		assertThat(mockDataService.getFollowerUsernames("Jason"), is(Collections.emptySet()));
@@ -329,4 +504,18 @@ public class MockDataServiceTest {
 		assertThat(mockDataService.getFollowingUsernames("user"), is(Collections.emptySet()));
 	}
 
+	private static Post newPost(int userId, String text) {
+		Post post = new Post();
+		post.setUserId(userId);
+		post.setText(text);
+		return post;
+	}
+
+	private static List<Integer> postIds(Collection<Post> posts) {
+		return posts.stream().map(Post::getPostId).collect(Collectors.toList());
+	}
+
+	private static List<Integer> commentIds(Collection<Comment> comments) {
+		return comments.stream().map(Comment::getCommentId).collect(Collectors.toList());
+	}
 }
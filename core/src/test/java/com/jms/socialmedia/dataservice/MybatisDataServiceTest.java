@@ -11,6 +11,7 @@ import static org.mockito.MockitoAnnotations.initMocks;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 
 import org.junit.After;
@@ -18,9 +19,14 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 
+import com.jms.socialmedia.model.Comment;
+import com.jms.socialmedia.model.Follow;
+import com.jms.socialmedia.model.Like;
 import com.jms.socialmedia.model.Post;
+import com.jms.socialmedia.model.UserPage;
 import com.jms.socialmedia.mybatis.CommentsMapper;
 import com.jms.socialmedia.mybatis.FollowersMapper;
+import com.jms.socialmedia.mybatis.MentionsMapper;
 import com.jms.socialmedia.mybatis.PostsMapper;
 import com.jms.socialmedia.mybatis.TagsMapper;
 import com.jms.socialmedia.mybatis.UsersMapper;
@@ -36,19 +42,35 @@ public class MybatisDataServiceTest {
 	@Mock
 	private TagsMapper tagsMapper;
 	@Mock
+	private MentionsMapper mentionsMapper;
+	@Mock
 	private FollowersMapper followersMapper;
+	@Mock
+	private UsersMapper replicaUsersMapper;
+	@Mock
+	private PostsMapper replicaPostsMapper;
+	@Mock
+	private CommentsMapper replicaCommentsMapper;
+	@Mock
+	private FollowersMapper replicaFollowersMapper;
 	
 	private MybatisDataService mybatisDataService;
+	private MybatisDataService mybatisDataServiceWithReplicas;
 	
 	@Before
 	public void setUp() {
 		initMocks(this);
-		mybatisDataService = new MybatisDataService(usersMapper, postsMapper, commentsMapper, tagsMapper, followersMapper);
+		mybatisDataService = new MybatisDataService(usersMapper, postsMapper, commentsMapper, tagsMapper, mentionsMapper,
+				followersMapper);
+		mybatisDataServiceWithReplicas = new MybatisDataService(usersMapper, postsMapper, commentsMapper, tagsMapper,
+				mentionsMapper, followersMapper, replicaUsersMapper, replicaPostsMapper, replicaCommentsMapper,
+				replicaFollowersMapper);
 	}
 
 	@After
 	public void tearDown() {
-		verifyNoMoreInteractions(usersMapper, postsMapper, commentsMapper, tagsMapper, followersMapper);
+		verifyNoMoreInteractions(usersMapper, postsMapper, commentsMapper, tagsMapper, mentionsMapper, followersMapper);
+		verifyNoMoreInteractions(replicaUsersMapper, replicaPostsMapper, replicaCommentsMapper, replicaFollowersMapper);
 	}
 
 	@Test
@@ -61,6 +83,36 @@ public class MybatisDataServiceTest {
 		// TODO
 	}
 
+	@Test
+	public void testGetUserPagesByNames() {
+		UserPage userPage1 = new UserPage();
+		userPage1.setUsername("Pete");
+		UserPage userPage2 = new UserPage();
+		userPage2.setUsername("Joe");
+
+		when(replicaUsersMapper.getUserPagesInfoByNames(List.of("joe", "nobody", "pete")))
+				.thenReturn(List.of(userPage1, userPage2));
+		when(replicaFollowersMapper.getFollowsOfUsernames(List.of("pete", "joe"))).thenReturn(
+				List.of(new Follow("Pete", "Joe"), new Follow("Joe", "Pete"), new Follow("Sam", "Pete")));
+
+		assertThat(mybatisDataServiceWithReplicas.getUserPagesByNames(List.of("joe", "nobody", "pete")),
+				is(List.of(userPage2, userPage1)));
+		assertThat(userPage1.getFollowersUsernames(), is(Set.of("Joe", "Sam")));
+		assertThat(userPage1.getFollowingUsernames(), is(Set.of("Joe")));
+		assertThat(userPage2.getFollowersUsernames(), is(Set.of("Pete")));
+		assertThat(userPage2.getFollowingUsernames(), is(Set.of("Pete")));
+
+		verify(replicaUsersMapper, times(1)).getUserPagesInfoByNames(List.of("joe", "nobody", "pete"));
+		verify(replicaFollowersMapper, times(1)).getFollowsOfUsernames(List.of("pete", "joe"));
+	}
+
+	@Test
+	public void testGetUserPagesByNamesNotFound() {
+		assertThat(mybatisDataService.getUserPagesByNames(List.of("nobody")), is(Collections.emptyList()));
+
+		verify(usersMapper, times(1)).getUserPagesInfoByNames(List.of("nobody"));
+	}
+
 	@Test
 	public void testGetUserLoginInfoByString() {
 		// TODO
@@ -125,6 +177,8 @@ public class MybatisDataServiceTest {
 		String beforeDate = "2019-12-24";
 		String afterDate = "2019-12-22";
 		int sincePostId = 1;
+		int beforePostId = 10;
+		int limit = 20;
 		String sortBy = "postId";
 		boolean sortOrderAsc = true;
 		
@@ -133,15 +187,75 @@ public class MybatisDataServiceTest {
 		Post post3 = new Post(3);
 		Collection<Post> posts = Arrays.asList(post1, post2, post3);
 		
-		when(postsMapper.getPosts(userIds, usernames, tag, onDate, beforeDate, afterDate, sincePostId, sortBy, sortOrderAsc)).thenReturn(posts);
-		Collection<Post> returnedPosts = mybatisDataService.getPosts(userIds, usernames, tag, onDate, beforeDate, afterDate, sincePostId, sortBy, sortOrderAsc);
+		when(postsMapper.getPosts(userIds, usernames, tag, onDate, beforeDate, afterDate, sincePostId, beforePostId, limit, sortBy, sortOrderAsc)).thenReturn(posts);
+		when(postsMapper.getPostLikesByPostIds(List.of(1, 2, 3))).thenReturn(
+				List.of(new Like(1, "Pete"), new Like(3, "Pete"), new Like(3, "Joe")));
+		Collection<Post> returnedPosts = mybatisDataService.getPosts(userIds, usernames, tag, onDate, beforeDate, afterDate, sincePostId, beforePostId, limit, sortBy, sortOrderAsc);
 		
 		assertThat(returnedPosts, is(posts));
+		assertThat(post1.getLikes(), is(List.of("Pete")));
+		assertThat(post2.getLikes(), is(Collections.emptyList()));
+		assertThat(post3.getLikes(), is(List.of("Pete", "Joe")));
 		
-		verify(postsMapper, times(1)).getPosts(userIds, usernames, tag, onDate, beforeDate, afterDate, sincePostId, sortBy, sortOrderAsc);
-		verify(postsMapper, times(1)).getPostLikes(1);
-		verify(postsMapper, times(1)).getPostLikes(2);
-		verify(postsMapper, times(1)).getPostLikes(3);
+		verify(postsMapper, times(1)).getPosts(userIds, usernames, tag, onDate, beforeDate, afterDate, sincePostId, beforePostId, limit, sortBy, sortOrderAsc);
+		verify(postsMapper, times(1)).getPostLikesByPostIds(List.of(1, 2, 3));
+	}
+
+	@Test
+	public void testGetPostsWithNoPosts() {
+		when(postsMapper.getPosts(null, null, null, null, null, null, null, null, null, "postId", false)).thenReturn(Collections.emptyList());
+		assertThat(mybatisDataService.getPosts(null, null, null, null, null, null, null, "postId", false).isEmpty(), is(true));
+		verify(postsMapper, times(1)).getPosts(null, null, null, null, null, null, null, null, null, "postId", false);
+	}
+
+	@Test
+	public void testGetPostsFromReplica() {
+		Post post = new Post(1);
+		when(replicaPostsMapper.getPosts(null, null, null, null, null, null, null, null, 10, "postId", false))
+				.thenReturn(List.of(post));
+		when(replicaPostsMapper.getPostLikesByPostIds(List.of(1))).thenReturn(List.of(new Like(1, "Pete")));
+
+		assertThat(mybatisDataServiceWithReplicas.getPosts(null, null, null, null, null, null, null, null, 10, "postId", false),
+				is(List.of(post)));
+		assertThat(post.getLikes(), is(List.of("Pete")));
+
+		verify(replicaPostsMapper, times(1)).getPosts(null, null, null, null, null, null, null, null, 10, "postId", false);
+		verify(replicaPostsMapper, times(1)).getPostLikesByPostIds(List.of(1));
+	}
+
+	@Test
+	public void testGetFeedPostsFromPrimaryWithReplicas() {
+		Post post = new Post(1);
+		when(followersMapper.getFollowingUsernames("Jason")).thenReturn(List.of("Pete"));
+		when(postsMapper.getPosts(null, Set.of("Jason", "Pete"), null, null, null, null, null, 5, 10, "postId", false))
+				.thenReturn(List.of(post));
+		when(postsMapper.getPostLikesByPostIds(List.of(1))).thenReturn(List.of(new Like(1, "Pete")));
+
+		assertThat(mybatisDataServiceWithReplicas.getFeedPosts("Jason", null, 5, 10), is(List.of(post)));
+		assertThat(post.getLikes(), is(List.of("Pete")));
+
+		verify(followersMapper, times(1)).getFollowingUsernames("Jason");
+		verify(postsMapper, times(1)).getPosts(null, Set.of("Jason", "Pete"), null, null, null, null, null, 5, 10, "postId",
+				false);
+		verify(postsMapper, times(1)).getPostLikesByPostIds(List.of(1));
+	}
+
+	@Test
+	public void testGetFeedPostsSincePostIdFromPrimaryWithReplicas() {
+		Post post = new Post(6);
+		Post post2 = new Post(7);
+		when(followersMapper.getFollowingUsernames("Jason")).thenReturn(List.of("Pete"));
+		when(postsMapper.getPosts(null, Set.of("Jason", "Pete"), null, null, null, null, 5, null, 10, "postId", true))
+				.thenReturn(List.of(post, post2));
+		when(postsMapper.getPostLikesByPostIds(List.of(7, 6))).thenReturn(List.of(new Like(6, "Pete")));
+
+		assertThat(mybatisDataServiceWithReplicas.getFeedPosts("Jason", 5, null, 10), is(List.of(post2, post)));
+		assertThat(post.getLikes(), is(List.of("Pete")));
+
+		verify(followersMapper, times(1)).getFollowingUsernames("Jason");
+		verify(postsMapper, times(1)).getPosts(null, Set.of("Jason", "Pete"), null, null, null, null, 5, null, 10, "postId",
+				true);
+		verify(postsMapper, times(1)).getPostLikesByPostIds(List.of(7, 6));
 	}
 
 	@Test
@@ -149,6 +263,35 @@ public class MybatisDataServiceTest {
 		// TODO
 	}
 
+	@Test
+	public void testGetPostFromPrimaryWithReplicas() {
+		Post post = new Post(1);
+		when(postsMapper.getPost(1)).thenReturn(post);
+		when(postsMapper.getPostLikes(1)).thenReturn(List.of("Pete"));
+
+		assertThat(mybatisDataServiceWithReplicas.getPost(1), is(post));
+		assertThat(post.getLikes(), is(List.of("Pete")));
+
+		verify(postsMapper, times(1)).getPost(1);
+		verify(postsMapper, times(1)).getPostLikes(1);
+	}
+
+	@Test
+	public void testGetPostsByIds() {
+		Post post1 = new Post(1);
+		Post post3 = new Post(3);
+
+		when(postsMapper.getPostsByIds(List.of(3, 2, 1))).thenReturn(List.of(post1, post3));
+		when(postsMapper.getPostLikesByPostIds(List.of(3, 1))).thenReturn(List.of(new Like(3, "Pete")));
+
+		assertThat(mybatisDataService.getPostsByIds(List.of(3, 2, 1)), is(List.of(post3, post1)));
+		assertThat(post3.getLikes(), is(List.of("Pete")));
+		assertThat(post1.getLikes(), is(Collections.emptyList()));
+
+		verify(postsMapper, times(1)).getPostsByIds(List.of(3, 2, 1));
+		verify(postsMapper, times(1)).getPostLikesByPostIds(List.of(3, 1));
+	}
+
 	@Test
 	public void testGetUserIdFromPostId() {
 		// TODO
@@ -156,12 +299,42 @@ public class MybatisDataServiceTest {
 
 	@Test
 	public void testAddPost() {
-		// TODO
+		Post post = new Post(5);
+		post.setText("A #Post mentioning @Pete and @nobody");
+		when(postsMapper.addPost(post)).thenReturn(1);
+		when(tagsMapper.addTags(5, Set.of("post"))).thenReturn(1);
+		when(mentionsMapper.addPostMentions(5, Set.of("pete", "nobody"))).thenReturn(1);
+
+		assertThat(mybatisDataService.addPost(post), is(true));
+
+		verify(postsMapper, times(1)).addPost(post);
+		verify(tagsMapper, times(1)).addTags(5, Set.of("post"));
+		verify(mentionsMapper, times(1)).addPostMentions(5, Set.of("pete", "nobody"));
+	}
+
+	@Test
+	public void testAddPostWithoutTagsOrMentions() {
+		Post post = new Post(5);
+		post.setText("A Post");
+		when(postsMapper.addPost(post)).thenReturn(1);
+
+		assertThat(mybatisDataService.addPost(post), is(true));
+
+		verify(postsMapper, times(1)).addPost(post);
 	}
 
 	@Test
 	public void testEditPost() {
-		// TODO
+		String text = "An edited Post mentioning @Pete";
+		when(postsMapper.editPost(5, text)).thenReturn(1);
+		when(mentionsMapper.addPostMentions(5, Set.of("pete"))).thenReturn(1);
+
+		assertThat(mybatisDataService.editPost(5, text), is(true));
+
+		verify(tagsMapper, times(1)).removePostTags(5);
+		verify(mentionsMapper, times(1)).removePostMentions(5);
+		verify(mentionsMapper, times(1)).addPostMentions(5, Set.of("pete"));
+		verify(postsMapper, times(1)).editPost(5, text);
 	}
 
 	@Test
@@ -171,12 +344,53 @@ public class MybatisDataServiceTest {
 
 	@Test
 	public void testGetCommentedPostsByUserId() {
-		// TODO
+		int userId = 5;
+		Post post1 = new Post(1);
+		Post post2 = new Post(2);
+		Collection<Post> posts = Arrays.asList(post1, post2);
+
+		when(postsMapper.getCommentedPostsByUserId(userId, 4, 2)).thenReturn(posts);
+		when(postsMapper.getPostLikesByPostIds(List.of(1, 2))).thenReturn(List.of(new Like(2, "Pete")));
+		assertThat(mybatisDataService.getCommentedPostsByUserId(userId, 4, 2), is(posts));
+		assertThat(post1.getLikes(), is(Collections.emptyList()));
+		assertThat(post2.getLikes(), is(List.of("Pete")));
+
+		verify(postsMapper, times(1)).getCommentedPostsByUserId(userId, 4, 2);
+		verify(postsMapper, times(1)).getPostLikesByPostIds(List.of(1, 2));
 	}
 
 	@Test
 	public void testGetLikedPostsByUserId() {
-		// TODO
+		int userId = 5;
+		Post post1 = new Post(1);
+		Post post2 = new Post(2);
+		Collection<Post> posts = Arrays.asList(post1, post2);
+
+		when(postsMapper.getLikedPostsByUserId(userId, 4, 2)).thenReturn(posts);
+		when(postsMapper.getPostLikesByPostIds(List.of(1, 2))).thenReturn(List.of(new Like(1, "Pete"), new Like(2, "Pete")));
+		assertThat(mybatisDataService.getLikedPostsByUserId(userId, 4, 2), is(posts));
+		assertThat(post1.getLikes(), is(List.of("Pete")));
+		assertThat(post2.getLikes(), is(List.of("Pete")));
+
+		verify(postsMapper, times(1)).getLikedPostsByUserId(userId, 4, 2);
+		verify(postsMapper, times(1)).getPostLikesByPostIds(List.of(1, 2));
+	}
+
+	@Test
+	public void testGetPostsMentioningUserId() {
+		int userId = 5;
+		Post post1 = new Post(1);
+		Post post2 = new Post(2);
+		Collection<Post> posts = Arrays.asList(post1, post2);
+
+		when(postsMapper.getPostsMentioningUserId(userId, 4, 2)).thenReturn(posts);
+		when(postsMapper.getPostLikesByPostIds(List.of(1, 2))).thenReturn(List.of(new Like(1, "Pete")));
+		assertThat(mybatisDataService.getPostsMentioningUserId(userId, 4, 2), is(posts));
+		assertThat(post1.getLikes(), is(List.of("Pete")));
+		assertThat(post2.getLikes(), is(Collections.emptyList()));
+
+		verify(postsMapper, times(1)).getPostsMentioningUserId(userId, 4, 2);
+		verify(postsMapper, times(1)).getPostLikesByPostIds(List.of(1, 2));
 	}
 
 	@Test
@@ -258,12 +472,62 @@ public class MybatisDataServiceTest {
 
 	@Test
 	public void testGetComments() {
-		// TODO
+		int postId = 5;
+		Comment comment1 = new Comment(1);
+		Comment comment2 = new Comment(2);
+		Collection<Comment> comments = Arrays.asList(comment1, comment2);
+
+		when(commentsMapper.getComments(postId)).thenReturn(comments);
+		when(commentsMapper.getCommentLikesByCommentIds(List.of(1, 2))).thenReturn(
+				List.of(new Like(2, "Pete"), new Like(2, "Joe")));
+		assertThat(mybatisDataService.getComments(postId), is(comments));
+		assertThat(comment1.getLikes(), is(Collections.emptyList()));
+		assertThat(comment2.getLikes(), is(List.of("Pete", "Joe")));
+
+		verify(commentsMapper, times(1)).getComments(postId);
+		verify(commentsMapper, times(1)).getCommentLikesByCommentIds(List.of(1, 2));
+	}
+
+	@Test
+	public void testGetCommentsWithNoComments() {
+		int postId = 5;
+		when(commentsMapper.getComments(postId)).thenReturn(Collections.emptyList());
+		assertThat(mybatisDataService.getComments(postId).isEmpty(), is(true));
+		verify(commentsMapper, times(1)).getComments(postId);
 	}
 
 	@Test
 	public void testGetCommentsByUserId() {
-		// TODO
+		int userId = 10;
+		Comment comment1 = new Comment(1);
+		Comment comment2 = new Comment(2);
+		Collection<Comment> comments = Arrays.asList(comment1, comment2);
+
+		when(commentsMapper.getCommentsByUserId(userId, 4, 2)).thenReturn(comments);
+		when(commentsMapper.getCommentLikesByCommentIds(List.of(1, 2))).thenReturn(List.of(new Like(1, "Pete")));
+		assertThat(mybatisDataService.getCommentsByUserId(userId, 4, 2), is(comments));
+		assertThat(comment1.getLikes(), is(List.of("Pete")));
+		assertThat(comment2.getLikes(), is(Collections.emptyList()));
+
+		verify(commentsMapper, times(1)).getCommentsByUserId(userId, 4, 2);
+		verify(commentsMapper, times(1)).getCommentLikesByCommentIds(List.of(1, 2));
+	}
+
+	@Test
+	public void testGetCommentsMentioningUserId() {
+		int userId = 10;
+		Comment comment1 = new Comment(1);
+		Comment comment2 = new Comment(2);
+		Collection<Comment> comments = Arrays.asList(comment1, comment2);
+
+		when(commentsMapper.getCommentsMentioningUserId(userId, 4, 2)).thenReturn(comments);
+		when(commentsMapper.getCommentLikesByCommentIds(List.of(1, 2))).thenReturn(List.of(new Like(2, "Pete")));
+		assertThat(mybatisDataService.getCommentsMentioningUserId(userId, 4, 2), is(comments));
+		assertThat(comment1.getLikes(), is(Collections.emptyList()));
+		assertThat(comment2.getLikes(), is(List.of("Pete")));
+
+		verify(commentsMapper, times(1)).getCommentsMentioningUserId(userId, 4, 2);
+		verify(commentsMapper, times(1)).getCommentLikesByCommentIds(List.of(1, 2));
 	}
 
 	@Test
@@ -271,6 +535,22 @@ public class MybatisDataServiceTest {
 		// TODO
 	}
 
+	@Test
+	public void testGetCommentsByIds() {
+		Comment comment1 = new Comment(1);
+		Comment comment3 = new Comment(3);
+
+		when(commentsMapper.getCommentsByIds(List.of(3, 2, 1))).thenReturn(List.of(comment1, comment3));
+		when(commentsMapper.getCommentLikesByCommentIds(List.of(3, 1))).thenReturn(List.of(new Like(1, "Pete")));
+
+		assertThat(mybatisDataServiceWithReplicas.getCommentsByIds(List.of(3, 2, 1)), is(List.of(comment3, comment1)));
+		assertThat(comment1.getLikes(), is(List.of("Pete")));
+		assertThat(comment3.getLikes(), is(Collections.emptyList()));
+
+		verify(commentsMapper, times(1)).getCommentsByIds(List.of(3, 2, 1));
+		verify(commentsMapper, times(1)).getCommentLikesByCommentIds(List.of(3, 1));
+	}
+
 	@Test
 	public void testGetUserIdFromCommentId() {
 		// TODO
@@ -278,12 +558,37 @@ public class MybatisDataServiceTest {
 
 	@Test
 	public void testAddComment() {
-		// TODO
+		Comment comment = new Comment(5);
+		comment.setText("A Comment mentioning @Pete");
+		when(commentsMapper.addComment(comment)).thenReturn(1);
+		when(mentionsMapper.addCommentMentions(5, Set.of("pete"))).thenReturn(1);
+
+		assertThat(mybatisDataService.addComment(comment), is(true));
+
+		verify(commentsMapper, times(1)).addComment(comment);
+		verify(mentionsMapper, times(1)).addCommentMentions(5, Set.of("pete"));
+	}
+
+	@Test
+	public void testAddCommentUnsuccessful() {
+		Comment comment = new Comment(5);
+		comment.setText("A Comment mentioning @Pete");
+		when(commentsMapper.addComment(comment)).thenReturn(0);
+
+		assertThat(mybatisDataService.addComment(comment), is(false));
+
+		verify(commentsMapper, times(1)).addComment(comment);
 	}
 
 	@Test
 	public void testEditComment() {
-		// TODO
+		String text = "An edited Comment without mentions";
+		when(commentsMapper.editComment(5, text)).thenReturn(1);
+
+		assertThat(mybatisDataService.editComment(5, text), is(true));
+
+		verify(mentionsMapper, times(1)).removeCommentMentions(5);
+		verify(commentsMapper, times(1)).editComment(5, text);
 	}
 
 	@Test
@@ -377,6 +682,24 @@ public class MybatisDataServiceTest {
 		verify(followersMapper, times(1)).getFollowerUsernames(username);
 	}
 
+	@Test
+	public void testGetFollowerUsernamesFromPrimaryWithReplicas() {
+		Collection<String> followerUsernames = Collections.singleton("A Follower");
+		String username = "Username";
+		when(followersMapper.getFollowerUsernames(username)).thenReturn(followerUsernames);
+		assertThat(mybatisDataServiceWithReplicas.getFollowerUsernames(username), is(followerUsernames));
+		verify(followersMapper, times(1)).getFollowerUsernames(username);
+	}
+
+	@Test
+	public void testGetFollowingUsernamesFromPrimaryWithReplicas() {
+		Collection<String> followingUsernames = Collections.singleton("A User I Follow");
+		String username = "Username";
+		when(followersMapper.getFollowingUsernames(username)).thenReturn(followingUsernames);
+		assertThat(mybatisDataServiceWithReplicas.getFollowingUsernames(username), is(followingUsernames));
+		verify(followersMapper, times(1)).getFollowingUsernames(username);
+	}
+
 	@Test
 	public void testGetFollowingUsernames() {
 		Collection<String> followingUsernames = Collections.singleton("A User I Follow");
@@ -0,0 +1,69 @@
+package com.jms.socialmedia.dataservice;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+
+import com.jms.socialmedia.events.PostCreatedBus;
+import com.jms.socialmedia.model.Post;
+
+public class PostEventsDataServiceTest {
+
+	@Mock
+	private DataService dataService;
+	@Mock
+	private PostCreatedBus postCreatedBus;
+
+	private PostEventsDataService postEventsDataService;
+
+	@Before
+	public void setUp() {
+		initMocks(this);
+		postEventsDataService = new PostEventsDataService(dataService, postCreatedBus);
+	}
+
+	@After
+	public void tearDown() {
+		verifyNoMoreInteractions(dataService, postCreatedBus);
+	}
+
+	@Test
+	public void testAddPost() {
+		Post post = new Post(7, 1, "Jason", null, "Text", null);
+		when(dataService.addPost(post)).thenReturn(true);
+
+		assertThat(postEventsDataService.addPost(post), is(true));
+
+		verify(dataService, times(1)).addPost(post);
+		verify(postCreatedBus, times(1)).publish(post);
+	}
+
+	@Test
+	public void testAddPostFailed() {
+		Post post = new Post(7, 1, "Jason", null, "Text", null);
+		when(dataService.addPost(post)).thenReturn(false);
+
+		assertThat(postEventsDataService.addPost(post), is(false));
+
+		verify(dataService, times(1)).addPost(post);
+	}
+
+	@Test
+	public void testGetPost() {
+		Post post = new Post(7, 1, "Jason", null, "Text", null);
+		when(dataService.getPost(7)).thenReturn(post);
+
+		assertThat(postEventsDataService.getPost(7), is(post));
+
+		verify(dataService, times(1)).getPost(7);
+	}
+}
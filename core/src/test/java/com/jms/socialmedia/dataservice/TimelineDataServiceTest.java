@@ -0,0 +1,254 @@
+package com.jms.socialmedia.dataservice;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+
+import com.jms.socialmedia.model.Post;
+import com.jms.socialmedia.timeline.TimelineService;
+
+public class TimelineDataServiceTest {
+
+	private static final int MAX_NUMBER_OF_POSTS = 3;
+	private static final int MAX_FOLLOWERS_FOR_FAN_OUT = 2;
+
+	@Mock
+	private DataService dataService;
+	@Mock
+	private TimelineService timelineService;
+
+	private TimelineDataService timelineDataService;
+
+	@Before
+	public void setUp() {
+		initMocks(this);
+		timelineDataService = new TimelineDataService(dataService, timelineService, MAX_NUMBER_OF_POSTS,
+				MAX_FOLLOWERS_FOR_FAN_OUT);
+	}
+
+	@After
+	public void tearDown() {
+		verifyNoMoreInteractions(dataService, timelineService);
+	}
+
+	@Test
+	public void testGetFeedPostsWithTimelineNotBuilt() {
+		List<Post> feedPosts = List.of(new Post(5), new Post(4), new Post(2));
+		when(timelineService.getTimeline("Jason")).thenReturn(null);
+		when(dataService.getFeedPosts("Jason", null, null, MAX_NUMBER_OF_POSTS)).thenReturn(feedPosts);
+
+		assertThat(timelineDataService.getFeedPosts("Jason", 3), is(List.of(new Post(5), new Post(4))));
+
+		verify(timelineService, times(1)).getTimeline("Jason");
+		verify(dataService, times(1)).getFeedPosts("Jason", null, null, MAX_NUMBER_OF_POSTS);
+		verify(timelineService, times(1)).putTimeline("Jason", List.of(5, 4, 2));
+	}
+
+	@Test
+	public void testGetFeedPostsWithTimeline() {
+		List<Post> posts = List.of(new Post(5), new Post(4));
+		when(timelineService.getTimeline("Jason")).thenReturn(List.of(5, 4, 2));
+		when(dataService.getPostsByIds(List.of(5, 4))).thenReturn(posts);
+		when(timelineService.getUsersWithoutFanOut()).thenReturn(Collections.emptySet());
+
+		assertThat(timelineDataService.getFeedPosts("Jason", 3), is(posts));
+
+		verify(timelineService, times(1)).getTimeline("Jason");
+		verify(dataService, times(1)).getPostsByIds(List.of(5, 4));
+		verify(timelineService, times(1)).getUsersWithoutFanOut();
+	}
+
+	@Test
+	public void testGetFeedPostsPage() {
+		List<Post> posts = List.of(new Post(4));
+		when(timelineService.getTimeline("Jason")).thenReturn(List.of(5, 4, 2));
+		when(dataService.getPostsByIds(List.of(4))).thenReturn(posts);
+		when(timelineService.getUsersWithoutFanOut()).thenReturn(Collections.emptySet());
+
+		assertThat(timelineDataService.getFeedPosts("Jason", null, 5, 1), is(posts));
+
+		verify(timelineService, times(1)).getTimeline("Jason");
+		verify(dataService, times(1)).getPostsByIds(List.of(4));
+		verify(timelineService, times(1)).getUsersWithoutFanOut();
+	}
+
+	@Test
+	public void testGetFeedPostsSincePostIdPagesForward() {
+		List<Post> posts = List.of(new Post(4));
+		when(timelineService.getTimeline("Jason")).thenReturn(List.of(5, 4, 2));
+		when(dataService.getPostsByIds(List.of(4))).thenReturn(posts);
+		when(timelineService.getUsersWithoutFanOut()).thenReturn(Collections.emptySet());
+
+		assertThat(timelineDataService.getFeedPosts("Jason", 2, null, 1), is(posts));
+
+		verify(timelineService, times(1)).getTimeline("Jason");
+		verify(dataService, times(1)).getPostsByIds(List.of(4));
+		verify(timelineService, times(1)).getUsersWithoutFanOut();
+	}
+
+	@Test
+	public void testGetFeedPostsSincePostIdPastTimeline() {
+		List<Post> posts = List.of(new Post(1));
+		when(timelineService.getTimeline("Jason")).thenReturn(List.of(5, 4, 2));
+		when(dataService.getFeedPosts("Jason", 0, null, 1)).thenReturn(posts);
+
+		assertThat(timelineDataService.getFeedPosts("Jason", 0, null, 1), is(posts));
+
+		verify(timelineService, times(1)).getTimeline("Jason");
+		verify(dataService, times(1)).getFeedPosts("Jason", 0, null, 1);
+	}
+
+	@Test
+	public void testGetFeedPostsPastTimeline() {
+		List<Post> posts = List.of(new Post(1), new Post(0));
+		when(timelineService.getTimeline("Jason")).thenReturn(List.of(5, 4, 2));
+		when(dataService.getFeedPosts("Jason", null, 2, 2)).thenReturn(posts);
+
+		assertThat(timelineDataService.getFeedPosts("Jason", null, 2, 2), is(posts));
+
+		verify(timelineService, times(1)).getTimeline("Jason");
+		verify(dataService, times(1)).getFeedPosts("Jason", null, 2, 2);
+	}
+
+	@Test
+	public void testGetFeedPostsPastTimelineNotBuilt() {
+		List<Post> posts = List.of(new Post(1));
+		when(timelineService.getTimeline("Jason")).thenReturn(null);
+		when(dataService.getFeedPosts("Jason", null, null, MAX_NUMBER_OF_POSTS))
+				.thenReturn(List.of(new Post(5), new Post(4), new Post(2)));
+		when(dataService.getFeedPosts("Jason", null, 4, 2)).thenReturn(posts);
+
+		assertThat(timelineDataService.getFeedPosts("Jason", null, 4, 2), is(posts));
+
+		verify(timelineService, times(1)).getTimeline("Jason");
+		verify(dataService, times(1)).getFeedPosts("Jason", null, null, MAX_NUMBER_OF_POSTS);
+		verify(timelineService, times(1)).putTimeline("Jason", List.of(5, 4, 2));
+		verify(dataService, times(1)).getFeedPosts("Jason", null, 4, 2);
+	}
+
+	@Test
+	public void testGetFeedPostsWithUsersWithoutFanOut() {
+		when(timelineService.getTimeline("Jason")).thenReturn(List.of(5, 2));
+		when(dataService.getPostsByIds(List.of(5, 2))).thenReturn(List.of(new Post(5), new Post(2)));
+		when(timelineService.getUsersWithoutFanOut()).thenReturn(Set.of("celebrity", "someone"));
+		when(dataService.getFollowingUsernames("Jason")).thenReturn(List.of("Celebrity", "Pete"));
+		when(dataService.getPosts(null, List.of("Celebrity"), null, null, null, null, null, null, MAX_NUMBER_OF_POSTS,
+				"postId", false))
+				.thenReturn(List.of(new Post(6), new Post(3)));
+
+		assertThat(timelineDataService.getFeedPosts("Jason", null), is(List.of(new Post(6), new Post(5), new Post(3))));
+
+		verify(timelineService, times(1)).getTimeline("Jason");
+		verify(dataService, times(1)).getPostsByIds(List.of(5, 2));
+		verify(timelineService, times(1)).getUsersWithoutFanOut();
+		verify(dataService, times(1)).getFollowingUsernames("Jason");
+		verify(dataService, times(1)).getPosts(null, List.of("Celebrity"), null, null, null, null, null, null, MAX_NUMBER_OF_POSTS,
+				"postId", false);
+	}
+
+	@Test
+	public void testAddPost() {
+		Post post = new Post(7, 1, "Jason", null, "Text", null);
+		when(dataService.addPost(post)).thenReturn(true);
+		when(dataService.getNumberOfFollowers("Jason")).thenReturn(1);
+		when(dataService.getFollowerUsernames("Jason")).thenReturn(List.of("Pete"));
+
+		assertThat(timelineDataService.addPost(post), is(true));
+
+		verify(dataService, times(1)).addPost(post);
+		verify(dataService, times(1)).getNumberOfFollowers("Jason");
+		verify(dataService, times(1)).getFollowerUsernames("Jason");
+		verify(timelineService, times(1)).removeUserWithoutFanOut("Jason");
+		verify(timelineService, times(1)).addPostToTimelines(7, List.of("Pete", "Jason"));
+	}
+
+	@Test
+	public void testAddPostWithFanOutAgain() {
+		Post post = new Post(7, 1, "Jason", null, "Text", null);
+		when(dataService.addPost(post)).thenReturn(true);
+		when(dataService.getNumberOfFollowers("Jason")).thenReturn(2);
+		when(dataService.getFollowerUsernames("Jason")).thenReturn(List.of("Pete", "Joe"));
+		when(timelineService.removeUserWithoutFanOut("Jason")).thenReturn(true);
+
+		assertThat(timelineDataService.addPost(post), is(true));
+
+		verify(dataService, times(1)).addPost(post);
+		verify(dataService, times(1)).getNumberOfFollowers("Jason");
+		verify(dataService, times(1)).getFollowerUsernames("Jason");
+		verify(timelineService, times(1)).removeUserWithoutFanOut("Jason");
+		verify(timelineService, times(1)).removeTimeline("Pete");
+		verify(timelineService, times(1)).removeTimeline("Joe");
+		verify(timelineService, times(1)).addPostToTimelines(7, List.of("Pete", "Joe", "Jason"));
+	}
+
+	@Test
+	public void testAddPostWithoutFanOut() {
+		Post post = new Post(7, 1, "Jason", null, "Text", null);
+		when(dataService.addPost(post)).thenReturn(true);
+		when(dataService.getNumberOfFollowers("Jason")).thenReturn(3);
+
+		assertThat(timelineDataService.addPost(post), is(true));
+
+		verify(dataService, times(1)).addPost(post);
+		verify(dataService, times(1)).getNumberOfFollowers("Jason");
+		verify(timelineService, times(1)).addUserWithoutFanOut("Jason");
+		verify(timelineService, times(1)).addPostToTimelines(7, List.of("Jason"));
+	}
+
+	@Test
+	public void testAddPostFailed() {
+		Post post = new Post(7, 1, "Jason", null, "Text", null);
+		when(dataService.addPost(post)).thenReturn(false);
+
+		assertThat(timelineDataService.addPost(post), is(false));
+
+		verify(dataService, times(1)).addPost(post);
+	}
+
+	@Test
+	public void testDeletePost() {
+		when(dataService.getPost(7)).thenReturn(new Post(7, 1, "Jason", null, "Text", null));
+		when(dataService.deletePost(7)).thenReturn(true);
+		when(dataService.getFollowerUsernames("Jason")).thenReturn(List.of("Pete"));
+
+		assertThat(timelineDataService.deletePost(7), is(true));
+
+		verify(dataService, times(1)).getPost(7);
+		verify(dataService, times(1)).deletePost(7);
+		verify(dataService, times(1)).getFollowerUsernames("Jason");
+		verify(timelineService, times(1)).removePostFromTimelines(7, List.of("Pete", "Jason"));
+	}
+
+	@Test
+	public void testFollowUser() {
+		when(dataService.followUser(1, "Jason", 2, "Pete")).thenReturn(true);
+
+		assertThat(timelineDataService.followUser(1, "Jason", 2, "Pete"), is(true));
+
+		verify(dataService, times(1)).followUser(1, "Jason", 2, "Pete");
+		verify(timelineService, times(1)).removeTimeline("Jason");
+	}
+
+	@Test
+	public void testUnfollowUser() {
+		when(dataService.unfollowUser(1, "Jason", 2, "Pete")).thenReturn(true);
+
+		assertThat(timelineDataService.unfollowUser(1, "Jason", 2, "Pete"), is(true));
+
+		verify(dataService, times(1)).unfollowUser(1, "Jason", 2, "Pete");
+		verify(timelineService, times(1)).removeTimeline("Jason");
+	}
+}
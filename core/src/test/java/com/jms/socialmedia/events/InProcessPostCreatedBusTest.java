@@ -0,0 +1,61 @@
+package com.jms.socialmedia.events;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.jms.socialmedia.model.Post;
+
+public class InProcessPostCreatedBusTest {
+
+	private List<Runnable> deliveries;
+	private InProcessPostCreatedBus postCreatedBus;
+
+	@Before
+	public void setUp() {
+		deliveries = new ArrayList<>();
+		postCreatedBus = new InProcessPostCreatedBus(deliveries::add);
+	}
+
+	@Test
+	public void testPublishDeliversToListeners() {
+		List<Post> firstListenerPosts = new ArrayList<>();
+		List<Post> secondListenerPosts = new ArrayList<>();
+		postCreatedBus.subscribe(firstListenerPosts::add);
+		postCreatedBus.subscribe(secondListenerPosts::add);
+
+		postCreatedBus.publish(new Post(5));
+		postCreatedBus.publish(new Post(6));
+
+		assertThat(firstListenerPosts.isEmpty(), is(true));
+		deliveries.forEach(Runnable::run);
+		assertThat(firstListenerPosts, is(List.of(new Post(5), new Post(6))));
+		assertThat(secondListenerPosts, is(List.of(new Post(5), new Post(6))));
+	}
+
+	@Test
+	public void testPublishWithoutListeners() {
+		postCreatedBus.publish(new Post(5));
+
+		assertThat(deliveries.isEmpty(), is(true));
+	}
+
+	@Test
+	public void testFailingListenerDoesNotStopTheOthers() {
+		List<Post> listenerPosts = new ArrayList<>();
+		postCreatedBus.subscribe(post -> {
+			throw new IllegalStateException("Listener failed");
+		});
+		postCreatedBus.subscribe(listenerPosts::add);
+
+		postCreatedBus.publish(new Post(5));
+		deliveries.forEach(Runnable::run);
+
+		assertThat(listenerPosts, is(List.of(new Post(5))));
+	}
+}
@@ -0,0 +1,99 @@
+package com.jms.socialmedia.mybatis;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+
+public class ReplicaSqlSessionFactoryTest {
+
+	@Mock
+	private SqlSessionFactory primary;
+	@Mock
+	private SqlSessionFactory replica1;
+	@Mock
+	private SqlSessionFactory replica2;
+	@Mock
+	private SqlSession session1;
+	@Mock
+	private SqlSession session2;
+	@Mock
+	private Connection connection1;
+	@Mock
+	private Connection connection2;
+
+	private ReplicaSqlSessionFactory replicaSqlSessionFactory;
+
+	@Before
+	public void setUp() throws SQLException {
+		initMocks(this);
+		replicaSqlSessionFactory = new ReplicaSqlSessionFactory(primary, List.of(replica1, replica2));
+		when(replica1.openSession(true)).thenReturn(session1);
+		when(replica2.openSession(true)).thenReturn(session2);
+		when(session1.getConnection()).thenReturn(connection1);
+		when(session2.getConnection()).thenReturn(connection2);
+		when(connection1.isValid(2)).thenReturn(true);
+		when(connection2.isValid(2)).thenReturn(true);
+	}
+
+	@Test
+	public void testRoundRobin() {
+		assertThat(replicaSqlSessionFactory.nextSessionFactory(), sameInstance(replica1));
+		assertThat(replicaSqlSessionFactory.nextSessionFactory(), sameInstance(replica2));
+		assertThat(replicaSqlSessionFactory.nextSessionFactory(), sameInstance(replica1));
+		assertThat(replicaSqlSessionFactory.openSession(true), sameInstance(session2));
+	}
+
+	@Test
+	public void testUnhealthyReplicaIsSkipped() throws SQLException {
+		when(connection1.isValid(2)).thenReturn(false);
+		replicaSqlSessionFactory.checkHealth();
+
+		assertThat(replicaSqlSessionFactory.getNumberOfHealthyReplicas(), is(1));
+		assertThat(replicaSqlSessionFactory.nextSessionFactory(), sameInstance(replica2));
+		assertThat(replicaSqlSessionFactory.nextSessionFactory(), sameInstance(replica2));
+	}
+
+	@Test
+	public void testReplicaFailingToConnectIsSkipped() {
+		when(replica2.openSession(true)).thenThrow(new RuntimeException("Connection refused"));
+		replicaSqlSessionFactory.checkHealth();
+
+		assertThat(replicaSqlSessionFactory.getNumberOfHealthyReplicas(), is(1));
+		assertThat(replicaSqlSessionFactory.nextSessionFactory(), sameInstance(replica1));
+		assertThat(replicaSqlSessionFactory.nextSessionFactory(), sameInstance(replica1));
+	}
+
+	@Test
+	public void testPrimaryIsUsedWhenNoReplicaIsHealthy() throws SQLException {
+		when(connection1.isValid(2)).thenReturn(false);
+		when(connection2.isValid(2)).thenReturn(false);
+		replicaSqlSessionFactory.checkHealth();
+
+		assertThat(replicaSqlSessionFactory.getNumberOfHealthyReplicas(), is(0));
+		assertThat(replicaSqlSessionFactory.nextSessionFactory(), sameInstance(primary));
+	}
+
+	@Test
+	public void testReplicaIsUsedAgainOnceHealthy() throws SQLException {
+		when(connection1.isValid(2)).thenReturn(false);
+		replicaSqlSessionFactory.checkHealth();
+		when(connection1.isValid(2)).thenReturn(true);
+		replicaSqlSessionFactory.checkHealth();
+
+		assertThat(replicaSqlSessionFactory.getNumberOfHealthyReplicas(), is(2));
+		assertThat(replicaSqlSessionFactory.nextSessionFactory(), sameInstance(replica1));
+		assertThat(replicaSqlSessionFactory.nextSessionFactory(), sameInstance(replica2));
+	}
+}
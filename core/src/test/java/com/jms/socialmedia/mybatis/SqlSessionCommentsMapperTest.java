@@ -10,6 +10,7 @@ import static org.mockito.MockitoAnnotations.initMocks;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 
 import org.apache.ibatis.session.SqlSession;
 import org.apache.ibatis.session.SqlSessionFactory;
@@ -18,6 +19,9 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 
+import com.jms.socialmedia.model.Comment;
+import com.jms.socialmedia.model.Like;
+
 public class SqlSessionCommentsMapperTest {
 
 	@Mock
@@ -94,6 +98,24 @@ public class SqlSessionCommentsMapperTest {
 		verify(commentsMapper, times(1)).getCommentLikes(commentId);
 	}
 
+	@Test
+	public void testGetCommentsByIds() {
+		Collection<Integer> commentIds = List.of(4, 5);
+		Collection<Comment> comments = List.of(new Comment(4), new Comment(5));
+		when(commentsMapper.getCommentsByIds(commentIds)).thenReturn(comments);
+		assertThat(sqlSessionCommentsMapper.getCommentsByIds(commentIds), is(comments));
+		verify(commentsMapper, times(1)).getCommentsByIds(commentIds);
+	}
+
+	@Test
+	public void testGetCommentLikesByCommentIds() {
+		Collection<Integer> commentIds = List.of(4, 5);
+		Collection<Like> likes = List.of(new Like(4, "A Like"), new Like(5, "Another Like"));
+		when(commentsMapper.getCommentLikesByCommentIds(commentIds)).thenReturn(likes);
+		assertThat(sqlSessionCommentsMapper.getCommentLikesByCommentIds(commentIds), is(likes));
+		verify(commentsMapper, times(1)).getCommentLikesByCommentIds(commentIds);
+	}
+
 	@Test
 	public void testLikeComment() {
 		int postId = 5;
@@ -10,6 +10,7 @@ import static org.mockito.MockitoAnnotations.initMocks;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 
 import org.apache.ibatis.session.SqlSession;
 import org.apache.ibatis.session.SqlSessionFactory;
@@ -18,6 +19,8 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 
+import com.jms.socialmedia.model.Follow;
+
 public class SqlSessionFollowersMapperTest {
 
 	@Mock
@@ -55,6 +58,15 @@ public class SqlSessionFollowersMapperTest {
 		verify(followersMapper, times(1)).getFollowerUsernames(username);
 	}
 
+	@Test
+	public void testGetNumberOfFollowers() {
+		String username = "Username";
+		
+		when(followersMapper.getNumberOfFollowers(username)).thenReturn(3);
+		assertThat(sqlSessionFollowersMapper.getNumberOfFollowers(username), is(3));
+		verify(followersMapper, times(1)).getNumberOfFollowers(username);
+	}
+
 	@Test
 	public void testGetFollowingUsernames() {
 		Collection<String> followingUsernames = Collections.singleton("A User I Follow");
@@ -65,6 +77,16 @@ public class SqlSessionFollowersMapperTest {
 		verify(followersMapper, times(1)).getFollowingUsernames(username);
 	}
 
+	@Test
+	public void testGetFollowsOfUsernames() {
+		Collection<String> usernames = List.of("Username", "Another Username");
+		Collection<Follow> follows = List.of(new Follow("A Follower", "Username"));
+
+		when(followersMapper.getFollowsOfUsernames(usernames)).thenReturn(follows);
+		assertThat(sqlSessionFollowersMapper.getFollowsOfUsernames(usernames), is(follows));
+		verify(followersMapper, times(1)).getFollowsOfUsernames(usernames);
+	}
+
 	@Test
 	public void testFollowUser() {
 		int followerUserId = 5;
@@ -0,0 +1,137 @@
+package com.jms.socialmedia.mybatis;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.jms.socialmedia.model.Comment;
+import com.jms.socialmedia.model.NewUser;
+import com.jms.socialmedia.model.Post;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Runs the SQL of the mentions against an embedded, in-memory H2 Database, a new one for each test
+ */
+public class SqlSessionMentionsMapperH2Test {
+
+	private static final AtomicInteger DATABASE_COUNTER = new AtomicInteger();
+
+	private SqlSessionMentionsMapper sqlSessionMentionsMapper;
+	private SqlSessionPostsMapper sqlSessionPostsMapper;
+	private SqlSessionCommentsMapper sqlSessionCommentsMapper;
+	private int jasonUserId;
+	private int peteUserId;
+	private int postId;
+
+	@Before
+	public void setUp() throws IOException {
+		Properties properties = new Properties();
+		properties.setProperty("db.driver", "org.h2.Driver");
+		properties.setProperty("db.url", "jdbc:h2:mem:mentions" + DATABASE_COUNTER.incrementAndGet() + ";DB_CLOSE_DELAY=-1");
+		properties.setProperty("db.username", "sa");
+		properties.setProperty("db.password", "");
+		SqlSessionFactory factory;
+		try (InputStream inputStream = Resources.getResourceAsStream("com/jms/socialmedia/mybatis/mybatis-config.xml")) {
+			factory = new SqlSessionFactoryBuilder().build(inputStream, properties);
+		}
+		new SqlSessionCreateTablesMapper(factory).createTables();
+
+		sqlSessionMentionsMapper = new SqlSessionMentionsMapper(factory);
+		sqlSessionPostsMapper = new SqlSessionPostsMapper(factory);
+		sqlSessionCommentsMapper = new SqlSessionCommentsMapper(factory);
+		SqlSessionUsersMapper sqlSessionUsersMapper = new SqlSessionUsersMapper(factory);
+		jasonUserId = addUser(sqlSessionUsersMapper, "Jason");
+		peteUserId = addUser(sqlSessionUsersMapper, "Pete");
+
+		Post post = new Post();
+		post.setUserId(peteUserId);
+		post.setText("Hello @jason");
+		sqlSessionPostsMapper.addPost(post);
+		postId = post.getPostId();
+	}
+
+	@Test
+	public void testAddPostMentions() {
+		assertThat(sqlSessionMentionsMapper.addPostMentions(postId, List.of("jason", "nobody")), is(1));
+
+		assertThat(postIds(sqlSessionPostsMapper.getPostsMentioningUserId(jasonUserId, null, null)), is(List.of(postId)));
+		assertThat(postIds(sqlSessionPostsMapper.getPostsMentioningUserId(peteUserId, null, null)), is(Collections.emptyList()));
+	}
+
+	@Test
+	public void testGetPostsMentioningUserIdPage() {
+		Post post = new Post();
+		post.setUserId(peteUserId);
+		post.setText("Hello again @JASON");
+		sqlSessionPostsMapper.addPost(post);
+		sqlSessionMentionsMapper.addPostMentions(postId, List.of("jason"));
+		sqlSessionMentionsMapper.addPostMentions(post.getPostId(), List.of("JASON"));
+
+		assertThat(postIds(sqlSessionPostsMapper.getPostsMentioningUserId(jasonUserId, null, null)),
+				is(List.of(post.getPostId(), postId)));
+		assertThat(postIds(sqlSessionPostsMapper.getPostsMentioningUserId(jasonUserId, null, 1)), is(List.of(post.getPostId())));
+		assertThat(postIds(sqlSessionPostsMapper.getPostsMentioningUserId(jasonUserId, post.getPostId(), null)),
+				is(List.of(postId)));
+	}
+
+	@Test
+	public void testRemovePostMentions() {
+		sqlSessionMentionsMapper.addPostMentions(postId, List.of("Jason", "Pete"));
+
+		assertThat(sqlSessionMentionsMapper.removePostMentions(postId), is(2));
+		assertThat(postIds(sqlSessionPostsMapper.getPostsMentioningUserId(jasonUserId, null, null)), is(Collections.emptyList()));
+	}
+
+	@Test
+	public void testAddCommentMentions() {
+		Comment comment = new Comment(postId, jasonUserId, "Hello @PETE");
+		sqlSessionCommentsMapper.addComment(comment);
+
+		assertThat(sqlSessionMentionsMapper.addCommentMentions(comment.getCommentId(), List.of("PETE")), is(1));
+
+		assertThat(commentIds(sqlSessionCommentsMapper.getCommentsMentioningUserId(peteUserId, null, null)),
+				is(List.of(comment.getCommentId())));
+		assertThat(commentIds(sqlSessionCommentsMapper.getCommentsMentioningUserId(jasonUserId, null, null)),
+				is(Collections.emptyList()));
+	}
+
+	@Test
+	public void testRemoveCommentMentions() {
+		Comment comment = new Comment(postId, jasonUserId, "Hello @Pete");
+		sqlSessionCommentsMapper.addComment(comment);
+		sqlSessionMentionsMapper.addCommentMentions(comment.getCommentId(), List.of("Pete"));
+
+		assertThat(sqlSessionMentionsMapper.removeCommentMentions(comment.getCommentId()), is(1));
+		assertThat(commentIds(sqlSessionCommentsMapper.getCommentsMentioningUserId(peteUserId, null, null)),
+				is(Collections.emptyList()));
+	}
+
+	private static int addUser(SqlSessionUsersMapper sqlSessionUsersMapper, String username) {
+		NewUser newUser = new NewUser(null, username, "Full Name", username + "@jms.com", null, null, null, null);
+		newUser.setHashedPassword("hashedPassword");
+		sqlSessionUsersMapper.addUser(newUser);
+		return newUser.getUserId();
+	}
+
+	private static List<Integer> postIds(Collection<Post> posts) {
+		return posts.stream().map(Post::getPostId).collect(toList());
+	}
+
+	private static List<Integer> commentIds(Collection<Comment> comments) {
+		return comments.stream().map(Comment::getCommentId).collect(toList());
+	}
+}
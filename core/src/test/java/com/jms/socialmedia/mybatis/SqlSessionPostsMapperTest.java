@@ -10,6 +10,7 @@ import static org.mockito.MockitoAnnotations.initMocks;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 
 import org.apache.ibatis.session.SqlSession;
@@ -19,6 +20,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 
+import com.jms.socialmedia.model.Like;
 import com.jms.socialmedia.model.Post;
 
 public class SqlSessionPostsMapperTest {
@@ -62,17 +64,19 @@ public class SqlSessionPostsMapperTest {
 		String beforeDate = "2019-12-24";
 		String afterDate = "2019-12-22";
 		int sincePostId = 1;
+		int beforePostId = 10;
+		int limit = 20;
 		String sortBy = "postId";
 		boolean sortOrderAsc = true;
 
 		Collection<Post> posts = Collections.singleton(new Post(1));
 		
-		when(postsMapper.getPosts(userIds, usernames, tag, onDate, beforeDate, afterDate, sincePostId, sortBy, sortOrderAsc)).thenReturn(posts);
-		Collection<Post> returnedPosts = sqlSessionPostsMapper.getPosts(userIds, usernames, tag, onDate, beforeDate, afterDate, sincePostId, sortBy, sortOrderAsc);
+		when(postsMapper.getPosts(userIds, usernames, tag, onDate, beforeDate, afterDate, sincePostId, beforePostId, limit, sortBy, sortOrderAsc)).thenReturn(posts);
+		Collection<Post> returnedPosts = sqlSessionPostsMapper.getPosts(userIds, usernames, tag, onDate, beforeDate, afterDate, sincePostId, beforePostId, limit, sortBy, sortOrderAsc);
 		
 		assertThat(returnedPosts, is(posts));
 		
-		verify(postsMapper, times(1)).getPosts(userIds, usernames, tag, onDate, beforeDate, afterDate, sincePostId, sortBy, sortOrderAsc);
+		verify(postsMapper, times(1)).getPosts(userIds, usernames, tag, onDate, beforeDate, afterDate, sincePostId, beforePostId, limit, sortBy, sortOrderAsc);
 		
 	}
 
@@ -115,6 +119,24 @@ public class SqlSessionPostsMapperTest {
 		verify(postsMapper, times(1)).getPostLikes(postId);
 	}
 
+	@Test
+	public void testGetPostsByIds() {
+		Collection<Integer> postIds = List.of(4, 5);
+		Collection<Post> posts = List.of(new Post(4), new Post(5));
+		when(postsMapper.getPostsByIds(postIds)).thenReturn(posts);
+		assertThat(sqlSessionPostsMapper.getPostsByIds(postIds), is(posts));
+		verify(postsMapper, times(1)).getPostsByIds(postIds);
+	}
+
+	@Test
+	public void testGetPostLikesByPostIds() {
+		Collection<Integer> postIds = List.of(4, 5);
+		Collection<Like> likes = List.of(new Like(4, "A Like"), new Like(5, "Another Like"));
+		when(postsMapper.getPostLikesByPostIds(postIds)).thenReturn(likes);
+		assertThat(sqlSessionPostsMapper.getPostLikesByPostIds(postIds), is(likes));
+		verify(postsMapper, times(1)).getPostLikesByPostIds(postIds);
+	}
+
 	@Test
 	public void testLikePost() {
 		int postId = 5;
@@ -0,0 +1,92 @@
+package com.jms.socialmedia.password;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+
+import com.jms.socialmedia.exception.ServiceUnavailableException;
+
+public class BoundedPasswordServiceTest {
+
+	@Mock
+	private PasswordService passwordService;
+
+	private BoundedPasswordService boundedPasswordService;
+
+	@Before
+	public void setUp() {
+		initMocks(this);
+		boundedPasswordService = new BoundedPasswordService(passwordService, 1, 1);
+	}
+
+	@After
+	public void tearDown() {
+		boundedPasswordService.shutdown();
+	}
+
+	@Test
+	public void testEncryptPassword() {
+		when(passwordService.encryptPassword("password")).thenReturn("hashedPassword");
+		assertThat(boundedPasswordService.encryptPassword("password"), is("hashedPassword"));
+		verify(passwordService, times(1)).encryptPassword("password");
+	}
+
+	@Test
+	public void testCheckPassword() {
+		when(passwordService.checkPassword("password", "hashedPassword")).thenReturn(true);
+		assertThat(boundedPasswordService.checkPassword("password", "hashedPassword"), is(true));
+		verify(passwordService, times(1)).checkPassword("password", "hashedPassword");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testExceptionOfPasswordService() {
+		when(passwordService.checkPassword("password", "invalid")).thenThrow(new IllegalArgumentException());
+		boundedPasswordService.checkPassword("password", "invalid");
+	}
+
+	@Test(timeout = 10000)
+	public void testRejectedWhenQueueIsFull() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		when(passwordService.encryptPassword("password")).then(invocation -> {
+			started.countDown();
+			release.await();
+			return "hashedPassword";
+		});
+
+		CompletableFuture<String> running = CompletableFuture.supplyAsync(
+				() -> boundedPasswordService.encryptPassword("password"));
+		assertThat(started.await(5, TimeUnit.SECONDS), is(true));
+		CompletableFuture<String> queued = CompletableFuture.supplyAsync(
+				() -> boundedPasswordService.encryptPassword("password"));
+		while (boundedPasswordService.getQueueSize() == 0) {
+			Thread.sleep(1);
+		}
+		assertThat(boundedPasswordService.getActiveCount(), is(1));
+
+		try {
+			boundedPasswordService.encryptPassword("password");
+			fail("Did not throw a ServiceUnavailableException");
+		} catch (ServiceUnavailableException e) {
+			assertThat(boundedPasswordService.getRejectedCount(), is(1L));
+		}
+
+		release.countDown();
+		assertThat(running.get(5, TimeUnit.SECONDS), is("hashedPassword"));
+		assertThat(queued.get(5, TimeUnit.SECONDS), is("hashedPassword"));
+		verify(passwordService, times(2)).encryptPassword("password");
+	}
+}
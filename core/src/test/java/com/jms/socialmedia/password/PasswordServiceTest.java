@@ -9,6 +9,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.jms.socialmedia.password.BcryptPasswordService;
+import com.jms.socialmedia.password.BoundedPasswordService;
 import com.jms.socialmedia.password.NonEncryptionPasswordService;
 import com.jms.socialmedia.password.PasswordService;
 
@@ -26,7 +27,8 @@ public class PasswordServiceTest {
 	public static Object[] data() {
 		return new Object[] {
 				new NonEncryptionPasswordService(),
-				new BcryptPasswordService()};
+				new BcryptPasswordService(),
+				new BoundedPasswordService(new BcryptPasswordService(), 1, 1)};
 	}
 	
 	@Parameter
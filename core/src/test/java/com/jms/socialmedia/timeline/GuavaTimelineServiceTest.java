@@ -0,0 +1,75 @@
+package com.jms.socialmedia.timeline;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class GuavaTimelineServiceTest {
+
+	private GuavaTimelineService timelineService;
+
+	@Before
+	public void setUp() {
+		timelineService = new GuavaTimelineService(10, 3);
+	}
+
+	@Test
+	public void testGetTimelineNotBuilt() {
+		assertThat(timelineService.getTimeline("Jason"), is(nullValue()));
+	}
+
+	@Test
+	public void testPutTimeline() {
+		timelineService.putTimeline("Jason", List.of(2, 5, 1, 4));
+		assertThat(timelineService.getTimeline("jason"), is(List.of(5, 4, 2)));
+	}
+
+	@Test
+	public void testPutEmptyTimeline() {
+		timelineService.putTimeline("Jason", Collections.emptyList());
+		assertThat(timelineService.getTimeline("Jason"), is(Collections.emptyList()));
+	}
+
+	@Test
+	public void testAddPostToTimelines() {
+		timelineService.putTimeline("Jason", List.of(1, 2));
+		timelineService.addPostToTimelines(3, List.of("JASON", "Pete"));
+		timelineService.addPostToTimelines(4, List.of("Jason"));
+
+		assertThat(timelineService.getTimeline("Jason"), is(List.of(4, 3, 2)));
+		assertThat(timelineService.getTimeline("Pete"), is(nullValue()));
+	}
+
+	@Test
+	public void testRemovePostFromTimelines() {
+		timelineService.putTimeline("Jason", List.of(1, 2, 3));
+		timelineService.removePostFromTimelines(2, List.of("Jason", "Pete"));
+
+		assertThat(timelineService.getTimeline("Jason"), is(List.of(3, 1)));
+		assertThat(timelineService.getTimeline("Pete"), is(nullValue()));
+	}
+
+	@Test
+	public void testRemoveTimeline() {
+		timelineService.putTimeline("Jason", List.of(1, 2, 3));
+		timelineService.removeTimeline("jason");
+		assertThat(timelineService.getTimeline("Jason"), is(nullValue()));
+	}
+
+	@Test
+	public void testUsersWithoutFanOut() {
+		assertThat(timelineService.getUsersWithoutFanOut(), is(Collections.emptySet()));
+		timelineService.addUserWithoutFanOut("Jason");
+		assertThat(timelineService.getUsersWithoutFanOut(), is(Set.of("jason")));
+		assertThat(timelineService.removeUserWithoutFanOut("JASON"), is(true));
+		assertThat(timelineService.removeUserWithoutFanOut("Jason"), is(false));
+		assertThat(timelineService.getUsersWithoutFanOut(), is(Collections.emptySet()));
+	}
+}
@@ -0,0 +1,143 @@
+package com.jms.socialmedia.timeline;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+
+public class RedisTimelineServiceTest {
+
+	private static final String TIMELINE_KEY = "timeline/jason";
+	private static final String USERS_WITHOUT_FAN_OUT_KEY = "timeline/users_without_fan_out";
+	private static final int MAX_NUMBER_OF_POSTS = 3;
+	private static final int EXPIRATION_TIME = 500;
+
+	@Mock
+	private JedisPool jedisPool;
+	@Mock
+	private Jedis jedis;
+	@Mock
+	private Pipeline pipeline;
+	@Mock
+	private Response<Set<String>> zrevrangeResponse;
+
+	private RedisTimelineService redisTimelineService;
+
+	@Before
+	public void setUp() {
+		initMocks(this);
+		redisTimelineService = new RedisTimelineService(jedisPool, MAX_NUMBER_OF_POSTS, EXPIRATION_TIME);
+		when(jedisPool.getResource()).thenReturn(jedis);
+		when(jedis.pipelined()).thenReturn(pipeline);
+		when(pipeline.zrevrange(TIMELINE_KEY, 0, -1)).thenReturn(zrevrangeResponse);
+	}
+
+	@After
+	public void tearDown() {
+		verify(jedisPool, times(1)).getResource();
+		verify(jedis, times(1)).close();
+		verifyNoMoreInteractions(jedis, pipeline);
+	}
+
+	@Test
+	public void testGetTimeline() {
+		when(zrevrangeResponse.get()).thenReturn(new LinkedHashSet<>(List.of("5", "4", "0")));
+
+		assertThat(redisTimelineService.getTimeline("Jason"), is(List.of(5, 4)));
+
+		verify(jedis, times(1)).pipelined();
+		verify(pipeline, times(1)).zrevrange(TIMELINE_KEY, 0, -1);
+		verify(pipeline, times(1)).expire(TIMELINE_KEY, EXPIRATION_TIME);
+		verify(pipeline, times(1)).sync();
+	}
+
+	@Test
+	public void testGetTimelineNotBuilt() {
+		when(zrevrangeResponse.get()).thenReturn(Collections.emptySet());
+
+		assertThat(redisTimelineService.getTimeline("Jason"), is(nullValue()));
+
+		verify(jedis, times(1)).pipelined();
+		verify(pipeline, times(1)).zrevrange(TIMELINE_KEY, 0, -1);
+		verify(pipeline, times(1)).expire(TIMELINE_KEY, EXPIRATION_TIME);
+		verify(pipeline, times(1)).sync();
+	}
+
+	@Test
+	public void testPutTimeline() {
+		redisTimelineService.putTimeline("Jason", List.of(1, 2, 3, 4));
+
+		verify(jedis, times(1)).pipelined();
+		verify(pipeline, times(1)).multi();
+		verify(pipeline, times(1)).del(TIMELINE_KEY);
+		verify(pipeline, times(1)).zadd(TIMELINE_KEY, Map.of("0", 0d, "4", 4d, "3", 3d, "2", 2d));
+		verify(pipeline, times(1)).expire(TIMELINE_KEY, EXPIRATION_TIME);
+		verify(pipeline, times(1)).exec();
+		verify(pipeline, times(1)).sync();
+	}
+
+	@Test
+	public void testAddPostToTimelines() {
+		redisTimelineService.addPostToTimelines(5, List.of("Jason", "Pete"));
+
+		verify(jedis, times(1)).eval(anyString(), eq(List.of(TIMELINE_KEY, "timeline/pete")), eq(List.of("5", "3")));
+	}
+
+	@Test
+	public void testRemovePostFromTimelines() {
+		redisTimelineService.removePostFromTimelines(5, List.of("Jason", "Pete"));
+
+		verify(jedis, times(1)).pipelined();
+		verify(pipeline, times(1)).zrem(TIMELINE_KEY, "5");
+		verify(pipeline, times(1)).zrem("timeline/pete", "5");
+		verify(pipeline, times(1)).sync();
+	}
+
+	@Test
+	public void testRemoveTimeline() {
+		redisTimelineService.removeTimeline("Jason");
+		verify(jedis, times(1)).del(TIMELINE_KEY);
+	}
+
+	@Test
+	public void testAddUserWithoutFanOut() {
+		redisTimelineService.addUserWithoutFanOut("Jason");
+		verify(jedis, times(1)).sadd(USERS_WITHOUT_FAN_OUT_KEY, "jason");
+	}
+
+	@Test
+	public void testRemoveUserWithoutFanOut() {
+		when(jedis.srem(USERS_WITHOUT_FAN_OUT_KEY, "jason")).thenReturn(1L);
+		assertThat(redisTimelineService.removeUserWithoutFanOut("Jason"), is(true));
+		verify(jedis, times(1)).srem(USERS_WITHOUT_FAN_OUT_KEY, "jason");
+	}
+
+	@Test
+	public void testGetUsersWithoutFanOut() {
+		when(jedis.smembers(USERS_WITHOUT_FAN_OUT_KEY)).thenReturn(Set.of("jason"));
+		assertThat(redisTimelineService.getUsersWithoutFanOut(), is(Set.of("jason")));
+		verify(jedis, times(1)).smembers(USERS_WITHOUT_FAN_OUT_KEY);
+	}
+}
@@ -5,12 +5,17 @@ import static org.junit.Assert.assertThat;
 import java.io.IOException;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.fail;
+
 import org.junit.Test;
 
 import com.jms.socialmedia.token.JWTService;
 import com.jms.socialmedia.token.Permission;
 import com.jms.socialmedia.token.Token;
 
+import io.jsonwebtoken.SignatureException;
+
 public class JWTServiceTest {
 
 	@Test
@@ -26,4 +31,38 @@ public class JWTServiceTest {
 		assertThat(token2.hasPermission(Permission.DELETE_COMMENT), is(true));
 	}
 
+	@Test
+	public void testVerifiedTokenIsCached() throws IOException {
+		JWTService jwtService = new JWTService();
+		String jwt = jwtService.createTokenString(Token.newBuilder().setUserId(5).setUsername("Me")
+				.addPermissions(Permission.ADD_POST).build());
+		Token token = jwtService.createTokenFromString(jwt);
+		assertThat(jwtService.createTokenFromString(jwt), sameInstance(token));
+	}
+
+	@Test
+	public void testTamperedTokenIsNotCached() throws IOException {
+		JWTService jwtService = new JWTService();
+		String jwt = jwtService.createTokenString(Token.newBuilder().setUserId(5).setUsername("Me")
+				.addPermissions(Permission.ADD_POST).build());
+		jwtService.createTokenFromString(jwt);
+		int index = jwt.length() - 10;
+		String tamperedJwt = jwt.substring(0, index) + (jwt.charAt(index) == 'A' ? 'B' : 'A') + jwt.substring(index + 1);
+		for (int i = 0; i < 2; i++) {
+			try {
+				jwtService.createTokenFromString(tamperedJwt);
+				fail("Did not throw a SignatureException");
+			} catch (SignatureException e) {
+				// Expected
+			}
+		}
+	}
+
+	@Test
+	public void testTokensFromAnotherInstance() throws IOException {
+		Token token = Token.newBuilder().setUserId(5).setUsername("Me").addPermissions(Permission.ADD_POST).build();
+		String jwt = new JWTService().createTokenString(token);
+		assertThat(new JWTService(1, 1).createTokenFromString(jwt), is(token));
+	}
+
 }
@@ -6,6 +6,7 @@ import java.util.Collection;
 import org.junit.Test;
 
 import com.jms.socialmedia.utils.TagsUtils;
+import com.jms.socialmedia.utils.TagsUtils.TagsAndMentions;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
@@ -54,4 +55,43 @@ public class TagsTest {
 		Collection<String> tags = TagsUtils.extractTags(post);
 		assertThat(tags.size(), is(equalTo(0)));
 	}
+
+	@Test
+	public void testEmptyTags() {
+		assertThat(TagsUtils.extractTags("# ## #").size(), is(equalTo(0)));
+		assertThat(TagsUtils.extractTags("").size(), is(equalTo(0)));
+	}
+
+	@Test
+	public void testWhitespace() {
+		String post = "#Tab\t#NewLine\n#Return\r\n#End";
+		Collection<String> tags = TagsUtils.extractTags(post);
+		assertThat(tags.size(), is(equalTo(4)));
+		assertThat(tags.contains("tab"), is(true));
+		assertThat(tags.contains("newline"), is(true));
+		assertThat(tags.contains("return"), is(true));
+		assertThat(tags.contains("end"), is(true));
+	}
+
+	@Test
+	public void testExtractMentions() {
+		String post = "@Jason hey @user_1! @user_2 email@jms.com @#Tag @Da-sh @ @Last_One";
+		Collection<String> mentions = TagsUtils.extractMentions(post);
+		assertThat(mentions.size(), is(equalTo(3)));
+		assertThat(mentions.contains("jason"), is(true));
+		assertThat(mentions.contains("user_2"), is(true));
+		assertThat(mentions.contains("last_one"), is(true));
+	}
+
+	@Test
+	public void testExtractTagsAndMentions() {
+		TagsAndMentions tagsAndMentions = TagsUtils.extractTagsAndMentions("#Hello @Jason and @user, #hello #World @JASON");
+		assertThat(tagsAndMentions.getTags().size(), is(equalTo(2)));
+		assertThat(tagsAndMentions.getTags().contains("hello"), is(true));
+		assertThat(tagsAndMentions.getTags().contains("world"), is(true));
+		assertThat(tagsAndMentions.getMentions().size(), is(equalTo(1)));
+		assertThat(tagsAndMentions.getMentions().contains("jason"), is(true));
+
+		assertThat(TagsUtils.extractTags("#Hello @Jason").contains("jason"), is(false));
+	}
 }